@@ -21,6 +21,8 @@ import bisq.application.State;
 import bisq.bisq_easy.NavigationTarget;
 import bisq.chat.notifications.ChatNotificationService;
 import bisq.common.observable.Observable;
+import bisq.common.observable.Pin;
+import bisq.common.observable.map.HashMapObserver;
 import bisq.desktop.common.Browser;
 import bisq.desktop.common.Transitions;
 import bisq.desktop.common.application.JavaFxApplicationData;
@@ -46,6 +48,8 @@ import bisq.settings.DontShowAgainService;
 import bisq.settings.SettingsService;
 import bisq.user.RepublishUserProfileService;
 import bisq.user.identity.UserIdentityService;
+import bisq.user.profile.UserProfile;
+import bisq.user.profile.UserProfileService;
 import javafx.geometry.Rectangle2D;
 import javafx.scene.Scene;
 import javafx.scene.input.KeyEvent;
@@ -56,6 +60,9 @@ import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.fxmisc.easybind.EasyBind;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static bisq.settings.DontShowAgainKey.WELCOME;
@@ -84,6 +91,8 @@ public class DesktopController extends NavigationController {
     private final PreventStandbyModeService preventStandbyModeService;
     private final RepublishUserProfileService republishUserProfileService;
     private final IdentityService identityService;
+    private final UserProfileService userProfileService;
+    private Pin userProfileByIdPin;
 
     private final Observable<State> applicationServiceState;
     private final JavaFxApplicationData applicationJavaFxApplicationData;
@@ -106,6 +115,7 @@ public class DesktopController extends NavigationController {
         preventStandbyModeService = new PreventStandbyModeService(serviceProvider);
         republishUserProfileService = serviceProvider.getUserService().getRepublishUserProfileService();
         identityService = serviceProvider.getIdentityService();
+        userProfileService = serviceProvider.getUserService().getUserProfileService();
     }
 
     public void init() {
@@ -120,6 +130,18 @@ public class DesktopController extends NavigationController {
         AnchorPane viewRoot = view.getRoot();
 
         CatHash.setDelegate(new JavaFxCatHashService(serviceProvider.getConfig().getBaseDir()));
+        // Render the icons of new user profiles in the background, so they are available when shown the first time
+        userProfileByIdPin = userProfileService.getUserProfileById().addObserver(new HashMapObserver<>() {
+            @Override
+            public void put(String key, UserProfile userProfile) {
+                CatHash.prerenderProfileIcons(List.of(userProfile));
+            }
+
+            @Override
+            public void putAll(Map<? extends String, ? extends UserProfile> map) {
+                CatHash.prerenderProfileIcons(new ArrayList<>(map.values()));
+            }
+        });
 
         Navigation.init(settingsService);
         Overlay.init(serviceProvider, viewRoot);
@@ -291,6 +313,10 @@ public class DesktopController extends NavigationController {
 
     private void onShutdown() {
         preventStandbyModeService.shutdown();
+        if (userProfileByIdPin != null) {
+            userProfileByIdPin.unbind();
+        }
+        CatHash.shutdown();
     }
 
     private boolean isLocked() {
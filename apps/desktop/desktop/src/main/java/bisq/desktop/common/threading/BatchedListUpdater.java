@@ -0,0 +1,249 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.desktop.common.threading;
+
+import bisq.common.threading.ExecutorFactory;
+import bisq.common.util.ExceptionUtil;
+import javafx.collections.ObservableList;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nullable;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Applies adds and removes coming from non-UI threads to an ObservableList in batches.
+ * List items get created on a background thread. All changes which arrive until the next render pulse are applied
+ * with at most one removeAll and one addAll call, so that a burst of changes results in a single list change event
+ * instead of one UI task and one list change per element.
+ * An index by key is maintained for O(1) lookup and removal.
+ * Operations are executed in the order they have been called. Items which got removed before they have been added
+ * to the list are disposed without ever getting added.
+ * <p>
+ * The list must not be modified by other code while the updater is in use, except before the updater got created.
+ * Items already contained in the list at creation time are added to the index.
+ * Methods annotated as FX thread methods must only be called from the JavaFX Application thread.
+ */
+@Slf4j
+public class BatchedListUpdater<K, T> {
+    // A single thread for all updaters keeps the order of operations and avoids that item creation competes with
+    // other work for more than one core.
+    private static final ExecutorService EXECUTOR = ExecutorFactory.newSingleThreadExecutor("BatchedListUpdater");
+
+    private sealed interface Operation<K, T> {
+    }
+
+    private record Add<K, T>(K key, T item) implements Operation<K, T> {
+    }
+
+    private record Remove<K, T>(K key) implements Operation<K, T> {
+    }
+
+    private record Clear<K, T>() implements Operation<K, T> {
+    }
+
+    private final ObservableList<T> list;
+    private final Consumer<T> disposer;
+    private final Executor executor;
+    private final Consumer<Runnable> flushScheduler;
+    // Only accessed from the JavaFX Application thread
+    private final Map<K, T> itemByKey = new HashMap<>();
+    // Keys which are in the list or will be added by already scheduled operations. Used to not create items for
+    // keys we have already.
+    private final Set<K> scheduledKeys = ConcurrentHashMap.newKeySet();
+    private final Queue<Operation<K, T>> pendingOperations = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private volatile boolean disposed;
+    // Called on the JavaFX Application thread after a batch has been applied to the list
+    @Setter
+    @Nullable
+    private Runnable onBatchAppliedHandler;
+
+    public BatchedListUpdater(ObservableList<T> list, Function<T, K> keyFunction, Consumer<T> disposer) {
+        this(list, keyFunction, disposer, EXECUTOR, UIThread::runOnNextRenderFrame);
+    }
+
+    // Used by tests to run the background tasks and the flush at the render pulse under their control
+    BatchedListUpdater(ObservableList<T> list,
+                       Function<T, K> keyFunction,
+                       Consumer<T> disposer,
+                       Executor executor,
+                       Consumer<Runnable> flushScheduler) {
+        this.list = list;
+        this.disposer = disposer;
+        this.executor = executor;
+        this.flushScheduler = flushScheduler;
+        list.forEach(item -> itemByKey.put(keyFunction.apply(item), item));
+        scheduledKeys.addAll(itemByKey.keySet());
+    }
+
+    /**
+     * Creates the item with the given factory on a background thread and adds it at the next render pulse.
+     * If an item with the same key is present or scheduled to be added, the factory is not called.
+     */
+    public void add(K key, Supplier<T> factory) {
+        execute(() -> {
+            if (!scheduledKeys.add(key)) {
+                return;
+            }
+            T item;
+            try {
+                item = factory.get();
+            } catch (Exception e) {
+                log.error("Creating list item for key {} failed. {}", key, ExceptionUtil.getRootCauseMessage(e));
+                scheduledKeys.remove(key);
+                return;
+            }
+            enqueue(new Add<>(key, item));
+        });
+    }
+
+    public void remove(K key) {
+        execute(() -> {
+            scheduledKeys.remove(key);
+            enqueue(new Remove<>(key));
+        });
+    }
+
+    public void clear() {
+        execute(() -> {
+            scheduledKeys.clear();
+            enqueue(new Clear<>());
+        });
+    }
+
+    /**
+     * FX thread method. Pending operations are not applied anymore. Items which have been created but not added to
+     * the list get disposed. The list itself is not changed.
+     */
+    public void dispose() {
+        disposed = true;
+        onBatchAppliedHandler = null;
+        itemByKey.clear();
+        scheduledKeys.clear();
+        disposePendingItems();
+    }
+
+    /**
+     * FX thread method.
+     */
+    public Optional<T> find(K key) {
+        return Optional.ofNullable(itemByKey.get(key));
+    }
+
+    /**
+     * FX thread method.
+     */
+    public boolean contains(K key) {
+        return itemByKey.containsKey(key);
+    }
+
+
+    /* --------------------------------------------------------------------- */
+    // Private
+    /* --------------------------------------------------------------------- */
+
+    private void execute(Runnable task) {
+        if (!disposed) {
+            executor.execute(() -> {
+                if (!disposed) {
+                    task.run();
+                }
+            });
+        }
+    }
+
+    private void enqueue(Operation<K, T> operation) {
+        pendingOperations.add(operation);
+        if (flushScheduled.compareAndSet(false, true)) {
+            flushScheduler.accept(this::flush);
+        }
+    }
+
+    private void flush() {
+        flushScheduled.set(false);
+        if (disposed) {
+            disposePendingItems();
+            return;
+        }
+
+        boolean clearList = false;
+        Map<K, T> toAdd = new LinkedHashMap<>();
+        Set<T> toRemove = Collections.newSetFromMap(new IdentityHashMap<>());
+        Operation<K, T> operation;
+        while ((operation = pendingOperations.poll()) != null) {
+            if (operation instanceof Add<K, T> add) {
+                if (itemByKey.containsKey(add.key())) {
+                    disposer.accept(add.item());
+                } else {
+                    itemByKey.put(add.key(), add.item());
+                    toAdd.put(add.key(), add.item());
+                }
+            } else if (operation instanceof Remove<K, T> remove) {
+                T item = itemByKey.remove(remove.key());
+                if (item != null) {
+                    if (toAdd.remove(remove.key()) != null) {
+                        // Was not added to the list yet
+                        disposer.accept(item);
+                    } else {
+                        toRemove.add(item);
+                    }
+                }
+            } else if (operation instanceof Clear<K, T>) {
+                toAdd.values().forEach(disposer);
+                toAdd.clear();
+                toRemove.clear();
+                itemByKey.clear();
+                clearList = true;
+            }
+        }
+
+        if (clearList) {
+            list.forEach(disposer);
+            list.clear();
+        } else if (!toRemove.isEmpty()) {
+            toRemove.forEach(disposer);
+            list.removeAll(toRemove);
+        }
+        if (!toAdd.isEmpty()) {
+            list.addAll(toAdd.values());
+        }
+
+        Runnable handler = onBatchAppliedHandler;
+        if (handler != null && (clearList || !toRemove.isEmpty() || !toAdd.isEmpty())) {
+            handler.run();
+        }
+    }
+
+    private void disposePendingItems() {
+        Operation<K, T> operation;
+        while ((operation = pendingOperations.poll()) != null) {
+            if (operation instanceof Add<K, T> add) {
+                disposer.accept(add.item());
+            }
+        }
+    }
+}
@@ -17,7 +17,6 @@
 
 package bisq.desktop.common.utils;
 
-import bisq.common.file.FileUtils;
 import javafx.scene.SnapshotParameters;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
@@ -26,8 +25,6 @@ import javafx.scene.paint.Color;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
-import java.io.File;
-import java.io.IOException;
 import java.nio.ByteBuffer;
 
 public class CatHashImageUtil {
@@ -64,16 +61,6 @@ public class CatHashImageUtil {
         return canvas.snapshot(snapshotParameters, null);
     }
 
-    public static Image readRawImage(File file) throws IOException {
-        byte[] rawData = FileUtils.read(file.getAbsolutePath());
-        return byteArrayToImage(rawData);
-    }
-
-    public static void writeRawImage(Image image, File file) throws IOException {
-        byte[] rawData = imageToByteArray(image);
-        FileUtils.write(file.getAbsolutePath(), rawData);
-    }
-
     public static Image byteArrayToImage(byte[] data) {
         ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(data);
 
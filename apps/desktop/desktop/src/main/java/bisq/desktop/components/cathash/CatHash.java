@@ -39,6 +39,10 @@ public class CatHash {
         return delegate.getImage(pubKeyHash, powSolution, avatarVersion, size);
     }
 
+    public static void prerenderProfileIcons(Collection<UserProfile> userProfiles) {
+        delegate.prerenderProfileIcons(userProfiles);
+    }
+
     // Remove the user profile icons which are not contained anymore in the current user profile list
     public static void pruneOutdatedProfileIcons(Collection<UserProfile> userProfiles) {
         delegate.pruneOutdatedProfileIcons(userProfiles);
@@ -47,4 +51,10 @@ public class CatHash {
     public static int currentAvatarsVersion() {
         return BucketConfig.CURRENT_VERSION;
     }
+
+    public static void shutdown() {
+        if (delegate != null) {
+            delegate.shutdown();
+        }
+    }
 }
@@ -19,11 +19,11 @@ package bisq.desktop.components.cathash;
 
 import bisq.desktop.common.utils.CatHashImageUtil;
 import bisq.user.cathash.CatHashService;
+import javafx.application.Platform;
 import javafx.scene.image.Image;
 
-import java.io.File;
-import java.io.IOException;
 import java.nio.file.Path;
+import java.util.concurrent.Executor;
 
 public class JavaFxCatHashService extends CatHashService<Image> {
     public JavaFxCatHashService(Path baseDir) {
@@ -36,12 +36,18 @@ public class JavaFxCatHashService extends CatHashService<Image> {
     }
 
     @Override
-    protected void writeRawImage(Image image, File iconFile) throws IOException {
-        CatHashImageUtil.writeRawImage(image, iconFile);
+    protected byte[] toRawImage(Image image) {
+        return CatHashImageUtil.imageToByteArray(image);
     }
 
     @Override
-    protected Image readRawImage(File iconFile) throws IOException {
-        return CatHashImageUtil.readRawImage(iconFile);
+    protected Image fromRawImage(byte[] rawImage) {
+        return CatHashImageUtil.byteArrayToImage(rawImage);
+    }
+
+    // Composing uses a canvas snapshot which requires the JavaFX Application thread
+    @Override
+    protected Executor getComposeExecutor() {
+        return Platform::runLater;
     }
 }
@@ -232,9 +232,7 @@ public final class BisqEasyOfferbookController extends ChatController<BisqEasyOf
             marketNumOffersListeners.put(item, numberChangeListener);
         });
 
-        Set<BisqEasyOfferbookMessage> mySellOffersWithSufficientReputation = bisqEasyOfferbookChannelService.getChannels().stream()
-                .flatMap(channel -> channel.getChatMessages().stream())
-                .filter(BisqEasyOfferbookMessage::hasBisqEasyOffer)
+        Set<BisqEasyOfferbookMessage> mySellOffersWithSufficientReputation = bisqEasyOfferbookChannelService.getOfferbookIndex().getOfferMessages().stream()
                 .filter(message -> message.isMyMessage(userIdentityService))
                 .filter(message -> !bisqEasySellersReputationBasedTradeAmountService.hasSellerSufficientReputation(message, false))
                 .collect(Collectors.toSet());
@@ -362,7 +360,8 @@ public final class BisqEasyOfferbookController extends ChatController<BisqEasyOf
                         marketPriceService,
                         userProfileService,
                         reputationService,
-                        bisqEasySellersReputationBasedTradeAmountService))
+                        bisqEasySellersReputationBasedTradeAmountService,
+                        bisqEasyOfferbookChannelService.getOfferbookIndex()))
                 .collect(Collectors.toList());
         model.getMarketChannelItems().setAll(marketChannelItems);
     }
@@ -20,7 +20,7 @@ package bisq.desktop.main.content.bisq_easy.offerbook;
 import bisq.bisq_easy.BisqEasySellersReputationBasedTradeAmountService;
 import bisq.bonded_roles.market_price.MarketPriceService;
 import bisq.chat.bisq_easy.offerbook.BisqEasyOfferbookChannel;
-import bisq.chat.bisq_easy.offerbook.BisqEasyOfferbookMessage;
+import bisq.chat.bisq_easy.offerbook.BisqEasyOfferbookIndex;
 import bisq.chat.notifications.ChatNotificationService;
 import bisq.common.currency.Market;
 import bisq.common.observable.Pin;
@@ -57,6 +57,7 @@ public class MarketChannelItem {
     private final UserProfileService userProfileService;
     private final ReputationService reputationService;
     private final BisqEasySellersReputationBasedTradeAmountService bisqEasySellersReputationBasedTradeAmountService;
+    private final BisqEasyOfferbookIndex offerbookIndex;
     private final SimpleIntegerProperty numOffers = new SimpleIntegerProperty(0);
     private final SimpleBooleanProperty isFavourite = new SimpleBooleanProperty(false);
     private final SimpleStringProperty numMarketNotifications = new SimpleStringProperty();
@@ -68,7 +69,8 @@ public class MarketChannelItem {
                       MarketPriceService marketPriceService,
                       UserProfileService userProfileService,
                       ReputationService reputationService,
-                      BisqEasySellersReputationBasedTradeAmountService bisqEasySellersReputationBasedTradeAmountService) {
+                      BisqEasySellersReputationBasedTradeAmountService bisqEasySellersReputationBasedTradeAmountService,
+                      BisqEasyOfferbookIndex offerbookIndex) {
         this.channel = channel;
 
         this.favouriteMarketsService = favouriteMarketsService;
@@ -78,6 +80,7 @@ public class MarketChannelItem {
         this.userProfileService = userProfileService;
         this.reputationService = reputationService;
         this.bisqEasySellersReputationBasedTradeAmountService = bisqEasySellersReputationBasedTradeAmountService;
+        this.offerbookIndex = offerbookIndex;
 
         refreshNotifications();
         initialize();
@@ -106,8 +109,7 @@ public class MarketChannelItem {
 
     private void updateNumOffers() {
         UIThread.run(() -> {
-            int numOffers = (int) channel.getChatMessages().stream()
-                    .filter(BisqEasyOfferbookMessage::hasBisqEasyOffer)
+            int numOffers = (int) offerbookIndex.getOfferMessages(market).stream()
                     .filter(bisqEasySellersReputationBasedTradeAmountService::hasSellerSufficientReputation)
                     .count();
             getNumOffers().set(numOffers);
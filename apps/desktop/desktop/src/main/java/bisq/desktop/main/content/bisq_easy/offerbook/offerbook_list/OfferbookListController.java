@@ -30,6 +30,7 @@ import bisq.common.observable.collection.CollectionObserver;
 import bisq.common.util.ExceptionUtil;
 import bisq.desktop.ServiceProvider;
 import bisq.desktop.common.observable.FxBindings;
+import bisq.desktop.common.threading.BatchedListUpdater;
 import bisq.desktop.common.threading.UIThread;
 import bisq.i18n.Res;
 import bisq.settings.CookieKey;
@@ -47,7 +48,6 @@ import org.fxmisc.easybind.EasyBind;
 import org.fxmisc.easybind.Subscription;
 
 import java.util.Arrays;
-import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -65,6 +65,7 @@ public class OfferbookListController implements bisq.desktop.common.view.Control
     private Pin showBuyOffersPin, showOfferListExpandedSettingsPin, offerMessagesPin, showMyOffersOnlyPin,
             userIdentityPin, userProfileIdWithScoreChangePin;
     private Subscription showBuyOffersFromModelPin, activeMarketPaymentsCountPin, showMyOffersOnlyFromModelPin;
+    private BatchedListUpdater<String, OfferbookListItem> offerbookListItemsUpdater;
 
     public OfferbookListController(ServiceProvider serviceProvider) {
         settingsService = serviceProvider.getSettingsService();
@@ -105,6 +106,7 @@ public class OfferbookListController implements bisq.desktop.common.view.Control
 
     @Override
     public void onDeactivate() {
+        disposeOfferbookListItemsUpdater();
         model.getOfferbookListItems().forEach(OfferbookListItem::dispose);
 
         showBuyOffersPin.unbind();
@@ -121,6 +123,7 @@ public class OfferbookListController implements bisq.desktop.common.view.Control
     }
 
     public void setSelectedChannel(BisqEasyOfferbookChannel channel) {
+        disposeOfferbookListItemsUpdater();
         model.getOfferbookListItems().clear();
         if (offerMessagesPin != null) {
             offerMessagesPin.unbind();
@@ -133,46 +136,34 @@ public class OfferbookListController implements bisq.desktop.common.view.Control
         model.getAvailableMarketPayments().setAll(FiatPaymentMethodUtil.getPaymentMethods(channel.getMarket().getQuoteCurrencyCode()));
         applyCookiePaymentFilters();
 
+        // Items are created on a background thread and all offers arriving within one render pulse are applied to
+        // the list in one batch. This avoids flooding the UI thread when a channel with many offers gets selected.
+        BatchedListUpdater<String, OfferbookListItem> updater = new BatchedListUpdater<>(model.getOfferbookListItems(),
+                item -> item.getBisqEasyOfferbookMessage().getId(),
+                OfferbookListItem::dispose);
+        offerbookListItemsUpdater = updater;
         offerMessagesPin = channel.getChatMessages().addObserver(new CollectionObserver<>() {
             @Override
             public void add(BisqEasyOfferbookMessage bisqEasyOfferbookMessage) {
                 if (BisqEasyServiceUtil.authorNotBannedOrIgnored(userProfileService, bannedUserService, bisqEasyOfferbookMessage) &&
                         bisqEasyOfferbookMessage.hasBisqEasyOffer()) {
-                    UIThread.runOnNextRenderFrame(() -> {
-                        if (model.getOfferbookListItems().stream()
-                                .noneMatch(item -> item.getBisqEasyOfferbookMessage().equals(bisqEasyOfferbookMessage))) {
-                            OfferbookListItem item = new OfferbookListItem(bisqEasyOfferbookMessage,
-                                    userProfileService.findUserProfile(bisqEasyOfferbookMessage.getAuthorUserProfileId()).orElseThrow(), // authorNotBannedOrIgnored guarantees it is present
-                                    reputationService,
-                                    marketPriceService);
-                            model.getOfferbookListItems().add(item);
-                        }
-                    });
+                    updater.add(bisqEasyOfferbookMessage.getId(), () -> new OfferbookListItem(bisqEasyOfferbookMessage,
+                            userProfileService.findUserProfile(bisqEasyOfferbookMessage.getAuthorUserProfileId()).orElseThrow(), // authorNotBannedOrIgnored guarantees it is present
+                            reputationService,
+                            marketPriceService));
                 }
             }
 
             @Override
             public void remove(Object element) {
-                if (element instanceof BisqEasyOfferbookMessage && ((BisqEasyOfferbookMessage) element).hasBisqEasyOffer()) {
-                    UIThread.runOnNextRenderFrame(() -> {
-                        BisqEasyOfferbookMessage offerMessage = (BisqEasyOfferbookMessage) element;
-                        Optional<OfferbookListItem> toRemove = model.getOfferbookListItems().stream()
-                                .filter(item -> item.getBisqEasyOfferbookMessage().getId().equals(offerMessage.getId()))
-                                .findAny();
-                        toRemove.ifPresent(item -> {
-                            item.dispose();
-                            model.getOfferbookListItems().remove(item);
-                        });
-                    });
+                if (element instanceof BisqEasyOfferbookMessage offerMessage && offerMessage.hasBisqEasyOffer()) {
+                    updater.remove(offerMessage.getId());
                 }
             }
 
             @Override
             public void clear() {
-                UIThread.runOnNextRenderFrame(() -> {
-                    model.getOfferbookListItems().forEach(OfferbookListItem::dispose);
-                    model.getOfferbookListItems().clear();
-                });
+                updater.clear();
             }
         });
     }
@@ -222,6 +213,13 @@ public class OfferbookListController implements bisq.desktop.common.view.Control
         settingsService.removeCookie(CookieKey.BISQ_EASY_OFFER_LIST_CUSTOM_PAYMENT_FILTER, getCookieSubKey());
     }
 
+    private void disposeOfferbookListItemsUpdater() {
+        if (offerbookListItemsUpdater != null) {
+            offerbookListItemsUpdater.dispose();
+            offerbookListItemsUpdater = null;
+        }
+    }
+
     private void applyCookiePaymentFilters() {
         model.getSelectedMarketPayments().clear();
         settingsService.getCookie().asString(CookieKey.BISQ_EASY_OFFER_LIST_PAYMENT_FILTERS, getCookieSubKey())
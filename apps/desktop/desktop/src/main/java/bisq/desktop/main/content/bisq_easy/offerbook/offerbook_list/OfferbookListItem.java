@@ -20,10 +20,13 @@ package bisq.desktop.main.content.bisq_easy.offerbook.offerbook_list;
 import bisq.account.payment_method.BitcoinPaymentMethod;
 import bisq.account.payment_method.FiatPaymentMethod;
 import bisq.account.payment_method.PaymentMethod;
+import bisq.bonded_roles.market_price.MarketPrice;
 import bisq.bonded_roles.market_price.MarketPriceService;
 import bisq.chat.bisq_easy.offerbook.BisqEasyOfferbookMessage;
+import bisq.common.currency.Market;
 import bisq.common.monetary.Monetary;
 import bisq.common.observable.Pin;
+import bisq.common.observable.map.HashMapObserver;
 import bisq.desktop.common.threading.UIThread;
 import bisq.i18n.Res;
 import bisq.offer.Direction;
@@ -48,6 +51,7 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -110,8 +114,34 @@ public class OfferbookListItem {
         offerAgeTooltipText = Res.get("user.profileCard.offers.table.columns.offerAge.tooltip",
                 DateFormatter.formatDateTime(bisqEasyOffer.getDate()));
 
-        marketPriceByCurrencyMapPin = marketPriceService.getMarketPriceByCurrencyMap().addObserver(() ->
-                UIThread.run(this::updatePriceSpecAsPercent));
+        // We only update if the market price of our offer's market has changed
+        marketPriceByCurrencyMapPin = marketPriceService.getMarketPriceByCurrencyMap().addObserver(new HashMapObserver<>() {
+            @Override
+            public void put(Market market, MarketPrice marketPrice) {
+                if (market.equals(bisqEasyOffer.getMarket())) {
+                    UIThread.run(() -> updatePriceSpecAsPercent());
+                }
+            }
+
+            @Override
+            public void putAll(Map<? extends Market, ? extends MarketPrice> map) {
+                if (map.containsKey(bisqEasyOffer.getMarket())) {
+                    UIThread.run(() -> updatePriceSpecAsPercent());
+                }
+            }
+
+            @Override
+            public void remove(Object key) {
+                if (bisqEasyOffer.getMarket().equals(key)) {
+                    UIThread.run(() -> updatePriceSpecAsPercent());
+                }
+            }
+
+            @Override
+            public void clear() {
+                UIThread.run(() -> updatePriceSpecAsPercent());
+            }
+        });
         updatePriceSpecAsPercent();
     }
 
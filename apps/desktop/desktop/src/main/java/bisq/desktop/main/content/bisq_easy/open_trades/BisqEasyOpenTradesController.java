@@ -27,6 +27,7 @@ import bisq.chat.notifications.ChatNotificationService;
 import bisq.common.observable.Pin;
 import bisq.common.observable.collection.CollectionObserver;
 import bisq.desktop.ServiceProvider;
+import bisq.desktop.common.threading.BatchedListUpdater;
 import bisq.desktop.common.threading.UIThread;
 import bisq.desktop.common.view.Navigation;
 import bisq.desktop.components.overlay.Popup;
@@ -58,6 +59,7 @@ public final class BisqEasyOpenTradesController extends ChatController<BisqEasyO
     private OpenTradesWelcome openTradesWelcome;
     private TradeDataHeader tradeDataHeader;
     private final Map<String, Pin> isInMediationPinMap = new HashMap<>();
+    private BatchedListUpdater<String, OpenTradeListItem> listItemsUpdater;
 
     public BisqEasyOpenTradesController(ServiceProvider serviceProvider) {
         super(serviceProvider, ChatChannelDomain.BISQ_EASY_OPEN_TRADES, NavigationTarget.BISQ_EASY_OPEN_TRADES);
@@ -96,6 +98,16 @@ public final class BisqEasyOpenTradesController extends ChatController<BisqEasyO
     public void onActivate() {
         model.getFilteredList().setPredicate(e -> false);
 
+        listItemsUpdater = new BatchedListUpdater<>(model.getListItems(),
+                OpenTradeListItem::getTradeId,
+                OpenTradeListItem::dispose);
+        listItemsUpdater.setOnBatchAppliedHandler(() -> {
+            updateIsAnyTradeInMediation();
+            updatePredicate();
+            maybeSelectFirst();
+            updateVisibility();
+        });
+
         tradesPin = bisqEasyTradeService.getTrades().addObserver(new CollectionObserver<>() {
             @Override
             public void add(BisqEasyTrade trade) {
@@ -157,6 +169,7 @@ public final class BisqEasyOpenTradesController extends ChatController<BisqEasyO
         selectedChannelPin.unbind();
         isInMediationPinMap.values().forEach(Pin::unbind);
         isInMediationPinMap.clear();
+        listItemsUpdater.dispose();
         doCloseChatWindow();
         model.reset();
         resetSelectedChildTarget();
@@ -288,27 +301,23 @@ public final class BisqEasyOpenTradesController extends ChatController<BisqEasyO
 
     // TradeAndChannel
     private void handleTradeAndChannelAdded(BisqEasyTrade trade, BisqEasyOpenTradeChannel channel) {
-        UIThread.run(() -> {
-            if (findListItem(trade).isPresent()) {
-                log.debug("We got called handleTradeAndChannelAdded but we have that trade list item already. " +
-                        "This is expected as we get called both when a trade is added and the associated channel.");
-                return;
-            }
-            if (trade.getContract() == null) {
-                // TODO should we throw an exception?
-                log.error("Contract is null for trade {}", trade);
-                return;
-            }
+        if (trade.getContract() == null) {
+            // TODO should we throw an exception?
+            log.error("Contract is null for trade {}", trade);
+            return;
+        }
 
-            model.getListItems().add(new OpenTradeListItem(channel,
-                    trade,
-                    reputationService,
-                    chatNotificationService,
-                    userProfileService));
+        // We get called both when a trade is added and the associated channel. The updater ignores the second call.
+        String tradeId = trade.getId();
+        listItemsUpdater.add(tradeId, () -> new OpenTradeListItem(channel,
+                trade,
+                reputationService,
+                chatNotificationService,
+                userProfileService));
 
-            String tradeId = trade.getId();
+        UIThread.run(() -> {
             if (isInMediationPinMap.containsKey(tradeId)) {
-                isInMediationPinMap.get(tradeId).unbind();
+                return;
             }
             Pin pin = channel.isInMediationObservable().addObserver(isInMediation -> {
                 if (isInMediation != null) {
@@ -316,49 +325,27 @@ public final class BisqEasyOpenTradesController extends ChatController<BisqEasyO
                 }
             });
             isInMediationPinMap.put(tradeId, pin);
-
-            updatePredicate();
-            maybeSelectFirst();
-            updateVisibility();
         });
     }
 
     private void handleTradeAndChannelRemoved(BisqEasyTrade trade) {
-        UIThread.run(() -> {
-            String tradeId = trade.getId();
-            if (findListItem(trade).isEmpty()) {
-                log.warn("We got called handleTradeAndChannelRemoved but we have not found any trade list item with tradeId {}", tradeId);
-                return;
-            }
-
-            OpenTradeListItem item = findListItem(trade).get();
-            item.dispose();
-            model.getListItems().remove(item);
+        String tradeId = trade.getId();
+        listItemsUpdater.remove(tradeId);
 
+        UIThread.run(() -> {
             if (isInMediationPinMap.containsKey(tradeId)) {
                 isInMediationPinMap.get(tradeId).unbind();
-                isInMediationPinMap.remove(trade.getId());
+                isInMediationPinMap.remove(tradeId);
             }
-            updateIsAnyTradeInMediation();
-
-            updatePredicate();
-            maybeSelectFirst();
-            updateVisibility();
         });
     }
 
     private void handleClearTradesAndChannels() {
-        UIThread.run(() -> {
-            model.getListItems().forEach(OpenTradeListItem::dispose);
-            model.getListItems().clear();
+        listItemsUpdater.clear();
 
+        UIThread.run(() -> {
             isInMediationPinMap.values().forEach(Pin::unbind);
             isInMediationPinMap.clear();
-            updateIsAnyTradeInMediation();
-
-            updatePredicate();
-            maybeSelectFirst();
-            updateVisibility();
         });
     }
 
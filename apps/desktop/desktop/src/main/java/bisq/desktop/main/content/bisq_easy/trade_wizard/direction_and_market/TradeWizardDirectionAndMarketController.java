@@ -115,10 +115,7 @@ public class TradeWizardDirectionAndMarketController implements Controller {
                             .filter(channel -> channel.getMarket().equals(market))
                             .flatMap(channel -> channel.getChatMessages().stream())
                             .collect(Collectors.toSet());
-                    int numOffersInChannel = (int) allMessages.stream()
-                            .filter(BisqEasyOfferbookMessage::hasBisqEasyOffer)
-                            .distinct()
-                            .count();
+                    int numOffersInChannel = bisqEasyOfferbookChannelService.getOfferbookIndex().getNumOffers(market);
                     int numUsersInChannel = (int) allMessages.stream()
                             .map(ChatMessage::getAuthorUserProfileId)
                             .distinct()
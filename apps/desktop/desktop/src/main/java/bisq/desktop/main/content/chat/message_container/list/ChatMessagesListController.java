@@ -44,6 +44,7 @@ import bisq.common.observable.Pin;
 import bisq.common.observable.collection.CollectionObserver;
 import bisq.common.util.StringUtils;
 import bisq.desktop.ServiceProvider;
+import bisq.desktop.common.threading.BatchedListUpdater;
 import bisq.desktop.common.threading.UIScheduler;
 import bisq.desktop.common.threading.UIThread;
 import bisq.desktop.common.utils.ClipboardUtil;
@@ -109,6 +110,7 @@ public class ChatMessagesListController implements bisq.desktop.common.view.Cont
     private Pin selectedChannelPin, chatMessagesPin, bisqEasyOfferbookMessageTypeFilterPin, highlightedMessagePin;
     private Subscription selectedChannelSubscription, focusSubscription, scrollValuePin, scrollBarVisiblePin,
             layoutChildrenDonePin;
+    private BatchedListUpdater<String, ChatMessageListItem<? extends ChatMessage, ? extends ChatChannel<? extends ChatMessage>>> chatMessagesUpdater;
 
     public ChatMessagesListController(ServiceProvider serviceProvider,
                                       Consumer<UserProfile> mentionUserHandler,
@@ -200,9 +202,9 @@ public class ChatMessagesListController implements bisq.desktop.common.view.Cont
         scrollValuePin.unsubscribe();
         scrollBarVisiblePin.unsubscribe();
 
+        disposeChatMessagesUpdater();
         model.getChatMessages().forEach(ChatMessageListItem::dispose);
         model.getChatMessages().clear();
-        model.getChatMessageIds().clear();
     }
 
     private void selectedChannelChanged(ChatChannel<? extends ChatMessage> channel) {
@@ -215,9 +217,9 @@ public class ChatMessagesListController implements bisq.desktop.common.view.Cont
             }
 
             // Clear and call dispose on the current messages when we change the channel.
+            disposeChatMessagesUpdater();
             model.getChatMessages().forEach(ChatMessageListItem::dispose);
             model.getChatMessages().clear();
-            model.getChatMessageIds().clear();
             model.setAutoScrollToBottom(true);
 
             if (channel instanceof BisqEasyOfferbookChannel bisqEasyOfferbookChannel) {
@@ -283,10 +285,6 @@ public class ChatMessagesListController implements bisq.desktop.common.view.Cont
 
     public void refreshMessages() {
         model.getChatMessages().setAll(new ArrayList<>(model.getChatMessages()));
-        model.getChatMessageIds().clear();
-        model.getChatMessageIds().addAll(model.getChatMessages().stream()
-                .map(e -> e.getChatMessage().getId())
-                .collect(Collectors.toSet()));
     }
 
     public void setSearchPredicate(Predicate<? super ChatMessageListItem<? extends ChatMessage, ? extends ChatChannel<? extends ChatMessage>>> predicate) {
@@ -664,7 +662,7 @@ public class ChatMessagesListController implements bisq.desktop.common.view.Cont
 
     private <M extends ChatMessage, C extends ChatChannel<M>> Pin bindChatMessages(C channel) {
         // We clear and fill the list at channel change. The addObserver triggers the add method for each item,
-        // but as we have a contains() check there it will not have any effect.
+        // but as the updater skips keys it has already, it will not have any effect.
         model.getChatMessages().addAll(channel.getChatMessages().stream()
                 .filter(chatMessage -> chatMessage.getChatMessageType() != TAKE_BISQ_EASY_OFFER)
                 .map(chatMessage -> new ChatMessageListItem<>(chatMessage,
@@ -689,66 +687,53 @@ public class ChatMessagesListController implements bisq.desktop.common.view.Cont
             addChatRulesWarningMessageListItemInPrivateChats(channel);
         }
 
-        model.getChatMessageIds().clear();
-        model.getChatMessageIds().addAll(model.getChatMessages().stream()
-                .map(e -> e.getChatMessage().getId())
-                .collect(Collectors.toSet()));
+        // Items are created on a background thread and changes arriving within one render pulse are applied to the
+        // list in one batch.
+        BatchedListUpdater<String, ChatMessageListItem<? extends ChatMessage, ? extends ChatChannel<? extends ChatMessage>>> updater =
+                new BatchedListUpdater<>(model.getChatMessages(), item -> item.getChatMessage().getId(), ChatMessageListItem::dispose);
+        updater.setOnBatchAppliedHandler(this::maybeScrollDownOnNewItemAdded);
+        chatMessagesUpdater = updater;
         maybeScrollDownOnNewItemAdded();
 
         return channel.getChatMessages().addObserver(new CollectionObserver<>() {
             @Override
             public void add(M chatMessage) {
-                UIThread.run(() -> {
-                    if (model.getChatMessageIds().contains(chatMessage.getId())) {
-                        return;
-                    }
-                    if (chatMessage.getChatMessageType() == TAKE_BISQ_EASY_OFFER) {
-                        return;
-                    }
-                    ChatMessageListItem<M, C> item = new ChatMessageListItem<>(chatMessage,
-                            channel,
-                            marketPriceService,
-                            userProfileService,
-                            reputationService,
-                            bisqEasyTradeService,
-                            userIdentityService,
-                            networkService,
-                            resendMessageService,
-                            authorizedBondedRolesService);
-                    model.getChatMessages().add(item);
-                    maybeScrollDownOnNewItemAdded();
-                });
+                if (chatMessage.getChatMessageType() == TAKE_BISQ_EASY_OFFER) {
+                    return;
+                }
+                updater.add(chatMessage.getId(), () -> new ChatMessageListItem<>(chatMessage,
+                        channel,
+                        marketPriceService,
+                        userProfileService,
+                        reputationService,
+                        bisqEasyTradeService,
+                        userIdentityService,
+                        networkService,
+                        resendMessageService,
+                        authorizedBondedRolesService));
             }
 
             @Override
             public void remove(Object element) {
-                if (element instanceof ChatMessage) {
-                    UIThread.run(() -> {
-                        ChatMessage chatMessage = (ChatMessage) element;
-                        Optional<ChatMessageListItem<? extends ChatMessage, ? extends ChatChannel<? extends ChatMessage>>> toRemove =
-                                model.getChatMessages().stream()
-                                        .filter(item -> item.getChatMessage().getId().equals(chatMessage.getId()))
-                                        .findAny();
-                        toRemove.ifPresent(item -> {
-                            item.dispose();
-                            model.getChatMessages().remove(item);
-                            model.getChatMessageIds().remove(item.getChatMessage().getId());
-                        });
-                    });
+                if (element instanceof ChatMessage chatMessage) {
+                    updater.remove(chatMessage.getId());
                 }
             }
 
             @Override
             public void clear() {
-                UIThread.run(() -> {
-                    model.getChatMessages().forEach(ChatMessageListItem::dispose);
-                    model.getChatMessages().clear();
-                    model.getChatMessageIds().clear();
-                });
+                updater.clear();
             }
         });
     }
 
+    private void disposeChatMessagesUpdater() {
+        if (chatMessagesUpdater != null) {
+            chatMessagesUpdater.dispose();
+            chatMessagesUpdater = null;
+        }
+    }
+
     private void publishChatMessageReaction(ChatMessage chatMessage, Reaction reaction, UserIdentity userIdentity) {
         if (chatMessage instanceof CommonPublicChatMessage) {
             chatService.getCommonPublicChatChannelServices().get(model.getChatChannelDomain())
@@ -22,7 +22,6 @@ import bisq.bisq_easy.BisqEasySellersReputationBasedTradeAmountService;
 import bisq.bisq_easy.NavigationTarget;
 import bisq.bonded_roles.market_price.MarketPriceService;
 import bisq.chat.bisq_easy.offerbook.BisqEasyOfferbookChannelService;
-import bisq.chat.bisq_easy.offerbook.BisqEasyOfferbookMessage;
 import bisq.common.currency.Market;
 import bisq.common.observable.Pin;
 import bisq.desktop.ServiceProvider;
@@ -121,9 +120,7 @@ public class DashboardController implements Controller {
     private void updateOffersOnline() {
         if (allowUpdateOffersOnline) {
             UIThread.run(() ->
-                    model.getOffersOnline().set(String.valueOf(bisqEasyOfferbookChannelService.getChannels().stream()
-                            .flatMap(channel -> channel.getChatMessages().stream())
-                            .filter(BisqEasyOfferbookMessage::hasBisqEasyOffer)
+                    model.getOffersOnline().set(String.valueOf(bisqEasyOfferbookChannelService.getOfferbookIndex().getOfferMessages().stream()
                             .filter(bisqEasySellersReputationBasedTradeAmountService::hasSellerSufficientReputation)
                             .count())));
         }
@@ -0,0 +1,165 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.desktop.common.threading;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BatchedListUpdaterTest {
+    private record Item(String key, int version) {
+    }
+
+    private final ObservableList<Item> list = FXCollections.observableArrayList();
+    private final List<Item> disposedItems = new ArrayList<>();
+    private final List<Runnable> scheduledFlushes = new ArrayList<>();
+    private final AtomicInteger numCreatedItems = new AtomicInteger();
+    private BatchedListUpdater<String, Item> updater;
+
+    @BeforeEach
+    void setUp() {
+        // Background tasks run on the calling thread and the flush runs when the test calls renderPulse
+        updater = new BatchedListUpdater<>(list, Item::key, disposedItems::add, Runnable::run, scheduledFlushes::add);
+    }
+
+    @Test
+    void addsBurstInOneListChange() {
+        AtomicInteger numChanges = new AtomicInteger();
+        list.addListener((ListChangeListener<Item>) change -> numChanges.incrementAndGet());
+
+        add("a", 1);
+        add("b", 1);
+        add("c", 1);
+        assertThat(scheduledFlushes).hasSize(1);
+        assertThat(list).isEmpty();
+
+        renderPulse();
+
+        assertThat(list).extracting(Item::key).containsExactly("a", "b", "c");
+        assertThat(numChanges.get()).isEqualTo(1);
+        assertThat(updater.contains("b")).isTrue();
+    }
+
+    @Test
+    void sameKeyAddedTwiceBeforeFlush() {
+        add("a", 1);
+        add("a", 2);
+
+        renderPulse();
+
+        assertThat(list).containsExactly(new Item("a", 1));
+        assertThat(numCreatedItems.get()).isEqualTo(1);
+        assertThat(disposedItems).isEmpty();
+
+        // Also after the flush, an item for a key we have already does not get created
+        add("a", 3);
+        renderPulse();
+        assertThat(list).containsExactly(new Item("a", 1));
+        assertThat(numCreatedItems.get()).isEqualTo(1);
+    }
+
+    @Test
+    void removeBeforeFlush() {
+        add("a", 1);
+        add("b", 1);
+        updater.remove("a");
+
+        renderPulse();
+
+        assertThat(list).containsExactly(new Item("b", 1));
+        assertThat(disposedItems).containsExactly(new Item("a", 1));
+        assertThat(updater.contains("a")).isFalse();
+
+        // The key can be added again after it got removed
+        add("a", 2);
+        renderPulse();
+        assertThat(list).containsExactly(new Item("b", 1), new Item("a", 2));
+    }
+
+    @Test
+    void removeAfterFlush() {
+        add("a", 1);
+        renderPulse();
+
+        updater.remove("a");
+        renderPulse();
+
+        assertThat(list).isEmpty();
+        assertThat(disposedItems).containsExactly(new Item("a", 1));
+    }
+
+    @Test
+    void clear() {
+        add("a", 1);
+        add("b", 1);
+        renderPulse();
+        add("c", 1);
+        updater.clear();
+        add("d", 1);
+
+        renderPulse();
+
+        assertThat(list).containsExactly(new Item("d", 1));
+        assertThat(disposedItems).containsExactlyInAnyOrder(new Item("a", 1), new Item("b", 1), new Item("c", 1));
+        assertThat(updater.contains("a")).isFalse();
+        assertThat(updater.contains("d")).isTrue();
+    }
+
+    @Test
+    void disposeWhileBatchIsPending() {
+        add("a", 1);
+        renderPulse();
+        add("b", 1);
+        assertThat(scheduledFlushes).hasSize(1);
+
+        updater.dispose();
+
+        assertThat(disposedItems).containsExactly(new Item("b", 1));
+        // The already scheduled flush must not change the list anymore
+        renderPulse();
+        assertThat(list).containsExactly(new Item("a", 1));
+
+        // Calls after dispose are ignored
+        add("c", 1);
+        updater.remove("a");
+        assertThat(scheduledFlushes).isEmpty();
+        assertThat(numCreatedItems.get()).isEqualTo(2);
+        assertThat(list).containsExactly(new Item("a", 1));
+    }
+
+    private void add(String key, int version) {
+        updater.add(key, () -> {
+            numCreatedItems.incrementAndGet();
+            return new Item(key, version);
+        });
+    }
+
+    private void renderPulse() {
+        List<Runnable> flushes = new ArrayList<>(scheduledFlushes);
+        scheduledFlushes.clear();
+        flushes.forEach(Runnable::run);
+    }
+}
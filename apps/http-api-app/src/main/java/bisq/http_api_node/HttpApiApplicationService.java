@@ -34,6 +34,7 @@ import bisq.identity.IdentityService;
 import bisq.java_se.application.JavaSeApplicationService;
 import bisq.network.NetworkService;
 import bisq.network.NetworkServiceConfig;
+import bisq.network.p2p.node.network_load.OpenMetricsExportService;
 import bisq.offer.OfferService;
 import bisq.os_specific.notifications.linux.LinuxNotificationService;
 import bisq.os_specific.notifications.osx.OsxNotificationService;
@@ -84,6 +85,7 @@ public class HttpApiApplicationService extends JavaSeApplicationService {
     private final BisqEasyService bisqEasyService;
     private final HttpApiService httpApiService;
     private final OpenTradeItemsService openTradeItemsService;
+    private final OpenMetricsExportService openMetricsExportService;
 
     public HttpApiApplicationService(String[] args) {
         super("http_api_app", args);
@@ -113,6 +115,11 @@ public class HttpApiApplicationService extends JavaSeApplicationService {
                 securityService.getEquihashProofOfWorkService(),
                 memoryReportService);
 
+        openMetricsExportService = new OpenMetricsExportService(hasConfig("metricsExport") ?
+                Optional.of(OpenMetricsExportService.Config.from(getConfig("metricsExport"))) :
+                Optional.empty(),
+                networkService);
+
         identityService = new IdentityService(persistenceService,
                 securityService.getKeyBundleService(),
                 networkService);
@@ -226,6 +233,7 @@ public class HttpApiApplicationService extends JavaSeApplicationService {
                 .thenCompose(result -> bisqEasyService.initialize())
                 .thenCompose(result -> openTradeItemsService.initialize())
                 .thenCompose(result -> httpApiService.initialize())
+                .thenCompose(result -> openMetricsExportService.initialize())
                 .orTimeout(5, TimeUnit.MINUTES)
                 .whenComplete((success, throwable) -> {
                     if (throwable == null) {
@@ -250,7 +258,8 @@ public class HttpApiApplicationService extends JavaSeApplicationService {
     @Override
     public CompletableFuture<Boolean> shutdown() {
         // We shut down services in opposite order as they are initialized
-        return supplyAsync(() -> httpApiService.shutdown()
+        return supplyAsync(() -> openMetricsExportService.shutdown()
+                .thenCompose(result -> httpApiService.shutdown())
                 .thenCompose(result -> openTradeItemsService.shutdown())
                 .thenCompose(result -> bisqEasyService.shutdown())
                 .thenCompose(result -> tradeService.shutdown())
@@ -23,10 +23,12 @@ import bisq.identity.IdentityService;
 import bisq.java_se.application.JavaSeApplicationService;
 import bisq.network.NetworkService;
 import bisq.network.NetworkServiceConfig;
+import bisq.network.p2p.node.network_load.OpenMetricsExportService;
 import bisq.security.SecurityService;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -40,6 +42,7 @@ public class OracleNodeApplicationService extends JavaSeApplicationService {
     private final NetworkService networkService;
     private final OracleNodeService oracleNodeService;
     private final BondedRolesService bondedRolesService;
+    private final OpenMetricsExportService openMetricsExportService;
 
     public OracleNodeApplicationService(String[] args) {
         super("oracle_node", args);
@@ -55,6 +58,11 @@ public class OracleNodeApplicationService extends JavaSeApplicationService {
                 securityService.getEquihashProofOfWorkService(),
                 memoryReportService);
 
+        openMetricsExportService = new OpenMetricsExportService(hasConfig("metricsExport") ?
+                Optional.of(OpenMetricsExportService.Config.from(getConfig("metricsExport"))) :
+                Optional.empty(),
+                networkService);
+
         identityService = new IdentityService(persistenceService,
                 securityService.getKeyBundleService(),
                 networkService
@@ -85,6 +93,7 @@ public class OracleNodeApplicationService extends JavaSeApplicationService {
         return memoryReportService.initialize()
                 .thenCompose(result -> securityService.initialize())
                 .thenCompose(result -> networkService.initialize())
+                .thenCompose(result -> openMetricsExportService.initialize())
                 .thenCompose(result -> identityService.initialize())
                 .thenCompose(result -> bondedRolesService.initialize())
                 .thenCompose(result -> oracleNodeService.initialize())
@@ -106,6 +115,7 @@ public class OracleNodeApplicationService extends JavaSeApplicationService {
         return supplyAsync(() -> oracleNodeService.shutdown()
                 .thenCompose(result -> bondedRolesService.shutdown())
                 .thenCompose(result -> identityService.shutdown())
+                .thenCompose(result -> openMetricsExportService.shutdown())
                 .thenCompose(result -> networkService.shutdown())
                 .thenCompose(result -> securityService.shutdown())
                 .thenCompose(result -> memoryReportService.shutdown())
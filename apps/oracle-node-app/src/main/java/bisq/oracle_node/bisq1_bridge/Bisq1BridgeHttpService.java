@@ -25,7 +25,7 @@ import bisq.common.encoding.Hex;
 import bisq.common.threading.ExecutorFactory;
 import bisq.network.NetworkService;
 import bisq.common.network.TransportType;
-import bisq.network.http.BaseHttpClient;
+import bisq.network.http.PooledHttpClient;
 import bisq.oracle_node.bisq1_bridge.dto.BondedReputationDto;
 import bisq.oracle_node.bisq1_bridge.dto.BondedRoleVerificationDto;
 import bisq.oracle_node.bisq1_bridge.dto.ProofOfBurnDto;
@@ -69,7 +69,7 @@ public class Bisq1BridgeHttpService implements Service {
     private final AtomicInteger lastRequestedBondedReputationBlockHeight = new AtomicInteger(0);
     private final NetworkService networkService;
     private final String url;
-    private BaseHttpClient httpClient;
+    private PooledHttpClient httpClient;
 
     public Bisq1BridgeHttpService(Bisq1BridgeHttpService.Config httpServiceConfig, NetworkService networkService) {
         this.networkService = networkService;
@@ -88,16 +88,15 @@ public class Bisq1BridgeHttpService implements Service {
 
     public CompletableFuture<Boolean> initialize() {
         log.info("initialize");
-        // We expect that bisq 1 dao node runs on localhost, so we use clear net 
-        httpClient = networkService.getHttpClient(url, "Bisq1Bridge", TransportType.CLEAR);
+        // We expect that bisq 1 dao node runs on localhost, so we use clear net.
+        // The pooled client keeps the connection alive and supports concurrent requests.
+        httpClient = networkService.getPooledHttpClient(url, "Bisq1Bridge", TransportType.CLEAR);
         return CompletableFuture.completedFuture(true);
     }
 
     public CompletableFuture<Boolean> shutdown() {
         log.info("shutdown");
-        if (httpClient != null) {
-            httpClient.shutdown();
-        }
+        // The pooled http client is shut down by the networkService
         executorService.shutdownNow();
         return CompletableFuture.completedFuture(true);
     }
@@ -6,6 +6,8 @@ import bisq.bonded_roles.market_price.MarketPriceRequestService;
 import bisq.common.application.Service;
 import bisq.common.currency.Market;
 import bisq.common.observable.Pin;
+import bisq.common.observable.map.HashMapObserver;
+import bisq.common.timer.Scheduler;
 import bisq.identity.Identity;
 import bisq.network.NetworkService;
 import bisq.network.p2p.services.data.storage.auth.authorized.AuthorizedDistributedData;
@@ -14,11 +16,17 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.security.PrivateKey;
 import java.security.PublicKey;
+import java.util.Map;
 import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 public class MarketPricePropagationService implements Service {
+    // Receivers merge the published market prices by timestamp, thus we publish only the changed market prices and
+    // a full snapshot in an interval below the TTL of AuthorizedMarketPriceData for nodes which join the network.
+    private static final long FULL_SNAPSHOT_INTERVAL = AuthorizedMarketPriceData.TTL / 2;
+
     private final NetworkService networkService;
     private final MarketPriceRequestService marketPriceRequestService;
     private final PrivateKey authorizedPrivateKey;
@@ -27,6 +35,8 @@ public class MarketPricePropagationService implements Service {
     @Setter
     private Identity identity;
     private Pin marketPriceByCurrencyMapPin;
+    private Scheduler fullSnapshotScheduler;
+    private long lastFullSnapshotPublished;
 
     public MarketPricePropagationService(NetworkService networkService,
                                          MarketPriceRequestService marketPriceRequestService,
@@ -43,13 +53,23 @@ public class MarketPricePropagationService implements Service {
     @Override
     public CompletableFuture<Boolean> initialize() {
         log.info("initialize");
-        marketPriceByCurrencyMapPin = marketPriceRequestService.getMarketPriceByCurrencyMap().addObserver(() -> {
-            if (!marketPriceRequestService.getMarketPriceByCurrencyMap().isEmpty()) {
-                TreeMap<Market, MarketPrice> marketPriceByCurrencyMap = new TreeMap<>(marketPriceRequestService.getMarketPriceByCurrencyMap());
-                AuthorizedMarketPriceData data = new AuthorizedMarketPriceData(marketPriceByCurrencyMap, staticPublicKeysProvided);
-                publishAuthorizedData(data);
+        marketPriceByCurrencyMapPin = marketPriceRequestService.getMarketPriceByCurrencyMap().addObserver(new HashMapObserver<>() {
+            @Override
+            public void put(Market market, MarketPrice marketPrice) {
+                publishChangedMarketPrices(Map.of(market, marketPrice));
+            }
+
+            @Override
+            public void putAll(Map<? extends Market, ? extends MarketPrice> map) {
+                publishChangedMarketPrices(map);
             }
         });
+        // If market prices have not changed we would not publish anything, thus we republish the full snapshot
+        // periodically to keep it in the network.
+        fullSnapshotScheduler = Scheduler.run(this::maybePublishFullSnapshot)
+                .host(this)
+                .runnableName("maybePublishFullSnapshot")
+                .periodically(1, TimeUnit.MINUTES);
 
         return marketPriceRequestService.initialize();
     }
@@ -59,6 +79,10 @@ public class MarketPricePropagationService implements Service {
         if (marketPriceByCurrencyMapPin != null) {
             marketPriceByCurrencyMapPin.unbind();
         }
+        if (fullSnapshotScheduler != null) {
+            fullSnapshotScheduler.stop();
+            fullSnapshotScheduler = null;
+        }
         return marketPriceRequestService.shutdown();
     }
 
@@ -67,6 +91,40 @@ public class MarketPricePropagationService implements Service {
     // Private
     /* --------------------------------------------------------------------- */
 
+    private synchronized void publishChangedMarketPrices(Map<? extends Market, ? extends MarketPrice> changedMarketPrices) {
+        if (changedMarketPrices.isEmpty() || identity == null) {
+            return;
+        }
+        if (isFullSnapshotDue()) {
+            publishFullSnapshot();
+        } else {
+            publishMarketPrices(new TreeMap<>(changedMarketPrices));
+        }
+    }
+
+    private synchronized void maybePublishFullSnapshot() {
+        if (identity != null && isFullSnapshotDue()) {
+            publishFullSnapshot();
+        }
+    }
+
+    private boolean isFullSnapshotDue() {
+        return System.currentTimeMillis() - lastFullSnapshotPublished >= FULL_SNAPSHOT_INTERVAL;
+    }
+
+    private void publishFullSnapshot() {
+        if (marketPriceRequestService.getMarketPriceByCurrencyMap().isEmpty()) {
+            return;
+        }
+        lastFullSnapshotPublished = System.currentTimeMillis();
+        publishMarketPrices(new TreeMap<>(marketPriceRequestService.getMarketPriceByCurrencyMap()));
+    }
+
+    private void publishMarketPrices(TreeMap<Market, MarketPrice> marketPriceByCurrencyMap) {
+        AuthorizedMarketPriceData data = new AuthorizedMarketPriceData(marketPriceByCurrencyMap, staticPublicKeysProvided);
+        publishAuthorizedData(data);
+    }
+
     private CompletableFuture<Boolean> publishAuthorizedData(AuthorizedDistributedData data) {
         return networkService.publishAuthorizedData(data,
                         identity.getNetworkIdWithKeyPair().getKeyPair(),
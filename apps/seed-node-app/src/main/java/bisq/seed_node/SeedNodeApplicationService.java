@@ -22,6 +22,7 @@ import bisq.identity.IdentityService;
 import bisq.java_se.application.JavaSeApplicationService;
 import bisq.network.NetworkService;
 import bisq.network.NetworkServiceConfig;
+import bisq.network.p2p.node.network_load.OpenMetricsExportService;
 import bisq.security.SecurityService;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
@@ -47,6 +48,7 @@ public class SeedNodeApplicationService extends JavaSeApplicationService {
     protected final SecurityService securityService;
     private final SeedNodeService seedNodeService;
     private final BondedRolesService bondedRolesService;
+    private final OpenMetricsExportService openMetricsExportService;
 
     public SeedNodeApplicationService(String[] args) {
         super("seed_node", args);
@@ -62,6 +64,11 @@ public class SeedNodeApplicationService extends JavaSeApplicationService {
                 securityService.getEquihashProofOfWorkService(),
                 memoryReportService);
 
+        openMetricsExportService = new OpenMetricsExportService(hasConfig("metricsExport") ?
+                Optional.of(OpenMetricsExportService.Config.from(getConfig("metricsExport"))) :
+                Optional.empty(),
+                networkService);
+
         identityService = new IdentityService(persistenceService,
                 securityService.getKeyBundleService(),
                 networkService);
@@ -79,6 +86,7 @@ public class SeedNodeApplicationService extends JavaSeApplicationService {
         return memoryReportService.initialize()
                 .thenCompose(result -> securityService.initialize())
                 .thenCompose(result -> networkService.initialize())
+                .thenCompose(result -> openMetricsExportService.initialize())
                 .thenCompose(result -> identityService.initialize())
                 .thenCompose(result -> bondedRolesService.initialize())
                 .thenCompose(result -> seedNodeService.initialize())
@@ -101,6 +109,7 @@ public class SeedNodeApplicationService extends JavaSeApplicationService {
         return supplyAsync(() -> seedNodeService.shutdown()
                 .thenCompose(result -> bondedRolesService.shutdown())
                 .thenCompose(result -> identityService.shutdown())
+                .thenCompose(result -> openMetricsExportService.shutdown())
                 .thenCompose(result -> networkService.shutdown())
                 .thenCompose(result -> securityService.shutdown())
                 .thenCompose(result -> memoryReportService.shutdown())
@@ -29,18 +29,18 @@ import bisq.common.threading.ThreadName;
 import bisq.common.timer.Scheduler;
 import bisq.common.util.CollectionUtil;
 import bisq.common.util.ExceptionUtil;
-import bisq.common.util.MathUtils;
 import bisq.network.NetworkService;
 import bisq.common.network.TransportType;
-import bisq.network.http.BaseHttpClient;
+import bisq.network.http.PooledHttpClient;
 import bisq.network.http.utils.HttpException;
-import com.google.gson.Gson;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 
 import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.StringReader;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
@@ -128,7 +128,6 @@ public class MarketPriceRequestService {
     @Getter
     private final ObservableHashMap<Market, MarketPrice> marketPriceByCurrencyMap = new ObservableHashMap<>();
     private final String userAgent;
-    private Optional<BaseHttpClient> httpClient = Optional.empty();
     @Nullable
     private Scheduler scheduler;
     private long initialDelay = 0;
@@ -183,8 +182,8 @@ public class MarketPriceRequestService {
         if (scheduler != null) {
             scheduler.stop();
         }
-        return httpClient.map(BaseHttpClient::shutdown)
-                .orElse(CompletableFuture.completedFuture(true));
+        // The pooled http clients are shut down by the networkService
+        return CompletableFuture.completedFuture(true);
     }
 
     private void startRequesting() {
@@ -232,8 +231,8 @@ public class MarketPriceRequestService {
         return CompletableFuture.runAsync(() -> {
                     ThreadName.set(this, "request");
                     Provider provider = checkNotNull(selectedProvider.get(), "Selected provider must not be null.");
-                    BaseHttpClient client = networkService.getHttpClient(provider.baseUrl, userAgent, provider.transportType);
-                    httpClient = Optional.of(client);
+                    // We use a pooled client per provider to keep the connection (and Tor circuit) alive between requests
+                    PooledHttpClient client = networkService.getPooledHttpClient(provider.baseUrl, userAgent, provider.transportType);
                     if (client.hasPendingRequest()) {
                         selectedProvider.set(selectNextProvider());
                         int numRecursions = recursionDepth.incrementAndGet();
@@ -251,34 +250,24 @@ public class MarketPriceRequestService {
                     String param = "getAllMarketPrices";
                     log.info("Request market price from {}", client.getBaseUrl() + "/" + param);
                     try {
-                        String json = client.get(param, Optional.of(new Pair<>("User-Agent", userAgent)));
-                        log.info("Received market price from {} after {} ms", client.getBaseUrl() + "/" + param, System.currentTimeMillis() - ts);
-                        Map<Market, MarketPrice> map = parseResponse(json);
-
-                        if (map.isEmpty()) {
-                            log.warn("Provider {} returned an empty or invalid response, switching provider.", client.getBaseUrl());
-                            throw new IllegalStateException("Provider is responsive but not returning any market prices");
+                        Optional<Pair<String, String>> header = Optional.of(new Pair<>("User-Agent", userAgent));
+                        // The validators for the next conditional request are only stored if applyResponse succeeded
+                        boolean isModified = client.getIfModified(param, header, json -> applyResponse(client, param, json, ts));
+                        if (!isModified && marketPriceByCurrencyMap.isEmpty()) {
+                            // We do not have any data yet, thus we cannot use the not modified response
+                            applyResponse(client, param, client.get(param, header), ts);
+                        } else if (!isModified) {
+                            log.info("Market prices from {} have not been modified since our last request. Request took {} ms",
+                                    client.getBaseUrl() + "/" + param, System.currentTimeMillis() - ts);
+                            timeSinceLastResponse = System.currentTimeMillis();
+                            mostRecentProvider = Optional.of(selectedProvider.get());
+                            selectedProvider.set(selectNextProvider());
+                            return;
                         }
 
-                        long now = System.currentTimeMillis();
-                        String sinceLastResponse = timeSinceLastResponse == 0 ? "" : "Time since last response: " + (now - timeSinceLastResponse) / 1000 + " sec";
-                        log.info("Market price request from {} resulted in {} items took {} ms. {}",
-                                client.getBaseUrl(), map.size(), now - ts, sinceLastResponse);
-                        timeSinceLastResponse = now;
-
-                        // We only use those market prices for which we have a market in the repository
-                        Map<Market, MarketPrice> filtered = map.entrySet().stream()
-                                .filter(e -> e.getValue().isValidDate())
-                                .filter(e -> MarketRepository.findAnyMarketByMarketCodes(e.getKey().getMarketCodes()).isPresent())
-                                .collect(Collectors.toMap(e -> MarketRepository.findAnyMarketByMarketCodes(e.getKey().getMarketCodes()).orElseThrow(),
-                                        Map.Entry::getValue));
-                        marketPriceByCurrencyMap.clear();
-                        marketPriceByCurrencyMap.putAll(filtered);
                         mostRecentProvider = Optional.of(selectedProvider.get());
                         selectedProvider.set(selectNextProvider());
-                        shutdownHttpClient(client);
                     } catch (Exception e) {
-                        shutdownHttpClient(client);
                         if (shutdownStarted) {
                             throw new RuntimeException("Shutdown has already started");
                         }
@@ -308,33 +297,49 @@ public class MarketPriceRequestService {
                 .orTimeout(conf.getTimeoutInSeconds(), SECONDS);
     }
 
-    private Map<Market, MarketPrice> parseResponse(String json) {
+    private void applyResponse(PooledHttpClient client, String param, String json, long ts) throws IOException {
+        log.info("Received market price from {} after {} ms", client.getBaseUrl() + "/" + param, System.currentTimeMillis() - ts);
+        Map<Market, MarketPrice> map = parseResponse(json);
+
+        if (map.isEmpty()) {
+            log.warn("Provider {} returned an empty or invalid response, switching provider.", client.getBaseUrl());
+            throw new IllegalStateException("Provider is responsive but not returning any market prices");
+        }
+
+        long now = System.currentTimeMillis();
+        String sinceLastResponse = timeSinceLastResponse == 0 ? "" : "Time since last response: " + (now - timeSinceLastResponse) / 1000 + " sec";
+        log.info("Market price request from {} resulted in {} items took {} ms. {}",
+                client.getBaseUrl(), map.size(), now - ts, sinceLastResponse);
+        timeSinceLastResponse = now;
+
+        // We only use those market prices for which we have a market in the repository
+        Map<Market, MarketPrice> filtered = map.entrySet().stream()
+                .filter(e -> e.getValue().isValidDate())
+                .filter(e -> MarketRepository.findAnyMarketByMarketCodes(e.getKey().getMarketCodes()).isPresent())
+                .collect(Collectors.toMap(e -> MarketRepository.findAnyMarketByMarketCodes(e.getKey().getMarketCodes()).orElseThrow(),
+                        Map.Entry::getValue));
+        applyChangedMarketPrices(filtered);
+    }
+
+    private Map<Market, MarketPrice> parseResponse(String json) throws IOException {
         // size of json is about 8kb
         Map<Market, MarketPrice> map = new HashMap<>();
-        Map<?, ?> linkedTreeMap = new Gson().fromJson(json, Map.class);
-        List<?> list = (ArrayList<?>) linkedTreeMap.get("data");
-        list.forEach(obj -> {
+        MarketPriceResponseParser.parse(new StringReader(json)).forEach(record -> {
             try {
-                Map<?, ?> treeMap = (Map<?, ?>) obj;
-                String currencyCode = (String) treeMap.get("currencyCode");
+                String currencyCode = record.currencyCode();
                 if (!currencyCode.startsWith("NON_EXISTING_SYMBOL")) {
-                    String provider = (String) treeMap.get("provider"); // Bisq-Aggregate or name of exchange of price feed
+                    // Bisq-Aggregate or name of exchange of price feed
                     // Convert Bisq-Aggregate to BISQAGGREGATE
-                    provider = provider.replace("-", "").toUpperCase();
-
-                    double price = (Double) treeMap.get("price");
-                    // json uses double for our timestamp long value...
-                    // We get milliseconds not seconds
-                    long timestamp = MathUtils.doubleToLong((Double) treeMap.get("timestampSec"));
+                    String provider = record.provider().replace("-", "").toUpperCase();
                     // We only get BTC based prices not fiat-fiat or altcoin-altcoin
                     boolean isFiat = TradeCurrency.isFiat(currencyCode);
                     String baseCurrencyCode = isFiat ? "BTC" : currencyCode;
                     String quoteCurrencyCode = isFiat ? currencyCode : "BTC";
-                    PriceQuote priceQuote = PriceQuote.fromPrice(price, baseCurrencyCode, quoteCurrencyCode);
+                    PriceQuote priceQuote = PriceQuote.fromPrice(record.price(), baseCurrencyCode, quoteCurrencyCode);
                     MarketPriceProvider marketPriceProvider = MarketPriceProvider.fromName(provider);
                     MarketPriceProviderInfo marketPriceProviderInfo = new MarketPriceProviderInfo(marketPriceProvider, marketPriceProvider.getDisplayName().orElse(provider));
                     MarketPrice marketPrice = new MarketPrice(priceQuote,
-                            timestamp,
+                            record.timestamp(),
                             marketPriceProviderInfo);
                     if (marketPrice.isValidDate()) {
                         marketPrice.setSource(MarketPrice.Source.REQUESTED_FROM_PRICE_NODE);
@@ -346,12 +351,27 @@ public class MarketPriceRequestService {
                 }
             } catch (Exception e) {
                 // We do not fail the whole request if one entry would be invalid
-                log.warn("Market price conversion failed: {} ", obj, e);
+                log.warn("Market price conversion failed: {} ", record, e);
             }
         });
         return map;
     }
 
+    // Applies only the entries which are new or have changed and removes the markets which are not provided anymore,
+    // so observers get notified only about the changed markets.
+    private void applyChangedMarketPrices(Map<Market, MarketPrice> newMap) {
+        Map<Market, MarketPrice> changed = newMap.entrySet().stream()
+                .filter(e -> !e.getValue().equals(marketPriceByCurrencyMap.get(e.getKey())))
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        Set<Market> removed = new HashSet<>(marketPriceByCurrencyMap.keySet());
+        removed.removeAll(newMap.keySet());
+        removed.forEach(marketPriceByCurrencyMap::remove);
+        if (!changed.isEmpty()) {
+            marketPriceByCurrencyMap.putAll(changed);
+        }
+        log.info("Market prices of {} markets have changed, {} markets have been removed", changed.size(), removed.size());
+    }
+
     private Provider selectNextProvider() {
         if (candidates.isEmpty()) {
             fillCandidates(0);
@@ -381,11 +401,4 @@ public class MarketPriceRequestService {
             }
         }
     }
-
-    private void shutdownHttpClient(BaseHttpClient client) {
-        try {
-            client.shutdown();
-        } catch (Exception ignore) {
-        }
-    }
 }
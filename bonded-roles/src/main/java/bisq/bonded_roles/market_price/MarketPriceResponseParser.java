@@ -0,0 +1,117 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.bonded_roles.market_price;
+
+import bisq.common.util.MathUtils;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses the response of the price node with a streaming JsonReader into MarketPriceRecords without building an
+ * intermediate object tree. Fields we do not use are skipped.
+ * Expected format: {"data":[{"currencyCode":"USD","price":60000.1,"timestampSec":1700000000000,"provider":"Bisq-Aggregate"},...],...}
+ */
+@Slf4j
+final class MarketPriceResponseParser {
+    record MarketPriceRecord(String currencyCode, double price, long timestamp, String provider) {
+    }
+
+    private MarketPriceResponseParser() {
+    }
+
+    static List<MarketPriceRecord> parse(Reader reader) throws IOException {
+        List<MarketPriceRecord> records = new ArrayList<>();
+        try (JsonReader jsonReader = new JsonReader(reader)) {
+            jsonReader.beginObject();
+            while (jsonReader.hasNext()) {
+                if (jsonReader.nextName().equals("data") && jsonReader.peek() == JsonToken.BEGIN_ARRAY) {
+                    jsonReader.beginArray();
+                    while (jsonReader.hasNext()) {
+                        MarketPriceRecord record = parseRecord(jsonReader);
+                        if (record != null) {
+                            records.add(record);
+                        }
+                    }
+                    jsonReader.endArray();
+                } else {
+                    jsonReader.skipValue();
+                }
+            }
+            jsonReader.endObject();
+        }
+        return records;
+    }
+
+
+    /* --------------------------------------------------------------------- */
+    // Private
+    /* --------------------------------------------------------------------- */
+
+    @Nullable
+    private static MarketPriceRecord parseRecord(JsonReader jsonReader) throws IOException {
+        if (jsonReader.peek() != JsonToken.BEGIN_OBJECT) {
+            jsonReader.skipValue();
+            return null;
+        }
+        String currencyCode = null;
+        String provider = null;
+        double price = Double.NaN;
+        // json uses double for our timestamp long value...
+        // We get milliseconds not seconds
+        double timestamp = Double.NaN;
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            String name = jsonReader.nextName();
+            JsonToken token = jsonReader.peek();
+            switch (name) {
+                case "currencyCode" -> currencyCode = token == JsonToken.STRING ? jsonReader.nextString() : skip(jsonReader);
+                case "provider" -> provider = token == JsonToken.STRING ? jsonReader.nextString() : skip(jsonReader);
+                case "price" -> price = token == JsonToken.NUMBER ? jsonReader.nextDouble() : skipNumber(jsonReader);
+                case "timestampSec" -> timestamp = token == JsonToken.NUMBER ? jsonReader.nextDouble() : skipNumber(jsonReader);
+                default -> jsonReader.skipValue();
+            }
+        }
+        jsonReader.endObject();
+
+        if (currencyCode == null || provider == null || Double.isNaN(price) || Double.isNaN(timestamp)) {
+            // We do not fail the whole request if one entry would be invalid
+            log.warn("Market price entry is incomplete. currencyCode={}, provider={}, price={}, timestamp={}",
+                    currencyCode, provider, price, timestamp);
+            return null;
+        }
+        return new MarketPriceRecord(currencyCode, price, MathUtils.doubleToLong(timestamp), provider);
+    }
+
+    @Nullable
+    private static String skip(JsonReader jsonReader) throws IOException {
+        jsonReader.skipValue();
+        return null;
+    }
+
+    private static double skipNumber(JsonReader jsonReader) throws IOException {
+        jsonReader.skipValue();
+        return Double.NaN;
+    }
+}
@@ -28,6 +28,7 @@ import bisq.common.encoding.Hex;
 import bisq.common.monetary.PriceQuote;
 import bisq.common.observable.Observable;
 import bisq.common.observable.Pin;
+import bisq.common.observable.map.HashMapObserver;
 import bisq.common.observable.map.ObservableHashMap;
 import bisq.network.NetworkService;
 import bisq.network.p2p.services.data.storage.auth.authorized.AuthorizedData;
@@ -38,6 +39,7 @@ import bisq.persistence.PersistenceService;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
@@ -84,8 +86,18 @@ public class MarketPriceService implements Service, PersistenceClient<MarketPric
 
         setSelectedMarket(MarketRepository.getDefault());
 
-        marketPriceByCurrencyMapPin = marketPriceRequestService.getMarketPriceByCurrencyMap().addObserver(() ->
-                applyNewMap(marketPriceRequestService.getMarketPriceByCurrencyMap()));
+        // We only apply the changed entries instead of the whole map at each update
+        marketPriceByCurrencyMapPin = marketPriceRequestService.getMarketPriceByCurrencyMap().addObserver(new HashMapObserver<>() {
+            @Override
+            public void put(Market market, MarketPrice marketPrice) {
+                applyNewMap(Map.of(market, marketPrice));
+            }
+
+            @Override
+            public void putAll(Map<? extends Market, ? extends MarketPrice> map) {
+                applyNewMap(new HashMap<>(map));
+            }
+        });
 
         return marketPriceRequestService.initialize();
     }
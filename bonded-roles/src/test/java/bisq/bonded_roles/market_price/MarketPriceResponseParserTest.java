@@ -0,0 +1,68 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package bisq.bonded_roles.market_price;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MarketPriceResponseParserTest {
+    @Test
+    void parseSkipsUnknownFields() throws IOException {
+        String json = "{\"info\":{\"nested\":[1,{\"a\":\"b\"}]}," +
+                "\"data\":[" +
+                "{\"currencyCode\":\"USD\",\"price\":60000.1,\"extra\":{\"x\":[1,2]},\"timestampSec\":1700000000000,\"provider\":\"Bisq-Aggregate\"}," +
+                "{\"provider\":\"BTCAVERAGE\",\"timestampSec\":1700000000001,\"price\":55000,\"currencyCode\":\"EUR\"}" +
+                "],\"bisqapp\":[\"ignored\"]}";
+
+        List<MarketPriceResponseParser.MarketPriceRecord> records = MarketPriceResponseParser.parse(new StringReader(json));
+
+        assertThat(records).containsExactly(
+                new MarketPriceResponseParser.MarketPriceRecord("USD", 60000.1, 1700000000000L, "Bisq-Aggregate"),
+                new MarketPriceResponseParser.MarketPriceRecord("EUR", 55000, 1700000000001L, "BTCAVERAGE"));
+    }
+
+    @Test
+    void parseIgnoresIncompleteEntries() throws IOException {
+        String json = "{\"data\":[" +
+                "{\"currencyCode\":\"USD\",\"price\":null,\"timestampSec\":1700000000000,\"provider\":\"Bisq-Aggregate\"}," +
+                "{\"currencyCode\":\"EUR\",\"price\":55000,\"timestampSec\":1700000000000}," +
+                "{\"currencyCode\":\"CHF\",\"price\":\"50000\",\"timestampSec\":1700000000000,\"provider\":\"Bisq-Aggregate\"}," +
+                "{\"currencyCode\":[\"GBP\"],\"price\":45000,\"timestampSec\":1700000000000,\"provider\":\"Bisq-Aggregate\"}," +
+                "\"notAnObject\"," +
+                "{\"currencyCode\":\"JPY\",\"price\":9000000,\"timestampSec\":1700000000000,\"provider\":\"Bisq-Aggregate\"}" +
+                "]}";
+
+        List<MarketPriceResponseParser.MarketPriceRecord> records = MarketPriceResponseParser.parse(new StringReader(json));
+
+        assertThat(records).containsExactly(
+                new MarketPriceResponseParser.MarketPriceRecord("JPY", 9000000, 1700000000000L, "Bisq-Aggregate"));
+    }
+
+    @Test
+    void parseWithoutDataReturnsEmptyList() throws IOException {
+        String json = "{\"data\":{\"currencyCode\":\"USD\"},\"other\":1}";
+
+        assertThat(MarketPriceResponseParser.parse(new StringReader(json))).isEmpty();
+    }
+}
@@ -19,12 +19,13 @@ package bisq.chat.bisq_easy.offerbook;
 
 import bisq.chat.ChatChannelDomain;
 import bisq.chat.Citation;
-import bisq.chat.pub.PublicChatChannel;
 import bisq.chat.pub.PublicChatChannelService;
 import bisq.chat.reactions.BisqEasyOfferbookMessageReaction;
 import bisq.chat.reactions.Reaction;
 import bisq.common.currency.Market;
 import bisq.common.currency.MarketRepository;
+import bisq.common.observable.Pin;
+import bisq.common.observable.collection.CollectionObserver;
 import bisq.common.observable.collection.ObservableSet;
 import bisq.common.observable.map.ObservableHashMap;
 import bisq.common.util.StringUtils;
@@ -41,10 +42,11 @@ import bisq.user.profile.UserProfile;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 public class BisqEasyOfferbookChannelService extends PublicChatChannelService<BisqEasyOfferbookMessage,
@@ -55,6 +57,9 @@ public class BisqEasyOfferbookChannelService extends PublicChatChannelService<Bi
     private final Persistence<BisqEasyOfferbookChannelStore> persistence;
     @Getter
     private final ObservableHashMap<String, Integer> numOffersByCurrencyCode = new ObservableHashMap<>();
+    @Getter
+    private final BisqEasyOfferbookIndex offerbookIndex = new BisqEasyOfferbookIndex();
+    private final Map<String, Pin> chatMessagesPinByChannelId = new ConcurrentHashMap<>();
 
     public BisqEasyOfferbookChannelService(PersistenceService persistenceService,
                                            NetworkService networkService,
@@ -62,19 +67,27 @@ public class BisqEasyOfferbookChannelService extends PublicChatChannelService<Bi
         super(networkService, userService, ChatChannelDomain.BISQ_EASY_OFFERBOOK);
         persistence = persistenceService.getOrCreatePersistence(this, DbSubDirectory.CACHE, persistableStore);
 
-        getChannels().addObserver(() -> {
-            getChannels().forEach(
-                    channel -> {
-                        var code = channel.getMarket().getQuoteCurrencyCode();
-                        ObservableSet<BisqEasyOfferbookMessage> chatMessages = channel.getChatMessages();
-                        chatMessages.addObserver(()->{
-                            var numOffers = (int) chatMessages.stream()
-                                    .filter(BisqEasyOfferbookMessage::hasBisqEasyOffer)
-                                    .count();
-                            numOffersByCurrencyCode.put(code, numOffers);
-                        });
-                    }
-            );
+        getChannels().addObserver(new CollectionObserver<>() {
+            @Override
+            public void add(BisqEasyOfferbookChannel channel) {
+                addChannelToIndex(channel);
+            }
+
+            @Override
+            public void remove(Object element) {
+                if (element instanceof BisqEasyOfferbookChannel channel) {
+                    removeChannelFromIndex(channel);
+                }
+            }
+
+            @Override
+            public void clear() {
+                // The channels are already removed when clear is called, thus we clear the whole index
+                chatMessagesPinByChannelId.values().forEach(Pin::unbind);
+                chatMessagesPinByChannelId.clear();
+                offerbookIndex.clear();
+                numOffersByCurrencyCode.clear();
+            }
         });
     }
 
@@ -131,19 +144,12 @@ public class BisqEasyOfferbookChannelService extends PublicChatChannelService<Bi
     }
 
     public Optional<BisqEasyOfferbookMessage> findMessageByOffer(BisqEasyOffer offer) {
-        return findChannel(offer.getMarket())
-                .map(PublicChatChannel::getChatMessages).stream()
-                .flatMap(Collection::stream)
-                .filter(chatMessage -> offer.equals(chatMessage.getBisqEasyOffer().orElse(null)))
-                .findAny();
+        return offerbookIndex.findMessageByOfferId(offer.getId())
+                .filter(chatMessage -> offer.equals(chatMessage.getBisqEasyOffer().orElse(null)));
     }
 
     public Optional<BisqEasyOfferbookMessage> findMessageByOfferId(String offerId) {
-        return getChannels().stream()
-                .flatMap(channel -> channel.getChatMessages().stream())
-                .filter(chatMessage -> chatMessage.getBisqEasyOffer().isPresent() &&
-                        chatMessage.getBisqEasyOffer().get().getId().equals(offerId))
-                .findAny();
+        return offerbookIndex.findMessageByOfferId(offerId);
     }
 
 
@@ -204,6 +210,52 @@ public class BisqEasyOfferbookChannelService extends PublicChatChannelService<Bi
                 new Date().getTime());
     }
 
+    private void addChannelToIndex(BisqEasyOfferbookChannel channel) {
+        Market market = channel.getMarket();
+        Pin previousPin = chatMessagesPinByChannelId.put(channel.getId(), channel.getChatMessages().addObserver(new CollectionObserver<>() {
+            @Override
+            public void add(BisqEasyOfferbookMessage message) {
+                if (offerbookIndex.add(market, message)) {
+                    updateNumOffers(market);
+                }
+            }
+
+            @Override
+            public void remove(Object element) {
+                if (element instanceof BisqEasyOfferbookMessage message && offerbookIndex.remove(market, message)) {
+                    updateNumOffers(market);
+                }
+            }
+
+            @Override
+            public void clear() {
+                offerbookIndex.clear(market);
+                updateNumOffers(market);
+            }
+        }));
+        if (previousPin != null) {
+            previousPin.unbind();
+        }
+        updateNumOffers(market);
+    }
+
+    private void removeChannelFromIndex(BisqEasyOfferbookChannel channel) {
+        Pin pin = chatMessagesPinByChannelId.remove(channel.getId());
+        if (pin != null) {
+            pin.unbind();
+        }
+        offerbookIndex.clear(channel.getMarket());
+        numOffersByCurrencyCode.remove(channel.getMarket().getQuoteCurrencyCode());
+    }
+
+    private void updateNumOffers(Market market) {
+        int numOffers = offerbookIndex.getNumOffers(market);
+        String code = market.getQuoteCurrencyCode();
+        if (!Integer.valueOf(numOffers).equals(numOffersByCurrencyCode.get(code))) {
+            numOffersByCurrencyCode.put(code, numOffers);
+        }
+    }
+
     private void maybeAddPublicTradeChannel(BisqEasyOfferbookChannel channel) {
         if (!getChannels().contains(channel)) {
             getChannels().add(channel);
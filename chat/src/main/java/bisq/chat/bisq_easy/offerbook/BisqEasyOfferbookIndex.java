@@ -0,0 +1,314 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.chat.bisq_easy.offerbook;
+
+import bisq.common.currency.Market;
+import bisq.common.monetary.PriceQuote;
+import bisq.offer.Direction;
+import bisq.offer.bisq_easy.BisqEasyOffer;
+import bisq.offer.payment_method.PaymentMethodSpec;
+import bisq.offer.price.spec.FixPriceSpec;
+import bisq.offer.price.spec.FloatPriceSpec;
+import bisq.offer.price.spec.PriceSpec;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Index of the offer messages in the Bisq Easy offerbook channels. It is maintained incrementally when messages get
+ * added to or removed from a channel, so that clients do not need to scan all chat messages of all channels.
+ * <p>
+ * Messages are indexed by their message ID. Multiple messages might carry the same offer, thus removing one of them
+ * must not remove the offer from the index.
+ * <p>
+ * For the price sorted view we keep fix price offers sorted by price and float price offers sorted by their
+ * percentage from the market price. As a float price is a monotonic function of the percentage, both sorted sets
+ * can be merged in linear time once the market price is known.
+ */
+@Slf4j
+public final class BisqEasyOfferbookIndex {
+    public interface Listener {
+        void onOfferMessageAdded(Market market, BisqEasyOfferbookMessage message);
+
+        void onOfferMessageRemoved(Market market, BisqEasyOfferbookMessage message);
+    }
+
+    private static final Comparator<BisqEasyOfferbookMessage> BY_FIX_PRICE = Comparator
+            .<BisqEasyOfferbookMessage>comparingLong(message -> getFixPrice(getOffer(message)))
+            .thenComparing(BisqEasyOfferbookMessage::getId);
+    private static final Comparator<BisqEasyOfferbookMessage> BY_PERCENTAGE = Comparator
+            .<BisqEasyOfferbookMessage>comparingDouble(message -> getPercentage(getOffer(message)))
+            .thenComparing(BisqEasyOfferbookMessage::getId);
+
+    private static final class MarketOffers {
+        private final Map<String, BisqEasyOfferbookMessage> messageById = new LinkedHashMap<>();
+        private final Map<Direction, Set<BisqEasyOfferbookMessage>> messagesByDirection = new EnumMap<>(Direction.class);
+        private final Map<String, Set<BisqEasyOfferbookMessage>> messagesByPaymentMethodName = new HashMap<>();
+        private final NavigableSet<BisqEasyOfferbookMessage> fixPriceMessages = new TreeSet<>(BY_FIX_PRICE);
+        private final NavigableSet<BisqEasyOfferbookMessage> floatPriceMessages = new TreeSet<>(BY_PERCENTAGE);
+
+        private void add(BisqEasyOfferbookMessage message) {
+            messageById.put(message.getId(), message);
+            BisqEasyOffer offer = getOffer(message);
+            messagesByDirection.computeIfAbsent(offer.getDirection(), key -> new LinkedHashSet<>()).add(message);
+            getPaymentMethodNames(offer).forEach(paymentMethodName ->
+                    messagesByPaymentMethodName.computeIfAbsent(paymentMethodName, key -> new LinkedHashSet<>()).add(message));
+            if (offer.getPriceSpec() instanceof FixPriceSpec) {
+                fixPriceMessages.add(message);
+            } else {
+                floatPriceMessages.add(message);
+            }
+        }
+
+        private void remove(BisqEasyOfferbookMessage message) {
+            messageById.remove(message.getId());
+            BisqEasyOffer offer = getOffer(message);
+            removeFromIndex(messagesByDirection, offer.getDirection(), message);
+            getPaymentMethodNames(offer).forEach(paymentMethodName ->
+                    removeFromIndex(messagesByPaymentMethodName, paymentMethodName, message));
+            fixPriceMessages.remove(message);
+            floatPriceMessages.remove(message);
+        }
+    }
+
+    private final Map<Market, MarketOffers> offersByMarket = new HashMap<>();
+    private final Map<String, BisqEasyOfferbookMessage> messageById = new HashMap<>();
+    private final Map<String, Set<BisqEasyOfferbookMessage>> messagesByOfferId = new HashMap<>();
+    private final Set<Listener> listeners = new CopyOnWriteArraySet<>();
+
+    BisqEasyOfferbookIndex() {
+    }
+
+
+    /* --------------------------------------------------------------------- */
+    // API
+    /* --------------------------------------------------------------------- */
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    public synchronized int getNumOffers(Market market) {
+        return Optional.ofNullable(offersByMarket.get(market))
+                .map(marketOffers -> marketOffers.messageById.size())
+                .orElse(0);
+    }
+
+    public synchronized int getNumOffers() {
+        return messageById.size();
+    }
+
+    public synchronized Optional<BisqEasyOfferbookMessage> findMessageByOfferId(String offerId) {
+        return Optional.ofNullable(messagesByOfferId.get(offerId))
+                .flatMap(messages -> messages.stream().findFirst());
+    }
+
+    public synchronized List<BisqEasyOfferbookMessage> getOfferMessages() {
+        return new ArrayList<>(messageById.values());
+    }
+
+    public synchronized List<BisqEasyOfferbookMessage> getOfferMessages(Market market) {
+        return Optional.ofNullable(offersByMarket.get(market))
+                .map(marketOffers -> new ArrayList<>(marketOffers.messageById.values()))
+                .orElseGet(ArrayList::new);
+    }
+
+    public synchronized List<BisqEasyOfferbookMessage> getOfferMessages(Market market, Direction direction) {
+        return Optional.ofNullable(offersByMarket.get(market))
+                .map(marketOffers -> marketOffers.messagesByDirection.get(direction))
+                .map(ArrayList::new)
+                .orElseGet(ArrayList::new);
+    }
+
+    /**
+     * @param paymentMethodName The name of a base side or quote side payment method.
+     */
+    public synchronized List<BisqEasyOfferbookMessage> getOfferMessages(Market market, String paymentMethodName) {
+        return Optional.ofNullable(offersByMarket.get(market))
+                .map(marketOffers -> marketOffers.messagesByPaymentMethodName.get(paymentMethodName))
+                .map(ArrayList::new)
+                .orElseGet(ArrayList::new);
+    }
+
+    /**
+     * @param marketPrice The market price used for comparing float price offers with fix price offers. If not present,
+     *                    the float price offers are appended after the fix price offers.
+     * @return The offer messages of the given market sorted by ascending price.
+     */
+    public synchronized List<BisqEasyOfferbookMessage> getOfferMessagesSortedByPrice(Market market,
+                                                                                   Optional<PriceQuote> marketPrice) {
+        MarketOffers marketOffers = offersByMarket.get(market);
+        if (marketOffers == null) {
+            return new ArrayList<>();
+        }
+        List<BisqEasyOfferbookMessage> result = new ArrayList<>(marketOffers.messageById.size());
+        if (marketPrice.isEmpty()) {
+            result.addAll(marketOffers.fixPriceMessages);
+            result.addAll(marketOffers.floatPriceMessages);
+            return result;
+        }
+
+        double marketPriceValue = marketPrice.get().getValue();
+        Iterator<BisqEasyOfferbookMessage> fixPriceIterator = marketOffers.fixPriceMessages.iterator();
+        Iterator<BisqEasyOfferbookMessage> floatPriceIterator = marketOffers.floatPriceMessages.iterator();
+        BisqEasyOfferbookMessage fixPriceMessage = fixPriceIterator.hasNext() ? fixPriceIterator.next() : null;
+        BisqEasyOfferbookMessage floatPriceMessage = floatPriceIterator.hasNext() ? floatPriceIterator.next() : null;
+        while (fixPriceMessage != null || floatPriceMessage != null) {
+            boolean takeFixPrice = floatPriceMessage == null ||
+                    (fixPriceMessage != null &&
+                            getFixPrice(getOffer(fixPriceMessage)) <= marketPriceValue * (1 + getPercentage(getOffer(floatPriceMessage))));
+            if (takeFixPrice) {
+                result.add(fixPriceMessage);
+                fixPriceMessage = fixPriceIterator.hasNext() ? fixPriceIterator.next() : null;
+            } else {
+                result.add(floatPriceMessage);
+                floatPriceMessage = floatPriceIterator.hasNext() ? floatPriceIterator.next() : null;
+            }
+        }
+        return result;
+    }
+
+
+    /* --------------------------------------------------------------------- */
+    // Package private
+    /* --------------------------------------------------------------------- */
+
+    /**
+     * @return true if the message contained an offer and was not indexed yet.
+     */
+    boolean add(Market market, BisqEasyOfferbookMessage message) {
+        synchronized (this) {
+            if (!message.hasBisqEasyOffer() || messageById.containsKey(message.getId())) {
+                return false;
+            }
+            messageById.put(message.getId(), message);
+            offersByMarket.computeIfAbsent(market, key -> new MarketOffers()).add(message);
+            messagesByOfferId.computeIfAbsent(getOffer(message).getId(), key -> new LinkedHashSet<>()).add(message);
+        }
+        // We notify outside the lock, so that listeners can read from the index
+        listeners.forEach(listener -> notifyAdded(listener, market, message));
+        return true;
+    }
+
+    /**
+     * @return true if the message was indexed.
+     */
+    boolean remove(Market market, BisqEasyOfferbookMessage message) {
+        BisqEasyOfferbookMessage indexedMessage;
+        synchronized (this) {
+            indexedMessage = messageById.remove(message.getId());
+            if (indexedMessage == null) {
+                return false;
+            }
+            MarketOffers marketOffers = offersByMarket.get(market);
+            if (marketOffers != null) {
+                marketOffers.remove(indexedMessage);
+                if (marketOffers.messageById.isEmpty()) {
+                    offersByMarket.remove(market);
+                }
+            }
+            removeFromIndex(messagesByOfferId, getOffer(indexedMessage).getId(), indexedMessage);
+        }
+        listeners.forEach(listener -> notifyRemoved(listener, market, indexedMessage));
+        return true;
+    }
+
+    void clear() {
+        List<Market> markets;
+        synchronized (this) {
+            markets = new ArrayList<>(offersByMarket.keySet());
+        }
+        markets.forEach(this::clear);
+    }
+
+    void clear(Market market) {
+        MarketOffers marketOffers;
+        synchronized (this) {
+            marketOffers = offersByMarket.remove(market);
+            if (marketOffers == null) {
+                return;
+            }
+            marketOffers.messageById.values().forEach(message -> {
+                messageById.remove(message.getId());
+                removeFromIndex(messagesByOfferId, getOffer(message).getId(), message);
+            });
+        }
+        marketOffers.messageById.values().forEach(message ->
+                listeners.forEach(listener -> notifyRemoved(listener, market, message)));
+    }
+
+
+    /* --------------------------------------------------------------------- */
+    // Private
+    /* --------------------------------------------------------------------- */
+
+    private static void notifyAdded(Listener listener, Market market, BisqEasyOfferbookMessage message) {
+        try {
+            listener.onOfferMessageAdded(market, message);
+        } catch (Exception e) {
+            log.error("Calling onOfferMessageAdded at listener {} failed", listener, e);
+        }
+    }
+
+    private static void notifyRemoved(Listener listener, Market market, BisqEasyOfferbookMessage message) {
+        try {
+            listener.onOfferMessageRemoved(market, message);
+        } catch (Exception e) {
+            log.error("Calling onOfferMessageRemoved at listener {} failed", listener, e);
+        }
+    }
+
+    private static BisqEasyOffer getOffer(BisqEasyOfferbookMessage message) {
+        return message.getBisqEasyOffer().orElseThrow();
+    }
+
+    private static long getFixPrice(BisqEasyOffer offer) {
+        return ((FixPriceSpec) offer.getPriceSpec()).getPriceQuote().getValue();
+    }
+
+    // MarketPriceSpec is treated as a float price with 0 percentage
+    private static double getPercentage(BisqEasyOffer offer) {
+        PriceSpec priceSpec = offer.getPriceSpec();
+        return priceSpec instanceof FloatPriceSpec ? ((FloatPriceSpec) priceSpec).getPercentage() : 0;
+    }
+
+    private static Set<String> getPaymentMethodNames(BisqEasyOffer offer) {
+        return Stream.<PaymentMethodSpec<?>>concat(offer.getBaseSidePaymentMethodSpecs().stream(), offer.getQuoteSidePaymentMethodSpecs().stream())
+                .map(PaymentMethodSpec::getPaymentMethodName)
+                .collect(Collectors.toSet());
+    }
+
+    private static <K> void removeFromIndex(Map<K, Set<BisqEasyOfferbookMessage>> index,
+                                            K key,
+                                            BisqEasyOfferbookMessage message) {
+        Set<BisqEasyOfferbookMessage> messages = index.get(key);
+        if (messages != null) {
+            messages.remove(message);
+            if (messages.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+}
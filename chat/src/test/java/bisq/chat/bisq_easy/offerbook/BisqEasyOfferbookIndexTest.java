@@ -0,0 +1,198 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package bisq.chat.bisq_easy.offerbook;
+
+import bisq.account.payment_method.BitcoinPaymentMethod;
+import bisq.account.payment_method.BitcoinPaymentRail;
+import bisq.account.payment_method.FiatPaymentMethod;
+import bisq.account.payment_method.FiatPaymentRail;
+import bisq.chat.ChatChannelDomain;
+import bisq.chat.ChatMessageType;
+import bisq.common.currency.Market;
+import bisq.common.currency.MarketRepository;
+import bisq.common.monetary.PriceQuote;
+import bisq.common.network.AddressByTransportTypeMap;
+import bisq.common.network.DefaultLocalhostFacade;
+import bisq.common.network.TransportType;
+import bisq.network.identity.NetworkId;
+import bisq.offer.Direction;
+import bisq.offer.amount.spec.QuoteSideFixedAmountSpec;
+import bisq.offer.bisq_easy.BisqEasyOffer;
+import bisq.offer.price.spec.FixPriceSpec;
+import bisq.offer.price.spec.FloatPriceSpec;
+import bisq.offer.price.spec.MarketPriceSpec;
+import bisq.offer.price.spec.PriceSpec;
+import bisq.security.keys.KeyGeneration;
+import bisq.security.keys.PubKey;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.security.GeneralSecurityException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BisqEasyOfferbookIndexTest {
+    private final Market market = MarketRepository.getUSDBitcoinMarket();
+    private BisqEasyOfferbookIndex index;
+    private BisqEasyOffer offer;
+
+    private NetworkId networkId;
+
+    @BeforeEach
+    void setUp() throws GeneralSecurityException {
+        index = new BisqEasyOfferbookIndex();
+        AddressByTransportTypeMap addressByTransportTypeMap = new AddressByTransportTypeMap(
+                Map.of(TransportType.CLEAR, DefaultLocalhostFacade.toLocalHostAddress(1234)));
+        PubKey pubKey = new PubKey(KeyGeneration.generateKeyPair().getPublic(), "keyId");
+        networkId = new NetworkId(addressByTransportTypeMap, pubKey);
+        offer = createOffer(Direction.BUY, new MarketPriceSpec(), FiatPaymentRail.ZELLE);
+    }
+
+    @Test
+    void addAndRemove() {
+        BisqEasyOfferbookMessage message = createMessage("message1", Optional.of(offer));
+
+        assertThat(index.add(market, message)).isTrue();
+        assertThat(index.add(market, message)).isFalse();
+        assertThat(index.getNumOffers(market)).isEqualTo(1);
+        assertThat(index.getNumOffers()).isEqualTo(1);
+        assertThat(index.findMessageByOfferId(offer.getId())).hasValue(message);
+        assertThat(index.getOfferMessages(market)).containsExactly(message);
+
+        assertThat(index.remove(market, message)).isTrue();
+        assertThat(index.remove(market, message)).isFalse();
+        assertThat(index.getNumOffers(market)).isZero();
+        assertThat(index.findMessageByOfferId(offer.getId())).isEmpty();
+        assertThat(index.getOfferMessages()).isEmpty();
+    }
+
+    @Test
+    void messageWithoutOfferIsNotIndexed() {
+        BisqEasyOfferbookMessage message = createMessage("message1", Optional.empty());
+
+        assertThat(index.add(market, message)).isFalse();
+        assertThat(index.getNumOffers()).isZero();
+    }
+
+    @Test
+    void removingDuplicateKeepsOffer() {
+        BisqEasyOfferbookMessage message1 = createMessage("message1", Optional.of(offer));
+        BisqEasyOfferbookMessage message2 = createMessage("message2", Optional.of(offer));
+        assertThat(index.add(market, message1)).isTrue();
+        assertThat(index.add(market, message2)).isTrue();
+        assertThat(index.getNumOffers(market)).isEqualTo(2);
+
+        assertThat(index.remove(market, message1)).isTrue();
+        assertThat(index.getNumOffers(market)).isEqualTo(1);
+        assertThat(index.findMessageByOfferId(offer.getId())).hasValue(message2);
+
+        assertThat(index.remove(market, message2)).isTrue();
+        assertThat(index.findMessageByOfferId(offer.getId())).isEmpty();
+    }
+
+    @Test
+    void clearMarket() {
+        index.add(market, createMessage("message1", Optional.of(offer)));
+        index.add(market, createMessage("message2", Optional.of(offer)));
+
+        index.clear(market);
+
+        assertThat(index.getNumOffers()).isZero();
+        assertThat(index.findMessageByOfferId(offer.getId())).isEmpty();
+    }
+
+    @Test
+    void directionAndPaymentMethodViews() {
+        BisqEasyOfferbookMessage buyZelle = createMessage("message1", Optional.of(offer));
+        BisqEasyOfferbookMessage sellSepa = createMessage("message2",
+                Optional.of(createOffer(Direction.SELL, new MarketPriceSpec(), FiatPaymentRail.SEPA)));
+        BisqEasyOfferbookMessage sellZelle = createMessage("message3",
+                Optional.of(createOffer(Direction.SELL, new MarketPriceSpec(), FiatPaymentRail.ZELLE)));
+        index.add(market, buyZelle);
+        index.add(market, sellSepa);
+        index.add(market, sellZelle);
+
+        assertThat(index.getOfferMessages(market, Direction.BUY)).containsExactly(buyZelle);
+        assertThat(index.getOfferMessages(market, Direction.SELL)).containsExactly(sellSepa, sellZelle);
+        assertThat(index.getOfferMessages(market, FiatPaymentRail.ZELLE.name())).containsExactly(buyZelle, sellZelle);
+        assertThat(index.getOfferMessages(market, BitcoinPaymentRail.MAIN_CHAIN.name())).hasSize(3);
+
+        index.remove(market, sellZelle);
+        assertThat(index.getOfferMessages(market, Direction.SELL)).containsExactly(sellSepa);
+        assertThat(index.getOfferMessages(market, FiatPaymentRail.ZELLE.name())).containsExactly(buyZelle);
+
+        index.clear(market);
+        assertThat(index.getOfferMessages(market, Direction.SELL)).isEmpty();
+        assertThat(index.getOfferMessages(market, FiatPaymentRail.SEPA.name())).isEmpty();
+    }
+
+    @Test
+    void sortedByPrice() {
+        BisqEasyOfferbookMessage fixLow = createMessage("fixLow",
+                Optional.of(createOffer(Direction.SELL, new FixPriceSpec(PriceQuote.fromPrice(490_000_000L, market)), FiatPaymentRail.ZELLE)));
+        BisqEasyOfferbookMessage fixHigh = createMessage("fixHigh",
+                Optional.of(createOffer(Direction.SELL, new FixPriceSpec(PriceQuote.fromPrice(510_000_000L, market)), FiatPaymentRail.ZELLE)));
+        BisqEasyOfferbookMessage floatBelow = createMessage("floatBelow",
+                Optional.of(createOffer(Direction.SELL, new FloatPriceSpec(-0.05), FiatPaymentRail.ZELLE)));
+        BisqEasyOfferbookMessage floatAbove = createMessage("floatAbove",
+                Optional.of(createOffer(Direction.SELL, new FloatPriceSpec(0.01), FiatPaymentRail.ZELLE)));
+        index.add(market, fixHigh);
+        index.add(market, floatAbove);
+        index.add(market, fixLow);
+        index.add(market, floatBelow);
+
+        PriceQuote marketPrice = PriceQuote.fromPrice(500_000_000L, market);
+        assertThat(index.getOfferMessagesSortedByPrice(market, Optional.of(marketPrice)))
+                .containsExactly(floatBelow, fixLow, floatAbove, fixHigh);
+        assertThat(index.getOfferMessagesSortedByPrice(market, Optional.empty()))
+                .containsExactly(fixLow, fixHigh, floatBelow, floatAbove);
+
+        index.remove(market, fixLow);
+        assertThat(index.getOfferMessagesSortedByPrice(market, Optional.of(marketPrice)))
+                .containsExactly(floatBelow, floatAbove, fixHigh);
+    }
+
+    private BisqEasyOffer createOffer(Direction direction, PriceSpec priceSpec, FiatPaymentRail fiatPaymentRail) {
+        return new BisqEasyOffer(networkId,
+                direction,
+                market,
+                new QuoteSideFixedAmountSpec(1000000),
+                priceSpec,
+                List.of(BitcoinPaymentMethod.fromPaymentRail(BitcoinPaymentRail.MAIN_CHAIN)),
+                List.of(FiatPaymentMethod.fromPaymentRail(fiatPaymentRail)),
+                "",
+                List.of("en"));
+    }
+
+    private BisqEasyOfferbookMessage createMessage(String messageId, Optional<BisqEasyOffer> bisqEasyOffer) {
+        return new BisqEasyOfferbookMessage(messageId,
+                ChatChannelDomain.BISQ_EASY_OFFERBOOK,
+                "channelId",
+                "authorUserProfileId",
+                bisqEasyOffer,
+                Optional.empty(),
+                Optional.empty(),
+                System.currentTimeMillis(),
+                false,
+                ChatMessageType.TEXT);
+    }
+}
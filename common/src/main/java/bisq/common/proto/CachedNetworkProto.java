@@ -0,0 +1,44 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package bisq.common.proto;
+
+/**
+ * Opt-in for immutable network data which gets serialized or hashed repeatedly (e.g. at each send, at size
+ * accounting of inventory responses and at hashing for the storage map).
+ * The encodings are computed once and kept in the ProtoCache of the instance. Implementations must be deeply
+ * immutable and should declare the ProtoCache as a transient field, so that it is excluded from equals and hashCode.
+ */
+public interface CachedNetworkProto extends NetworkProto {
+    ProtoCache getProtoCache();
+
+    @Override
+    default byte[] serialize() {
+        return getProtoCache().getSerialized(NetworkProto.super::serialize);
+    }
+
+    @Override
+    default byte[] serializeForHash() {
+        return getProtoCache().getSerializedForHash(NetworkProto.super::serializeForHash);
+    }
+
+    @Override
+    default int getSerializedSize() {
+        return getProtoCache().getSerializedSize(NetworkProto.super::serialize);
+    }
+}
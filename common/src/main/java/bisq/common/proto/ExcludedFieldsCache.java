@@ -0,0 +1,68 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package bisq.common.proto;
+
+import bisq.common.annotation.ExcludeForHash;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Per class cache of the fields annotated with ExcludeForHash, so that we do not need to use reflection each time
+ * we serialize for a hash. Only the version filter is applied per call as the version can depend on the instance.
+ */
+final class ExcludedFieldsCache {
+    private record ExcludedField(String name, int[] excludeOnlyInVersions) {
+        private boolean isExcluded(int version) {
+            return excludeOnlyInVersions.length == 0 ||
+                    Arrays.stream(excludeOnlyInVersions).anyMatch(excludedVersion -> excludedVersion == version);
+        }
+    }
+
+    private static final ClassValue<List<ExcludedField>> EXCLUDED_FIELDS_BY_CLASS = new ClassValue<>() {
+        @Override
+        protected List<ExcludedField> computeValue(Class<?> type) {
+            return Arrays.stream(type.getDeclaredFields())
+                    .filter(field -> field.isAnnotationPresent(ExcludeForHash.class))
+                    .map(field -> new ExcludedField(field.getName(), getExcludeOnlyInVersions(field)))
+                    .toList();
+        }
+    };
+
+    private ExcludedFieldsCache() {
+    }
+
+    static Set<String> getExcludedFields(Class<?> type, int version) {
+        List<ExcludedField> excludedFields = EXCLUDED_FIELDS_BY_CLASS.get(type);
+        if (excludedFields.isEmpty()) {
+            return Set.of();
+        }
+        return excludedFields.stream()
+                .filter(excludedField -> excludedField.isExcluded(version))
+                .map(ExcludedField::name)
+                .collect(Collectors.toSet());
+    }
+
+    private static int[] getExcludeOnlyInVersions(Field field) {
+        return field.getAnnotation(ExcludeForHash.class).excludeOnlyInVersions();
+    }
+}
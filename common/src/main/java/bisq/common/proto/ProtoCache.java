@@ -0,0 +1,73 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package bisq.common.proto;
+
+import java.util.function.Supplier;
+
+/**
+ * Holds the lazily computed encodings of an immutable proto instance.
+ * Concurrent first calls might compute the same value more than once, which is harmless as the computation is
+ * deterministic. Returned arrays are copies, so that callers cannot alter the cached values.
+ */
+public final class ProtoCache {
+    private volatile byte[] serialized;
+    private volatile byte[] serializedForHash;
+    private volatile byte[] hash;
+
+    public ProtoCache() {
+    }
+
+    public byte[] getSerialized(Supplier<byte[]> serializer) {
+        return resolveSerialized(serializer).clone();
+    }
+
+    public int getSerializedSize(Supplier<byte[]> serializer) {
+        return resolveSerialized(serializer).length;
+    }
+
+    public byte[] getSerializedForHash(Supplier<byte[]> serializer) {
+        byte[] result = serializedForHash;
+        if (result == null) {
+            result = serializer.get();
+            serializedForHash = result;
+        }
+        return result.clone();
+    }
+
+    /**
+     * @param hashSupplier Supplier of the hash. Must always use the same hash function for a given instance.
+     */
+    public byte[] getHash(Supplier<byte[]> hashSupplier) {
+        byte[] result = hash;
+        if (result == null) {
+            result = hashSupplier.get();
+            hash = result;
+        }
+        return result.clone();
+    }
+
+    private byte[] resolveSerialized(Supplier<byte[]> serializer) {
+        byte[] result = serialized;
+        if (result == null) {
+            result = serializer.get();
+            serialized = result;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,257 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.timer;
+
+import bisq.common.threading.ExecutorFactory;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hashed timing wheel (Varghese and Lauck) shared by all Scheduler instances.
+ * A single tick thread advances the wheel and hands expired timeouts over to a worker pool. The worker pool uses a
+ * SynchronousQueue, so an expired task never waits for another task to complete. If the pool is exhausted we fall
+ * back to a dedicated thread to keep that guarantee.
+ * Adding and cancelling a timeout is O(1). The resolution is limited to the tick duration.
+ */
+@Slf4j
+final class HashedWheelTimer {
+    static final long TICK_DURATION = 10;
+    private static final int WHEEL_SIZE = 512;
+    private static final int MAX_WORKER_THREADS = 1000;
+
+    private static HashedWheelTimer instance;
+
+    static synchronized HashedWheelTimer getInstance() {
+        if (instance == null) {
+            instance = new HashedWheelTimer(TICK_DURATION, WHEEL_SIZE,
+                    ExecutorFactory.newCachedThreadPool("Scheduler.worker", 1, MAX_WORKER_THREADS, 60));
+        }
+        return instance;
+    }
+
+    private final long tickDurationNanos;
+    private final int mask;
+    private final Bucket[] wheel;
+    private final ExecutorService workerPool;
+    private final Queue<Timeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+    private final long startTime = System.nanoTime();
+    private long tick;
+
+    HashedWheelTimer(long tickDurationMs, int wheelSize, ExecutorService workerPool) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("wheelSize must be a power of 2");
+        }
+        this.tickDurationNanos = TimeUnit.MILLISECONDS.toNanos(tickDurationMs);
+        this.mask = wheelSize - 1;
+        this.workerPool = workerPool;
+        wheel = new Bucket[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            wheel[i] = new Bucket();
+        }
+
+        Thread tickThread = new Thread(this::run, "Scheduler.tick");
+        tickThread.setDaemon(true);
+        tickThread.start();
+    }
+
+    Timeout newTimeout(Runnable task, long delay, TimeUnit timeUnit) {
+        long deadline = System.nanoTime() - startTime + Math.max(0, timeUnit.toNanos(delay));
+        Timeout timeout = new Timeout(this, task, deadline);
+        pendingTimeouts.add(timeout);
+        return timeout;
+    }
+
+
+    /* --------------------------------------------------------------------- */
+    // Private
+    /* --------------------------------------------------------------------- */
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                long now = waitForNextTick();
+                Bucket bucket = wheel[(int) (tick & mask)];
+                removeCancelledTimeouts();
+                transferPendingTimeouts();
+                bucket.expireTimeouts(now);
+                tick++;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.error("Unexpected exception at timer wheel", e);
+            }
+        }
+    }
+
+    private long waitForNextTick() throws InterruptedException {
+        long deadline = tickDurationNanos * (tick + 1);
+        while (true) {
+            long now = System.nanoTime() - startTime;
+            long sleepTimeMs = TimeUnit.NANOSECONDS.toMillis(deadline - now + 999_999);
+            if (sleepTimeMs <= 0) {
+                return now;
+            }
+            Thread.sleep(sleepTimeMs);
+        }
+    }
+
+    private void transferPendingTimeouts() {
+        // Limit the number of transferred timeouts per tick to not delay the tick if timeouts get added at high rate
+        for (int i = 0; i < 100_000; i++) {
+            Timeout timeout = pendingTimeouts.poll();
+            if (timeout == null) {
+                return;
+            }
+            if (timeout.isCancelled()) {
+                continue;
+            }
+            long expiryTick = timeout.deadline / tickDurationNanos;
+            timeout.remainingRounds = (expiryTick - tick) / wheel.length;
+            // Timeouts with a deadline in the past get expired at the current tick
+            long targetTick = Math.max(expiryTick, tick);
+            wheel[(int) (targetTick & mask)].add(timeout);
+        }
+    }
+
+    private void removeCancelledTimeouts() {
+        Timeout timeout;
+        while ((timeout = cancelledTimeouts.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void dispatch(Timeout timeout) {
+        if (!timeout.expire()) {
+            return;
+        }
+        try {
+            workerPool.execute(timeout.task);
+        } catch (RejectedExecutionException e) {
+            log.warn("Scheduler worker pool is exhausted. We run the task in a new thread.");
+            Thread thread = new Thread(timeout.task, "Scheduler.overflow");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    static final class Timeout {
+        private static final int STATE_INIT = 0;
+        private static final int STATE_CANCELLED = 1;
+        private static final int STATE_EXPIRED = 2;
+
+        private final HashedWheelTimer timer;
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(STATE_INIT);
+        // Following fields are only accessed by the tick thread
+        private long remainingRounds;
+        private Bucket bucket;
+        private Timeout next;
+        private Timeout prev;
+
+        private Timeout(HashedWheelTimer timer, Runnable task, long deadline) {
+            this.timer = timer;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        boolean cancel() {
+            if (!state.compareAndSet(STATE_INIT, STATE_CANCELLED)) {
+                return false;
+            }
+            timer.cancelledTimeouts.add(this);
+            return true;
+        }
+
+        boolean isCancelled() {
+            return state.get() == STATE_CANCELLED;
+        }
+
+        private boolean expire() {
+            return state.compareAndSet(STATE_INIT, STATE_EXPIRED);
+        }
+    }
+
+    private final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        private void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        private void expireTimeouts(long now) {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.remainingRounds <= 0) {
+                    remove(timeout);
+                    if (timeout.deadline <= now) {
+                        dispatch(timeout);
+                    } else {
+                        // Can only happen if the tick thread fell behind, we add it again at the next round.
+                        timeout.remainingRounds = 0;
+                        pendingTimeouts.add(timeout);
+                    }
+                } else if (timeout.isCancelled()) {
+                    remove(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        private void remove(Timeout timeout) {
+            if (timeout.bucket != this) {
+                return;
+            }
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            }
+            if (timeout == head) {
+                head = timeout.next;
+            }
+            if (timeout == tail) {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+}
@@ -17,21 +17,22 @@
 
 package bisq.common.timer;
 
-import bisq.common.threading.ExecutorFactory;
 import bisq.common.util.StringUtils;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.Optional;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 @Slf4j
 public class Scheduler implements TaskScheduler {
     // We do not use a ScheduledThreadPoolExecutor as the queue cannot be customized. It would cause undesired behaviour
-    // in case we would use a static executor for all Scheduler instances and multiple schedule calls would get 
+    // in case we would use a static executor for all Scheduler instances and multiple schedule calls would get
     // queued up instead of starting a new scheduler.
-    private Optional<ScheduledExecutorService> executor = Optional.empty();
+    // Instead, all Scheduler instances share one HashedWheelTimer which dispatches expired tasks to a worker pool
+    // without a queue. That way tasks do not queue up behind other tasks and we do not need to create a new thread
+    // for each Scheduler.
+    private volatile Optional<HashedWheelTimer.Timeout> timeout = Optional.empty();
     private final Runnable task;
     private volatile boolean stopped;
     @Getter
@@ -106,8 +107,7 @@ public class Scheduler implements TaskScheduler {
             return this;
         }
         if (cycles == 1) {
-            executor = Optional.of(ExecutorFactory.newSingleThreadScheduledExecutor(ExecutorFactory.getThreadFactory(getThreadName(false))));
-            executor.get().schedule(() -> {
+            schedule(() -> {
                 if (stopped) {
                     return;
                 }
@@ -116,26 +116,54 @@ public class Scheduler implements TaskScheduler {
                 } finally {
                     stop();
                 }
-            }, delay, timeUnit);
+            }, delay, timeUnit, false);
         } else {
-            executor = Optional.of(ExecutorFactory.newSingleThreadScheduledExecutor(ExecutorFactory.getThreadFactory(getThreadName(true))));
-            executor.get().scheduleWithFixedDelay(() -> {
-                if (stopped) {
-                    return;
-                }
-                try {
-                    task.run();
-                } finally {
-                    counter++;
-                    if (counter >= cycles) {
-                        stop();
+            schedule(new Runnable() {
+                @Override
+                public void run() {
+                    if (stopped) {
+                        return;
+                    }
+                    boolean completed = false;
+                    try {
+                        task.run();
+                        completed = true;
+                    } finally {
+                        counter++;
+                        if (counter >= cycles) {
+                            stop();
+                        } else if (completed) {
+                            // Fixed delay semantics: the next cycle gets scheduled after the task has completed.
+                            // As with scheduleWithFixedDelay, an exception suppresses subsequent executions.
+                            schedule(this, delay, timeUnit, true);
+                        }
                     }
                 }
-            }, initialDelay, delay, timeUnit);
+            }, initialDelay, timeUnit, true);
         }
         return this;
     }
 
+    private void schedule(Runnable runnable, long delay, TimeUnit timeUnit, boolean isPeriodic) {
+        String threadName = getThreadName(isPeriodic);
+        timeout = Optional.of(HashedWheelTimer.getInstance().newTimeout(() -> {
+            // Worker threads are shared, so we apply the name of the scheduler only while running the task
+            String workerThreadName = Thread.currentThread().getName();
+            Thread.currentThread().setName(threadName);
+            try {
+                runnable.run();
+            } catch (Throwable throwable) {
+                log.error("Exception at running task {}", threadName, throwable);
+            } finally {
+                Thread.currentThread().setName(workerThreadName);
+            }
+        }, delay, timeUnit));
+        // In case stop() got called concurrently before we assigned the timeout
+        if (stopped) {
+            timeout.ifPresent(HashedWheelTimer.Timeout::cancel);
+        }
+    }
+
     private String getThreadName(boolean isPeriodic) {
         String name = isPeriodic ? "PeriodicScheduler" : "Scheduler";
         String host = hostClassName.map(hostClassName -> "." + hostClassName).orElse("");
@@ -146,7 +174,7 @@ public class Scheduler implements TaskScheduler {
     @Override
     public void stop() {
         stopped = true;
-        executor.ifPresent(ExecutorFactory::shutdownAndAwaitTermination);
-        executor = Optional.empty();
+        timeout.ifPresent(HashedWheelTimer.Timeout::cancel);
+        timeout = Optional.empty();
     }
 }
@@ -0,0 +1,38 @@
+package bisq.common.proto;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ProtoCacheTest {
+
+    @Test
+    public void testSerializedIsComputedOnce() {
+        ProtoCache protoCache = new ProtoCache();
+        AtomicInteger numCalls = new AtomicInteger();
+        byte[] serialized = protoCache.getSerialized(() -> {
+            numCalls.incrementAndGet();
+            return new byte[]{1, 2, 3};
+        });
+        assertArrayEquals(new byte[]{1, 2, 3}, serialized);
+
+        // Altering the returned array must not alter the cached value
+        serialized[0] = 9;
+        assertArrayEquals(new byte[]{1, 2, 3}, protoCache.getSerialized(() -> new byte[0]));
+        assertEquals(3, protoCache.getSerializedSize(() -> new byte[0]));
+        assertEquals(1, numCalls.get());
+    }
+
+    @Test
+    public void testHashIsIndependentOfSerialized() {
+        ProtoCache protoCache = new ProtoCache();
+        assertArrayEquals(new byte[]{1}, protoCache.getSerializedForHash(() -> new byte[]{1}));
+        assertArrayEquals(new byte[]{2}, protoCache.getHash(() -> new byte[]{2}));
+        assertArrayEquals(new byte[]{3}, protoCache.getSerialized(() -> new byte[]{3}));
+        assertArrayEquals(new byte[]{1}, protoCache.getSerializedForHash(() -> new byte[0]));
+        assertArrayEquals(new byte[]{2}, protoCache.getHash(() -> new byte[0]));
+    }
+}
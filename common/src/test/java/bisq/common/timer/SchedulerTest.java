@@ -0,0 +1,68 @@
+package bisq.common.timer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SchedulerTest {
+    @Test
+    public void testAfter() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        long ts = System.currentTimeMillis();
+        Scheduler.run(latch::countDown).after(100);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(System.currentTimeMillis() - ts >= 100);
+    }
+
+    @Test
+    public void testStopBeforeExpiry() throws InterruptedException {
+        AtomicInteger counter = new AtomicInteger();
+        Scheduler scheduler = Scheduler.run(counter::incrementAndGet).after(100);
+        scheduler.stop();
+        Thread.sleep(300);
+        assertEquals(0, counter.get());
+    }
+
+    @Test
+    public void testRepeated() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(3);
+        Scheduler scheduler = Scheduler.run(latch::countDown).repeated(20, 3);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        Thread.sleep(100);
+        assertEquals(3, scheduler.getCounter());
+    }
+
+    @Test
+    public void testTasksDoNotQueueBehindEachOther() throws InterruptedException {
+        // A blocking task must not delay other tasks which are due at the same time
+        CountDownLatch blockingTaskLatch = new CountDownLatch(1);
+        CountDownLatch latch = new CountDownLatch(10);
+        Scheduler.run(() -> {
+            try {
+                blockingTaskLatch.await();
+            } catch (InterruptedException ignore) {
+            }
+        }).after(10);
+        for (int i = 0; i < 10; i++) {
+            Scheduler.run(latch::countDown).after(10);
+        }
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        blockingTaskLatch.countDown();
+    }
+
+    @Test
+    public void testDelayBeyondOneWheelRotation() throws InterruptedException {
+        // 4 buckets of 10 ms -> a delay of 100 ms requires more than 2 rounds
+        HashedWheelTimer timer = new HashedWheelTimer(10, 4, Executors.newCachedThreadPool());
+        CountDownLatch latch = new CountDownLatch(1);
+        long ts = System.currentTimeMillis();
+        timer.newTimeout(latch::countDown, 100, TimeUnit.MILLISECONDS);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(System.currentTimeMillis() - ts >= 100);
+    }
+}
@@ -26,6 +26,7 @@ import bisq.bonded_roles.market_price.MarketPriceService;
 import bisq.chat.ChatService;
 import bisq.chat.bisq_easy.offerbook.BisqEasyOfferbookChannel;
 import bisq.chat.bisq_easy.offerbook.BisqEasyOfferbookChannelService;
+import bisq.chat.bisq_easy.offerbook.BisqEasyOfferbookIndex;
 import bisq.chat.bisq_easy.offerbook.BisqEasyOfferbookMessage;
 import bisq.common.currency.Market;
 import bisq.common.currency.MarketRepository;
@@ -252,13 +253,7 @@ public class OfferbookRestApi extends RestApiBase {
     @Path("markets/offers/count")
     public Response getNumOffersByMarketCode() {
         try {
-            Map<String, Integer> numOffersByMarketCode = bisqEasyOfferbookChannelService.getChannels().stream()
-                    .collect(Collectors.toMap(
-                            channel -> channel.getMarket().getQuoteCurrencyCode(),
-                            channel -> (int) channel.getChatMessages().stream()
-                                    .filter(BisqEasyOfferbookMessage::hasBisqEasyOffer)
-                                    .count()
-                    ));
+            Map<String, Integer> numOffersByMarketCode = new HashMap<>(bisqEasyOfferbookChannelService.getNumOffersByCurrencyCode());
             return buildOkResponse(numOffersByMarketCode);
         } catch (Exception e) {
             log.error("Error retrieving offer counts by market code", e);
@@ -269,7 +264,8 @@ public class OfferbookRestApi extends RestApiBase {
     @Operation(
             summary = "Retrieve Offers for a Market",
             description = "Fetches a list of offers for the specified currency code. " +
-                    "The market is determined using the 'BTC/{currencyCode}' format.",
+                    "The market is determined using the 'BTC/{currencyCode}' format. " +
+                    "Optionally the offers can be filtered by direction and payment method name and sorted by price.",
             responses = {
                     @ApiResponse(
                             responseCode = "200",
@@ -288,10 +284,19 @@ public class OfferbookRestApi extends RestApiBase {
     )
     @GET
     @Path("markets/{currencyCode}/offers")
-    public Response getOffers(@PathParam("currencyCode") String currencyCode) {
+    public Response getOffers(@PathParam("currencyCode") String currencyCode,
+                              @QueryParam("direction") String direction,
+                              @QueryParam("paymentMethod") String paymentMethod,
+                              @QueryParam("sortByPrice") boolean sortByPrice) {
         try {
+            Optional<Direction> optionalDirection;
+            try {
+                optionalDirection = Optional.ofNullable(direction).map(value -> Direction.valueOf(value.toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                return buildResponse(Response.Status.BAD_REQUEST, "Invalid direction: " + direction);
+            }
             String marketCodes = "BTC/" + currencyCode.toUpperCase();
-            return findOffer(marketCodes)
+            return findOffer(marketCodes, optionalDirection, Optional.ofNullable(paymentMethod), sortByPrice)
                     .map(this::buildOkResponse)
                     .orElseGet(() -> {
                         log.warn("No offers found for market: {}", marketCodes);
@@ -304,18 +309,52 @@ public class OfferbookRestApi extends RestApiBase {
         }
     }
 
-    private Optional<List<OfferItemPresentationDto>> findOffer(String marketCodes) {
+    private Optional<List<OfferItemPresentationDto>> findOffer(String marketCodes,
+                                                               Optional<Direction> direction,
+                                                               Optional<String> paymentMethod,
+                                                               boolean sortByPrice) {
         return MarketRepository.findAnyFiatMarketByMarketCodes(marketCodes)
                 .flatMap(market -> bisqEasyOfferbookChannelService.findChannel(market)
-                        .map(channel -> channel.getChatMessages()
+                        .map(channel -> getOfferMessages(market, direction, paymentMethod, sortByPrice)
                                 .stream()
-                                .filter(BisqEasyOfferbookMessage::hasBisqEasyOffer)
                                 .map(this::createOfferListItemDto)
                                 .collect(Collectors.toList())
                         )
                 );
     }
 
+    private List<BisqEasyOfferbookMessage> getOfferMessages(Market market,
+                                                            Optional<Direction> direction,
+                                                            Optional<String> paymentMethod,
+                                                            boolean sortByPrice) {
+        BisqEasyOfferbookIndex offerbookIndex = bisqEasyOfferbookChannelService.getOfferbookIndex();
+        if (sortByPrice) {
+            Optional<Set<BisqEasyOfferbookMessage>> filter = getFilteredOfferMessages(offerbookIndex, market, direction, paymentMethod);
+            return offerbookIndex.getOfferMessagesSortedByPrice(market, marketPriceService.findMarketPriceQuote(market))
+                    .stream()
+                    .filter(message -> filter.map(messages -> messages.contains(message)).orElse(true))
+                    .collect(Collectors.toList());
+        }
+        return getFilteredOfferMessages(offerbookIndex, market, direction, paymentMethod)
+                .<List<BisqEasyOfferbookMessage>>map(ArrayList::new)
+                .orElseGet(() -> offerbookIndex.getOfferMessages(market));
+    }
+
+    private Optional<Set<BisqEasyOfferbookMessage>> getFilteredOfferMessages(BisqEasyOfferbookIndex offerbookIndex,
+                                                                             Market market,
+                                                                             Optional<Direction> direction,
+                                                                             Optional<String> paymentMethod) {
+        Optional<Set<BisqEasyOfferbookMessage>> byDirection = direction
+                .map(value -> new LinkedHashSet<>(offerbookIndex.getOfferMessages(market, value)));
+        Optional<Set<BisqEasyOfferbookMessage>> byPaymentMethod = paymentMethod
+                .map(value -> new LinkedHashSet<>(offerbookIndex.getOfferMessages(market, value)));
+        if (byDirection.isPresent() && byPaymentMethod.isPresent()) {
+            byDirection.get().retainAll(byPaymentMethod.get());
+            return byDirection;
+        }
+        return byDirection.or(() -> byPaymentMethod);
+    }
+
     private OfferItemPresentationDto createOfferListItemDto(BisqEasyOfferbookMessage bisqEasyOfferbookMessage) {
         return OfferItemPresentationDtoFactory.create(userProfileService,
                 userIdentityService,
@@ -25,7 +25,6 @@ import bisq.chat.ChatChannelDomain;
 import bisq.chat.ChatChannelSelectionService;
 import bisq.chat.ChatService;
 import bisq.chat.bisq_easy.offerbook.BisqEasyOfferbookChannelService;
-import bisq.chat.bisq_easy.offerbook.BisqEasyOfferbookMessage;
 import bisq.chat.bisq_easy.open_trades.BisqEasyOpenTradeChannel;
 import bisq.chat.bisq_easy.open_trades.BisqEasyOpenTradeChannelService;
 import bisq.chat.priv.LeavePrivateChatManager;
@@ -128,11 +127,8 @@ public class TradeRestApi extends RestApiBase {
             UserIdentity takerIdentity = userIdentityService.getSelectedUserIdentity();
             checkArgument(!bannedUserService.isUserProfileBanned(takerIdentity.getUserProfile()), "Taker profile is banned");
             //noinspection OptionalGetWithoutIsPresent
-            BisqEasyOffer bisqEasyOffer = bisqEasyOfferbookChannelService.getChannels().stream().flatMap(c -> c.getChatMessages().stream())
-                    .filter(BisqEasyOfferbookMessage::hasBisqEasyOffer)
+            BisqEasyOffer bisqEasyOffer = bisqEasyOfferbookChannelService.findMessageByOfferId(request.offerId())
                     .map(e -> e.getBisqEasyOffer().get())
-                    .filter(e -> e.getId().equals(request.offerId()))
-                    .findFirst()
                     .orElseThrow();
             checkArgument(!bannedUserService.isNetworkIdBanned(bisqEasyOffer.getMakerNetworkId()), "Maker profile is banned");
             Monetary baseSideAmount = Monetary.from(request.baseSideAmount(), bisqEasyOffer.getMarket().getBaseCurrencyCode());
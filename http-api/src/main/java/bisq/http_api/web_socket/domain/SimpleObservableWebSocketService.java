@@ -31,6 +31,9 @@ import java.util.concurrent.CompletableFuture;
 /**
  * Utility for an observable value in a flat structure.
  * It uses the `ModificationType.REPLACE`, so we deliver the full data source at any change.
+ * A `ModificationType.REPLACE` payload always contains the full data. Subclasses which send only the changed data
+ * must use a different modification type (e.g. `ModificationType.ADDED`) and only send it to subscribers which
+ * have opted into it.
  *
  * @param <T> The type fo the observable.
  * @param <R> The type of the payload to be sent to the client.
@@ -22,10 +22,13 @@ import bisq.bonded_roles.market_price.MarketPrice;
 import bisq.bonded_roles.market_price.MarketPriceService;
 import bisq.common.currency.Market;
 import bisq.common.observable.Pin;
+import bisq.common.observable.map.HashMapObserver;
 import bisq.common.observable.map.ObservableHashMap;
 import bisq.dto.DtoMappings;
 import bisq.dto.common.monetary.PriceQuoteDto;
 import bisq.http_api.web_socket.domain.SimpleObservableWebSocketService;
+import bisq.http_api.web_socket.subscription.ModificationType;
+import bisq.http_api.web_socket.subscription.Subscriber;
 import bisq.http_api.web_socket.subscription.SubscriberRepository;
 import bisq.http_api.web_socket.subscription.Topic;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -33,10 +36,18 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+/**
+ * Subscribers which subscribe with the {@link #DELTA_UPDATES_PARAMETER} parameter receive only the changed market
+ * prices with `ModificationType.ADDED`, and have to update the entries of the delivered keys. All other subscribers
+ * receive the full map with `ModificationType.REPLACE` at any change.
+ */
 @Slf4j
 public class MarketPriceWebSocketService extends SimpleObservableWebSocketService<ObservableHashMap<Market, MarketPrice>, Map<String, PriceQuoteDto>> {
+    public static final String DELTA_UPDATES_PARAMETER = "deltaUpdates";
+
     private final MarketPriceService marketPriceService;
 
     public MarketPriceWebSocketService(ObjectMapper objectMapper,
@@ -53,8 +64,53 @@ public class MarketPriceWebSocketService extends SimpleObservableWebSocketServic
 
     @Override
     protected HashMap<String, PriceQuoteDto> toPayload(ObservableHashMap<Market, MarketPrice> observable) {
-        return getObservable()
-                .entrySet().stream()
+        return toPriceQuoteDtoByCurrencyCode(observable);
+    }
+
+    @Override
+    protected Pin setupObserver() {
+        return getObservable().addObserver(new HashMapObserver<>() {
+            @Override
+            public void put(Market market, MarketPrice marketPrice) {
+                putAll(Map.of(market, marketPrice));
+            }
+
+            @Override
+            public void putAll(Map<? extends Market, ? extends MarketPrice> map) {
+                subscriberRepository.findSubscribers(topic).ifPresent(subscribers -> {
+                    Map<Boolean, Set<Subscriber>> subscribersByDeltaUpdates = subscribers.stream()
+                            .collect(Collectors.partitioningBy(MarketPriceWebSocketService::isDeltaUpdatesSubscriber,
+                                    Collectors.toSet()));
+                    Set<Subscriber> deltaUpdatesSubscribers = subscribersByDeltaUpdates.get(true);
+                    if (!deltaUpdatesSubscribers.isEmpty()) {
+                        HashMap<String, PriceQuoteDto> payload = toPriceQuoteDtoByCurrencyCode(map);
+                        if (!payload.isEmpty()) {
+                            toJson(payload).ifPresent(json ->
+                                    send(json, deltaUpdatesSubscribers, topic, ModificationType.ADDED));
+                        }
+                    }
+                    Set<Subscriber> fullUpdatesSubscribers = subscribersByDeltaUpdates.get(false);
+                    if (!fullUpdatesSubscribers.isEmpty()) {
+                        send(fullUpdatesSubscribers, getJsonPayload(), topic, ModificationType.REPLACE);
+                    }
+                });
+            }
+
+            @Override
+            public void remove(Object key) {
+                // Markets get removed only rarely, we deliver the full map to all subscribers in that case
+                onChange();
+            }
+
+            @Override
+            public void clear() {
+                onChange();
+            }
+        });
+    }
+
+    private static HashMap<String, PriceQuoteDto> toPriceQuoteDtoByCurrencyCode(Map<? extends Market, ? extends MarketPrice> map) {
+        return map.entrySet().stream()
                 .filter(MarketPriceWebSocketService::isBaseCurrencyBtc)
                 .collect(Collectors.toMap(
                         entry -> entry.getKey().getQuoteCurrencyCode(),
@@ -64,12 +120,13 @@ public class MarketPriceWebSocketService extends SimpleObservableWebSocketServic
                 ));
     }
 
-    @Override
-    protected Pin setupObserver() {
-        return getObservable().addObserver(this::onChange);
+    private static boolean isDeltaUpdatesSubscriber(Subscriber subscriber) {
+        return subscriber.getParameter()
+                .map(DELTA_UPDATES_PARAMETER::equals)
+                .orElse(false);
     }
 
-    private static boolean isBaseCurrencyBtc(Map.Entry<Market, MarketPrice> entry) {
+    private static boolean isBaseCurrencyBtc(Map.Entry<? extends Market, ? extends MarketPrice> entry) {
         // We get altcoin quotes as well which have BTC as quote currency
         return entry.getKey().getBaseCurrencyCode().equals("BTC");
     }
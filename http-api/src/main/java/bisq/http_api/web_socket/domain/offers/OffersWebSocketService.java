@@ -20,11 +20,10 @@ package bisq.http_api.web_socket.domain.offers;
 import bisq.bonded_roles.BondedRolesService;
 import bisq.bonded_roles.market_price.MarketPriceService;
 import bisq.chat.ChatService;
-import bisq.chat.bisq_easy.offerbook.BisqEasyOfferbookChannel;
 import bisq.chat.bisq_easy.offerbook.BisqEasyOfferbookChannelService;
+import bisq.chat.bisq_easy.offerbook.BisqEasyOfferbookIndex;
 import bisq.chat.bisq_easy.offerbook.BisqEasyOfferbookMessage;
-import bisq.common.observable.Pin;
-import bisq.common.observable.collection.CollectionObserver;
+import bisq.common.currency.Market;
 import bisq.dto.presentation.offerbook.OfferItemPresentationDtoFactory;
 import bisq.dto.presentation.offerbook.OfferItemPresentationDto;
 import bisq.http_api.web_socket.domain.BaseWebSocketService;
@@ -36,12 +35,10 @@ import bisq.user.profile.UserProfileService;
 import bisq.user.reputation.ReputationService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang3.NotImplementedException;
 
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import static bisq.http_api.web_socket.subscription.Topic.OFFERS;
 
@@ -52,7 +49,17 @@ public class OffersWebSocketService extends BaseWebSocketService {
     private final ReputationService reputationService;
     private final UserIdentityService userIdentityService;
     private final MarketPriceService marketPriceService;
-    private final Set<Pin> pins = new HashSet<>();
+    private final BisqEasyOfferbookIndex.Listener offerbookIndexListener = new BisqEasyOfferbookIndex.Listener() {
+        @Override
+        public void onOfferMessageAdded(Market market, BisqEasyOfferbookMessage message) {
+            send(market.getQuoteCurrencyCode(), message, ModificationType.ADDED);
+        }
+
+        @Override
+        public void onOfferMessageRemoved(Market market, BisqEasyOfferbookMessage message) {
+            send(market.getQuoteCurrencyCode(), message, ModificationType.REMOVED);
+        }
+    };
 
     public OffersWebSocketService(ObjectMapper objectMapper,
                                   SubscriberRepository subscriberRepository,
@@ -70,61 +77,29 @@ public class OffersWebSocketService extends BaseWebSocketService {
 
     @Override
     public CompletableFuture<Boolean> initialize() {
-        // The channels is a static list and does not change at runtime
-        bisqEasyOfferbookChannelService.getChannels().forEach(channel -> {
-            String quoteCurrencyCode = channel.getMarket().getQuoteCurrencyCode();
-            pins.add(channel.getChatMessages().addObserver(new CollectionObserver<>() {
-                @Override
-                public void add(BisqEasyOfferbookMessage message) {
-                    if (message.hasBisqEasyOffer()) {
-                        send(quoteCurrencyCode, message, ModificationType.ADDED);
-                    }
-                }
-
-                @Override
-                public void remove(Object element) {
-                    if (element instanceof BisqEasyOfferbookMessage message) {
-                        if (message.hasBisqEasyOffer()) {
-                            send(quoteCurrencyCode, message, ModificationType.REMOVED);
-                        }
-                    }
-                }
-
-                @Override
-                public void clear() {
-                    throw new NotImplementedException("Clear channel.getChatMessages() is not expected to be used");
-                }
-            }));
-        });
+        bisqEasyOfferbookChannelService.getOfferbookIndex().addListener(offerbookIndexListener);
         return CompletableFuture.completedFuture(true);
     }
 
     @Override
     public CompletableFuture<Boolean> shutdown() {
-        pins.forEach(Pin::unbind);
-        pins.clear();
+        bisqEasyOfferbookChannelService.getOfferbookIndex().removeListener(offerbookIndexListener);
         return CompletableFuture.completedFuture(true);
     }
 
     @Override
     public Optional<String> getJsonPayload() {
-        return getJsonPayload(bisqEasyOfferbookChannelService.getChannels().stream());
-    }
-
-    private Optional<String> getJsonPayload(Stream<BisqEasyOfferbookChannel> channels) {
-        ArrayList<OfferItemPresentationDto> payload = channels
-                .flatMap(channel ->
-                        channel.getChatMessages().stream()
-                                .filter(BisqEasyOfferbookMessage::hasBisqEasyOffer)
-                                .map(message -> {
-                                    try {
-                                        return createOfferListItemDto(message);
-                                    } catch (Exception e) {
-                                        log.error("Failed to create OfferListItemDto", e);
-                                        return null;
-                                    }
-                                })
-                                .filter(Objects::nonNull))
+        ArrayList<OfferItemPresentationDto> payload = bisqEasyOfferbookChannelService.getOfferbookIndex()
+                .getOfferMessages().stream()
+                .map(message -> {
+                    try {
+                        return createOfferListItemDto(message);
+                    } catch (Exception e) {
+                        log.error("Failed to create OfferListItemDto", e);
+                        return null;
+                    }
+                })
+                .filter(Objects::nonNull)
                 .collect(Collectors.toCollection(ArrayList::new));
         return toJson(payload);
     }
@@ -0,0 +1,118 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package bisq.network;
+
+import bisq.common.platform.PlatformUtils;
+import bisq.common.threading.ExecutorFactory;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Dispatches network events to listeners over a set of single threaded shards.
+ * Tasks with the same shard key (e.g. the connection ID) are executed on the same shard in submission order, so the
+ * ordering of events per connection is preserved, while a slow listener only delays the connections mapped to its
+ * shard. Tasks without a shard key are executed on the first shard.
+ * <p>
+ * There is no ordering across connections. Listeners which receive the same data from different connections must
+ * order it themselves, as the data storage services do per data key (see DataStorageService).
+ */
+@Slf4j
+public final class NetworkDispatcher implements Executor {
+    private static final long QUEUE_LATENCY_WARN_THRESHOLD = 2000;
+
+    private final ExecutorService[] shards;
+    private final LongAdder numTasks = new LongAdder();
+    private final LongAdder totalQueueLatency = new LongAdder();
+    private final AtomicLong maxQueueLatency = new AtomicLong();
+
+    public NetworkDispatcher(String name) {
+        this(name, Math.max(1, Math.min(4, PlatformUtils.availableProcessors())));
+    }
+
+    public NetworkDispatcher(String name, int numShards) {
+        shards = new ExecutorService[numShards];
+        for (int i = 0; i < numShards; i++) {
+            shards[i] = ExecutorFactory.newSingleThreadExecutor(name);
+        }
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        submit(task);
+    }
+
+    public Future<?> submit(Runnable task) {
+        return submit(shards[0], task);
+    }
+
+    public Future<?> submit(Object shardKey, Runnable task) {
+        int hash = shardKey.hashCode();
+        return submit(shards[Math.floorMod(hash ^ (hash >>> 16), shards.length)], task);
+    }
+
+    public int getNumShards() {
+        return shards.length;
+    }
+
+    public long getNumTasks() {
+        return numTasks.sum();
+    }
+
+    /**
+     * @return Average time in ms a task was waiting in the queue before being executed.
+     */
+    public long getAverageQueueLatency() {
+        long num = numTasks.sum();
+        return num == 0 ? 0 : totalQueueLatency.sum() / num;
+    }
+
+    public long getMaxQueueLatency() {
+        return maxQueueLatency.get();
+    }
+
+    public void shutdown() {
+        for (ExecutorService shard : shards) {
+            ExecutorFactory.shutdownAndAwaitTermination(shard, 100);
+        }
+    }
+
+
+    /* --------------------------------------------------------------------- */
+    // Private
+    /* --------------------------------------------------------------------- */
+
+    private Future<?> submit(ExecutorService shard, Runnable task) {
+        long submitted = System.currentTimeMillis();
+        return shard.submit(() -> {
+            long queueLatency = System.currentTimeMillis() - submitted;
+            numTasks.increment();
+            totalQueueLatency.add(queueLatency);
+            maxQueueLatency.accumulateAndGet(queueLatency, Math::max);
+            if (queueLatency > QUEUE_LATENCY_WARN_THRESHOLD) {
+                log.warn("Task was waiting {} ms in dispatcher queue", queueLatency);
+            }
+            task.run();
+        });
+    }
+}
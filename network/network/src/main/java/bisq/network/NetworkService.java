@@ -30,6 +30,7 @@ import bisq.common.threading.ThreadName;
 import bisq.common.util.CompletableFutureUtils;
 import bisq.network.http.BaseHttpClient;
 import bisq.network.http.HttpClientsByTransport;
+import bisq.network.http.PooledHttpClient;
 import bisq.network.identity.NetworkId;
 import bisq.network.identity.NetworkIdWithKeyPair;
 import bisq.network.p2p.ServiceNode;
@@ -37,6 +38,7 @@ import bisq.network.p2p.ServiceNodesByTransport;
 import bisq.network.p2p.message.EnvelopePayloadMessage;
 import bisq.network.p2p.message.NetworkEnvelope;
 import bisq.network.p2p.node.Connection;
+import bisq.network.p2p.node.ConnectionSelector;
 import bisq.network.p2p.node.Node;
 import bisq.network.p2p.node.network_load.NetworkLoadService;
 import bisq.network.p2p.services.confidential.ConfidentialMessageService;
@@ -92,7 +94,7 @@ import static java.util.concurrent.CompletableFuture.supplyAsync;
 @Slf4j
 public class NetworkService implements PersistenceClient<NetworkServiceStore>, Service {
     public static final ExecutorService NETWORK_IO_POOL = ExecutorFactory.newCachedThreadPool("Network.IO", 5, 3000, 5);
-    public static final ExecutorService DISPATCHER = ExecutorFactory.newSingleThreadExecutor("Network.dispatcher");
+    public static final NetworkDispatcher DISPATCHER = new NetworkDispatcher("Network.dispatcher");
 
     @Getter
     private final NetworkServiceStore persistableStore = new NetworkServiceStore();
@@ -211,10 +213,12 @@ public class NetworkService implements PersistenceClient<NetworkServiceStore>, S
                     resendMessageService.ifPresent(ResendMessageService::shutdown);
                     // networkLoadService.ifPresent(NetworkLoadService::shutdown);
                     dataService.ifPresent(DataService::shutdown);
+                    httpClientsByTransport.shutdown();
                     return true;
                 })
                 .thenCompose(result -> serviceNodesByTransport.shutdown()
-                        .thenApply(list -> list.stream().filter(e -> e).count() == supportedTransportTypes.size()));
+                        .thenApply(list -> list.stream().filter(e -> e).count() == supportedTransportTypes.size()))
+                .whenComplete((result, throwable) -> ConnectionSelector.shutdown());
     }
 
 
@@ -447,6 +451,16 @@ public class NetworkService implements PersistenceClient<NetworkServiceStore>, S
         return httpClientsByTransport.getHttpClient(url, userAgent, transportType, socksProxy, socks5ProxyAddress);
     }
 
+    /**
+     * Returns a shared http client which keeps connections alive between requests. It must not be shut down by the
+     * caller, as it is shut down at the NetworkService shutdown.
+     */
+    public PooledHttpClient getPooledHttpClient(String url, String userAgent, TransportType transportType) {
+        // socksProxy only supported for TOR
+        Optional<Socks5Proxy> socksProxy = transportType == TOR ? serviceNodesByTransport.getSocksProxy() : Optional.empty();
+        return httpClientsByTransport.getPooledHttpClient(url, userAgent, transportType, socksProxy, socks5ProxyAddress);
+    }
+
     public Map<TransportType, Observable<Node.State>> getDefaultNodeStateByTransportType() {
         return serviceNodesByTransport.getDefaultNodeStateByTransportType();
     }
@@ -20,12 +20,31 @@ package bisq.network.http;
 import bisq.common.network.TransportType;
 import bisq.network.http.utils.Socks5ProxyProvider;
 import com.runjva.sourceforge.jsocks.protocol.Socks5Proxy;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.http.io.SocketConfig;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 
 import java.net.InetSocketAddress;
 import java.net.Proxy;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class HttpClientsByTransport {
+    private static final Timeout CONNECT_TIMEOUT = Timeout.ofSeconds(30);
+    private static final Timeout SO_TIMEOUT = Timeout.ofSeconds(30);
+    // Keep-alive connections might have been closed by the server. We check them before use if they have been idle
+    // for that time.
+    private static final TimeValue VALIDATE_AFTER_INACTIVITY = TimeValue.ofSeconds(10);
+
+    // The proxy address is part of the key as the Tor socks address can change (e.g. after a restart of Tor),
+    // and a pooled client keeps using the address it was created with.
+    private final Map<String, PooledHttpClient> pooledHttpClientByKey = new ConcurrentHashMap<>();
+
     public HttpClientsByTransport() {
     }
 
@@ -52,4 +71,81 @@ public class HttpClientsByTransport {
             case CLEAR -> new ClearNetHttpClient(url, userAgent);
         };
     }
+
+    /**
+     * Returns a shared pooled http client for the given url, userAgent, transportType and proxy address.
+     * The client must not be shut down by the caller, it gets shut down at shutdown. If the Tor socks proxy address
+     * has changed, a new client is created and the outdated one gets shut down.
+     */
+    public PooledHttpClient getPooledHttpClient(String url,
+                                                String userAgent,
+                                                TransportType transportType,
+                                                Optional<Socks5Proxy> socksProxy,
+                                                Optional<String> socks5ProxyAddress) {
+        String baseKey = transportType.name() + "|" + url + "|" + userAgent;
+        return switch (transportType) {
+            case TOR -> {
+                Socks5ProxyProvider socks5ProxyProvider = socks5ProxyAddress
+                        .map(Socks5ProxyProvider::new)
+                        .orElse(socksProxy.map(Socks5ProxyProvider::new)
+                                .orElseThrow(() -> new RuntimeException("No socks5ProxyAddress provided and no Tor socksProxy available.")));
+                Socks5Proxy socks5Proxy = socks5ProxyProvider.getSocks5Proxy();
+                InetSocketAddress socksAddress = new InetSocketAddress(socks5Proxy.getInetAddress(), socks5Proxy.getPort());
+                String key = baseKey + "|" + socksAddress;
+                PooledHttpClient pooledHttpClient = pooledHttpClientByKey.get(key);
+                if (pooledHttpClient == null) {
+                    pooledHttpClient = pooledHttpClientByKey.computeIfAbsent(key, k -> createTorPooledHttpClient(url, userAgent, socksAddress));
+                    shutdownOutdatedClients(baseKey, key);
+                }
+                yield pooledHttpClient;
+            }
+            case I2P -> pooledHttpClientByKey.computeIfAbsent(baseKey,
+                    k -> new PooledHttpClient(url, userAgent, createConnectionManager(), new HttpHost("localhost", 4444)));
+            case CLEAR -> pooledHttpClientByKey.computeIfAbsent(baseKey,
+                    k -> new PooledHttpClient(url, userAgent, createConnectionManager(), null));
+        };
+    }
+
+    public void shutdown() {
+        pooledHttpClientByKey.values().forEach(PooledHttpClient::shutdown);
+        pooledHttpClientByKey.clear();
+    }
+
+    private void shutdownOutdatedClients(String baseKey, String currentKey) {
+        pooledHttpClientByKey.keySet().stream()
+                .filter(key -> key.startsWith(baseKey + "|") && !key.equals(currentKey))
+                .toList()
+                .forEach(key -> {
+                    PooledHttpClient outdated = pooledHttpClientByKey.remove(key);
+                    if (outdated != null) {
+                        outdated.shutdown();
+                    }
+                });
+    }
+
+    private static PooledHttpClient createTorPooledHttpClient(String url, String userAgent, InetSocketAddress socksAddress) {
+        PoolingTorHttpClientConnectionManager connectionManager = new PoolingTorHttpClientConnectionManager();
+        connectionManager.setDefaultSocketConfig(SocketConfig.custom()
+                .setSocksProxyAddress(socksAddress)
+                .setSoTimeout(SO_TIMEOUT)
+                .build());
+        connectionManager.setDefaultConnectionConfig(getConnectionConfig());
+        return new PooledHttpClient(url, userAgent, connectionManager, null);
+    }
+
+    private static HttpClientConnectionManager createConnectionManager() {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setDefaultSocketConfig(SocketConfig.custom()
+                        .setSoTimeout(SO_TIMEOUT)
+                        .build())
+                .setDefaultConnectionConfig(getConnectionConfig())
+                .build();
+    }
+
+    private static ConnectionConfig getConnectionConfig() {
+        return ConnectionConfig.custom()
+                .setConnectTimeout(CONNECT_TIMEOUT)
+                .setValidateAfterInactivity(VALIDATE_AFTER_INACTIVITY)
+                .build();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,233 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.http;
+
+import bisq.common.data.Pair;
+import bisq.common.util.ExceptionUtil;
+import bisq.common.util.StringUtils;
+import bisq.network.http.utils.HttpException;
+import bisq.network.http.utils.HttpMethod;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.classic.methods.HttpGet;
+import org.apache.hc.client5.http.classic.methods.HttpPost;
+import org.apache.hc.client5.http.classic.methods.HttpUriRequestBase;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.http.HttpStatus;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.apache.hc.core5.http.io.entity.StringEntity;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Http client which is shared for all requests to one base URL. In contrast to ClearNetHttpClient and TorHttpClient
+ * it keeps the connections alive in a connection pool, so consecutive requests do not need to establish a new
+ * TCP connection (and Tor circuit) each time. Idle connections get evicted after IDLE_TIMEOUT.
+ * Requests can be sent concurrently.
+ * <p>
+ * Supports conditional GET requests: If the server provided an ETag or Last-Modified header in a previous response
+ * for the same param, we send it as If-None-Match or If-Modified-Since header and do not download unchanged data.
+ * The validators of a response are only stored once the caller has handled its body successfully, otherwise a
+ * failed processing would lead to a not-modified response for data we never applied.
+ */
+@Slf4j
+public class PooledHttpClient extends BaseHttpClient {
+    static final TimeValue IDLE_TIMEOUT = TimeValue.ofMinutes(5);
+    private static final Timeout RESPONSE_TIMEOUT = Timeout.ofSeconds(30);
+
+    @FunctionalInterface
+    public interface BodyHandler {
+        void handle(String body) throws IOException;
+    }
+
+    private record Validators(@Nullable String eTag, @Nullable String lastModified) {
+    }
+
+    private record Response(int statusCode, String body, Validators validators) {
+    }
+
+    private final HttpHost target;
+    private final String basePath;
+    private final CloseableHttpClient closeableHttpClient;
+    private final AtomicInteger numPendingRequests = new AtomicInteger();
+    private final Map<String, Validators> validatorsByParam = new ConcurrentHashMap<>();
+    private volatile boolean shutdownStarted;
+
+    PooledHttpClient(String baseUrl,
+                     String userAgent,
+                     HttpClientConnectionManager connectionManager,
+                     @Nullable HttpHost proxy) {
+        super(baseUrl, userAgent);
+
+        URI uri = URI.create(baseUrl);
+        target = new HttpHost(uri.getScheme(), uri.getHost(), uri.getPort());
+        String path = uri.getPath() == null ? "" : uri.getPath();
+        basePath = path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+        closeableHttpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setProxy(proxy)
+                .setUserAgent(userAgent)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setResponseTimeout(RESPONSE_TIMEOUT)
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(IDLE_TIMEOUT)
+                .build();
+    }
+
+    /**
+     * Sends a conditional GET request and passes the body to the bodyHandler if the data has been modified.
+     * The validators of the response are only stored if the bodyHandler completed without an exception.
+     *
+     * @return false if the server responded that the data has not been modified since the last response.
+     */
+    public boolean getIfModified(String param,
+                                 Optional<Pair<String, String>> optionalHeader,
+                                 BodyHandler bodyHandler) throws IOException {
+        Validators validators = validatorsByParam.get(param);
+        Response response = execute(param, HttpMethod.GET, optionalHeader, validators);
+        if (response.statusCode() == HttpStatus.SC_NOT_MODIFIED) {
+            return false;
+        }
+        bodyHandler.handle(response.body());
+
+        Validators newValidators = response.validators();
+        if (newValidators.eTag() != null || newValidators.lastModified() != null) {
+            validatorsByParam.put(param, newValidators);
+        } else {
+            validatorsByParam.remove(param);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean hasPendingRequest() {
+        return numPendingRequests.get() > 0;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> shutdown() {
+        shutdownStarted = true;
+        try {
+            closeableHttpClient.close(CloseMode.IMMEDIATE);
+            return CompletableFuture.completedFuture(true);
+        } catch (Exception e) {
+            log.error("Error at shutdown {}", ExceptionUtil.getRootCauseMessage(e));
+            return CompletableFuture.completedFuture(false);
+        }
+    }
+
+    @Override
+    protected String doRequest(String param,
+                               HttpMethod httpMethod,
+                               Optional<Pair<String, String>> optionalHeader) throws IOException {
+        return execute(param, httpMethod, optionalHeader, null).body();
+    }
+
+
+    /* --------------------------------------------------------------------- */
+    // Private
+    /* --------------------------------------------------------------------- */
+
+    private Response execute(String param,
+                             HttpMethod httpMethod,
+                             Optional<Pair<String, String>> optionalHeader,
+                             @Nullable Validators validators) throws IOException {
+        if (shutdownStarted) {
+            throw new IOException("Shutdown has already started");
+        }
+
+        numPendingRequests.incrementAndGet();
+        long ts = System.currentTimeMillis();
+        try {
+            HttpUriRequestBase request;
+            if (httpMethod == HttpMethod.GET) {
+                request = new HttpGet(basePath + "/" + param);
+            } else {
+                HttpPost post = new HttpPost(basePath.isEmpty() ? "/" : basePath);
+                post.setEntity(new StringEntity(param, ContentType.TEXT_PLAIN));
+                request = post;
+            }
+            optionalHeader.ifPresent(header -> request.setHeader(header.getFirst(), header.getSecond()));
+            if (validators != null) {
+                if (validators.eTag() != null) {
+                    request.setHeader(HttpHeaders.IF_NONE_MATCH, validators.eTag());
+                }
+                if (validators.lastModified() != null) {
+                    request.setHeader(HttpHeaders.IF_MODIFIED_SINCE, validators.lastModified());
+                }
+            }
+
+            // The response handler consumes the entity, which releases the connection back to the pool
+            Response response = closeableHttpClient.execute(target, request, httpResponse -> {
+                String body = httpResponse.getEntity() == null
+                        ? ""
+                        : EntityUtils.toString(httpResponse.getEntity(), StandardCharsets.UTF_8);
+                return new Response(httpResponse.getCode(),
+                        body,
+                        new Validators(getHeaderValue(httpResponse.getFirstHeader(HttpHeaders.ETAG)),
+                                getHeaderValue(httpResponse.getFirstHeader(HttpHeaders.LAST_MODIFIED))));
+            });
+
+            int statusCode = response.statusCode();
+            if (isSuccess(statusCode) || statusCode == HttpStatus.SC_NOT_MODIFIED) {
+                log.debug("Response from {} with param {} took {} ms. statusCode={}, Data size: {}",
+                        baseUrl,
+                        param,
+                        System.currentTimeMillis() - ts,
+                        statusCode,
+                        StringUtils.fromBytes(response.body().length()));
+                return response;
+            }
+            log.info("Received errorMsg '{}' with statusCode {} from {}. Response took: {} ms. param: {}",
+                    StringUtils.truncate(response.body(), 2000),
+                    statusCode,
+                    baseUrl,
+                    System.currentTimeMillis() - ts,
+                    param);
+            throw new HttpException(response.body(), statusCode);
+        } catch (Exception e) {
+            String message = "Request to " + baseUrl + "/" + param + " failed with error: " + ExceptionUtil.getRootCauseMessage(e);
+            throw new IOException(message, e);
+        } finally {
+            numPendingRequests.decrementAndGet();
+        }
+    }
+
+    @Nullable
+    private static String getHeaderValue(@Nullable Header header) {
+        return header != null ? header.getValue() : null;
+    }
+}
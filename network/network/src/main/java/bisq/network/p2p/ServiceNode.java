@@ -274,6 +274,7 @@ public class ServiceNode implements Node.Listener {
                     setState(State.INITIALIZED);
                 },
                 () -> setState(State.INITIALIZED));
+        confidentialMessageService.ifPresent(ConfidentialMessageService::processPersistedMailboxData);
 
         return defaultNode;
     }
@@ -20,12 +20,15 @@ package bisq.network.p2p.message;
 import bisq.common.proto.NetworkProto;
 import bisq.network.p2p.node.ConnectionException;
 import bisq.network.p2p.node.authorization.AuthorizationToken;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 
+import javax.annotation.Nullable;
+
 import static bisq.network.p2p.node.ConnectionException.Reason.INVALID_NETWORK_VERSION;
 
 /**
@@ -44,15 +47,42 @@ public final class NetworkEnvelope implements NetworkProto {
     private final int version;
     private final AuthorizationToken authorizationToken;
     private final EnvelopePayloadMessage envelopePayloadMessage;
+    // Optional pre-built proto of the envelopePayloadMessage. Used if the same message is sent to multiple peers
+    // (e.g. at broadcast) so that the payload proto is created only once.
+    @Nullable
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final bisq.network.protobuf.EnvelopePayloadMessage envelopePayloadMessageProto;
+    // As the envelope is immutable we cache the proto, which is used for sending and for the connection metrics.
+    @Nullable
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private transient volatile bisq.network.protobuf.NetworkEnvelope completeProto;
 
     public NetworkEnvelope(AuthorizationToken authorizationToken, EnvelopePayloadMessage envelopePayloadMessage) {
         this(networkVersion, authorizationToken, envelopePayloadMessage);
     }
 
+    public NetworkEnvelope(AuthorizationToken authorizationToken,
+                           EnvelopePayloadMessage envelopePayloadMessage,
+                           @Nullable bisq.network.protobuf.EnvelopePayloadMessage envelopePayloadMessageProto) {
+        this(networkVersion, authorizationToken, envelopePayloadMessage, envelopePayloadMessageProto);
+    }
+
     public NetworkEnvelope(int version, AuthorizationToken authorizationToken, EnvelopePayloadMessage envelopePayloadMessage) {
+        this(version, authorizationToken, envelopePayloadMessage, null);
+    }
+
+    private NetworkEnvelope(int version,
+                            AuthorizationToken authorizationToken,
+                            EnvelopePayloadMessage envelopePayloadMessage,
+                            @Nullable bisq.network.protobuf.EnvelopePayloadMessage envelopePayloadMessageProto) {
         this.version = version;
         this.authorizationToken = authorizationToken;
         this.envelopePayloadMessage = envelopePayloadMessage;
+        this.envelopePayloadMessageProto = envelopePayloadMessageProto;
 
         verify();
     }
@@ -68,15 +98,26 @@ public final class NetworkEnvelope implements NetworkProto {
 
     @Override
     public bisq.network.protobuf.NetworkEnvelope completeProto() {
-        return toProto(false);
+        if (completeProto == null) {
+            completeProto = toProto(false);
+        }
+        return completeProto;
+    }
+
+    @Override
+    public int getSerializedSize() {
+        return completeProto().getSerializedSize();
     }
 
     @Override
     public bisq.network.protobuf.NetworkEnvelope.Builder getBuilder(boolean serializeForHash) {
+        bisq.network.protobuf.EnvelopePayloadMessage payloadProto = envelopePayloadMessageProto != null && !serializeForHash
+                ? envelopePayloadMessageProto
+                : envelopePayloadMessage.toProto(serializeForHash);
         return bisq.network.protobuf.NetworkEnvelope.newBuilder()
                 .setVersion(version)
                 .setAuthorizationToken(authorizationToken.toProto(serializeForHash))
-                .setNetworkMessage(envelopePayloadMessage.toProto(serializeForHash));
+                .setNetworkMessage(payloadProto);
     }
 
     public static NetworkEnvelope fromProto(bisq.network.protobuf.NetworkEnvelope proto) {
@@ -28,6 +28,8 @@ import bisq.network.p2p.message.EnvelopePayloadMessage;
 import bisq.network.p2p.message.NetworkEnvelope;
 import bisq.network.p2p.node.authorization.AuthorizationToken;
 import bisq.network.p2p.node.envelope.NetworkEnvelopeSocket;
+import bisq.network.p2p.node.envelope.NetworkEnvelopeSocketChannel;
+import bisq.network.p2p.node.envelope.parser.MessageSizeExceededException;
 import bisq.network.p2p.node.network_load.ConnectionMetrics;
 import bisq.network.p2p.node.network_load.NetworkLoadSnapshot;
 import lombok.Getter;
@@ -37,22 +39,31 @@ import javax.annotation.Nullable;
 import java.io.EOFException;
 import java.io.IOException;
 import java.net.Socket;
+import java.nio.channels.SocketChannel;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 
+import static bisq.network.p2p.node.ConnectionException.Reason.OUTBOUND_QUEUE_FULL;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
  * Represents an inbound or outbound connection to a peer node.
  * Listens for messages from the peer.
- * Send messages to the peer.
+ * Send messages to the peer. Messages are added to a bounded, priority-aware outbound queue which is drained by a
+ * single writer, so that senders are not blocked by slow peers or by the send throttle.
  * Notifies messageListeners on new received messages.
  * Notifies errorHandler on exceptions from the inputHandlerService executor.
+ * If the socket is backed by a SocketChannel (clear-net and Tor inbound connections) the inbound data is read by the
+ * shared ConnectionSelector, otherwise we use a blocking read loop on a thread from the NETWORK_IO_POOL.
  */
 @Slf4j
 public abstract class Connection {
@@ -90,13 +101,17 @@ public abstract class Connection {
     private final RequestResponseManager requestResponseManager;
 
     private NetworkEnvelopeSocket networkEnvelopeSocket;
+    // Only set if the socket is backed by a SocketChannel. In that case we do not use the networkEnvelopeSocket.
+    @Nullable
+    private NetworkEnvelopeSocketChannel networkEnvelopeSocketChannel;
     private final ConnectionThrottle connectionThrottle;
     private final Handler handler;
     private final Set<Listener> listeners = new CopyOnWriteArraySet<>();
     @Nullable
     private Future<?> inputHandlerFuture;
     private final AtomicInteger sentMessageCounter = new AtomicInteger(0);
-    private final Object writeLock = new Object();
+    private final OutboundMessageQueue outboundMessageQueue = new OutboundMessageQueue();
+    private final AtomicBoolean writerActive = new AtomicBoolean();
     private volatile boolean shutdownStarted;
     private volatile boolean listeningStopped;
 
@@ -114,6 +129,39 @@ public abstract class Connection {
         this.connectionMetrics = connectionMetrics;
         requestResponseManager = new RequestResponseManager(connectionMetrics);
 
+        SocketChannel socketChannel = socket.getChannel();
+        if (socketChannel != null) {
+            // Sockets backed by a SocketChannel are read by the shared ConnectionSelector
+            try {
+                networkEnvelopeSocketChannel = new NetworkEnvelopeSocketChannel(socketChannel, ConnectionSelector.BYTE_BUFFER_SIZE);
+                ConnectionSelector.getInstance().register(networkEnvelopeSocketChannel,
+                        socket.getSoTimeout(),
+                        new ConnectionSelector.Handler() {
+                            @Override
+                            public long getReceiveMessagePause() {
+                                return connectionThrottle.getReceiveMessagePause();
+                            }
+
+                            @Override
+                            public void onReceived(NetworkEnvelope networkEnvelope, long deserializeTime) {
+                                if (isInputStreamActive()) {
+                                    onNetworkEnvelope(networkEnvelope, deserializeTime);
+                                }
+                            }
+
+                            @Override
+                            public void onException(Exception exception) {
+                                handleInputException(exception, errorHandler);
+                            }
+                        });
+            } catch (IOException exception) {
+                log.error("Could not register socketChannel {} at ConnectionSelector", socketChannel, exception);
+                errorHandler.accept(this, exception);
+                shutdown(CloseReason.EXCEPTION.exception(exception));
+            }
+            return;
+        }
+
         try {
             PeerSocket peerSocket = new DefaultPeerSocket(socket);
             this.networkEnvelopeSocket = new NetworkEnvelopeSocket(peerSocket);
@@ -144,31 +192,10 @@ public abstract class Connection {
                     NetworkEnvelope networkEnvelope = NetworkEnvelope.fromProto(proto);
                     long deserializeTime = System.currentTimeMillis() - ts;
                     networkEnvelope.verifyVersion();
-                    connectionMetrics.onReceived(networkEnvelope, deserializeTime);
-
-                    EnvelopePayloadMessage envelopePayloadMessage = networkEnvelope.getEnvelopePayloadMessage();
-                    log.debug("Received message: {} at: {}",
-                            StringUtils.truncate(envelopePayloadMessage.toString(), 200), this);
-                    requestResponseManager.onReceived(envelopePayloadMessage);
-                    NetworkService.DISPATCHER.submit(() -> {
-                        if (isInputStreamActive()) {
-                            handler.handleNetworkMessage(envelopePayloadMessage,
-                                    networkEnvelope.getAuthorizationToken(),
-                                    this);
-                        }
-                    });
+                    onNetworkEnvelope(networkEnvelope, deserializeTime);
                 }
             } catch (Exception exception) {
-                //todo (deferred) StreamCorruptedException from i2p at shutdown. prob it send some text data at shut down
-                if (!shutdownStarted) {
-                    log.debug("Exception at input handler on {}", this, exception);
-                    shutdown(CloseReason.EXCEPTION.exception(exception));
-
-                    // EOFException expected if connection got closed (Socket closed message)
-                    if (!(exception instanceof EOFException)) {
-                        errorHandler.accept(this, exception);
-                    }
-                }
+                handleInputException(exception, errorHandler);
             }
         });
     }
@@ -221,53 +248,35 @@ public abstract class Connection {
     // Package scope API
     /* --------------------------------------------------------------------- */
 
-    Connection send(EnvelopePayloadMessage envelopePayloadMessage, AuthorizationToken authorizationToken) {
+    /**
+     * Adds the message to the outbound queue and returns a future which completes once the message has been written
+     * to the socket. The caller is never blocked by a slow peer. If the outbound queue is full the future completes
+     * exceptionally with a ConnectionException with reason OUTBOUND_QUEUE_FULL.
+     * The authorization token gets created by the writer with the next message counter when the message is dequeued.
+     */
+    CompletableFuture<Connection> sendAsync(EnvelopePayloadMessage envelopePayloadMessage,
+                                            @Nullable bisq.network.protobuf.EnvelopePayloadMessage envelopePayloadMessageProto,
+                                            OutboundMessageQueue.AuthorizationTokenFactory authorizationTokenFactory) {
         if (isStopped()) {
             log.warn("Message not sent as connection has been shut down already. Message={}, Connection={}",
                     StringUtils.truncate(envelopePayloadMessage.toString(), 200), this);
             // We do not throw a ConnectionClosedException here
-            return this;
+            return CompletableFuture.completedFuture(this);
         }
 
-        connectionThrottle.throttleSendMessage();
-
-        requestResponseManager.onSent(envelopePayloadMessage);
-
-        try {
-            NetworkEnvelope networkEnvelope = new NetworkEnvelope(authorizationToken, envelopePayloadMessage);
-            boolean success = false;
-            long ts = System.currentTimeMillis();
-            synchronized (writeLock) {
-                try {
-                    networkEnvelopeSocket.send(networkEnvelope);
-                    success = true;
-                } catch (Exception exception) {
-                    if (isRunning()) {
-                        throw exception;
-                    } else {
-                        log.info("Send message at stopped connection {} failed with {}", this, ExceptionUtil.getRootCauseMessage(exception));
-                    }
-                }
-            }
-            if (success) {
-                connectionMetrics.onSent(networkEnvelope, System.currentTimeMillis() - ts);
-                if (envelopePayloadMessage instanceof CloseConnectionMessage) {
-                    log.info("Sent {} from {}",
-                            StringUtils.truncate(envelopePayloadMessage.toString(), 300), this);
-                } else {
-                    log.debug("Sent {} from {}",
-                            StringUtils.truncate(envelopePayloadMessage.toString(), 300), this);
-                }
-            }
-            return this;
-        } catch (IOException exception) {
-            if (isRunning()) {
-                log.warn("Send message at {} failed with {}", this, ExceptionUtil.getRootCauseMessage(exception));
-                shutdown(CloseReason.EXCEPTION.exception(exception));
-            }
-            // We wrap any exception (also expected EOFException in case of connection close), to leave handling of the exception to the caller.
-            throw new ConnectionException(exception);
+        OutboundMessageQueue.Item item = new OutboundMessageQueue.Item(envelopePayloadMessage,
+                envelopePayloadMessageProto,
+                authorizationTokenFactory);
+        if (!outboundMessageQueue.offer(item)) {
+            connectionMetrics.onOutboundMessageRejected();
+            log.warn("Outbound queue of {} is full. We reject message {}",
+                    this, envelopePayloadMessage.getClass().getSimpleName());
+            return CompletableFuture.failedFuture(new ConnectionException(OUTBOUND_QUEUE_FULL,
+                    "Outbound queue is full. Connection=" + this));
         }
+        connectionMetrics.onOutboundQueueSizeChanged(outboundMessageQueue.size());
+        maybeStartWriter();
+        return item.getFuture();
     }
 
     void stopListening() {
@@ -281,16 +290,21 @@ public abstract class Connection {
         }
         log.info("Close {}; \ncloseReason: {}", this, closeReason);
         shutdownStarted = true;
+        failPendingSends();
         requestResponseManager.dispose();
         connectionMetrics.clear();
         if (inputHandlerFuture != null) {
             inputHandlerFuture.cancel(true);
         }
         try {
-            networkEnvelopeSocket.close();
+            if (networkEnvelopeSocketChannel != null) {
+                networkEnvelopeSocketChannel.close();
+            } else if (networkEnvelopeSocket != null) {
+                networkEnvelopeSocket.close();
+            }
         } catch (IOException ignore) {
         }
-        NetworkService.DISPATCHER.submit(() -> {
+        NetworkService.DISPATCHER.submit(id, () -> {
             handler.handleConnectionClosed(this, closeReason);
             listeners.forEach(listener -> {
                 try {
@@ -313,12 +327,8 @@ public abstract class Connection {
         });
     }
 
-    AtomicInteger getSentMessageCounter() {
-        return sentMessageCounter;
-    }
-
     boolean isStopped() {
-        return shutdownStarted || networkEnvelopeSocket.isClosed() || Thread.currentThread().isInterrupted();
+        return shutdownStarted || isSocketClosed() || Thread.currentThread().isInterrupted();
     }
 
 
@@ -333,4 +343,153 @@ public abstract class Connection {
     private boolean isInputStreamActive() {
         return !listeningStopped && isRunning();
     }
+
+    private void maybeStartWriter() {
+        if (writerActive.compareAndSet(false, true)) {
+            executeWriter(this::drainOutboundMessageQueue);
+        }
+    }
+
+    // If the NETWORK_IO_POOL rejects the writer (e.g. at shutdown) no writer would be started anymore, as
+    // writerActive stays set. We reset it and fail the queued messages, so that the senders do not wait forever.
+    private void executeWriter(Runnable writer) {
+        try {
+            NetworkService.NETWORK_IO_POOL.execute(writer);
+        } catch (RejectedExecutionException exception) {
+            log.warn("Writer of {} got rejected. We fail all queued messages.", this);
+            writerActive.set(false);
+            outboundMessageQueue.drain().forEach(item ->
+                    item.getFuture().completeExceptionally(new ConnectionException(exception)));
+            connectionMetrics.onOutboundQueueSizeChanged(0);
+        }
+    }
+
+    // Only one writer is active at a time, thus messages are written in the order of the outbound queue.
+    private void drainOutboundMessageQueue() {
+        ThreadName.set(this, "write-" + getThreadNameId());
+        while (true) {
+            if (isStopped()) {
+                writerActive.set(false);
+                failPendingSends();
+                return;
+            }
+            if (outboundMessageQueue.isEmpty()) {
+                writerActive.set(false);
+                // A message might have been added after our check but before we have reset the flag
+                if (outboundMessageQueue.isEmpty() || !writerActive.compareAndSet(false, true)) {
+                    return;
+                }
+                continue;
+            }
+            long pause = connectionThrottle.getSendMessagePause();
+            if (pause > 0) {
+                // We continue after the pause without blocking a thread
+                CompletableFuture.delayedExecutor(pause, TimeUnit.MILLISECONDS, this::executeWriter)
+                        .execute(this::drainOutboundMessageQueue);
+                return;
+            }
+            OutboundMessageQueue.Item item = outboundMessageQueue.poll();
+            connectionMetrics.onOutboundQueueSizeChanged(outboundMessageQueue.size());
+            if (item != null) {
+                write(item);
+            }
+        }
+    }
+
+    private void write(OutboundMessageQueue.Item item) {
+        EnvelopePayloadMessage envelopePayloadMessage = item.getEnvelopePayloadMessage();
+        requestResponseManager.onSent(envelopePayloadMessage);
+        try {
+            // The counter is assigned here, thus the counters are sent in increasing order
+            AuthorizationToken authorizationToken = item.getAuthorizationTokenFactory()
+                    .create(sentMessageCounter.incrementAndGet());
+            NetworkEnvelope networkEnvelope = new NetworkEnvelope(authorizationToken,
+                    envelopePayloadMessage,
+                    item.getEnvelopePayloadMessageProto());
+            boolean success = false;
+            long ts = System.currentTimeMillis();
+            try {
+                if (networkEnvelopeSocketChannel != null) {
+                    networkEnvelopeSocketChannel.send(networkEnvelope);
+                } else {
+                    networkEnvelopeSocket.send(networkEnvelope);
+                }
+                success = true;
+            } catch (Exception exception) {
+                if (isRunning()) {
+                    throw exception;
+                } else {
+                    log.info("Send message at stopped connection {} failed with {}", this, ExceptionUtil.getRootCauseMessage(exception));
+                }
+            }
+            if (success) {
+                connectionMetrics.onSent(networkEnvelope, System.currentTimeMillis() - ts);
+                if (envelopePayloadMessage instanceof CloseConnectionMessage) {
+                    log.info("Sent {} from {}",
+                            StringUtils.truncate(envelopePayloadMessage.toString(), 300), this);
+                } else {
+                    log.debug("Sent {} from {}",
+                            StringUtils.truncate(envelopePayloadMessage.toString(), 300), this);
+                }
+            }
+            item.getFuture().complete(this);
+        } catch (IOException exception) {
+            if (isRunning()) {
+                log.warn("Send message at {} failed with {}", this, ExceptionUtil.getRootCauseMessage(exception));
+                shutdown(CloseReason.EXCEPTION.exception(exception));
+            }
+            // We wrap any exception (also expected EOFException in case of connection close), to leave handling of the exception to the caller.
+            item.getFuture().completeExceptionally(new ConnectionException(exception));
+        } catch (Exception exception) {
+            item.getFuture().completeExceptionally(new ConnectionException(exception));
+        }
+    }
+
+    private void failPendingSends() {
+        outboundMessageQueue.drain().forEach(item ->
+                item.getFuture().completeExceptionally(new ConnectionClosedException(this)));
+        connectionMetrics.onOutboundQueueSizeChanged(0);
+    }
+
+    private boolean isSocketClosed() {
+        if (networkEnvelopeSocketChannel != null) {
+            return networkEnvelopeSocketChannel.isClosed();
+        }
+        return networkEnvelopeSocket == null || networkEnvelopeSocket.isClosed();
+    }
+
+    private void onNetworkEnvelope(NetworkEnvelope networkEnvelope, long deserializeTime) {
+        connectionMetrics.onReceived(networkEnvelope, deserializeTime);
+
+        EnvelopePayloadMessage envelopePayloadMessage = networkEnvelope.getEnvelopePayloadMessage();
+        log.debug("Received message: {} at: {}",
+                StringUtils.truncate(envelopePayloadMessage.toString(), 200), this);
+        requestResponseManager.onReceived(envelopePayloadMessage);
+        NetworkService.DISPATCHER.submit(id, () -> {
+            if (isInputStreamActive()) {
+                handler.handleNetworkMessage(envelopePayloadMessage,
+                        networkEnvelope.getAuthorizationToken(),
+                        this);
+            }
+        });
+    }
+
+    private void handleInputException(Exception exception, BiConsumer<Connection, Exception> errorHandler) {
+        //todo (deferred) StreamCorruptedException from i2p at shutdown. prob it send some text data at shut down
+        if (!shutdownStarted) {
+            log.debug("Exception at input handler on {}", this, exception);
+            if (exception instanceof MessageSizeExceededException) {
+                // The peer sent an invalid length prefix. The errorHandler bans the peer.
+                log.warn("{} sent a message exceeding the max. message size. {}", this, exception.getMessage());
+                shutdown(CloseReason.BANNED.details(exception.getMessage()));
+            } else {
+                shutdown(CloseReason.EXCEPTION.exception(exception));
+            }
+
+            // EOFException expected if connection got closed (Socket closed message)
+            if (!(exception instanceof EOFException)) {
+                errorHandler.accept(this, exception);
+            }
+        }
+    }
 }
@@ -142,7 +142,7 @@ public abstract class ConnectionChannel {
             networkEnvelopeSocketChannel.close();
         } catch (IOException ignore) {
         }
-        NetworkService.DISPATCHER.submit(() -> {
+        NetworkService.DISPATCHER.submit(id, () -> {
             listeners.forEach(listener -> {
                 try {
                     listener.onConnectionClosed(closeReason);
@@ -29,7 +29,8 @@ public class ConnectionException extends CompletionException {
         AUTHORIZATION_FAILED,
         ONION_ADDRESS_VERIFICATION_FAILED,
         ADDRESS_BANNED,
-        HANDSHAKE_FAILED
+        HANDSHAKE_FAILED,
+        OUTBOUND_QUEUE_FULL
     }
 
     @Getter
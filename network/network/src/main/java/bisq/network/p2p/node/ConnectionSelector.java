@@ -0,0 +1,305 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.node;
+
+import bisq.common.platform.PlatformUtils;
+import bisq.common.threading.ExecutorFactory;
+import bisq.network.p2p.message.NetworkEnvelope;
+import bisq.network.p2p.node.envelope.NetworkEnvelopeSocketChannel;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Multiplexes the inbound traffic of all connections which are backed by a SocketChannel over a small fixed set of
+ * selector threads, instead of blocking one thread per connection in a socket read.
+ * Received data is parsed by the NetworkEnvelopeDeserializer of the connection's NetworkEnvelopeSocketChannel and the
+ * resulting envelopes are passed to the connection's handler on the selector thread. Handlers must not block.
+ * The receive throttle of the connection is applied without blocking the selector thread: if the handler requests a
+ * pause, we stop reading from that channel and keep the already parsed envelopes until the pause has passed.
+ * As the selector has no socket timeout, idle channels are closed after the socket timeout of the connection has
+ * passed without any inbound data, which mirrors the behaviour of the blocking read.
+ * We do not use InboundConnectionsManager here, as it owns the accept and handshake of a ServerSocketChannel and
+ * produces InboundConnectionChannels, which are not supported by Node. The selector only takes over the reading of
+ * Connections after the handshake, for inbound and outbound connections alike.
+ */
+@Slf4j
+public final class ConnectionSelector {
+    interface Handler {
+        /**
+         * @return The time in ms until the next envelope can be delivered. 0 if it can be delivered now.
+         */
+        long getReceiveMessagePause();
+
+        void onReceived(NetworkEnvelope networkEnvelope, long deserializeTime);
+
+        void onException(Exception exception);
+    }
+
+    // Larger than the default buffer size of NetworkEnvelopeSocketChannel to reduce the number of select calls
+    // for big messages like inventory responses
+    static final int BYTE_BUFFER_SIZE = 16 * 1024;
+    private static final int NUM_SELECTORS = Math.max(1, Math.min(4, PlatformUtils.availableProcessors() / 2));
+    private static final long SELECT_TIMEOUT = 1000;
+
+    private static ConnectionSelector instance;
+
+    static synchronized ConnectionSelector getInstance() throws IOException {
+        if (instance == null) {
+            instance = new ConnectionSelector(NUM_SELECTORS);
+        }
+        return instance;
+    }
+
+    /**
+     * Closes the selectors and stops the selector threads. Connections which got registered before are not read
+     * anymore, thus it is expected to be called after all nodes have been shut down.
+     */
+    public static synchronized void shutdown() {
+        if (instance != null) {
+            instance.close();
+            instance = null;
+        }
+    }
+
+    private final List<SelectorLoop> selectorLoops = new ArrayList<>();
+    private final AtomicInteger nextSelectorLoopIndex = new AtomicInteger();
+    private final ExecutorService executorService;
+
+    private ConnectionSelector(int numSelectors) throws IOException {
+        executorService = ExecutorFactory.newFixedThreadPool("Network.selector", numSelectors);
+        for (int i = 0; i < numSelectors; i++) {
+            SelectorLoop selectorLoop = new SelectorLoop(Selector.open());
+            selectorLoops.add(selectorLoop);
+            executorService.submit(selectorLoop::run);
+        }
+        log.info("Created ConnectionSelector with {} selector threads", numSelectors);
+    }
+
+    /**
+     * @param idleTimeout Time in ms after which the channel gets closed if no data has been received. 0 means no timeout.
+     */
+    void register(NetworkEnvelopeSocketChannel networkEnvelopeSocketChannel,
+                  long idleTimeout,
+                  Handler handler) throws IOException {
+        SocketChannel socketChannel = networkEnvelopeSocketChannel.getSocketChannel();
+        socketChannel.configureBlocking(false);
+        int index = Math.floorMod(nextSelectorLoopIndex.getAndIncrement(), selectorLoops.size());
+        selectorLoops.get(index).register(new Registration(networkEnvelopeSocketChannel, idleTimeout, handler));
+    }
+
+
+    /* --------------------------------------------------------------------- */
+    // Private
+    /* --------------------------------------------------------------------- */
+
+    private void close() {
+        selectorLoops.forEach(SelectorLoop::close);
+        executorService.shutdownNow();
+        log.info("ConnectionSelector shut down");
+    }
+
+    private static final class Registration {
+        private final NetworkEnvelopeSocketChannel networkEnvelopeSocketChannel;
+        private final long idleTimeout;
+        private final Handler handler;
+        // Envelopes which have been parsed but not delivered yet because of the receive throttle
+        private final Deque<NetworkEnvelope> pendingEnvelopes = new ArrayDeque<>();
+        private long deserializeTime;
+        private long resumeTime;
+        private long lastReceived = System.currentTimeMillis();
+
+        private Registration(NetworkEnvelopeSocketChannel networkEnvelopeSocketChannel, long idleTimeout, Handler handler) {
+            this.networkEnvelopeSocketChannel = networkEnvelopeSocketChannel;
+            this.idleTimeout = idleTimeout;
+            this.handler = handler;
+        }
+    }
+
+    private static final class SelectorLoop {
+        private final Selector selector;
+        // Registration at a selector blocks while the selector thread is in select(), thus we let the selector
+        // thread do the registration.
+        private final Queue<Registration> pendingRegistrations = new ConcurrentLinkedQueue<>();
+        // Keys of throttled channels. Only accessed by the selector thread.
+        private final Set<SelectionKey> throttledKeys = new HashSet<>();
+        private long lastIdleCheck = System.currentTimeMillis();
+
+        private SelectorLoop(Selector selector) {
+            this.selector = selector;
+        }
+
+        private void register(Registration registration) {
+            pendingRegistrations.add(registration);
+            selector.wakeup();
+        }
+
+        private void close() {
+            try {
+                // Closing wakes up the selector thread, which then exits at the ClosedSelectorException
+                selector.close();
+            } catch (IOException e) {
+                log.warn("Closing selector failed", e);
+            }
+        }
+
+        private void run() {
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    processPendingRegistrations();
+                    selector.select(getSelectTimeout());
+
+                    Iterator<SelectionKey> iterator = selector.selectedKeys().iterator();
+                    while (iterator.hasNext()) {
+                        SelectionKey selectionKey = iterator.next();
+                        iterator.remove();
+                        if (selectionKey.isValid() && selectionKey.isReadable()) {
+                            read(selectionKey);
+                        }
+                    }
+
+                    resumeThrottledChannels();
+                    closeIdleChannels();
+                } catch (ClosedSelectorException e) {
+                    return;
+                } catch (Exception e) {
+                    log.error("Unexpected exception at selector loop", e);
+                }
+            }
+        }
+
+        private void processPendingRegistrations() {
+            Registration registration;
+            while ((registration = pendingRegistrations.poll()) != null) {
+                try {
+                    registration.networkEnvelopeSocketChannel.getSocketChannel()
+                            .register(selector, SelectionKey.OP_READ, registration);
+                } catch (ClosedChannelException e) {
+                    registration.handler.onException(new EOFException("Channel got closed before registration at selector"));
+                }
+            }
+        }
+
+        private void read(SelectionKey selectionKey) {
+            Registration registration = (Registration) selectionKey.attachment();
+            NetworkEnvelopeSocketChannel networkEnvelopeSocketChannel = registration.networkEnvelopeSocketChannel;
+            try {
+                long ts = System.currentTimeMillis();
+                List<NetworkEnvelope> networkEnvelopes = networkEnvelopeSocketChannel.receiveNetworkEnvelopes();
+                long now = System.currentTimeMillis();
+                if (networkEnvelopeSocketChannel.isClosed()) {
+                    selectionKey.cancel();
+                    registration.handler.onException(new EOFException("Channel closed by peer"));
+                    return;
+                }
+                registration.lastReceived = now;
+                if (!networkEnvelopes.isEmpty()) {
+                    registration.pendingEnvelopes.addAll(networkEnvelopes);
+                    registration.deserializeTime = (now - ts) / networkEnvelopes.size();
+                    deliverPendingEnvelopes(selectionKey, registration);
+                }
+            } catch (Exception exception) {
+                selectionKey.cancel();
+                registration.handler.onException(exception);
+            }
+        }
+
+        private void deliverPendingEnvelopes(SelectionKey selectionKey, Registration registration) {
+            while (!registration.pendingEnvelopes.isEmpty()) {
+                if (!selectionKey.isValid()) {
+                    // Connection got closed by the handler
+                    registration.pendingEnvelopes.clear();
+                    return;
+                }
+                long pause = registration.handler.getReceiveMessagePause();
+                if (pause > 0) {
+                    // We must not sleep on the shared selector thread, so we stop reading until the pause has passed
+                    registration.resumeTime = System.currentTimeMillis() + pause;
+                    selectionKey.interestOps(0);
+                    throttledKeys.add(selectionKey);
+                    return;
+                }
+                registration.handler.onReceived(registration.pendingEnvelopes.poll(), registration.deserializeTime);
+            }
+            if (selectionKey.isValid()) {
+                selectionKey.interestOps(SelectionKey.OP_READ);
+            }
+        }
+
+        private void resumeThrottledChannels() {
+            if (throttledKeys.isEmpty()) {
+                return;
+            }
+            long now = System.currentTimeMillis();
+            List<SelectionKey> dueKeys = throttledKeys.stream()
+                    .filter(selectionKey -> !selectionKey.isValid() ||
+                            ((Registration) selectionKey.attachment()).resumeTime <= now)
+                    .toList();
+            dueKeys.forEach(throttledKeys::remove);
+            for (SelectionKey selectionKey : dueKeys) {
+                Registration registration = (Registration) selectionKey.attachment();
+                try {
+                    deliverPendingEnvelopes(selectionKey, registration);
+                } catch (Exception exception) {
+                    selectionKey.cancel();
+                    registration.handler.onException(exception);
+                }
+            }
+        }
+
+        private long getSelectTimeout() {
+            long now = System.currentTimeMillis();
+            long timeout = SELECT_TIMEOUT;
+            for (SelectionKey selectionKey : throttledKeys) {
+                timeout = Math.min(timeout, ((Registration) selectionKey.attachment()).resumeTime - now);
+            }
+            // A timeout of 0 would block indefinitely
+            return Math.max(1, timeout);
+        }
+
+        private void closeIdleChannels() {
+            long now = System.currentTimeMillis();
+            if (now - lastIdleCheck < SELECT_TIMEOUT) {
+                return;
+            }
+            lastIdleCheck = now;
+            for (SelectionKey selectionKey : selector.keys()) {
+                Registration registration = (Registration) selectionKey.attachment();
+                if (selectionKey.isValid() &&
+                        registration.pendingEnvelopes.isEmpty() &&
+                        registration.idleTimeout > 0 &&
+                        now - registration.lastReceived > registration.idleTimeout) {
+                    selectionKey.cancel();
+                    registration.handler.onException(new SocketTimeoutException("No data received for " +
+                            registration.idleTimeout + " ms"));
+                }
+            }
+        }
+    }
+}
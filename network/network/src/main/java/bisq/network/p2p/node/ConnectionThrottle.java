@@ -34,8 +34,10 @@ import java.util.concurrent.atomic.AtomicLong;
  * flooding their peers (at send using my network load to adjust the throttle time).
  * As larger value in the config for sendMessageTimestamp and receiveMessageTimestamp means it is more likely that
  * message send/receive get paused.
- * Messages are not dropped by we only pause the executing thread. We use lower and upper bounds for the pause, so
- * even with extreme values from the config the throttling should not have severe impacts on the
+ * Messages are not dropped. At receive we pause the reading thread, or for connections read by the ConnectionSelector we
+ * stop reading from the channel for the pause, as the selector thread is shared by many connections. At send the
+ * connection's writer delays draining its outbound queue, so that the threads of the senders are not blocked. We use lower and upper bounds for the
+ * pause, so even with extreme values from the config the throttling should not have severe impacts on the
  * connection (e.g. lead to timeouts).
  */
 @Slf4j
@@ -64,49 +66,79 @@ public class ConnectionThrottle {
         receiveMessageThrottleTime = config.getReceiveMessageThrottleTime(); // default 200
     }
 
-    void throttleSendMessage() {
-        throttle(sendMessageTimestamp, peersNetworkLoadSnapshot, sendMessageThrottleTime, "send");
+    /**
+     * Non-blocking variant for the send side. Returns the time in ms the writer has to wait before the next message
+     * can be sent. If 0 is returned the send slot is taken, so the caller is expected to send the message.
+     */
+    long getSendMessagePause() {
+        long now = System.currentTimeMillis();
+        long pause = getPause(sendMessageTimestamp, peersNetworkLoadSnapshot, sendMessageThrottleTime, "send", now);
+        if (pause == 0) {
+            sendMessageTimestamp.set(now);
+        }
+        return pause;
     }
 
-    void throttleReceiveMessage() {
-        throttle(receiveMessageTimestamp, myNetworkLoadSnapshot, receiveMessageThrottleTime, "receive");
+    /**
+     * Non-blocking variant for the receive side. Returns the time in ms the reader has to wait before the next message
+     * can be processed. If 0 is returned the receive slot is taken, so the caller is expected to process the message.
+     */
+    long getReceiveMessagePause() {
+        long now = System.currentTimeMillis();
+        long pause = getPause(receiveMessageTimestamp, myNetworkLoadSnapshot, receiveMessageThrottleTime, "receive", now);
+        if (pause == 0) {
+            receiveMessageTimestamp.set(now);
+        }
+        return pause;
     }
 
-    private void throttle(AtomicLong timestamp, NetworkLoadSnapshot networkLoadSnapshot, long throttleTime, String direction) {
+    void throttleReceiveMessage() {
         long now = System.currentTimeMillis();
+        long pause = getPause(receiveMessageTimestamp, myNetworkLoadSnapshot, receiveMessageThrottleTime, "receive", now);
+        if (pause > 0) {
+            try {
+                Thread.sleep(pause);
+            } catch (InterruptedException ignore) {
+            }
+        }
+        receiveMessageTimestamp.set(now);
+    }
+
+    private long getPause(AtomicLong timestamp,
+                          NetworkLoadSnapshot networkLoadSnapshot,
+                          long throttleTime,
+                          String direction,
+                          long now) {
         long passed = now - timestamp.get();
         double load = networkLoadSnapshot.getCurrentNetworkLoad().getLoad();
         throttleTime = MIN_THROTTLE_TIME + Math.round(throttleTime * load);
         throttleTime = MathUtils.bounded(MIN_THROTTLE_TIME, MAX_THROTTLE_TIME, throttleTime);
-        if (passed < throttleTime) {
-            try {
-                long pause = throttleTime - passed;
-                pause = MathUtils.bounded(1, MAX_THROTTLE_TIME, pause);
-                String logMessage = String.format("Pause '%s' message for %d ms. Network=%f", direction, pause, load);
-                long passedSinceLastLog = now - lastLoggedTs.get();
-                if (passedSinceLastLog < MAX_LOG_FREQUENCY) {
-                    LAST_LOGS.add(logMessage);
-                    if (lastLoggedTs.get() == 0) {
-                        lastLoggedTs.set(now);
-                    }
-                } else {
-                    if (LAST_LOGS.isEmpty()) {
-                        log.info(logMessage);
-                    } else {
-                        LAST_LOGS.add(logMessage);
-                        List<String> temp = new ArrayList<>(LAST_LOGS);
-                        int size = temp.size();
-                        List<String> subList = temp.subList(0, Math.min(5, size));
-                        log.info("{} accumulated log messages in the past {} sec. Log message (max 5 displayed): {}",
-                                size, passedSinceLastLog / 1000, subList);
-                        LAST_LOGS.clear();
-                    }
-                    lastLoggedTs.set(now);
-                }
-                Thread.sleep(pause);
-            } catch (InterruptedException ignore) {
+        if (passed >= throttleTime) {
+            return 0;
+        }
+        long pause = throttleTime - passed;
+        pause = MathUtils.bounded(1, MAX_THROTTLE_TIME, pause);
+        String logMessage = String.format("Pause '%s' message for %d ms. Network=%f", direction, pause, load);
+        long passedSinceLastLog = now - lastLoggedTs.get();
+        if (passedSinceLastLog < MAX_LOG_FREQUENCY) {
+            LAST_LOGS.add(logMessage);
+            if (lastLoggedTs.get() == 0) {
+                lastLoggedTs.set(now);
+            }
+        } else {
+            if (LAST_LOGS.isEmpty()) {
+                log.info(logMessage);
+            } else {
+                LAST_LOGS.add(logMessage);
+                List<String> temp = new ArrayList<>(LAST_LOGS);
+                int size = temp.size();
+                List<String> subList = temp.subList(0, Math.min(5, size));
+                log.info("{} accumulated log messages in the past {} sec. Log message (max 5 displayed): {}",
+                        size, passedSinceLastLog / 1000, subList);
+                LAST_LOGS.clear();
             }
+            lastLoggedTs.set(now);
         }
-        timestamp.set(now);
+        return pause;
     }
 }
@@ -201,7 +201,7 @@ public class InboundConnectionsManager {
                             handshakeRequest.getCapability(),
                             peersNetworkLoadSnapshot,
                             networkEnvelopeSocketChannel,
-                            new ConnectionMetrics()
+                            new ConnectionMetrics(node.getNodeMetrics())
                     )
             );
         } catch (ConnectionException e) {
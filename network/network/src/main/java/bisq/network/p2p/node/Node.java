@@ -32,23 +32,29 @@ import bisq.network.identity.NetworkId;
 import bisq.network.p2p.message.EnvelopePayloadMessage;
 import bisq.network.p2p.node.authorization.AuthorizationService;
 import bisq.network.p2p.node.authorization.AuthorizationToken;
+import bisq.network.p2p.node.envelope.parser.MessageSizeExceededException;
 import bisq.network.p2p.node.handshake.ConnectionHandshake;
 import bisq.network.p2p.node.network_load.NetworkLoadSnapshot;
+import bisq.network.p2p.node.network_load.NodeMetrics;
 import bisq.network.p2p.node.transport.ServerSocketResult;
 import bisq.network.p2p.node.transport.TransportService;
 import bisq.network.p2p.services.peer_group.BanList;
 import bisq.security.keys.KeyBundle;
 import bisq.security.keys.KeyBundleService;
+import com.google.common.annotations.VisibleForTesting;
 import com.runjva.sourceforge.jsocks.protocol.Socks5Proxy;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 
+import javax.annotation.Nullable;
 import java.io.EOFException;
 import java.io.IOException;
 import java.net.*;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -60,7 +66,6 @@ import static bisq.network.NetworkService.DISPATCHER;
 import static bisq.network.p2p.node.ConnectionException.Reason.*;
 import static bisq.network.p2p.node.Node.State.*;
 import static com.google.common.base.Preconditions.checkArgument;
-import static java.util.concurrent.CompletableFuture.runAsync;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
 /**
@@ -78,6 +83,8 @@ import static java.util.concurrent.TimeUnit.SECONDS;
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public class Node implements Connection.Handler {
     public static final int PREFERRED_VERSION = 1;
+    private static final int MAX_REMEMBERED_CAPABILITY_VERSIONS = 1000;
+    private static final long CLOSE_CONNECTION_MESSAGE_TIMEOUT = 10;
 
     public enum State {
         NEW,
@@ -158,6 +165,17 @@ public class Node implements Connection.Handler {
     private final Map<Address, InboundConnection> inboundConnectionsByAddress = new ConcurrentHashMap<>();
     private final Set<Listener> listeners = new CopyOnWriteArraySet<>();
     private final Map<String, ConnectionHandshake> connectionHandshakes = new ConcurrentHashMap<>();
+    // Concurrent requests for a connection to the same address share one connection attempt
+    private final Map<Address, CompletableFuture<Connection>> pendingOutboundConnectionsByAddress = new ConcurrentHashMap<>();
+    // Capability version accepted by peers which did not accept our PREFERRED_VERSION, so that we do not repeat the
+    // failing handshake at each new connection to an old peer.
+    private final Map<Address, Integer> capabilityVersionByAddress = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Address, Integer> eldest) {
+                    return size() > MAX_REMEMBERED_CAPABILITY_VERSIONS;
+                }
+            });
     private Optional<Server> server = Optional.empty();
     private Optional<Capability> myCapability = Optional.empty();
     @Getter
@@ -166,6 +184,8 @@ public class Node implements Connection.Handler {
     public final Observable<State> observableState = new Observable<>(State.NEW);
     @Getter
     public final NetworkLoadSnapshot networkLoadSnapshot;
+    @Getter
+    private final NodeMetrics nodeMetrics = new NodeMetrics();
     private final Config config;
     private Optional<CountDownLatch> startingStateLatch = Optional.empty();
 
@@ -259,7 +279,8 @@ public class Node implements Connection.Handler {
                 socketTimeout,
                 myCapability,
                 authorizationService,
-                keyBundle);
+                keyBundle,
+                nodeMetrics);
         connectionHandshakes.put(connectionHandshake.getId(), connectionHandshake);
         log.debug("Inbound handshake request at: {}", myCapability.getAddress());
         try {
@@ -292,7 +313,7 @@ public class Node implements Connection.Handler {
                     this,
                     this::handleException);
             inboundConnectionsByAddress.put(connection.getPeerAddress(), connection);
-            DISPATCHER.submit(() -> listeners.forEach(listener -> {
+            DISPATCHER.submit(connection.getId(), () -> listeners.forEach(listener -> {
                 try {
                     listener.onConnection(connection);
                 } catch (Exception e) {
@@ -336,48 +357,122 @@ public class Node implements Connection.Handler {
         return send(envelopePayloadMessage, connection);
     }
 
+    /**
+     * Non-blocking variant of send. If there is no connection to the address, it gets created on the network IO pool.
+     */
+    public CompletableFuture<Connection> sendAsync(EnvelopePayloadMessage envelopePayloadMessage, Address address) {
+        return getConnectionAsync(address)
+                .thenCompose(connection -> sendAsync(envelopePayloadMessage, null, connection));
+    }
+
     public Connection send(EnvelopePayloadMessage envelopePayloadMessage, Connection connection) {
+        return send(envelopePayloadMessage, null, connection);
+    }
+
+    /**
+     * @param envelopePayloadMessageProto Optional pre-built proto of the envelopePayloadMessage. Allows callers who
+     *                                    send the same message to multiple peers to create the proto only once.
+     */
+    public Connection send(EnvelopePayloadMessage envelopePayloadMessage,
+                           @Nullable bisq.network.protobuf.EnvelopePayloadMessage envelopePayloadMessageProto,
+                           Connection connection) {
+        // The future is completed exceptionally only with CompletionExceptions, which are thrown by join as they are.
+        return sendAsync(envelopePayloadMessage, envelopePayloadMessageProto, connection).join();
+    }
+
+    /**
+     * Adds the message to the outbound queue of the connection. The authorization token is created by the writer of
+     * the connection when the message gets dequeued, so that the message counters are sent in increasing order even
+     * if the queue reorders messages by priority. The returned future completes once the message has been written to
+     * the socket.
+     */
+    public CompletableFuture<Connection> sendAsync(EnvelopePayloadMessage envelopePayloadMessage,
+                                                   @Nullable bisq.network.protobuf.EnvelopePayloadMessage envelopePayloadMessageProto,
+                                                   Connection connection) {
         if (connection.isStopped()) {
             log.debug("Send message failed as connection is already stopped {}", this);
-            throw new ConnectionClosedException(connection);
+            return CompletableFuture.failedFuture(new ConnectionClosedException(connection));
         }
+        CompletableFuture<Connection> future = new CompletableFuture<>();
         try {
-            AuthorizationToken token = authorizationService.createToken(envelopePayloadMessage,
-                    connection.getPeersNetworkLoadSnapshot().getCurrentNetworkLoad(),
-                    connection.getPeerAddress().getFullAddress(),
-                    connection.getSentMessageCounter().incrementAndGet(),
-                    connection.getPeersCapability().getFeatures());
             maybeSimulateDelay();
-            return connection.send(envelopePayloadMessage, token);
+            connection.sendAsync(envelopePayloadMessage,
+                            envelopePayloadMessageProto,
+                            messageCounter -> authorizationService.createToken(envelopePayloadMessage,
+                                    connection.getPeersNetworkLoadSnapshot().getCurrentNetworkLoad(),
+                                    connection.getPeerAddress().getFullAddress(),
+                                    messageCounter,
+                                    connection.getPeersCapability().getFeatures()))
+                    .whenComplete((result, throwable) -> {
+                        if (throwable == null) {
+                            future.complete(result);
+                        } else {
+                            future.completeExceptionally(handleSendException(connection, throwable));
+                        }
+                    });
         } catch (Exception exception) {
-            if (connection.isRunning() && !(exception.getCause() instanceof SocketException)) {
-                handleException(connection, exception);
-                log.debug("Send message failed", exception);
-                closeConnection(connection, CloseReason.EXCEPTION.exception(exception));
-            }
-            throw new ConnectionClosedException(connection);
+            future.completeExceptionally(handleSendException(connection, exception));
         }
+        return future;
     }
 
-
     /* --------------------------------------------------------------------- */
     // Connection
     /* --------------------------------------------------------------------- */
 
     public Connection getConnection(Address address) {
-        if (outboundConnectionsByAddress.containsKey(address)) {
-            return outboundConnectionsByAddress.get(address);
-        } else if (inboundConnectionsByAddress.containsKey(address)) {
-            return inboundConnectionsByAddress.get(address);
-        } else {
-            return createOutboundConnection(address);
+        Optional<Connection> existing = findConnection(address);
+        if (existing.isPresent()) {
+            return existing.get();
         }
+
+        CompletableFuture<Connection> future = new CompletableFuture<>();
+        CompletableFuture<Connection> pending = pendingOutboundConnectionsByAddress.putIfAbsent(address, future);
+        if (pending != null) {
+            log.info("Outbound connection to {} is already in progress. We wait for it.", address);
+            return joinConnection(pending);
+        }
+        // We are the first requester, so we create the connection on the calling thread
+        completeOutboundConnection(address, future);
+        return joinConnection(future);
+    }
+
+    /**
+     * Non-blocking variant of getConnection. Concurrent requests to the same address are coalesced into one
+     * connection attempt, which runs on the network IO pool.
+     */
+    public CompletableFuture<Connection> getConnectionAsync(Address address) {
+        Optional<Connection> existing = findConnection(address);
+        if (existing.isPresent()) {
+            return CompletableFuture.completedFuture(existing.get());
+        }
+
+        CompletableFuture<Connection> future = new CompletableFuture<>();
+        CompletableFuture<Connection> pending = pendingOutboundConnectionsByAddress.putIfAbsent(address, future);
+        if (pending != null) {
+            return pending;
+        }
+        try {
+            NetworkService.NETWORK_IO_POOL.submit(() -> completeOutboundConnection(address, future));
+        } catch (RejectedExecutionException e) {
+            pendingOutboundConnectionsByAddress.remove(address, future);
+            future.completeExceptionally(new ConnectionException(e));
+        }
+        return future;
     }
 
     public boolean hasConnection(Address address) {
         return outboundConnectionsByAddress.containsKey(address) || inboundConnectionsByAddress.containsKey(address);
     }
 
+    public Optional<Connection> findConnection(Address address) {
+        Connection connection = outboundConnectionsByAddress.get(address);
+        if (connection == null) {
+            connection = inboundConnectionsByAddress.get(address);
+        }
+        return Optional.ofNullable(connection);
+    }
+
     public Optional<Connection> findConnection(Connection connection) {
         if (connection instanceof OutboundConnection) {
             return Optional.ofNullable(outboundConnectionsByAddress.get(connection.getPeerAddress()));
@@ -391,7 +486,37 @@ public class Node implements Connection.Handler {
     // OutboundConnection
     /* --------------------------------------------------------------------- */
 
-    private Connection createOutboundConnection(Address address) {
+    private void completeOutboundConnection(Address address, CompletableFuture<Connection> future) {
+        try {
+            // A connection might have been created since the caller checked
+            Connection connection = findConnection(address).orElseGet(() -> createOutboundConnection(address));
+            future.complete(connection);
+        } catch (Throwable throwable) {
+            future.completeExceptionally(throwable);
+        } finally {
+            pendingOutboundConnectionsByAddress.remove(address, future);
+        }
+    }
+
+    @VisibleForTesting
+    static Connection joinConnection(CompletableFuture<Connection> future) {
+        try {
+            return future.join();
+        } catch (ConnectionException e) {
+            // ConnectionException is a CompletionException, thus join rethrows it as is. We must not wrap it,
+            // otherwise the reason would get lost.
+            throw e;
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new ConnectionException(cause != null ? cause : e);
+        }
+    }
+
+    @VisibleForTesting
+    Connection createOutboundConnection(Address address) {
         log.debug("Create outbound connection to {}", address);
         return myCapability.map(capability -> createOutboundConnection(address, capability))
                 .orElseGet(() -> {
@@ -407,17 +532,26 @@ public class Node implements Connection.Handler {
 
     private Connection createOutboundConnection(Address address, Capability myCapability) {
         // This code can be removed once no old versions are expected anymore.
-        Capability candidate = Capability.withVersion(myCapability, PREFERRED_VERSION);
-        log.info("Create outbound connection to {} with capability version 1", address);
+        int version = capabilityVersionByAddress.getOrDefault(address, PREFERRED_VERSION);
+        log.info("Create outbound connection to {} with capability version {}", address, version);
         try {
-            return doCreateOutboundConnection(address, candidate);
+            Connection connection = doCreateOutboundConnection(address, Capability.withVersion(myCapability, version));
+            if (version == PREFERRED_VERSION) {
+                capabilityVersionByAddress.remove(address);
+            }
+            return connection;
         } catch (ConnectionException e) {
             if (e.getCause() != null && e.getReason() != null && e.getReason() == HANDSHAKE_FAILED) {
-                log.warn("Handshake at creating outbound connection to {} failed. We try again with capability version 0. Error: {}",
-                        address, ExceptionUtil.getRootCauseMessage(e));
-                int version = PREFERRED_VERSION == 0 ? 1 : 0;
-                candidate = Capability.withVersion(myCapability, version);
-                return doCreateOutboundConnection(address, candidate);
+                int otherVersion = version == 0 ? 1 : 0;
+                log.warn("Handshake at creating outbound connection to {} failed. We try again with capability version {}. Error: {}",
+                        address, otherVersion, ExceptionUtil.getRootCauseMessage(e));
+                Connection connection = doCreateOutboundConnection(address, Capability.withVersion(myCapability, otherVersion));
+                if (otherVersion == PREFERRED_VERSION) {
+                    capabilityVersionByAddress.remove(address);
+                } else {
+                    capabilityVersionByAddress.put(address, otherVersion);
+                }
+                return connection;
             } else {
                 // In case of other ConnectExceptions we don't try again as peer is offline
                 throw e;
@@ -449,7 +583,7 @@ public class Node implements Connection.Handler {
             return outboundConnectionsByAddress.get(address);
         }
 
-        ConnectionHandshake connectionHandshake = new ConnectionHandshake(socket, banList, socketTimeout, myCapability, authorizationService, keyBundle);
+        ConnectionHandshake connectionHandshake = new ConnectionHandshake(socket, banList, socketTimeout, myCapability, authorizationService, keyBundle, nodeMetrics);
         connectionHandshakes.put(connectionHandshake.getId(), connectionHandshake);
         log.debug("Outbound handshake started: Initiated by {} to {}", myCapability.getAddress(), address);
         try {
@@ -492,7 +626,7 @@ public class Node implements Connection.Handler {
                     this,
                     this::handleException);
             outboundConnectionsByAddress.put(address, connection);
-            DISPATCHER.submit(() -> listeners.forEach(listener -> {
+            DISPATCHER.submit(connection.getId(), () -> listeners.forEach(listener -> {
                 try {
                     listener.onConnection(connection);
                 } catch (Exception e) {
@@ -626,6 +760,7 @@ public class Node implements Connection.Handler {
     public void handleConnectionClosed(Connection connection, CloseReason closeReason) {
         Address peerAddress = connection.getPeerAddress();
         log.debug("Got called onConnectionClosed. connection={}, peerAddress={}", connection, peerAddress);
+        authorizationService.onConnectionClosed(connection.getId());
         boolean wasRemoved = false;
         if (connection instanceof InboundConnection) {
             wasRemoved = inboundConnectionsByAddress.remove(peerAddress) != null;
@@ -662,23 +797,31 @@ public class Node implements Connection.Handler {
         connection.shutdown(closeReason);
     }
 
+    /**
+     * Sends a CloseConnectionMessage and closes the connection after it has been sent. Does not block the caller.
+     */
     public CompletableFuture<Void> closeConnectionGracefullyAsync(Connection connection, CloseReason closeReason) {
-        return runAsync(() -> {
-            ThreadName.set(this, "closeConnection");
-            closeConnectionGracefully(connection, closeReason);
-        }, NetworkService.NETWORK_IO_POOL)
-                .orTimeout(4, SECONDS);
+        connection.stopListening();
+        // The CloseConnectionMessage is sent after the already queued messages, thus we limit the time we wait for it.
+        return sendAsync(new CloseConnectionMessage(closeReason), null, connection)
+                .orTimeout(CLOSE_CONNECTION_MESSAGE_TIMEOUT, SECONDS)
+                .handle((result, throwable) -> {
+                    if (throwable instanceof TimeoutException) {
+                        log.info("CloseConnectionMessage has not been sent within {} sec. We close {} anyway.",
+                                CLOSE_CONNECTION_MESSAGE_TIMEOUT, connection);
+                    } else if (throwable != null) {
+                        log.info("Sending CloseConnectionMessage failed. We close {} anyway. {}",
+                                connection, ExceptionUtil.getRootCauseMessage(throwable));
+                    }
+                    return null;
+                })
+                // Give a bit of delay before we close the connection.
+                .thenRunAsync(() -> connection.shutdown(CloseReason.CLOSE_MSG_SENT.details(closeReason.name())),
+                        CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS));
     }
 
     public void closeConnectionGracefully(Connection connection, CloseReason closeReason) {
-        connection.stopListening();
-        send(new CloseConnectionMessage(closeReason), connection);
-        try {
-            // Give a bit of delay before we close the connection.
-            Thread.sleep(100);
-        } catch (Throwable ignore) {
-        }
-        connection.shutdown(CloseReason.CLOSE_MSG_SENT.details(closeReason.name()));
+        closeConnectionGracefullyAsync(connection, closeReason);
     }
 
     public CompletableFuture<Boolean> shutdown() {
@@ -752,11 +895,28 @@ public class Node implements Connection.Handler {
     // Private
     /* --------------------------------------------------------------------- */
 
+    private CompletionException handleSendException(Connection connection, Throwable exception) {
+        if (exception instanceof ConnectionException connectionException &&
+                connectionException.getReason() == OUTBOUND_QUEUE_FULL) {
+            // Backpressure from a slow peer. We keep the connection and leave it to the caller to handle it.
+            return connectionException;
+        }
+        if (connection.isRunning() && !(exception.getCause() instanceof SocketException)) {
+            handleException(connection, exception);
+            log.debug("Send message failed", exception);
+            closeConnection(connection, CloseReason.EXCEPTION.exception(exception));
+        }
+        return new ConnectionClosedException(connection);
+    }
+
     private void handleException(Connection connection, Throwable exception) {
         log.debug("Got called handleException. connection={}, exception={}", connection, exception.getMessage());
         if (isShutdown()) {
             return;
         }
+        if (exception instanceof MessageSizeExceededException) {
+            banList.add(connection.getPeerAddress(), BanList.Reason.MESSAGE_SIZE_EXCEEDED);
+        }
         if (connection.isRunning()) {
             handleException(exception);
         }
@@ -797,6 +957,9 @@ public class Node implements Connection.Handler {
                     case PROTOBUF_IS_NULL:
                         log.info("Exception: {}", ExceptionUtil.getRootCauseMessage(exception));
                         break;
+                    case OUTBOUND_QUEUE_FULL:
+                        log.info("Exception: {}", ExceptionUtil.getRootCauseMessage(exception));
+                        break;
                     case AUTHORIZATION_FAILED:
                     case ONION_ADDRESS_VERIFICATION_FAILED:
                     case ADDRESS_BANNED:
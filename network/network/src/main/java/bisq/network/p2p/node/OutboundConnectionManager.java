@@ -170,7 +170,7 @@ public class OutboundConnectionManager {
                     peerCapability,
                     peersNetworkLoadSnapshot,
                     networkEnvelopeSocketChannel,
-                    new ConnectionMetrics()
+                    new ConnectionMetrics(node.getNodeMetrics())
             );
 
             connectionByChannel.put(socketChannel, outboundConnectionChannel);
@@ -0,0 +1,145 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.node;
+
+import bisq.network.p2p.message.EnvelopePayloadMessage;
+import bisq.network.p2p.node.authorization.AuthorizationToken;
+import bisq.network.p2p.services.data.DataRequest;
+import bisq.network.p2p.services.peer_group.keep_alive.Ping;
+import bisq.network.p2p.services.peer_group.keep_alive.Pong;
+import lombok.Getter;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Bounded outbound message queue of a connection.
+ * Messages are ordered by priority and in insertion order within the same priority.
+ * If the queue has reached its capacity, messages get rejected, except messages with HIGH priority, which are small
+ * control messages, and the CloseConnectionMessage. Those can use an additional reserved capacity, so the queue is
+ * bounded for all priorities.
+ * The CloseConnectionMessage is sent only after all queued messages, as the connection gets closed after it has been
+ * sent.
+ * The authorization token of a message is created by the writer when the message gets dequeued, so the message
+ * counters are assigned in the order the messages are sent and not in the order they have been queued.
+ */
+final class OutboundMessageQueue {
+    static final int CAPACITY = 1000;
+    static final int RESERVED_CAPACITY = 100;
+
+    interface AuthorizationTokenFactory {
+        AuthorizationToken create(int messageCounter);
+    }
+
+    enum Priority {
+        HIGH,
+        NORMAL,
+        LOW,
+        CLOSE;
+
+        static Priority of(EnvelopePayloadMessage envelopePayloadMessage) {
+            if (envelopePayloadMessage instanceof CloseConnectionMessage) {
+                return CLOSE;
+            } else if (envelopePayloadMessage instanceof Ping ||
+                    envelopePayloadMessage instanceof Pong) {
+                return HIGH;
+            } else if (envelopePayloadMessage instanceof DataRequest) {
+                // Gossip messages are not time critical
+                return LOW;
+            } else {
+                return NORMAL;
+            }
+        }
+
+        private boolean usesReservedCapacity() {
+            return this == HIGH || this == CLOSE;
+        }
+    }
+
+    @Getter
+    static final class Item {
+        private final EnvelopePayloadMessage envelopePayloadMessage;
+        @Nullable
+        private final bisq.network.protobuf.EnvelopePayloadMessage envelopePayloadMessageProto;
+        private final AuthorizationTokenFactory authorizationTokenFactory;
+        private final Priority priority;
+        private final CompletableFuture<Connection> future = new CompletableFuture<>();
+        private long sequenceNumber;
+
+        Item(EnvelopePayloadMessage envelopePayloadMessage,
+             @Nullable bisq.network.protobuf.EnvelopePayloadMessage envelopePayloadMessageProto,
+             AuthorizationTokenFactory authorizationTokenFactory) {
+            this.envelopePayloadMessage = envelopePayloadMessage;
+            this.envelopePayloadMessageProto = envelopePayloadMessageProto;
+            this.authorizationTokenFactory = authorizationTokenFactory;
+            priority = Priority.of(envelopePayloadMessage);
+        }
+    }
+
+    private final PriorityQueue<Item> queue = new PriorityQueue<>(Comparator
+            .comparing(Item::getPriority)
+            .thenComparingLong(Item::getSequenceNumber));
+    private final int capacity;
+    private final int reservedCapacity;
+    private long sequenceNumber;
+
+    OutboundMessageQueue() {
+        this(CAPACITY, RESERVED_CAPACITY);
+    }
+
+    OutboundMessageQueue(int capacity, int reservedCapacity) {
+        this.capacity = capacity;
+        this.reservedCapacity = reservedCapacity;
+    }
+
+    /**
+     * @return false if the queue was full and the item got rejected.
+     */
+    synchronized boolean offer(Item item) {
+        int limit = item.getPriority().usesReservedCapacity() ? capacity + reservedCapacity : capacity;
+        if (queue.size() >= limit) {
+            return false;
+        }
+        item.sequenceNumber = sequenceNumber++;
+        queue.add(item);
+        return true;
+    }
+
+    @Nullable
+    synchronized Item poll() {
+        return queue.poll();
+    }
+
+    synchronized int size() {
+        return queue.size();
+    }
+
+    synchronized boolean isEmpty() {
+        return queue.isEmpty();
+    }
+
+    synchronized List<Item> drain() {
+        List<Item> items = new ArrayList<>(queue);
+        queue.clear();
+        return items;
+    }
+}
@@ -20,4 +20,7 @@ public abstract class AuthorizationTokenService<T extends AuthorizationToken> {
                                          Optional<NetworkLoad> previousNetworkLoad,
                                          String connectionId,
                                          String myAddress);
+
+    public void onConnectionClosed(String connectionId) {
+    }
 }
@@ -0,0 +1,82 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package bisq.network.p2p.node.authorization.token;
+
+/**
+ * Replay protection for the message counters of a connection with constant memory.
+ * The sender increments the counter with each message it writes. Peers with older versions assign the counter before
+ * the message is sent by one of several concurrent threads, thus their messages can arrive slightly out of order.
+ * We track the highest received counter and a bitmap of the WINDOW_SIZE counters
+ * below it. A counter which was already received, or which is older than the window, is rejected.
+ */
+public final class MessageCounterReplayWindow {
+    // Large enough that messages which got reordered by concurrent senders are still inside the window
+    static final int WINDOW_SIZE = 4096;
+
+    private final long[] bitmap = new long[WINDOW_SIZE / Long.SIZE];
+    private long highestCounter = Long.MIN_VALUE;
+
+    /**
+     * @return true if the counter was not received before and got accepted.
+     */
+    public synchronized boolean tryAccept(int messageCounter) {
+        long counter = messageCounter;
+        if (highestCounter == Long.MIN_VALUE) {
+            highestCounter = counter;
+            setBit(counter);
+            return true;
+        }
+
+        if (counter > highestCounter) {
+            // Clear the slots of the counters we have skipped, as they are reused for the new counters
+            long clearUntil = Math.min(counter, highestCounter + WINDOW_SIZE + 1);
+            for (long c = highestCounter + 1; c < clearUntil; c++) {
+                clearBit(c);
+            }
+            highestCounter = counter;
+            setBit(counter);
+            return true;
+        }
+
+        if (highestCounter - counter >= WINDOW_SIZE) {
+            return false;
+        }
+
+        if (isBitSet(counter)) {
+            return false;
+        }
+        setBit(counter);
+        return true;
+    }
+
+    private boolean isBitSet(long counter) {
+        int index = (int) Math.floorMod(counter, (long) WINDOW_SIZE);
+        return (bitmap[index >>> 6] & (1L << index)) != 0;
+    }
+
+    private void setBit(long counter) {
+        int index = (int) Math.floorMod(counter, (long) WINDOW_SIZE);
+        bitmap[index >>> 6] |= 1L << index;
+    }
+
+    private void clearBit(long counter) {
+        int index = (int) Math.floorMod(counter, (long) WINDOW_SIZE);
+        bitmap[index >>> 6] &= ~(1L << index);
+    }
+}
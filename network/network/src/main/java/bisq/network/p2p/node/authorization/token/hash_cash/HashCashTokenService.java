@@ -8,6 +8,7 @@ import bisq.common.util.StringUtils;
 import bisq.network.p2p.message.EnvelopePayloadMessage;
 import bisq.network.p2p.node.authorization.AuthorizationToken;
 import bisq.network.p2p.node.authorization.AuthorizationTokenService;
+import bisq.network.p2p.node.authorization.token.MessageCounterReplayWindow;
 import bisq.network.p2p.node.network_load.NetworkLoad;
 import bisq.security.DigestUtil;
 import bisq.security.pow.ProofOfWork;
@@ -33,7 +34,7 @@ public class HashCashTokenService extends AuthorizationTokenService<HashCashToke
 
     private final HashCashProofOfWorkService proofOfWorkService;
     // Keep track of message counter per connection to avoid reuse of pow
-    private final Map<String, Set<Integer>> receivedMessageCountersByConnectionId = new ConcurrentHashMap<>();
+    private final Map<String, MessageCounterReplayWindow> replayWindowByConnectionId = new ConcurrentHashMap<>();
     @Getter
     private final Metrics metrics = new Metrics();
 
@@ -81,18 +82,12 @@ public class HashCashTokenService extends AuthorizationTokenService<HashCashToke
         int messageCounter = hashCashToken.getMessageCounter();
 
         // Verify that pow is not reused
-        Set<Integer> receivedMessageCounters;
-        if (receivedMessageCountersByConnectionId.containsKey(connectionId)) {
-            receivedMessageCounters = receivedMessageCountersByConnectionId.get(connectionId);
-            if (receivedMessageCounters.contains(messageCounter)) {
-                log.warn("Invalid receivedMessageCounters. We received the proofOfWork for that message already.");
-                return false;
-            }
-        } else {
-            receivedMessageCounters = new HashSet<>();
-            receivedMessageCountersByConnectionId.put(connectionId, receivedMessageCounters);
+        MessageCounterReplayWindow replayWindow = replayWindowByConnectionId.computeIfAbsent(connectionId,
+                key -> new MessageCounterReplayWindow());
+        if (!replayWindow.tryAccept(messageCounter)) {
+            log.warn("Invalid messageCounter. We received the proofOfWork for that message already or the messageCounter is outside the replay window.");
+            return false;
         }
-        receivedMessageCounters.add(messageCounter);
 
         // Verify payload
         byte[] payload = getPayload(message);
@@ -216,6 +211,11 @@ public class HashCashTokenService extends AuthorizationTokenService<HashCashToke
         return true;
     }
 
+    @Override
+    public void onConnectionClosed(String connectionId) {
+        replayWindowByConnectionId.remove(connectionId);
+    }
+
     private byte[] getPayload(EnvelopePayloadMessage message) {
         return message.serializeForHash();
     }
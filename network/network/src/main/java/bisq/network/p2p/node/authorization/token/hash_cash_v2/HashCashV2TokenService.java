@@ -8,6 +8,7 @@ import bisq.common.util.StringUtils;
 import bisq.network.p2p.message.EnvelopePayloadMessage;
 import bisq.network.p2p.node.authorization.AuthorizationToken;
 import bisq.network.p2p.node.authorization.AuthorizationTokenService;
+import bisq.network.p2p.node.authorization.token.MessageCounterReplayWindow;
 import bisq.network.p2p.node.network_load.NetworkLoad;
 import bisq.security.DigestUtil;
 import bisq.security.pow.ProofOfWork;
@@ -32,7 +33,7 @@ public class HashCashV2TokenService extends AuthorizationTokenService<HashCashV2
 
     private final HashCashProofOfWorkService proofOfWorkService;
     // Keep track of message counter per connection to avoid reuse of pow
-    private final Map<String, Set<Integer>> receivedMessageCountersByConnectionId = new ConcurrentHashMap<>();
+    private final Map<String, MessageCounterReplayWindow> replayWindowByConnectionId = new ConcurrentHashMap<>();
     @Getter
     private final Metrics metrics = new Metrics();
 
@@ -79,18 +80,12 @@ public class HashCashV2TokenService extends AuthorizationTokenService<HashCashV2
         int messageCounter = hashCashV2Token.getMessageCounter();
 
         // Verify that pow is not reused
-        Set<Integer> receivedMessageCounters;
-        if (receivedMessageCountersByConnectionId.containsKey(connectionId)) {
-            receivedMessageCounters = receivedMessageCountersByConnectionId.get(connectionId);
-            if (receivedMessageCounters.contains(messageCounter)) {
-                log.warn("Invalid receivedMessageCounters. We received the proofOfWork for that message already.");
-                return false;
-            }
-        } else {
-            receivedMessageCounters = new HashSet<>();
-            receivedMessageCountersByConnectionId.put(connectionId, receivedMessageCounters);
+        MessageCounterReplayWindow replayWindow = replayWindowByConnectionId.computeIfAbsent(connectionId,
+                key -> new MessageCounterReplayWindow());
+        if (!replayWindow.tryAccept(messageCounter)) {
+            log.warn("Invalid messageCounter. We received the proofOfWork for that message already or the messageCounter is outside the replay window.");
+            return false;
         }
-        receivedMessageCounters.add(messageCounter);
 
         // Verify payload
         byte[] payload = getPayload(message);
@@ -131,6 +126,11 @@ public class HashCashV2TokenService extends AuthorizationTokenService<HashCashV2
         return proofOfWorkService.verify(proofOfWork);
     }
 
+    @Override
+    public void onConnectionClosed(String connectionId) {
+        replayWindowByConnectionId.remove(connectionId);
+    }
+
     // We check the difficulty used for the proof of work if it matches the current network load or if available the
     // previous network load. If the difference is inside a tolerance range we consider it still valid, but it should
     // be investigated why that happens, thus we log those cases.
@@ -25,7 +25,13 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
 import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
 import java.nio.channels.SocketChannel;
 import java.util.Collections;
 import java.util.List;
@@ -33,6 +39,8 @@ import java.util.List;
 @Slf4j
 public class NetworkEnvelopeSocketChannel implements Closeable {
     public static final int BYTE_BUFFER_SIZE = 1024;
+    // Max. time we wait for the socket to become writable again if the channel is in non-blocking mode
+    private static final long WRITE_TIMEOUT = 120_000;
 
     private static final int END_OF_STREAM = -1;
 
@@ -40,7 +48,9 @@ public class NetworkEnvelopeSocketChannel implements Closeable {
     private final SocketChannel socketChannel;
     private final ByteBuffer byteBuffer;
     private final NetworkEnvelopeDeserializer networkEnvelopeDeserializer;
-
+    // Only created if a write to a non-blocking channel could not be completed at once.
+    // Only accessed by the writer thread, except at close, thus close does not need to wait for the writer.
+    private volatile Selector writeSelector;
 
     public NetworkEnvelopeSocketChannel(SocketChannel socketChannel) {
         this(socketChannel, BYTE_BUFFER_SIZE);
@@ -63,7 +73,7 @@ public class NetworkEnvelopeSocketChannel implements Closeable {
         byteBuffer1.put(protoInBytes);
         byteBuffer1.flip();
 
-        socketChannel.write(byteBuffer1);
+        writeFully(byteBuffer1);
     }
 
     public List<NetworkEnvelope> receiveNetworkEnvelopes() throws IOException {
@@ -85,8 +95,67 @@ public class NetworkEnvelopeSocketChannel implements Closeable {
         return allNetworkEnvelopes;
     }
 
+    public boolean isClosed() {
+        return !socketChannel.isOpen();
+    }
+
     @Override
     public void close() throws IOException {
-        socketChannel.close();
+        try {
+            socketChannel.close();
+        } finally {
+            // Closing the selector wakes up a writer which is waiting in awaitWritable.
+            // We must not synchronize with the writer as it might be blocked up to WRITE_TIMEOUT.
+            Selector selector = writeSelector;
+            if (selector != null) {
+                selector.close();
+            }
+        }
+    }
+
+    // In blocking mode the channel writes the whole buffer at once. In non-blocking mode the socket send buffer
+    // might be full, in which case we wait until the channel becomes writable again.
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            int numWrittenBytes = socketChannel.write(buffer);
+            if (numWrittenBytes == 0 && buffer.hasRemaining()) {
+                awaitWritable();
+            }
+        }
+    }
+
+    private void awaitWritable() throws IOException {
+        Selector selector = writeSelector;
+        if (selector == null) {
+            selector = Selector.open();
+            writeSelector = selector;
+            try {
+                socketChannel.register(selector, SelectionKey.OP_WRITE);
+            } catch (ClosedChannelException | ClosedSelectorException e) {
+                selector.close();
+                throw new ClosedChannelException();
+            }
+        }
+        // As close() closes the channel before it reads the selector, we either see the closed channel here or
+        // close() sees our selector and closes it.
+        if (!socketChannel.isOpen()) {
+            throw new ClosedChannelException();
+        }
+        int numReadyKeys;
+        try {
+            numReadyKeys = selector.select(WRITE_TIMEOUT);
+            selector.selectedKeys().clear();
+        } catch (ClosedSelectorException e) {
+            throw new ClosedChannelException();
+        }
+        if (!socketChannel.isOpen()) {
+            throw new ClosedChannelException();
+        }
+        if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedIOException("Interrupted while waiting for channel to become writable");
+        }
+        if (numReadyKeys == 0) {
+            throw new SocketTimeoutException("Channel did not become writable within " + WRITE_TIMEOUT + " ms");
+        }
     }
 }
@@ -17,16 +17,22 @@
 
 package bisq.network.p2p.node.envelope.parser.nio;
 
+import bisq.common.data.ByteUnit;
+import bisq.network.p2p.node.envelope.parser.MessageSizeExceededException;
 import bisq.network.p2p.node.envelope.parser.ProtoBufMessageLengthParser;
 import bisq.network.protobuf.NetworkEnvelope;
 import com.google.protobuf.InvalidProtocolBufferException;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.*;
 
 @Slf4j
 public class NetworkEnvelopeDeserializer {
+    // The message length is read from the stream before we allocate the buffer for the message, thus we must not
+    // trust it. Inventory responses are the largest messages and are limited to a few MB.
+    public static final int MAX_MESSAGE_SIZE = (int) ByteUnit.MB.toBytes(10);
 
     private final ByteBuffer byteBuffer;
     private final ProtoBufMessageLengthParser messageLengthParser;
@@ -43,7 +49,12 @@ public class NetworkEnvelopeDeserializer {
         this.messageLengthParser = new ProtoBufMessageLengthParser(protoBufInputStream);
     }
 
-    public void readFromByteBuffer() {
+    /**
+     * @throws MessageSizeExceededException if the message length exceeds MAX_MESSAGE_SIZE
+     * @throws InvalidProtocolBufferException if a message could not be parsed. As we cannot trust the framing of
+     *                                        the stream anymore, the caller has to close the channel in both cases.
+     */
+    public void readFromByteBuffer() throws IOException {
         while (byteBuffer.hasRemaining()) {
             if (!parsingMessage) {
                 parseMessageLength();
@@ -63,9 +74,14 @@ public class NetworkEnvelopeDeserializer {
         }
     }
 
-    private void parseMessageLength() {
+    private void parseMessageLength() throws MessageSizeExceededException {
         long messageLength = messageLengthParser.parseMessageLength();
         if (isMessageLengthParsed(messageLength)) {
+            if (messageLength < 0 || messageLength > MAX_MESSAGE_SIZE) {
+                resetState();
+                throw new MessageSizeExceededException("Message length " + messageLength +
+                        " exceeds max. message size of " + MAX_MESSAGE_SIZE + " bytes");
+            }
             currentMessageLength = messageLength;
             parsedMessageLength = 0;
             parsingMessage = true;
@@ -91,22 +107,19 @@ public class NetworkEnvelopeDeserializer {
         return parsedMessageLength == currentMessageLength;
     }
 
-    private void tryToParseProtoBufMessage() {
+    private void tryToParseProtoBufMessage() throws InvalidProtocolBufferException {
         try {
             NetworkEnvelope message = NetworkEnvelope.parseFrom(currentProtobufMessage);
             bisq.network.p2p.message.NetworkEnvelope
                     networkEnvelope = bisq.network.p2p.message.NetworkEnvelope.fromProto(message);
             networkEnvelope.verifyVersion();
             parsedNetworkEnvelopes.add(networkEnvelope);
-
-        } catch (InvalidProtocolBufferException e) {
-            log.error("Couldn't parse protocol buffer message.", e);
         } finally {
             resetState();
         }
     }
 
-    private void parseNewIncomingMessage() {
+    private void parseNewIncomingMessage() throws InvalidProtocolBufferException {
         currentProtobufMessage = new byte[(int) currentMessageLength];
         parsedMessageLength = 0;
 
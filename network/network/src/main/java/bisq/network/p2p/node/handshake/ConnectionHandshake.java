@@ -32,6 +32,7 @@ import bisq.network.p2p.node.authorization.AuthorizationToken;
 import bisq.network.p2p.node.envelope.NetworkEnvelopeSocket;
 import bisq.network.p2p.node.network_load.ConnectionMetrics;
 import bisq.network.p2p.node.network_load.NetworkLoad;
+import bisq.network.p2p.node.network_load.NodeMetrics;
 import bisq.network.p2p.services.peer_group.BanList;
 import bisq.security.keys.KeyBundle;
 import com.google.protobuf.ByteString;
@@ -61,6 +62,7 @@ public final class ConnectionHandshake {
     private final Capability capability;
     private final AuthorizationService authorizationService;
     private final KeyBundle myKeyBundle;
+    private final NodeMetrics nodeMetrics;
     private NetworkEnvelopeSocket networkEnvelopeSocket;
 
     @Getter
@@ -192,8 +194,10 @@ public final class ConnectionHandshake {
                                int socketTimeout,
                                Capability capability,
                                AuthorizationService authorizationService,
-                               KeyBundle myKeyBundle) {
+                               KeyBundle myKeyBundle,
+                               NodeMetrics nodeMetrics) {
         this.banList = banList;
+        this.nodeMetrics = nodeMetrics;
         this.capability = capability;
         this.authorizationService = authorizationService;
         this.myKeyBundle = myKeyBundle;
@@ -213,7 +217,7 @@ public final class ConnectionHandshake {
     // Client side protocol
     public Result start(NetworkLoad myNetworkLoad, Address peerAddress) {
         try {
-            ConnectionMetrics connectionMetrics = new ConnectionMetrics();
+            ConnectionMetrics connectionMetrics = new ConnectionMetrics(nodeMetrics);
 
             Address myAddress = capability.getAddress();
             long signatureDate = System.currentTimeMillis();
@@ -290,7 +294,7 @@ public final class ConnectionHandshake {
     // Server side protocol
     public Result onSocket(NetworkLoad myNetworkLoad) {
         try {
-            ConnectionMetrics connectionMetrics = new ConnectionMetrics();
+            ConnectionMetrics connectionMetrics = new ConnectionMetrics(nodeMetrics);
             bisq.network.protobuf.NetworkEnvelope requestProto = networkEnvelopeSocket.receiveNextEnvelope();
             if (requestProto == null) {
                 throw new ConnectionException(PROTOBUF_IS_NULL,
@@ -21,36 +21,68 @@ import bisq.common.util.ClassUtils;
 import bisq.network.p2p.message.EnvelopePayloadMessage;
 import bisq.network.p2p.message.NetworkEnvelope;
 import bisq.network.p2p.services.data.storage.auth.AddAuthenticatedDataRequest;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.*;
-import java.util.concurrent.CopyOnWriteArrayList;
+import javax.annotation.Nullable;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Metrics of a single connection. Per-minute values are kept in fixed-size ring buffers covering the last hour.
+ * If a NodeMetrics instance is passed, all updates are forwarded to it as well to maintain the node level aggregates.
+ */
 @Slf4j
 @Getter
 @ToString
 public class ConnectionMetrics {
     private final long created;
     private final AtomicLong lastUpdate = new AtomicLong();
-    private final TreeMap<Integer, AtomicLong> numMessagesSentPerMinute = new TreeMap<>();
-    private final TreeMap<Integer, AtomicLong> sentBytesPerMinute = new TreeMap<>();
-    private final TreeMap<Integer, AtomicLong> spentSendMessageTimePerMinute = new TreeMap<>();
-    private final TreeMap<Integer, AtomicLong> deserializeTimePerMinute = new TreeMap<>();
-    private final TreeMap<Integer, AtomicLong> numMessagesReceivedPerMinute = new TreeMap<>();
-    private final TreeMap<Integer, AtomicLong> receivedBytesPerMinute = new TreeMap<>();
-    private final Map<String, AtomicLong> numSentMessagesByClassName = new HashMap<>();
-    private final Map<String, AtomicLong> numReceivedMessagesByClassName = new HashMap<>();
-    private final Map<String, AtomicLong> numSentDistributedDataByClassName = new HashMap<>();
-    private final Map<String, AtomicLong> numReceivedDistributedDataByClassName = new HashMap<>();
-
-    private final AtomicLong numMessagesReceived = new AtomicLong();
-    private final List<Long> rrtList = new CopyOnWriteArrayList<>();
+    @Getter(AccessLevel.NONE)
+    private final RingBufferCounter numMessagesSentPerMinute;
+    @Getter(AccessLevel.NONE)
+    private final RingBufferCounter sentBytesPerMinute;
+    @Getter(AccessLevel.NONE)
+    private final RingBufferCounter spentSendMessageTimePerMinute;
+    @Getter(AccessLevel.NONE)
+    private final RingBufferCounter deserializeTimePerMinute;
+    @Getter(AccessLevel.NONE)
+    private final RingBufferCounter numMessagesReceivedPerMinute;
+    @Getter(AccessLevel.NONE)
+    private final RingBufferCounter receivedBytesPerMinute;
+    private final Map<String, AtomicLong> numSentMessagesByClassName = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> numReceivedMessagesByClassName = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> numSentDistributedDataByClassName = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> numReceivedDistributedDataByClassName = new ConcurrentHashMap<>();
+
+    private final LatencyHistogram rttHistogram = new LatencyHistogram();
+    private final LatencyHistogram deserializeTimeHistogram = new LatencyHistogram();
+    private final AtomicInteger outboundQueueSize = new AtomicInteger();
+    private final AtomicInteger maxOutboundQueueSize = new AtomicInteger();
+    private final AtomicLong numRejectedOutboundMessages = new AtomicLong();
+    @Nullable
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final NodeMetrics nodeMetrics;
 
     public ConnectionMetrics() {
+        this(null);
+    }
+
+    public ConnectionMetrics(@Nullable NodeMetrics nodeMetrics) {
+        this.nodeMetrics = nodeMetrics;
         created = System.currentTimeMillis();
+        numMessagesSentPerMinute = new RingBufferCounter(created);
+        sentBytesPerMinute = new RingBufferCounter(created);
+        spentSendMessageTimePerMinute = new RingBufferCounter(created);
+        deserializeTimePerMinute = new RingBufferCounter(created);
+        numMessagesReceivedPerMinute = new RingBufferCounter(created);
+        receivedBytesPerMinute = new RingBufferCounter(created);
     }
 
     public Date getCreationDate() {
@@ -65,25 +97,34 @@ public class ConnectionMetrics {
         long now = System.currentTimeMillis();
         lastUpdate.set(now);
 
-        int ageInMinutes = getAgeInMinutes(now);
-        sentBytesPerMinute.computeIfAbsent(ageInMinutes, key -> new AtomicLong())
-                .addAndGet(networkEnvelope.getSerializedSize());
-
-        numMessagesSentPerMinute.computeIfAbsent(ageInMinutes, key -> new AtomicLong())
-                .incrementAndGet();
-
-        spentSendMessageTimePerMinute.computeIfAbsent(ageInMinutes, key -> new AtomicLong())
-                .addAndGet(spentTime);
+        int serializedSize = networkEnvelope.getSerializedSize();
+        sentBytesPerMinute.add(now, serializedSize);
+        numMessagesSentPerMinute.add(now, 1);
+        spentSendMessageTimePerMinute.add(now, spentTime);
 
         EnvelopePayloadMessage envelopePayloadMessage = networkEnvelope.getEnvelopePayloadMessage();
         String name = ClassUtils.getClassName(envelopePayloadMessage.getClass());
-        numSentMessagesByClassName.computeIfAbsent(name, key -> new AtomicLong())
-                .incrementAndGet();
+        NodeMetrics.increment(numSentMessagesByClassName, name);
 
-        if (envelopePayloadMessage instanceof AddAuthenticatedDataRequest addAuthenticatedDataRequest) {
-            String distributedDataName = addAuthenticatedDataRequest.getDistributedData().getClassName();
-            numSentDistributedDataByClassName.computeIfAbsent(distributedDataName, key -> new AtomicLong())
-                    .incrementAndGet();
+        String distributedDataName = findDistributedDataClassName(envelopePayloadMessage);
+        if (distributedDataName != null) {
+            NodeMetrics.increment(numSentDistributedDataByClassName, distributedDataName);
+        }
+
+        if (nodeMetrics != null) {
+            nodeMetrics.onSent(now, name, distributedDataName, serializedSize, spentTime);
+        }
+    }
+
+    public void onOutboundQueueSizeChanged(int size) {
+        outboundQueueSize.set(size);
+        maxOutboundQueueSize.accumulateAndGet(size, Math::max);
+    }
+
+    public void onOutboundMessageRejected() {
+        numRejectedOutboundMessages.incrementAndGet();
+        if (nodeMetrics != null) {
+            nodeMetrics.onOutboundMessageRejected();
         }
     }
 
@@ -91,58 +132,59 @@ public class ConnectionMetrics {
         long now = System.currentTimeMillis();
         lastUpdate.set(now);
 
-        int ageInMinutes = getAgeInMinutes(now);
-        receivedBytesPerMinute.computeIfAbsent(ageInMinutes, key -> new AtomicLong())
-                .addAndGet(networkEnvelope.getSerializedSize());
-
-        numMessagesReceivedPerMinute.computeIfAbsent(ageInMinutes, key -> new AtomicLong())
-                .incrementAndGet();
-
-        deserializeTimePerMinute.computeIfAbsent(ageInMinutes, key -> new AtomicLong())
-                .addAndGet(deserializeTime);
+        int serializedSize = networkEnvelope.getSerializedSize();
+        receivedBytesPerMinute.add(now, serializedSize);
+        numMessagesReceivedPerMinute.add(now, 1);
+        deserializeTimePerMinute.add(now, deserializeTime);
+        deserializeTimeHistogram.record(deserializeTime);
 
         EnvelopePayloadMessage envelopePayloadMessage = networkEnvelope.getEnvelopePayloadMessage();
         String name = ClassUtils.getClassName(envelopePayloadMessage.getClass());
-        numReceivedMessagesByClassName.computeIfAbsent(name, key -> new AtomicLong())
-                .incrementAndGet();
+        NodeMetrics.increment(numReceivedMessagesByClassName, name);
 
-        if (envelopePayloadMessage instanceof AddAuthenticatedDataRequest addAuthenticatedDataRequest) {
-            String distributedDataName = addAuthenticatedDataRequest.getDistributedData().getClassName();
-            numReceivedDistributedDataByClassName.computeIfAbsent(distributedDataName, key -> new AtomicLong())
-                    .incrementAndGet();
+        String distributedDataName = findDistributedDataClassName(envelopePayloadMessage);
+        if (distributedDataName != null) {
+            NodeMetrics.increment(numReceivedDistributedDataByClassName, distributedDataName);
+        }
+
+        if (nodeMetrics != null) {
+            nodeMetrics.onReceived(now, name, distributedDataName, serializedSize, deserializeTime);
         }
     }
 
     public void addRtt(long value) {
-        this.rrtList.add(value);
+        rttHistogram.record(value);
+        if (nodeMetrics != null) {
+            nodeMetrics.onRtt(value);
+        }
     }
 
     public double getAverageRtt() {
-        return rrtList.stream().mapToLong(e -> e).average().orElse(0d);
+        return rttHistogram.getMean();
     }
 
     public long getSentBytes() {
-        return sumOf(sentBytesPerMinute);
+        return sentBytesPerMinute.getTotal();
     }
 
     public long getNumMessagesSent() {
-        return sumOf(numMessagesSentPerMinute);
+        return numMessagesSentPerMinute.getTotal();
     }
 
     public long getSpentSendMessageTimePerMinute() {
-        return sumOf(spentSendMessageTimePerMinute);
+        return spentSendMessageTimePerMinute.getTotal();
     }
 
     public long getReceivedBytes() {
-        return sumOf(receivedBytesPerMinute);
+        return receivedBytesPerMinute.getTotal();
     }
 
     public long getNumMessagesReceived() {
-        return sumOf(numMessagesReceivedPerMinute);
+        return numMessagesReceivedPerMinute.getTotal();
     }
 
     public long getDeserializeTimePerMinute() {
-        return sumOf(deserializeTimePerMinute);
+        return deserializeTimePerMinute.getTotal();
     }
 
     public long getNumMessagesSentOfLastHour() {
@@ -170,27 +212,27 @@ public class ConnectionMetrics {
     }
 
     public long getNumMessagesSentOfLastMinutes(int lastMinutes) {
-        return sumOfLastMinute(numMessagesSentPerMinute, lastMinutes);
+        return numMessagesSentPerMinute.sumOfLastMinutes(System.currentTimeMillis(), lastMinutes);
     }
 
     public long getSentBytesOfLastMinutes(int lastMinutes) {
-        return sumOfLastMinute(sentBytesPerMinute, lastMinutes);
+        return sentBytesPerMinute.sumOfLastMinutes(System.currentTimeMillis(), lastMinutes);
     }
 
     public long getSpentSendMessageTimeOfLastMinutes(int lastMinutes) {
-        return sumOfLastMinute(spentSendMessageTimePerMinute, lastMinutes);
+        return spentSendMessageTimePerMinute.sumOfLastMinutes(System.currentTimeMillis(), lastMinutes);
     }
 
     public long getNumMessagesReceivedOfLastMinutes(int lastMinutes) {
-        return sumOfLastMinute(numMessagesReceivedPerMinute, lastMinutes);
+        return numMessagesReceivedPerMinute.sumOfLastMinutes(System.currentTimeMillis(), lastMinutes);
     }
 
     public long getReceivedBytesOfLastMinutes(int lastMinutes) {
-        return sumOfLastMinute(receivedBytesPerMinute, lastMinutes);
+        return receivedBytesPerMinute.sumOfLastMinutes(System.currentTimeMillis(), lastMinutes);
     }
 
     public long getDeserializeTimeOfLastMinutes(int lastMinutes) {
-        return sumOfLastMinute(deserializeTimePerMinute, lastMinutes);
+        return deserializeTimePerMinute.sumOfLastMinutes(System.currentTimeMillis(), lastMinutes);
     }
 
     public void clear() {
@@ -204,21 +246,15 @@ public class ConnectionMetrics {
         numReceivedMessagesByClassName.clear();
         numSentDistributedDataByClassName.clear();
         numReceivedDistributedDataByClassName.clear();
-        rrtList.clear();
+        rttHistogram.clear();
+        deserializeTimeHistogram.clear();
     }
 
-    private long sumOf(TreeMap<Integer, AtomicLong> treeMap) {
-        return treeMap.values().stream().mapToLong(AtomicLong::get).sum();
-    }
-
-    private long sumOfLastMinute(TreeMap<Integer, AtomicLong> treeMap, int lastMinutes) {
-        // The Treemap returns the values in ascending order of the corresponding keys.
-        int from = Math.max(0, treeMap.size() - lastMinutes);
-        List<AtomicLong> list = new ArrayList<>(treeMap.values()).subList(from, treeMap.size());
-        return list.stream().mapToLong(AtomicLong::get).sum();
-    }
-
-    private int getAgeInMinutes(long now) {
-        return (int) (now - created) / 60000;
+    @Nullable
+    private static String findDistributedDataClassName(EnvelopePayloadMessage envelopePayloadMessage) {
+        if (envelopePayloadMessage instanceof AddAuthenticatedDataRequest addAuthenticatedDataRequest) {
+            return addAuthenticatedDataRequest.getDistributedData().getClassName();
+        }
+        return null;
     }
-}
\ No newline at end of file
+}
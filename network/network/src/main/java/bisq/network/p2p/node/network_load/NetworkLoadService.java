@@ -23,7 +23,6 @@ import bisq.common.util.MathUtils;
 import bisq.network.p2p.ServiceNode;
 import bisq.network.p2p.node.Connection;
 import bisq.network.p2p.node.Node;
-import bisq.network.p2p.services.data.DataRequest;
 import bisq.network.p2p.services.data.storage.StorageService;
 import lombok.Getter;
 import lombok.Setter;
@@ -33,6 +32,7 @@ import java.text.DecimalFormat;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -46,11 +46,9 @@ public class NetworkLoadService {
     private final NetworkLoadSnapshot networkLoadSnapshot;
     private final int maxNumConnectedPeers;
     private final StorageService storageService;
-    private final Map<String, ConnectionMetrics> connectionMetricsByConnectionId = new HashMap<>();
     @Setter
     private double difficultyAdjustmentFactor = NetworkLoad.DEFAULT_DIFFICULTY_ADJUSTMENT;
     private final Scheduler scheduler;
-    private final Object lock = new Object();
 
     @Getter
     private long sentBytesOfLastHour, spentSendMessageTimeOfLastHour, numMessagesSentOfLastHour,
@@ -79,107 +77,48 @@ public class NetworkLoadService {
     }
 
     public NetworkLoad updateNetworkLoad() {
-        Map<String, ConnectionMetrics> currentConnections = getConnectionMetricsByConnectionId();
-        Set<ConnectionMetrics> allConnectionMetrics;
-        synchronized (lock) {
-            // We remove all metrics older than 1 hour. In case the connection is still alive we get it added
-            // again in the putAll call.
-            long maxAge = TimeUnit.HOURS.toMillis(1);
-            Set<String> outDated = connectionMetricsByConnectionId.entrySet().stream()
-                    .filter(e -> e.getValue().getAge() > maxAge)
-                    .map(Map.Entry::getKey)
-                    .collect(Collectors.toSet());
-            outDated.forEach(connectionMetricsByConnectionId::remove);
-
-            this.connectionMetricsByConnectionId.putAll(currentConnections);
-            allConnectionMetrics = new HashSet<>(connectionMetricsByConnectionId.values());
-        }
-
-        double load = calculateLoad(allConnectionMetrics);
+        double load = calculateLoad(getAllNodeMetrics());
         NetworkLoad networkLoad = new NetworkLoad(load, difficultyAdjustmentFactor);
         networkLoadSnapshot.updateNetworkLoad(networkLoad);
         return networkLoad;
     }
 
-    private double calculateLoad(Set<ConnectionMetrics> allConnectionMetrics) {
-        // For metrics of last hour we use metrics from the accumulated connections (closed of past hour).
-        sentBytesOfLastHour = allConnectionMetrics.stream()
-                .mapToLong(ConnectionMetrics::getSentBytesOfLastHour)
+    private double calculateLoad(List<NodeMetrics> allNodeMetrics) {
+        // The node metrics are maintained incrementally by the connections and cover also the connections which got
+        // closed in the past hour.
+        sentBytesOfLastHour = allNodeMetrics.stream()
+                .mapToLong(NodeMetrics::getSentBytesOfLastHour)
                 .sum();
-        spentSendMessageTimeOfLastHour = allConnectionMetrics.stream()
-                .mapToLong(ConnectionMetrics::getSpentSendMessageTimeOfLastHour)
+        spentSendMessageTimeOfLastHour = allNodeMetrics.stream()
+                .mapToLong(NodeMetrics::getSpentSendMessageTimeOfLastHour)
                 .sum();
-        numMessagesSentOfLastHour = allConnectionMetrics.stream()
-                .mapToLong(ConnectionMetrics::getNumMessagesSentOfLastHour)
+        numMessagesSentOfLastHour = allNodeMetrics.stream()
+                .mapToLong(NodeMetrics::getNumMessagesSentOfLastHour)
                 .sum();
-        receivedBytesOfLastHour = allConnectionMetrics.stream()
-                .mapToLong(ConnectionMetrics::getReceivedBytesOfLastHour)
+        receivedBytesOfLastHour = allNodeMetrics.stream()
+                .mapToLong(NodeMetrics::getReceivedBytesOfLastHour)
                 .sum();
-        deserializeTimeOfLastHour = allConnectionMetrics.stream()
-                .mapToLong(ConnectionMetrics::getDeserializeTimeOfLastHour)
+        deserializeTimeOfLastHour = allNodeMetrics.stream()
+                .mapToLong(NodeMetrics::getDeserializeTimeOfLastHour)
                 .sum();
-        numMessagesReceivedOfLastHour = allConnectionMetrics.stream()
-                .mapToLong(ConnectionMetrics::getNumMessagesReceivedOfLastHour)
+        numMessagesReceivedOfLastHour = allNodeMetrics.stream()
+                .mapToLong(NodeMetrics::getNumMessagesReceivedOfLastHour)
                 .sum();
 
-        numSentMessagesByClassName = new TreeMap<>();
-        allConnectionMetrics.stream()
-                .map(ConnectionMetrics::getNumSentMessagesByClassName)
-                .forEach(map -> map.forEach((name, value) ->
-                        numSentMessagesByClassName.computeIfAbsent(name, key -> new AtomicLong())
-                                .addAndGet(value.get())));
-        StringBuilder numSentMessagesByClassNameBuilder = new StringBuilder();
-        numSentMessagesByClassName.forEach((key, value) -> {
-            numSentMessagesByClassNameBuilder.append("\n    - ");
-            numSentMessagesByClassNameBuilder.append(key);
-            numSentMessagesByClassNameBuilder.append(": ");
-            numSentMessagesByClassNameBuilder.append(value.get());
-        });
+        numSentMessagesByClassName = sumByClassName(allNodeMetrics, NodeMetrics::getNumSentMessagesByClassName);
+        StringBuilder numSentMessagesByClassNameBuilder = toLogString(numSentMessagesByClassName);
 
-        numReceivedMessagesByClassName = new TreeMap<>();
-        allConnectionMetrics.stream()
-                .map(ConnectionMetrics::getNumReceivedMessagesByClassName)
-                .forEach(map -> map.forEach((name, value) ->
-                        numReceivedMessagesByClassName.computeIfAbsent(name, key -> new AtomicLong())
-                                .addAndGet(value.get())));
-        StringBuilder numReceivedMessagesByClassNameBuilder = new StringBuilder();
-        numReceivedMessagesByClassName.forEach((key, value) -> {
-            numReceivedMessagesByClassNameBuilder.append("\n    - ");
-            numReceivedMessagesByClassNameBuilder.append(key);
-            numReceivedMessagesByClassNameBuilder.append(": ");
-            numReceivedMessagesByClassNameBuilder.append(value.get());
-        });
+        numReceivedMessagesByClassName = sumByClassName(allNodeMetrics, NodeMetrics::getNumReceivedMessagesByClassName);
+        StringBuilder numReceivedMessagesByClassNameBuilder = toLogString(numReceivedMessagesByClassName);
 
-        numSentDistributedDataByClassName = new TreeMap<>();
-        allConnectionMetrics.stream()
-                .map(ConnectionMetrics::getNumSentDistributedDataByClassName)
-                .forEach(map -> map.forEach((name, value) ->
-                        numSentDistributedDataByClassName.computeIfAbsent(name, key -> new AtomicLong())
-                                .addAndGet(value.get())));
-        StringBuilder numSentDistributedDataByClassNameBuilder = new StringBuilder();
-        numSentDistributedDataByClassName.forEach((key, value) -> {
-            numSentDistributedDataByClassNameBuilder.append("\n    - ");
-            numSentDistributedDataByClassNameBuilder.append(key);
-            numSentDistributedDataByClassNameBuilder.append(": ");
-            numSentDistributedDataByClassNameBuilder.append(value.get());
-        });
+        numSentDistributedDataByClassName = sumByClassName(allNodeMetrics, NodeMetrics::getNumSentDistributedDataByClassName);
+        StringBuilder numSentDistributedDataByClassNameBuilder = toLogString(numSentDistributedDataByClassName);
 
-        numReceivedDistributedDataByClassName = new TreeMap<>();
-        allConnectionMetrics.stream()
-                .map(ConnectionMetrics::getNumReceivedDistributedDataByClassName)
-                .forEach(map -> map.forEach((name, value) ->
-                        numReceivedDistributedDataByClassName.computeIfAbsent(name, key -> new AtomicLong())
-                                .addAndGet(value.get())));
-        StringBuilder numReceivedDistributedDataByClassNameBuilder = new StringBuilder();
-        numReceivedDistributedDataByClassName.forEach((key, value) -> {
-            numReceivedDistributedDataByClassNameBuilder.append("\n    - ");
-            numReceivedDistributedDataByClassNameBuilder.append(key);
-            numReceivedDistributedDataByClassNameBuilder.append(": ");
-            numReceivedDistributedDataByClassNameBuilder.append(value.get());
-        });
+        numReceivedDistributedDataByClassName = sumByClassName(allNodeMetrics, NodeMetrics::getNumReceivedDistributedDataByClassName);
+        StringBuilder numReceivedDistributedDataByClassNameBuilder = toLogString(numReceivedDistributedDataByClassName);
 
         long numConnections = getAllCurrentConnections().count();
-        long networkDatabaseSize = storageService.getNetworkDatabaseSize(); // takes about 50 ms
+        long networkDatabaseSize = storageService.getNetworkDatabaseSize();
 
         StringBuilder sb = new StringBuilder("\n\n/* --------------------------------------------------------------------- */");
         sb.append("\nNetwork statistics").append(("\n/* --------------------------------------------------------------------- */"))
@@ -268,14 +207,32 @@ public class NetworkLoadService {
         return MathUtils.bounded(0, 1, load);
     }
 
-    private Set<? extends DataRequest> getAllDataRequests() {
-        return storageService.getAllDataRequestMapEntries()
-                .map(Map.Entry::getValue)
-                .collect(Collectors.toSet());
+    private List<NodeMetrics> getAllNodeMetrics() {
+        return serviceNode.getNodesById().getAllNodes().stream()
+                .map(Node::getNodeMetrics)
+                .collect(Collectors.toList());
     }
 
-    private Map<String, ConnectionMetrics> getConnectionMetricsByConnectionId() {
-        return getAllCurrentConnections().collect(Collectors.toMap(Connection::getId, Connection::getConnectionMetrics));
+    private static TreeMap<String, AtomicLong> sumByClassName(List<NodeMetrics> allNodeMetrics,
+                                                              Function<NodeMetrics, Map<String, AtomicLong>> mapper) {
+        TreeMap<String, AtomicLong> result = new TreeMap<>();
+        allNodeMetrics.stream()
+                .map(mapper)
+                .forEach(map -> map.forEach((name, value) ->
+                        result.computeIfAbsent(name, key -> new AtomicLong())
+                                .addAndGet(value.get())));
+        return result;
+    }
+
+    private static StringBuilder toLogString(TreeMap<String, AtomicLong> numByClassName) {
+        StringBuilder sb = new StringBuilder();
+        numByClassName.forEach((key, value) -> {
+            sb.append("\n    - ");
+            sb.append(key);
+            sb.append(": ");
+            sb.append(value.get());
+        });
+        return sb;
     }
 
     private Stream<Connection> getAllCurrentConnections() {
@@ -0,0 +1,136 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.node.network_load;
+
+import lombok.Getter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Aggregated metrics of all connections of a node. Updated incrementally by the ConnectionMetrics of each connection,
+ * so that the values also cover connections which got closed within the window.
+ */
+public final class NodeMetrics {
+    private final long created = System.currentTimeMillis();
+    private final RingBufferCounter numMessagesSent = new RingBufferCounter(created);
+    private final RingBufferCounter sentBytes = new RingBufferCounter(created);
+    private final RingBufferCounter spentSendMessageTime = new RingBufferCounter(created);
+    private final RingBufferCounter numMessagesReceived = new RingBufferCounter(created);
+    private final RingBufferCounter receivedBytes = new RingBufferCounter(created);
+    private final RingBufferCounter deserializeTime = new RingBufferCounter(created);
+    @Getter
+    private final LatencyHistogram rttHistogram = new LatencyHistogram();
+    @Getter
+    private final LatencyHistogram deserializeTimeHistogram = new LatencyHistogram();
+    @Getter
+    private final Map<String, AtomicLong> numSentMessagesByClassName = new ConcurrentHashMap<>();
+    @Getter
+    private final Map<String, AtomicLong> numReceivedMessagesByClassName = new ConcurrentHashMap<>();
+    @Getter
+    private final Map<String, AtomicLong> numSentDistributedDataByClassName = new ConcurrentHashMap<>();
+    @Getter
+    private final Map<String, AtomicLong> numReceivedDistributedDataByClassName = new ConcurrentHashMap<>();
+    private final AtomicLong numRejectedOutboundMessages = new AtomicLong();
+
+    public long getNumMessagesSent() {
+        return numMessagesSent.getTotal();
+    }
+
+    public long getSentBytes() {
+        return sentBytes.getTotal();
+    }
+
+    public long getSpentSendMessageTime() {
+        return spentSendMessageTime.getTotal();
+    }
+
+    public long getNumMessagesReceived() {
+        return numMessagesReceived.getTotal();
+    }
+
+    public long getReceivedBytes() {
+        return receivedBytes.getTotal();
+    }
+
+    public long getDeserializeTime() {
+        return deserializeTime.getTotal();
+    }
+
+    public long getNumRejectedOutboundMessages() {
+        return numRejectedOutboundMessages.get();
+    }
+
+    public long getNumMessagesSentOfLastHour() {
+        return numMessagesSent.sumOfLastMinutes(System.currentTimeMillis(), 60);
+    }
+
+    public long getSentBytesOfLastHour() {
+        return sentBytes.sumOfLastMinutes(System.currentTimeMillis(), 60);
+    }
+
+    public long getSpentSendMessageTimeOfLastHour() {
+        return spentSendMessageTime.sumOfLastMinutes(System.currentTimeMillis(), 60);
+    }
+
+    public long getNumMessagesReceivedOfLastHour() {
+        return numMessagesReceived.sumOfLastMinutes(System.currentTimeMillis(), 60);
+    }
+
+    public long getReceivedBytesOfLastHour() {
+        return receivedBytes.sumOfLastMinutes(System.currentTimeMillis(), 60);
+    }
+
+    public long getDeserializeTimeOfLastHour() {
+        return deserializeTime.sumOfLastMinutes(System.currentTimeMillis(), 60);
+    }
+
+    void onSent(long now, String className, String distributedDataClassName, int serializedSize, long spentTime) {
+        numMessagesSent.add(now, 1);
+        sentBytes.add(now, serializedSize);
+        spentSendMessageTime.add(now, spentTime);
+        increment(numSentMessagesByClassName, className);
+        if (distributedDataClassName != null) {
+            increment(numSentDistributedDataByClassName, distributedDataClassName);
+        }
+    }
+
+    void onReceived(long now, String className, String distributedDataClassName, int serializedSize, long deserializeTime) {
+        numMessagesReceived.add(now, 1);
+        receivedBytes.add(now, serializedSize);
+        this.deserializeTime.add(now, deserializeTime);
+        deserializeTimeHistogram.record(deserializeTime);
+        increment(numReceivedMessagesByClassName, className);
+        if (distributedDataClassName != null) {
+            increment(numReceivedDistributedDataByClassName, distributedDataClassName);
+        }
+    }
+
+    void onRtt(long value) {
+        rttHistogram.record(value);
+    }
+
+    void onOutboundMessageRejected() {
+        numRejectedOutboundMessages.incrementAndGet();
+    }
+
+    static void increment(Map<String, AtomicLong> map, String key) {
+        map.computeIfAbsent(key, k -> new AtomicLong()).incrementAndGet();
+    }
+}
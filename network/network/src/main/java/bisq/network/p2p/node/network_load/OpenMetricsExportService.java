@@ -0,0 +1,265 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.node.network_load;
+
+import bisq.common.application.Service;
+import bisq.common.network.TransportType;
+import bisq.common.threading.ExecutorFactory;
+import bisq.network.NetworkService;
+import bisq.network.p2p.ServiceNode;
+import bisq.network.p2p.node.Node;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Exposes the node metrics of all transports in the OpenMetrics text format at http://host:port/metrics, so that
+ * they can be scraped by Prometheus or compatible collectors.
+ * Only started if a config is provided and enabled. The server should be bound to localhost or a private interface.
+ */
+@Slf4j
+public class OpenMetricsExportService implements Service {
+    static final String CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+    private static final String PATH = "/metrics";
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+
+    @Getter
+    public static class Config {
+        private final boolean enabled;
+        private final String host;
+        private final int port;
+
+        public Config(boolean enabled, String host, int port) {
+            this.enabled = enabled;
+            this.host = host;
+            this.port = port;
+        }
+
+        public static OpenMetricsExportService.Config from(com.typesafe.config.Config config) {
+            return new OpenMetricsExportService.Config(config.getBoolean("enabled"),
+                    config.getString("host"),
+                    config.getInt("port"));
+        }
+    }
+
+    private final Optional<Config> optionalConfig;
+    private final NetworkService networkService;
+    private Optional<HttpServer> httpServer = Optional.empty();
+    private Optional<ExecutorService> executor = Optional.empty();
+
+    public OpenMetricsExportService(Optional<Config> optionalConfig, NetworkService networkService) {
+        this.optionalConfig = optionalConfig;
+        this.networkService = networkService;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> initialize() {
+        optionalConfig.filter(Config::isEnabled).ifPresent(config -> {
+            try {
+                HttpServer server = HttpServer.create(new InetSocketAddress(config.getHost(), config.getPort()), 0);
+                server.createContext(PATH, this::handle);
+                ExecutorService executorService = ExecutorFactory.newSingleThreadExecutor("OpenMetricsExport");
+                server.setExecutor(executorService);
+                server.start();
+                httpServer = Optional.of(server);
+                executor = Optional.of(executorService);
+                log.info("OpenMetrics export started at http://{}:{}{}", config.getHost(), config.getPort(), PATH);
+            } catch (IOException e) {
+                log.error("Starting OpenMetrics export at {}:{} failed", config.getHost(), config.getPort(), e);
+            }
+        });
+        return CompletableFuture.completedFuture(true);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> shutdown() {
+        httpServer.ifPresent(server -> server.stop(0));
+        httpServer = Optional.empty();
+        executor.ifPresent(ExecutorFactory::shutdownAndAwaitTermination);
+        executor = Optional.empty();
+        return CompletableFuture.completedFuture(true);
+    }
+
+
+    /* --------------------------------------------------------------------- */
+    // Private
+    /* --------------------------------------------------------------------- */
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            Map<TransportType, Collection<Node>> nodesByTransportType = new TreeMap<>();
+            for (TransportType transportType : TransportType.values()) {
+                networkService.findServiceNode(transportType)
+                        .map(ServiceNode::getNodesById)
+                        .ifPresent(nodesById -> nodesByTransportType.put(transportType, nodesById.getAllNodes()));
+            }
+            byte[] response = toOpenMetrics(nodesByTransportType).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(response);
+            }
+        } catch (Exception e) {
+            log.error("Creating OpenMetrics response failed", e);
+        }
+    }
+
+    static String toOpenMetrics(Map<TransportType, Collection<Node>> nodesByTransportType) {
+        Map<TransportType, List<NodeMetrics>> nodeMetricsByTransportType = new TreeMap<>();
+        nodesByTransportType.forEach((transportType, nodes) -> nodeMetricsByTransportType.put(transportType,
+                nodes.stream().map(Node::getNodeMetrics).toList()));
+
+        StringBuilder sb = new StringBuilder();
+        Map<TransportType, Long> numConnectionsByTransportType = new TreeMap<>();
+        Map<TransportType, Long> numNodesByTransportType = new TreeMap<>();
+        nodesByTransportType.forEach((transportType, nodes) -> {
+            numConnectionsByTransportType.put(transportType, nodes.stream().mapToLong(Node::getNumConnections).sum());
+            numNodesByTransportType.put(transportType, (long) nodes.size());
+        });
+        appendGauge(sb, "bisq_network_connections", "Number of connections", numConnectionsByTransportType);
+        appendGauge(sb, "bisq_network_nodes", "Number of nodes", numNodesByTransportType);
+
+        appendCounter(sb, "bisq_network_messages_sent", "Number of sent messages",
+                sum(nodeMetricsByTransportType, NodeMetrics::getNumMessagesSent));
+        appendCounter(sb, "bisq_network_sent_bytes", "Sent bytes",
+                sum(nodeMetricsByTransportType, NodeMetrics::getSentBytes));
+        appendCounter(sb, "bisq_network_send_time_milliseconds", "Time spent for sending messages",
+                sum(nodeMetricsByTransportType, NodeMetrics::getSpentSendMessageTime));
+        appendCounter(sb, "bisq_network_messages_received", "Number of received messages",
+                sum(nodeMetricsByTransportType, NodeMetrics::getNumMessagesReceived));
+        appendCounter(sb, "bisq_network_received_bytes", "Received bytes",
+                sum(nodeMetricsByTransportType, NodeMetrics::getReceivedBytes));
+        appendCounter(sb, "bisq_network_deserialize_time_milliseconds", "Time spent for deserializing messages",
+                sum(nodeMetricsByTransportType, NodeMetrics::getDeserializeTime));
+        appendCounter(sb, "bisq_network_rejected_outbound_messages", "Number of outbound messages rejected because of a full queue",
+                sum(nodeMetricsByTransportType, NodeMetrics::getNumRejectedOutboundMessages));
+
+        appendGauge(sb, "bisq_network_messages_sent_last_hour", "Number of sent messages in the last hour",
+                sum(nodeMetricsByTransportType, NodeMetrics::getNumMessagesSentOfLastHour));
+        appendGauge(sb, "bisq_network_sent_bytes_last_hour", "Sent bytes in the last hour",
+                sum(nodeMetricsByTransportType, NodeMetrics::getSentBytesOfLastHour));
+        appendGauge(sb, "bisq_network_messages_received_last_hour", "Number of received messages in the last hour",
+                sum(nodeMetricsByTransportType, NodeMetrics::getNumMessagesReceivedOfLastHour));
+        appendGauge(sb, "bisq_network_received_bytes_last_hour", "Received bytes in the last hour",
+                sum(nodeMetricsByTransportType, NodeMetrics::getReceivedBytesOfLastHour));
+
+        appendCounterByClassName(sb, "bisq_network_messages_sent_by_type", "Number of sent messages by message type",
+                nodeMetricsByTransportType, NodeMetrics::getNumSentMessagesByClassName);
+        appendCounterByClassName(sb, "bisq_network_messages_received_by_type", "Number of received messages by message type",
+                nodeMetricsByTransportType, NodeMetrics::getNumReceivedMessagesByClassName);
+
+        appendSummary(sb, "bisq_network_rtt_milliseconds", "Round trip time of request/response messages",
+                nodeMetricsByTransportType, NodeMetrics::getRttHistogram);
+        appendSummary(sb, "bisq_network_message_deserialize_time_milliseconds", "Deserialize time of received messages",
+                nodeMetricsByTransportType, NodeMetrics::getDeserializeTimeHistogram);
+
+        sb.append("# EOF\n");
+        return sb.toString();
+    }
+
+    private static void appendGauge(StringBuilder sb,
+                                    String name,
+                                    String help,
+                                    Map<TransportType, Long> valueByTransportType) {
+        appendHeader(sb, name, "gauge", help);
+        valueByTransportType.forEach((transportType, value) -> appendSample(sb, name, transportType, "", value));
+    }
+
+    private static void appendCounter(StringBuilder sb,
+                                      String name,
+                                      String help,
+                                      Map<TransportType, Long> valueByTransportType) {
+        appendHeader(sb, name, "counter", help);
+        valueByTransportType.forEach((transportType, value) -> appendSample(sb, name + "_total", transportType, "", value));
+    }
+
+    private static void appendCounterByClassName(StringBuilder sb,
+                                                 String name,
+                                                 String help,
+                                                 Map<TransportType, List<NodeMetrics>> nodeMetricsByTransportType,
+                                                 Function<NodeMetrics, Map<String, AtomicLong>> mapFunction) {
+        appendHeader(sb, name, "counter", help);
+        nodeMetricsByTransportType.forEach((transportType, list) -> {
+            TreeMap<String, Long> valueByClassName = new TreeMap<>();
+            list.forEach(nodeMetrics -> mapFunction.apply(nodeMetrics)
+                    .forEach((className, value) -> valueByClassName.merge(className, value.get(), Long::sum)));
+            valueByClassName.forEach((className, value) ->
+                    appendSample(sb, name + "_total", transportType, ",type=\"" + escape(className) + "\"", value));
+        });
+    }
+
+    private static void appendSummary(StringBuilder sb,
+                                      String name,
+                                      String help,
+                                      Map<TransportType, List<NodeMetrics>> nodeMetricsByTransportType,
+                                      Function<NodeMetrics, LatencyHistogram> histogramFunction) {
+        appendHeader(sb, name, "summary", help);
+        nodeMetricsByTransportType.forEach((transportType, list) -> {
+            LatencyHistogram histogram = new LatencyHistogram();
+            list.forEach(nodeMetrics -> histogram.add(histogramFunction.apply(nodeMetrics)));
+            for (double quantile : QUANTILES) {
+                appendSample(sb, name, transportType, ",quantile=\"" + quantile + "\"",
+                        histogram.getValueAtPercentile(quantile * 100));
+            }
+            appendSample(sb, name + "_count", transportType, "", histogram.getCount());
+            appendSample(sb, name + "_sum", transportType, "", histogram.getSum());
+        });
+    }
+
+    private static void appendHeader(StringBuilder sb, String name, String type, String help) {
+        sb.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        sb.append("# HELP ").append(name).append(' ').append(help).append('\n');
+    }
+
+    private static void appendSample(StringBuilder sb, String name, TransportType transportType, String labels, long value) {
+        sb.append(name)
+                .append("{transport=\"").append(transportType.name().toLowerCase()).append('"')
+                .append(labels)
+                .append("} ")
+                .append(value)
+                .append('\n');
+    }
+
+    private static Map<TransportType, Long> sum(Map<TransportType, List<NodeMetrics>> nodeMetricsByTransportType,
+                                                ToLongFunction<NodeMetrics> valueFunction) {
+        Map<TransportType, Long> result = new TreeMap<>();
+        nodeMetricsByTransportType.forEach((transportType, list) ->
+                result.put(transportType, list.stream().mapToLong(valueFunction).sum()));
+        return result;
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.node.network_load;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free per-minute counter over a fixed window of minutes.
+ * Each slot packs the minute it belongs to and the accumulated value into a single long, so that moving a slot to a
+ * new minute and adding to it is one CAS operation and no value gets lost at the minute boundary.
+ * Values added for a minute which has already been overwritten by a newer minute are only counted in the total.
+ */
+final class RingBufferCounter {
+    static final int DEFAULT_NUM_MINUTES = 60;
+    private static final long MINUTE = TimeUnit.MINUTES.toMillis(1);
+    private static final int VALUE_BITS = 40;
+    private static final long MAX_VALUE = (1L << VALUE_BITS) - 1;
+
+    private final long baseTime;
+    private final int numMinutes;
+    private final AtomicLongArray slots;
+    private final LongAdder total = new LongAdder();
+
+    RingBufferCounter(long baseTime) {
+        this(baseTime, DEFAULT_NUM_MINUTES);
+    }
+
+    RingBufferCounter(long baseTime, int numMinutes) {
+        this.baseTime = baseTime;
+        this.numMinutes = numMinutes;
+        slots = new AtomicLongArray(numMinutes);
+    }
+
+    void add(long now, long value) {
+        total.add(value);
+        long minute = getMinute(now);
+        int index = (int) (minute % numMinutes);
+        while (true) {
+            long current = slots.get(index);
+            long slotMinute = current >>> VALUE_BITS;
+            long next;
+            if (slotMinute == minute) {
+                next = (minute << VALUE_BITS) | Math.min(MAX_VALUE, (current & MAX_VALUE) + value);
+            } else if (slotMinute < minute) {
+                next = (minute << VALUE_BITS) | Math.min(MAX_VALUE, value);
+            } else {
+                return;
+            }
+            if (slots.compareAndSet(index, current, next)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return The sum of the values added in the last `lastMinutes` minutes including the current minute.
+     */
+    long sumOfLastMinutes(long now, int lastMinutes) {
+        long minute = getMinute(now);
+        long fromMinute = minute - Math.min(lastMinutes, numMinutes);
+        long sum = 0;
+        for (int i = 0; i < numMinutes; i++) {
+            long slot = slots.get(i);
+            long slotMinute = slot >>> VALUE_BITS;
+            if (slotMinute > fromMinute && slotMinute <= minute) {
+                sum += slot & MAX_VALUE;
+            }
+        }
+        return sum;
+    }
+
+    long getTotal() {
+        return total.sum();
+    }
+
+    void clear() {
+        for (int i = 0; i < numMinutes; i++) {
+            slots.set(i, 0);
+        }
+        total.reset();
+    }
+
+    private long getMinute(long now) {
+        // We start with minute 1 as a slot value of 0 represents an unused slot
+        return Math.max(0, now - baseTime) / MINUTE + 1;
+    }
+}
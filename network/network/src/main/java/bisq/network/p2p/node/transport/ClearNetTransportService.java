@@ -16,6 +16,8 @@ import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.ServerSocket;
 import java.net.Socket;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
 import java.nio.file.Path;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
@@ -117,7 +119,9 @@ public class ClearNetTransportService implements TransportService {
 
         maybeSimulateDelay();
         try {
-            ServerSocket serverSocket = new ServerSocket(port);
+            // We use a channel backed ServerSocket so that accepted sockets can be handled by the ConnectionSelector
+            ServerSocket serverSocket = ServerSocketChannel.open().socket();
+            serverSocket.bind(new InetSocketAddress(port));
             Address address = getLocalhostFacade().toMyLocalhost(port);
             log.debug("ServerSocket created at port {}", port);
             initializedServerSocketTimestampByNetworkId.put(networkId, System.currentTimeMillis());
@@ -134,7 +138,7 @@ public class ClearNetTransportService implements TransportService {
 
         log.debug("Create new Socket to {}", address);
         maybeSimulateDelay();
-        Socket socket = new Socket();
+        Socket socket = SocketChannel.open().socket();
         socket.connect(new InetSocketAddress(address.getHost(), address.getPort()), connectTimeoutMs);
 
         return socket;
@@ -41,13 +41,12 @@ import bisq.security.HybridEncryption;
 import bisq.security.keys.KeyBundleService;
 import bisq.security.keys.KeyGeneration;
 import bisq.security.keys.PubKey;
-import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.security.GeneralSecurityException;
 import java.security.KeyPair;
 import java.security.PublicKey;
-import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
@@ -75,8 +74,7 @@ public class ConfidentialMessageService implements Node.Listener, DataService.Li
     private final Optional<DataService> dataService;
     private final Optional<MessageDeliveryStatusService> messageDeliveryStatusService;
     private final Set<Listener> listeners = new CopyOnWriteArraySet<>();
-    @Getter
-    private final Set<EnvelopePayloadMessage> processedEnvelopePayloadMessages = new HashSet<>();
+    private final ProcessedMessageCache processedMessageCache = new ProcessedMessageCache();
     private volatile boolean isShutdownInProgress;
 
     public ConfidentialMessageService(NodesById nodesById,
@@ -99,6 +97,35 @@ public class ConfidentialMessageService implements Node.Listener, DataService.Li
         listeners.clear();
     }
 
+    /**
+     * Processes the persisted mailbox data which is addressed to us, e.g. if we had not been able to process it before
+     * shutdown. The receiverKeyId of the confidential message is looked up in our key bundles, thus mailbox data of
+     * other receivers is skipped without any decryption. The decryption of the matching entries runs in parallel.
+     */
+    public void processPersistedMailboxData() {
+        dataService.ifPresent(service -> {
+            long ts = System.currentTimeMillis();
+            List<CompletableFuture<Boolean>> futures = service.getMailboxData()
+                    .filter(mailboxData -> isAddressedToUs(mailboxData.getConfidentialMessage()))
+                    .map(this::processMailboxData)
+                    .toList();
+            if (!futures.isEmpty()) {
+                CompletableFutureUtils.allOf(futures)
+                        .whenComplete((results, throwable) ->
+                                log.info("Processed {} persisted mailbox messages addressed to us. Took {} ms",
+                                        futures.size(), System.currentTimeMillis() - ts));
+            }
+        });
+    }
+
+    /**
+     * @return The recently processed messages in the order they have been received. Used by services which add their
+     * listener after messages might have been received already.
+     */
+    public List<EnvelopePayloadMessage> getProcessedEnvelopePayloadMessages() {
+        return processedMessageCache.getRetainedMessages();
+    }
+
 
     /* --------------------------------------------------------------------- */
     // Node.Listener
@@ -126,23 +153,7 @@ public class ConfidentialMessageService implements Node.Listener, DataService.Li
 
     @Override
     public void onMailboxDataAdded(MailboxData mailboxData) {
-        ConfidentialMessage confidentialMessage = mailboxData.getConfidentialMessage();
-        processConfidentialMessage(confidentialMessage)
-                .whenComplete((result, throwable) -> {
-                    if (throwable == null) {
-                        if (result) {
-                            dataService.ifPresent(service -> {
-                                // If we are successful the msg must be for us, so we have the key
-                                KeyPair myKeyPair = keyBundleService.findKeyPair(confidentialMessage.getReceiverKeyId()).orElseThrow();
-                                service.removeMailboxData(mailboxData, myKeyPair);
-                            });
-                        } else {
-                            log.debug("We are not the receiver of that mailbox message");
-                        }
-                    } else {
-                        log.error("Error at onMailboxDataAdded", throwable);
-                    }
-                });
+        processMailboxData(mailboxData);
     }
 
 
@@ -408,6 +419,30 @@ public class ConfidentialMessageService implements Node.Listener, DataService.Li
         }
     }
 
+    private boolean isAddressedToUs(ConfidentialMessage confidentialMessage) {
+        return keyBundleService.findKeyPair(confidentialMessage.getReceiverKeyId()).isPresent();
+    }
+
+    private CompletableFuture<Boolean> processMailboxData(MailboxData mailboxData) {
+        ConfidentialMessage confidentialMessage = mailboxData.getConfidentialMessage();
+        return processConfidentialMessage(confidentialMessage)
+                .whenComplete((result, throwable) -> {
+                    if (throwable == null) {
+                        if (result) {
+                            dataService.ifPresent(service -> {
+                                // If we are successful the msg must be for us, so we have the key
+                                KeyPair myKeyPair = keyBundleService.findKeyPair(confidentialMessage.getReceiverKeyId()).orElseThrow();
+                                service.removeMailboxData(mailboxData, myKeyPair);
+                            });
+                        } else {
+                            log.debug("We are not the receiver of that mailbox message");
+                        }
+                    } else {
+                        log.error("Error at processMailboxData", throwable);
+                    }
+                });
+    }
+
     private CompletableFuture<Boolean> processConfidentialMessage(ConfidentialMessage confidentialMessage) {
         return keyBundleService.findKeyPair(confidentialMessage.getReceiverKeyId())
                 .map(receiversKeyPair -> supplyAsync(() -> {
@@ -421,7 +456,7 @@ public class ConfidentialMessageService implements Node.Listener, DataService.Li
                         // For backward compatibility we send 2 versions of mailbox data, thus we will receive each
                         // mailbox data 2 times. We do not want that client code need to deal with duplications,
                         // thus we filter here out the duplicated message.
-                        boolean wasNotPresent = processedEnvelopePayloadMessages.add(decryptedEnvelopePayloadMessage);
+                        boolean wasNotPresent = processedMessageCache.add(decryptedEnvelopePayloadMessage);
                         if (wasNotPresent) {
                             PublicKey senderPublicKey = KeyGeneration.generatePublic(confidentialData.getSenderPublicKey());
                             log.info("Decrypted confidentialMessage. decryptedEnvelopePayloadMessage={}", decryptedEnvelopePayloadMessage.getClass().getSimpleName());
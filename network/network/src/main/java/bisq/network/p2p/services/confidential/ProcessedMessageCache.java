@@ -0,0 +1,120 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package bisq.network.p2p.services.confidential;
+
+import bisq.common.data.ByteArray;
+import bisq.network.p2p.message.EnvelopePayloadMessage;
+import bisq.security.DigestUtil;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded duplicate detection for decrypted confidential messages, keyed by the hash of the message.
+ * Recently received messages are retained, so services which register their listener after messages have been
+ * received can process them at initialization. Messages older than MAX_AGE or exceeding MAX_RETAINED_MESSAGES get
+ * evicted, but their hash is kept in a bounded set, so duplicates are still detected for a much longer period.
+ */
+final class ProcessedMessageCache {
+    private static final int MAX_RETAINED_MESSAGES = 5000;
+    private static final int MAX_EVICTED_HASHES = 20_000;
+    private static final long MAX_AGE = TimeUnit.HOURS.toMillis(1);
+
+    private record RetainedMessage(EnvelopePayloadMessage message, long timestamp) {
+    }
+
+    private final int maxRetainedMessages;
+    private final int maxEvictedHashes;
+    private final long maxAge;
+    private final LongSupplier clock;
+    // Insertion order is the receive order, thus the eldest entries are the first to evict
+    private final LinkedHashMap<ByteArray, RetainedMessage> retainedMessageByHash = new LinkedHashMap<>();
+    private final LinkedHashSet<ByteArray> evictedHashes = new LinkedHashSet<>();
+
+    ProcessedMessageCache() {
+        this(MAX_RETAINED_MESSAGES, MAX_EVICTED_HASHES, MAX_AGE, System::currentTimeMillis);
+    }
+
+    ProcessedMessageCache(int maxRetainedMessages, int maxEvictedHashes, long maxAge, LongSupplier clock) {
+        this.maxRetainedMessages = maxRetainedMessages;
+        this.maxEvictedHashes = maxEvictedHashes;
+        this.maxAge = maxAge;
+        this.clock = clock;
+    }
+
+    /**
+     * @return true if the message was not processed before.
+     */
+    boolean add(EnvelopePayloadMessage message) {
+        ByteArray hash = new ByteArray(DigestUtil.hash(message.serialize()));
+        synchronized (this) {
+            evict();
+            if (retainedMessageByHash.containsKey(hash) || evictedHashes.contains(hash)) {
+                return false;
+            }
+            retainedMessageByHash.put(hash, new RetainedMessage(message, clock.getAsLong()));
+            evict();
+            return true;
+        }
+    }
+
+    /**
+     * @return The retained messages in the order they have been received.
+     */
+    synchronized List<EnvelopePayloadMessage> getRetainedMessages() {
+        evict();
+        List<EnvelopePayloadMessage> messages = new ArrayList<>(retainedMessageByHash.size());
+        retainedMessageByHash.values().forEach(retainedMessage -> messages.add(retainedMessage.message()));
+        return messages;
+    }
+
+    synchronized int getNumRetainedMessages() {
+        return retainedMessageByHash.size();
+    }
+
+    synchronized int getNumEvictedHashes() {
+        return evictedHashes.size();
+    }
+
+    private void evict() {
+        long cutOffDate = clock.getAsLong() - maxAge;
+        Iterator<Map.Entry<ByteArray, RetainedMessage>> iterator = retainedMessageByHash.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<ByteArray, RetainedMessage> eldest = iterator.next();
+            if (retainedMessageByHash.size() <= maxRetainedMessages && eldest.getValue().timestamp() >= cutOffDate) {
+                break;
+            }
+            iterator.remove();
+            evictedHashes.add(eldest.getKey());
+        }
+
+        Iterator<ByteArray> hashIterator = evictedHashes.iterator();
+        while (evictedHashes.size() > maxEvictedHashes && hashIterator.hasNext()) {
+            hashIterator.next();
+            hashIterator.remove();
+        }
+    }
+}
@@ -28,7 +28,9 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -77,32 +79,89 @@ public class Broadcaster {
         long ts = System.currentTimeMillis();
         CompletableFuture<BroadcastResult> future = new CompletableFuture<BroadcastResult>()
                 .orTimeout(BROADCAST_TIMEOUT, TimeUnit.SECONDS);
-        AtomicInteger numSuccess = new AtomicInteger(0);
-        AtomicInteger numFaults = new AtomicInteger(0);
-        long numConnections = node.getAllActiveConnections().count();
-        long numBroadcasts = Math.min(numConnections, Math.round(numConnections * distributionFactor));
+        List<Connection> allConnections = CollectionUtil.toShuffledList(node.getAllActiveConnections());
+        long numConnections = allConnections.size();
+        int numBroadcasts = (int) Math.min(numConnections, Math.round(numConnections * distributionFactor));
         log.debug("Broadcast {} to {} out of {} peers. distributionFactor={}",
                 broadcastMessage.getClass().getSimpleName(), numBroadcasts, numConnections, distributionFactor);
-        List<Connection> allConnections = CollectionUtil.toShuffledList(node.getAllActiveConnections());
+
+        // The payload is the same for all peers, so we create its proto only once.
+        bisq.network.protobuf.EnvelopePayloadMessage envelopePayloadMessageProto = broadcastMessage.toProto(false);
+        // We send to all peers in parallel using their outbound queues, so that a slow peer does not delay the
+        // delivery to the other peers.
+        // If sending to a peer fails, we use one of the not selected peers instead, as long there are any.
+        BroadcastState broadcastState = new BroadcastState(broadcastMessage,
+                envelopePayloadMessageProto,
+                new ConcurrentLinkedQueue<>(allConnections),
+                numBroadcasts,
+                future,
+                ts);
+        for (int i = 0; i < numBroadcasts; i++) {
+            sendToNextPeer(broadcastState);
+        }
+        return future;
+    }
+
+    private void sendToNextPeer(BroadcastState broadcastState) {
+        Connection connection = broadcastState.candidates.poll();
+        if (connection == null) {
+            broadcastState.onSlotCompleted();
+            return;
+        }
+        // The authorization token might require some PoW, so we create it on a pool thread. Writing is done by
+        // the outbound queue of the connection and does not block.
         NetworkService.NETWORK_IO_POOL.submit(() -> {
             ThreadName.set(this, "broadcast");
-            allConnections.stream()
-                    .limit(numBroadcasts)
-                    .forEach(connection -> {
-                        log.debug("{} broadcast {} to {}", node, broadcastMessage.getClass().getSimpleName(), connection.getPeerAddress());
-                        try {
-                            node.send(broadcastMessage, connection);
-                            numSuccess.incrementAndGet();
-                        } catch (Exception exception) {
-                            numFaults.incrementAndGet();
-                        }
-                        if (numSuccess.get() + numFaults.get() == numBroadcasts) {
-                            future.complete(new BroadcastResult(numSuccess.get(),
-                                    numFaults.get(),
-                                    System.currentTimeMillis() - ts));
+            BroadcastMessage broadcastMessage = broadcastState.broadcastMessage;
+            log.debug("{} broadcast {} to {}", node, broadcastMessage.getClass().getSimpleName(), connection.getPeerAddress());
+            node.sendAsync(broadcastMessage, broadcastState.envelopePayloadMessageProto, connection)
+                    .whenComplete((result, throwable) -> {
+                        if (throwable == null) {
+                            broadcastState.numSuccess.incrementAndGet();
+                            broadcastState.onSlotCompleted();
+                        } else {
+                            broadcastState.numFaults.incrementAndGet();
+                            if (broadcastState.future.isDone()) {
+                                broadcastState.onSlotCompleted();
+                            } else {
+                                sendToNextPeer(broadcastState);
+                            }
                         }
                     });
         });
-        return future;
+    }
+
+    private static final class BroadcastState {
+        private final BroadcastMessage broadcastMessage;
+        private final bisq.network.protobuf.EnvelopePayloadMessage envelopePayloadMessageProto;
+        private final Queue<Connection> candidates;
+        private final CompletableFuture<BroadcastResult> future;
+        private final long ts;
+        private final AtomicInteger numPendingSlots;
+        private final AtomicInteger numSuccess = new AtomicInteger(0);
+        private final AtomicInteger numFaults = new AtomicInteger(0);
+
+        private BroadcastState(BroadcastMessage broadcastMessage,
+                               bisq.network.protobuf.EnvelopePayloadMessage envelopePayloadMessageProto,
+                               Queue<Connection> candidates,
+                               int numBroadcasts,
+                               CompletableFuture<BroadcastResult> future,
+                               long ts) {
+            this.broadcastMessage = broadcastMessage;
+            this.envelopePayloadMessageProto = envelopePayloadMessageProto;
+            this.candidates = candidates;
+            this.future = future;
+            this.ts = ts;
+            numPendingSlots = new AtomicInteger(numBroadcasts);
+        }
+
+        // A slot is completed once the message was sent successfully or if there are no more peers left to try
+        private void onSlotCompleted() {
+            if (numPendingSlots.decrementAndGet() == 0) {
+                future.complete(new BroadcastResult(numSuccess.get(),
+                        numFaults.get(),
+                        System.currentTimeMillis() - ts));
+            }
+        }
     }
 }
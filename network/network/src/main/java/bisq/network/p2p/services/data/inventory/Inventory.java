@@ -41,16 +41,27 @@ public final class Inventory implements NetworkProto {
 
     private final List<? extends DataRequest> entries;
     private final boolean maxSizeReached;
+    // Set if the responder could not decode the difference from the inventory filter (e.g. MiniSketchFilter).
+    // The requester is expected to repeat the request with another filter type.
+    private final boolean filterDecodingFailed;
     // transient fields are excluded by default for EqualsAndHashCode
     private transient final Optional<Integer> cachedSerializedSize;
 
     public Inventory(Collection<? extends DataRequest> entries, boolean maxSizeReached) {
-        this(entries, maxSizeReached, Optional.empty());
+        this(entries, maxSizeReached, false, Optional.empty());
     }
 
-    private Inventory(Collection<? extends DataRequest> entries, boolean maxSizeReached, Optional<Integer> cachedSerializedSize) {
+    public static Inventory filterDecodingFailed() {
+        return new Inventory(new ArrayList<>(), false, true, Optional.empty());
+    }
+
+    private Inventory(Collection<? extends DataRequest> entries,
+                      boolean maxSizeReached,
+                      boolean filterDecodingFailed,
+                      Optional<Integer> cachedSerializedSize) {
         this.entries = new ArrayList<>(entries);
         this.maxSizeReached = maxSizeReached;
+        this.filterDecodingFailed = filterDecodingFailed;
         this.cachedSerializedSize = cachedSerializedSize;
 
         // We need to sort deterministically as the data is used in the proof of work check
@@ -80,7 +91,8 @@ public final class Inventory implements NetworkProto {
                 .addAllEntries(entries.stream()
                         .map(e -> e.toProto(serializeForHash).getDataRequest())
                         .collect(Collectors.toList()))
-                .setMaxSizeReached(maxSizeReached);
+                .setMaxSizeReached(maxSizeReached)
+                .setFilterDecodingFailed(filterDecodingFailed);
     }
 
     public static Inventory fromProto(bisq.network.protobuf.Inventory proto) {
@@ -88,10 +100,13 @@ public final class Inventory implements NetworkProto {
         List<DataRequest> entries = entriesList.stream()
                 .map(DataRequest::fromProto)
                 .collect(Collectors.toList());
-        return new Inventory(entries, proto.getMaxSizeReached(), Optional.of(proto.getSerializedSize()));
+        return new Inventory(entries,
+                proto.getMaxSizeReached(),
+                proto.getFilterDecodingFailed(),
+                Optional.of(proto.getSerializedSize()));
     }
 
     public boolean allDataReceived() {
-        return !maxSizeReached;
+        return !maxSizeReached && !filterDecodingFailed;
     }
 }
@@ -133,7 +133,9 @@ class InventoryHandler implements Connection.Listener {
         if (report.isEmpty()) {
             report = "No items received";
         }
-        String maxSizeReached = inventory.isMaxSizeReached()
+        String maxSizeReached = inventory.isFilterDecodingFailed()
+                ? "Peer could not decode our inventory filter"
+                : inventory.isMaxSizeReached()
                 ? "Still missing data. Response got truncated because max size was reached"
                 : "All data received from peer";
         String size = ByteUnit.BYTE.toKB((double) inventory.getCachedSerializedSize().orElse(0)) + " KB";
@@ -33,6 +33,7 @@ import bisq.network.p2p.services.data.RemoveDataRequest;
 import bisq.network.p2p.services.data.inventory.filter.FilterService;
 import bisq.network.p2p.services.data.inventory.filter.InventoryFilter;
 import bisq.network.p2p.services.data.inventory.filter.InventoryFilterType;
+import bisq.network.p2p.services.data.storage.auth.AuthenticatedDataRequestVerifier;
 import bisq.network.p2p.services.peer_group.PeerGroupManager;
 import bisq.network.p2p.services.peer_group.PeerGroupService;
 import lombok.Getter;
@@ -123,7 +124,8 @@ public class InventoryRequestService implements Node.Listener {
                                 startPeriodicRequests(config.getRepeatRequestInterval());
                             } else {
                                 // We use same connection for repeated request until we have all data
-                                if (canUseCandidate(connection) &&
+                                if (!inventory.isFilterDecodingFailed() &&
+                                        canUseCandidate(connection) &&
                                         requestHandlerMap.size() < config.getMaxPendingRequestsAtStartup()) {
                                     requestInventoryFromFreshConnection(connection);
                                 }
@@ -158,6 +160,9 @@ public class InventoryRequestService implements Node.Listener {
         return requestFromPeer(connection)
                 .thenApply(inventory -> {
                     checkNotNull(inventory);
+                    // Signature verification is the most expensive part of processing the entries, thus we do it
+                    // in parallel upfront. The results are cached at the requests.
+                    AuthenticatedDataRequestVerifier.verifyInParallel(inventory.getEntries());
                     inventory.getEntries().forEach(dataRequest -> {
                         if (dataRequest instanceof AddDataRequest) {
                             dataService.processAddDataRequest((AddDataRequest) dataRequest, false);
@@ -170,12 +175,27 @@ public class InventoryRequestService implements Node.Listener {
     }
 
     private CompletableFuture<Inventory> requestFromPeer(Connection connection) {
+        List<Feature> peersFeatures = connection.getPeersCapability().getFeatures();
+        InventoryFilterType inventoryFilterType = getPreferredFilterType(peersFeatures).orElseThrow(); // we filtered before for presence
+        return requestFromPeer(connection, inventoryFilterType)
+                .thenCompose(inventory -> {
+                    if (inventory.isFilterDecodingFailed()) {
+                        Optional<InventoryFilterType> fallbackFilterType = getFallbackFilterType(inventoryFilterType, peersFeatures);
+                        if (fallbackFilterType.isPresent() && !shutdownInProgress) {
+                            log.info("Peer {} could not decode our {} filter. We repeat the request with {}",
+                                    connection.getPeerAddress().getFullAddress(), inventoryFilterType, fallbackFilterType.get());
+                            return requestFromPeer(connection, fallbackFilterType.get());
+                        }
+                    }
+                    return CompletableFuture.completedFuture(inventory);
+                });
+    }
+
+    private CompletableFuture<Inventory> requestFromPeer(Connection connection, InventoryFilterType inventoryFilterType) {
         String key = getKey(connection);
         InventoryHandler handler = new InventoryHandler(node, connection);
         requestHandlerMap.put(key, handler);
         numPendingRequests.set(requestHandlerMap.size());
-        List<Feature> peersFeatures = connection.getPeersCapability().getFeatures();
-        InventoryFilterType inventoryFilterType = getPreferredFilterType(peersFeatures).orElseThrow(); // we filtered before for presence
         var filterService = supportedFilterServices.get(inventoryFilterType);
         return handler.request(filterService.getFilter())
                 .orTimeout(TIMEOUT, TimeUnit.MILLISECONDS)
@@ -245,6 +265,17 @@ public class InventoryRequestService implements Node.Listener {
                 .findFirst();
     }
 
+    // Next match with peers feature after the given filter type based on order of myPreferredFilterTypes
+    private Optional<InventoryFilterType> getFallbackFilterType(InventoryFilterType inventoryFilterType,
+                                                                List<Feature> peersFeatures) {
+        List<InventoryFilterType> peersInventoryFilterTypes = toFilterTypes(peersFeatures);
+        return config.getMyPreferredFilterTypes().stream()
+                .filter(filterType -> filterType != inventoryFilterType)
+                .filter(supportedFilterServices::containsKey)
+                .filter(peersInventoryFilterTypes::contains)
+                .findFirst();
+    }
+
     private List<InventoryFilterType> toFilterTypes(List<Feature> features) {
         return features.stream()
                 .flatMap(feature -> InventoryFilterType.fromFeature(feature).stream())
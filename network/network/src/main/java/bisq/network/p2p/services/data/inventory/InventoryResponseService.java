@@ -18,6 +18,7 @@
 package bisq.network.p2p.services.data.inventory;
 
 import bisq.common.data.ByteUnit;
+import bisq.common.threading.ExecutorFactory;
 import bisq.common.threading.ThreadName;
 import bisq.common.util.ExceptionUtil;
 import bisq.network.NetworkService;
@@ -32,10 +33,22 @@ import bisq.network.p2p.services.data.inventory.filter.InventoryFilterType;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.function.Predicate;
 
 @Slf4j
 public class InventoryResponseService implements Node.Listener {
+    // Creating the inventory is expensive, thus we do it off the network dispatcher to not delay other messages.
+    // The queue is bounded, so that a flood of requests cannot pile up unbounded work. Requests exceeding it get rejected.
+    private static final int MAX_QUEUED_REQUESTS = 20;
+    private static final ThreadPoolExecutor EXECUTOR = ExecutorFactory.getThreadPoolExecutor("InventoryResponse",
+            2,
+            2,
+            0,
+            new ArrayBlockingQueue<>(MAX_QUEUED_REQUESTS));
+
     private final Node node;
     private final Map<InventoryFilterType, FilterService<? extends InventoryFilter>> filterServiceMap;
 
@@ -58,7 +71,18 @@ public class InventoryResponseService implements Node.Listener {
     @Override
     public void onMessage(EnvelopePayloadMessage envelopePayloadMessage, Connection connection, NetworkId networkId) {
         if (envelopePayloadMessage instanceof InventoryRequest request) {
-            handleInventoryRequest(request, connection);
+            try {
+                EXECUTOR.execute(() -> {
+                    try {
+                        handleInventoryRequest(request, connection);
+                    } catch (Exception e) {
+                        log.error("Error at handling InventoryRequest from {}", connection.getPeerAddress(), e);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                log.warn("InventoryRequest from {} got rejected as too many requests are queued.",
+                        connection.getPeerAddress());
+            }
         }
     }
 
@@ -23,9 +23,9 @@ import bisq.network.p2p.services.data.DataRequest;
 import bisq.network.p2p.services.data.inventory.Inventory;
 import bisq.network.p2p.services.data.storage.DistributedData;
 import bisq.network.p2p.services.data.storage.StorageService;
-import bisq.network.p2p.services.data.storage.append.AddAppendOnlyDataRequest;
 import bisq.network.p2p.services.data.storage.auth.AddAuthenticatedDataRequest;
 import bisq.network.p2p.services.data.storage.auth.AuthenticatedDataRequest;
+import bisq.network.p2p.services.data.storage.auth.RefreshAuthenticatedDataRequest;
 import bisq.network.p2p.services.data.storage.auth.RemoveAuthenticatedDataRequest;
 import bisq.network.p2p.services.data.storage.mailbox.AddMailboxRequest;
 import bisq.network.p2p.services.data.storage.mailbox.MailboxRequest;
@@ -52,25 +52,23 @@ public abstract class FilterService<T extends InventoryFilter> {
 
     abstract public T getFilter();
 
-    abstract protected boolean isAuthenticatedDataRequestMissing(T filter, Map.Entry<ByteArray, AuthenticatedDataRequest> mapEntry);
+    abstract public Inventory createInventory(InventoryFilter inventoryFilter, Predicate<Integer> predicate);
 
-    abstract protected boolean isMailboxRequestMissing(T filter, Map.Entry<ByteArray, MailboxRequest> mapEntry);
-
-    abstract protected boolean isAddAppendOnlyDataRequestMissing(T filter, Map.Entry<ByteArray, AddAppendOnlyDataRequest> entry);
-
-    public Inventory createInventory(InventoryFilter inventoryFilter, Predicate<Integer> predicate) {
+    /**
+     * @param isMissing Predicate for the map entries which are missing at the requester, derived from its filter
+     */
+    protected Inventory createInventory(Predicate<Map.Entry<ByteArray, ? extends DataRequest>> isMissing,
+                                        Predicate<Integer> predicate) {
         final AtomicInteger accumulatedSize = new AtomicInteger();
         final AtomicBoolean maxSizeReached = new AtomicBoolean();
-        // The type is not defined at compile time, thus we do a safe cast
-        T filter = safeCast(inventoryFilter);
-        List<DataRequest> dataRequests = getAuthenticatedDataRequests(filter, accumulatedSize, maxSizeReached, predicate);
+        List<DataRequest> dataRequests = getAuthenticatedDataRequests(isMissing, accumulatedSize, maxSizeReached, predicate);
 
         if (!maxSizeReached.get()) {
-            dataRequests.addAll(getMailboxRequests(filter, accumulatedSize, maxSizeReached, predicate));
+            dataRequests.addAll(getMailboxRequests(isMissing, accumulatedSize, maxSizeReached, predicate));
         }
 
         if (!maxSizeReached.get()) {
-            dataRequests.addAll(getAppendOnlyDataRequests(filter, accumulatedSize, maxSizeReached));
+            dataRequests.addAll(getAppendOnlyDataRequests(isMissing, accumulatedSize, maxSizeReached));
         }
 
         log.info("Inventory with {} items and accumulatedSize of {} kb. maxSizeReached={}",
@@ -80,7 +78,24 @@ public abstract class FilterService<T extends InventoryFilter> {
 
     abstract protected T safeCast(InventoryFilter inventoryFilter);
 
-    private List<DataRequest> getAuthenticatedDataRequests(T filter,
+    protected static int getSequenceNumber(DataRequest dataRequest) {
+        if (dataRequest instanceof AddAuthenticatedDataRequest) {
+            return ((AddAuthenticatedDataRequest) dataRequest).getAuthenticatedSequentialData().getSequenceNumber();
+        } else if (dataRequest instanceof RemoveAuthenticatedDataRequest) {
+            return ((RemoveAuthenticatedDataRequest) dataRequest).getSequenceNumber();
+        } else if (dataRequest instanceof RefreshAuthenticatedDataRequest) {
+            return ((RefreshAuthenticatedDataRequest) dataRequest).getSequenceNumber();
+        } else if (dataRequest instanceof AddMailboxRequest) {
+            return ((AddMailboxRequest) dataRequest).getSequenceNumber();
+        } else if (dataRequest instanceof RemoveMailboxRequest) {
+            return ((RemoveMailboxRequest) dataRequest).getSequenceNumber();
+        } else {
+            // AddAppendOnlyDataRequest does not use a seq nr.
+            return 0;
+        }
+    }
+
+    private List<DataRequest> getAuthenticatedDataRequests(Predicate<Map.Entry<ByteArray, ? extends DataRequest>> isMissing,
                                                            AtomicInteger accumulatedSize,
                                                            AtomicBoolean maxSizeReached,
                                                            Predicate<Integer> predicate) {
@@ -88,7 +103,7 @@ public abstract class FilterService<T extends InventoryFilter> {
         List<RemoveAuthenticatedDataRequest> removeRequests = new ArrayList<>();
         storageService.getAuthenticatedDataStoreMaps().flatMap(map -> map.entrySet().stream())
                 .forEach(mapEntry -> {
-                    if (isAuthenticatedDataRequestMissing(filter, mapEntry)) {
+                    if (isMissing.test(mapEntry)) {
                         AuthenticatedDataRequest dataRequest = mapEntry.getValue();
                         if (dataRequest instanceof AddAuthenticatedDataRequest addAuthenticatedDataRequest) {
                             DistributedData distributedData = addAuthenticatedDataRequest.getDistributedData();
@@ -131,7 +146,7 @@ public abstract class FilterService<T extends InventoryFilter> {
     }
 
 
-    private List<DataRequest> getMailboxRequests(T filter,
+    private List<DataRequest> getMailboxRequests(Predicate<Map.Entry<ByteArray, ? extends DataRequest>> isMissing,
                                                  AtomicInteger accumulatedSize,
                                                  AtomicBoolean maxSizeReached,
                                                  Predicate<Integer> predicate) {
@@ -139,7 +154,7 @@ public abstract class FilterService<T extends InventoryFilter> {
         List<RemoveMailboxRequest> removeRequests = new ArrayList<>();
         storageService.getMailboxStoreMaps().flatMap(map -> map.entrySet().stream())
                 .forEach(mapEntry -> {
-                    if (isMailboxRequestMissing(filter, mapEntry)) {
+                    if (isMissing.test(mapEntry)) {
                         MailboxRequest dataRequest = mapEntry.getValue();
                         if (dataRequest instanceof AddMailboxRequest addMailboxRequest) {
                             if (predicate.test(addMailboxRequest.getMailboxSequentialData().getMailboxData().getVersion())) {
@@ -177,11 +192,11 @@ public abstract class FilterService<T extends InventoryFilter> {
         return sortedAndFilteredRequests;
     }
 
-    private List<DataRequest> getAppendOnlyDataRequests(T filter,
+    private List<DataRequest> getAppendOnlyDataRequests(Predicate<Map.Entry<ByteArray, ? extends DataRequest>> isMissing,
                                                         AtomicInteger accumulatedSize,
                                                         AtomicBoolean maxSizeReached) {
         return storageService.getAddAppendOnlyDataStoreMaps().flatMap(map -> map.entrySet().stream())
-                .filter(entry -> isAddAppendOnlyDataRequestMissing(filter, entry))
+                .filter(isMissing::test)
                 //hashSetFilter.getFilterEntries().contains(toFilterEntry(mapEntry)))
                 .map(Map.Entry::getValue)
                 .sorted((o1, o2) -> Integer.compare(o2.getAppendOnlyData().getMetaData().getPriority(),
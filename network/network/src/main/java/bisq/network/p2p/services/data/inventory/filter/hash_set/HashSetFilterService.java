@@ -19,23 +19,18 @@ package bisq.network.p2p.services.data.inventory.filter.hash_set;
 
 import bisq.common.data.ByteArray;
 import bisq.network.p2p.services.data.DataRequest;
+import bisq.network.p2p.services.data.inventory.Inventory;
 import bisq.network.p2p.services.data.inventory.filter.FilterService;
 import bisq.network.p2p.services.data.inventory.filter.InventoryFilter;
 import bisq.network.p2p.services.data.inventory.filter.InventoryFilterType;
 import bisq.network.p2p.services.data.storage.StorageService;
-import bisq.network.p2p.services.data.storage.append.AddAppendOnlyDataRequest;
-import bisq.network.p2p.services.data.storage.auth.AddAuthenticatedDataRequest;
-import bisq.network.p2p.services.data.storage.auth.AuthenticatedDataRequest;
-import bisq.network.p2p.services.data.storage.auth.RefreshAuthenticatedDataRequest;
-import bisq.network.p2p.services.data.storage.auth.RemoveAuthenticatedDataRequest;
-import bisq.network.p2p.services.data.storage.mailbox.AddMailboxRequest;
-import bisq.network.p2p.services.data.storage.mailbox.MailboxRequest;
-import bisq.network.p2p.services.data.storage.mailbox.RemoveMailboxRequest;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -67,38 +62,14 @@ public class HashSetFilterService extends FilterService<HashSetFilter> {
     }
 
     @Override
-    protected boolean isAuthenticatedDataRequestMissing(HashSetFilter filter, Map.Entry<ByteArray, AuthenticatedDataRequest> mapEntry) {
-        return !filter.getFilterEntriesAsSet().contains(toFilterEntry(mapEntry));
-    }
-
-    @Override
-    protected boolean isMailboxRequestMissing(HashSetFilter filter, Map.Entry<ByteArray, MailboxRequest> mapEntry) {
-        return !filter.getFilterEntriesAsSet().contains(toFilterEntry(mapEntry));
-    }
-
-    @Override
-    protected boolean isAddAppendOnlyDataRequestMissing(HashSetFilter filter, Map.Entry<ByteArray, AddAppendOnlyDataRequest> mapEntry) {
-        return !filter.getFilterEntriesAsSet().contains(toFilterEntry(mapEntry));
+    public Inventory createInventory(InventoryFilter inventoryFilter, Predicate<Integer> predicate) {
+        // The type is not defined at compile time, thus we do a safe cast
+        HashSetFilter filter = safeCast(inventoryFilter);
+        Set<HashSetFilterEntry> filterEntries = filter.getFilterEntriesAsSet();
+        return createInventory(mapEntry -> !filterEntries.contains(toFilterEntry(mapEntry)), predicate);
     }
 
     private HashSetFilterEntry toFilterEntry(Map.Entry<ByteArray, ? extends DataRequest> mapEntry) {
-        DataRequest dataRequest = mapEntry.getValue();
-        int sequenceNumber = 0;
-        byte[] hash = mapEntry.getKey().getBytes();
-        if (dataRequest instanceof AddAppendOnlyDataRequest) {
-            // AddAppendOnlyDataRequest does not use a seq nr.
-            return new HashSetFilterEntry(hash, 0);
-        } else if (dataRequest instanceof AddAuthenticatedDataRequest) {
-            sequenceNumber = ((AddAuthenticatedDataRequest) dataRequest).getAuthenticatedSequentialData().getSequenceNumber();
-        } else if (dataRequest instanceof RemoveAuthenticatedDataRequest) {
-            sequenceNumber = ((RemoveAuthenticatedDataRequest) dataRequest).getSequenceNumber();
-        } else if (dataRequest instanceof RefreshAuthenticatedDataRequest) {
-            sequenceNumber = ((RefreshAuthenticatedDataRequest) dataRequest).getSequenceNumber();
-        } else if (dataRequest instanceof AddMailboxRequest) {
-            sequenceNumber = ((AddMailboxRequest) dataRequest).getSequenceNumber();
-        } else if (dataRequest instanceof RemoveMailboxRequest) {
-            sequenceNumber = ((RemoveMailboxRequest) dataRequest).getSequenceNumber();
-        }
-        return new HashSetFilterEntry(hash, sequenceNumber);
+        return new HashSetFilterEntry(mapEntry.getKey().getBytes(), getSequenceNumber(mapEntry.getValue()));
     }
 }
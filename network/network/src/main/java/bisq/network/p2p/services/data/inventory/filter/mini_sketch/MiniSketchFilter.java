@@ -18,8 +18,10 @@
 package bisq.network.p2p.services.data.inventory.filter.mini_sketch;
 
 
+import bisq.common.data.ByteUnit;
 import bisq.network.p2p.services.data.inventory.filter.InventoryFilter;
 import bisq.network.p2p.services.data.inventory.filter.InventoryFilterType;
+import com.google.protobuf.ByteString;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.ToString;
@@ -28,27 +30,46 @@ import lombok.extern.slf4j.Slf4j;
 import static com.google.common.base.Preconditions.checkArgument;
 
 /**
- * Skeleton for planned MiniSketch implementation based on <a href="https://github.com/sipa/minisketch">https://github.com/sipa/minisketch</a>
+ * Carries a PinSketch of the short IDs of all entries of the requester. The responder merges it with the sketch of
+ * its own entries and decodes the difference. Thus, the size of the filter and the data sent in the response scale
+ * with the difference of both peers and not with the number of entries.
  */
 @Slf4j
 @Getter
 @ToString
 @EqualsAndHashCode(callSuper = true)
 public final class MiniSketchFilter extends InventoryFilter {
+    // 4 bytes per element, so the sketch has 1 KB
+    public static final int CAPACITY = 256;
+    // We limit the capacity to protect the responder from costly decoding
+    public static final int MAX_CAPACITY = 1024;
 
-    public MiniSketchFilter() {
-        this(InventoryFilterType.MINI_SKETCH);
+    @ToString.Exclude
+    private final byte[] sketch;
+    private final long salt;
+    private final int numElements;
+
+    public MiniSketchFilter(byte[] sketch, long salt, int numElements) {
+        this(InventoryFilterType.MINI_SKETCH, sketch, salt, numElements);
     }
 
-    private MiniSketchFilter(InventoryFilterType inventoryFilterType) {
+    private MiniSketchFilter(InventoryFilterType inventoryFilterType, byte[] sketch, long salt, int numElements) {
         super(inventoryFilterType);
 
+        this.sketch = sketch;
+        this.salt = salt;
+        this.numElements = numElements;
+
         verify();
     }
 
     @Override
     public void verify() {
         checkArgument(inventoryFilterType == InventoryFilterType.MINI_SKETCH);
+        checkArgument(sketch.length > 0 && sketch.length % PinSketch.ELEMENT_SIZE == 0,
+                "Invalid sketch size");
+        checkArgument(sketch.length / PinSketch.ELEMENT_SIZE <= MAX_CAPACITY, "Sketch capacity exceeds MAX_CAPACITY");
+        checkArgument(numElements >= 0);
     }
 
     @Override
@@ -59,15 +80,27 @@ public final class MiniSketchFilter extends InventoryFilter {
     @Override
     public bisq.network.protobuf.InventoryFilter.Builder getBuilder(boolean serializeForHash) {
         return getInventoryFilterBuilder().setMiniSketchFilter(
-                bisq.network.protobuf.MiniSketchFilter.newBuilder());
+                bisq.network.protobuf.MiniSketchFilter.newBuilder()
+                        .setSketch(ByteString.copyFrom(sketch))
+                        .setSalt(salt)
+                        .setNumElements(numElements));
     }
 
     public static MiniSketchFilter fromProto(bisq.network.protobuf.InventoryFilter proto) {
-        return new MiniSketchFilter(InventoryFilterType.fromProto(proto.getInventoryFilterType()));
+        bisq.network.protobuf.MiniSketchFilter miniSketchFilter = proto.getMiniSketchFilter();
+        return new MiniSketchFilter(InventoryFilterType.fromProto(proto.getInventoryFilterType()),
+                miniSketchFilter.getSketch().toByteArray(),
+                miniSketchFilter.getSalt(),
+                miniSketchFilter.getNumElements());
+    }
+
+    public int getCapacity() {
+        return sketch.length / PinSketch.ELEMENT_SIZE;
     }
 
     @Override
     public String getDetails() {
-        return "MiniSketchFilter";
+        return "MiniSketchFilter with capacity " + getCapacity() + " for " + numElements + " elements and size of " +
+                ByteUnit.BYTE.toKB(getSerializedSize()) + " KB";
     }
-}
\ No newline at end of file
+}
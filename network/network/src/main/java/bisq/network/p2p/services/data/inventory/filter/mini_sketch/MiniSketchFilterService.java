@@ -18,43 +18,58 @@
 package bisq.network.p2p.services.data.inventory.filter.mini_sketch;
 
 import bisq.common.data.ByteArray;
+import bisq.network.p2p.services.data.DataRequest;
+import bisq.network.p2p.services.data.inventory.Inventory;
 import bisq.network.p2p.services.data.inventory.filter.FilterService;
 import bisq.network.p2p.services.data.inventory.filter.InventoryFilter;
 import bisq.network.p2p.services.data.inventory.filter.InventoryFilterType;
 import bisq.network.p2p.services.data.storage.StorageService;
-import bisq.network.p2p.services.data.storage.append.AddAppendOnlyDataRequest;
-import bisq.network.p2p.services.data.storage.auth.AuthenticatedDataRequest;
-import bisq.network.p2p.services.data.storage.mailbox.MailboxRequest;
 import lombok.extern.slf4j.Slf4j;
 
+import java.security.SecureRandom;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 /**
- * Skeleton for planned MiniSketch implementation based on <a href="https://github.com/sipa/minisketch">https://github.com/sipa/minisketch</a>
+ * Set reconciliation based on PinSketch. Each entry is mapped to a 32 bit short ID derived from its hash, its
+ * sequence number and a random salt chosen by the requester. Using a new salt at each request ensures that short ID
+ * collisions do not persist.
+ * If the difference exceeds the capacity of the sketch the response signals that decoding failed and the requester
+ * falls back to the HashSetFilter.
  */
 @Slf4j
 public class MiniSketchFilterService extends FilterService<MiniSketchFilter> {
+    private final SecureRandom random = new SecureRandom();
+
     public MiniSketchFilterService(StorageService storageService, int maxSize) {
         super(storageService, maxSize);
     }
 
     public MiniSketchFilter getFilter() {
-        return new MiniSketchFilter();
-    }
-
-    @Override
-    protected boolean isAuthenticatedDataRequestMissing(MiniSketchFilter filter, Map.Entry<ByteArray, AuthenticatedDataRequest> mapEntry) {
-        return true;
+        long salt = random.nextLong();
+        List<Integer> elements = storageService.getAllDataRequestMapEntries()
+                .map(mapEntry -> toElement(salt, mapEntry))
+                .collect(Collectors.toList());
+        PinSketch sketch = new PinSketch(MiniSketchFilter.CAPACITY);
+        elements.forEach(sketch::add);
+        return new MiniSketchFilter(sketch.toBytes(), salt, elements.size());
     }
 
     @Override
-    protected boolean isMailboxRequestMissing(MiniSketchFilter filter, Map.Entry<ByteArray, MailboxRequest> mapEntry) {
-        return true;
-    }
-
-    @Override
-    protected boolean isAddAppendOnlyDataRequestMissing(MiniSketchFilter filter, Map.Entry<ByteArray, AddAppendOnlyDataRequest> mapEntry) {
-        return true;
+    public Inventory createInventory(InventoryFilter inventoryFilter, Predicate<Integer> predicate) {
+        MiniSketchFilter filter = safeCast(inventoryFilter);
+        long salt = filter.getSalt();
+        // Elements of the difference which we have are missing at the requester (or the requester has a different
+        // sequence number). Other elements of the difference are those which only the requester has.
+        return decodeDifference(filter)
+                .map(decodedDifference -> createInventory(mapEntry ->
+                        decodedDifference.contains(toElement(salt, mapEntry)), predicate))
+                .orElseGet(Inventory::filterDecodingFailed);
     }
 
     @Override
@@ -65,4 +80,67 @@ public class MiniSketchFilterService extends FilterService<MiniSketchFilter> {
         }
         throw new IllegalArgumentException("InventoryFilter not of expected type. inventoryFilter=" + inventoryFilter);
     }
+
+    /**
+     * @return The short IDs of the symmetric difference of the requester's entries and ours, or empty if the
+     * difference exceeds the capacity of the sketch.
+     */
+    private Optional<Set<Integer>> decodeDifference(MiniSketchFilter filter) {
+        long salt = filter.getSalt();
+        List<Integer> elements = storageService.getAllDataRequestMapEntries()
+                .map(mapEntry -> toElement(salt, mapEntry))
+                .collect(Collectors.toList());
+
+        // The difference is at least the difference of the number of elements. In that case we do not need to
+        // compute the sketch.
+        if (Math.abs(elements.size() - filter.getNumElements()) > filter.getCapacity()) {
+            log.info("Difference to requester exceeds sketch capacity. Our number of elements: {}; requesters " +
+                    "number of elements: {}; capacity: {}", elements.size(), filter.getNumElements(), filter.getCapacity());
+            return Optional.empty();
+        }
+
+        long ts = System.currentTimeMillis();
+        PinSketch sketch = new PinSketch(filter.getCapacity());
+        elements.forEach(sketch::add);
+        Optional<int[]> difference = sketch.merge(PinSketch.fromBytes(filter.getSketch())).decode();
+        if (difference.isEmpty()) {
+            log.info("Decoding sketch failed as difference to requester exceeds capacity of {}. Took {} ms",
+                    filter.getCapacity(), System.currentTimeMillis() - ts);
+            return Optional.empty();
+        }
+
+        Set<Integer> decodedDifference = new HashSet<>();
+        for (int element : difference.get()) {
+            decodedDifference.add(element);
+        }
+        log.info("Decoded difference of {} elements. Took {} ms", decodedDifference.size(), System.currentTimeMillis() - ts);
+        return Optional.of(decodedDifference);
+    }
+
+    static int toElement(long salt, Map.Entry<ByteArray, ? extends DataRequest> mapEntry) {
+        return toElement(salt, mapEntry.getKey().getBytes(), getSequenceNumber(mapEntry.getValue()));
+    }
+
+    static int toElement(long salt, byte[] hash, int sequenceNumber) {
+        long result = salt;
+        for (int i = 0; i < hash.length; i += 8) {
+            long chunk = 0;
+            for (int j = i; j < Math.min(i + 8, hash.length); j++) {
+                chunk = (chunk << 8) | (hash[j] & 0xFF);
+            }
+            result = mix(result ^ chunk);
+        }
+        result = mix(result ^ sequenceNumber);
+        int element = (int) (result ^ (result >>> 32));
+        // 0 is not a valid element of a sketch
+        return element == 0 ? 1 : element;
+    }
+
+    // Finalizer of SplitMix64
+    private static long mix(long value) {
+        value += 0x9E3779B97F4A7C15L;
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
 }
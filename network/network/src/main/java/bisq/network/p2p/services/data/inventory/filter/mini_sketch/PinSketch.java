@@ -0,0 +1,403 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.services.data.inventory.filter.mini_sketch;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Pure Java implementation of the PinSketch set sketch (as used by libminisketch) over GF(2^32).
+ * <p>
+ * A sketch with capacity c consists of the odd power sums s1, s3, ..., s(2c-1) of all elements of a set. Sketches are
+ * linear: merging (XOR) the sketches of 2 sets results in the sketch of their symmetric difference, which can be
+ * decoded if the difference has not more than c elements. The size of a sketch only depends on its capacity and not on
+ * the size of the set.
+ * <p>
+ * Decoding uses Berlekamp-Massey to find the error locator polynomial and the Berlekamp trace algorithm to find its
+ * roots. If the difference exceeds the capacity, decoding fails (with overwhelming probability it is detected as the
+ * locator polynomial does not split into distinct roots).
+ */
+public final class PinSketch {
+    public static final int ELEMENT_SIZE = 4;
+    private static final int MAX_SPLIT_ATTEMPTS = 64;
+
+    private final int[] syndromes;
+
+    public PinSketch(int capacity) {
+        checkArgument(capacity > 0, "Capacity must be positive");
+        syndromes = new int[capacity];
+    }
+
+    private PinSketch(int[] syndromes) {
+        this.syndromes = syndromes;
+    }
+
+    public static PinSketch fromBytes(byte[] bytes) {
+        checkArgument(bytes.length > 0 && bytes.length % ELEMENT_SIZE == 0, "Invalid sketch size");
+        int[] syndromes = new int[bytes.length / ELEMENT_SIZE];
+        ByteBuffer.wrap(bytes).asIntBuffer().get(syndromes);
+        return new PinSketch(syndromes);
+    }
+
+    public int getCapacity() {
+        return syndromes.length;
+    }
+
+    /**
+     * Adds the element to the sketch. As the sketch represents a set, adding the same element twice removes it again.
+     *
+     * @param element Must not be 0.
+     */
+    public void add(int element) {
+        checkArgument(element != 0, "Element must not be 0");
+        int square = mul(element, element);
+        int[] squareTable = mulTable(square);
+        int power = element;
+        for (int i = 0; i < syndromes.length; i++) {
+            syndromes[i] ^= power;
+            power = mul(squareTable, power);
+        }
+    }
+
+    /**
+     * @return The sketch of the symmetric difference of both sets. If the capacities differ, the smaller one is used.
+     */
+    public PinSketch merge(PinSketch other) {
+        int capacity = Math.min(getCapacity(), other.getCapacity());
+        int[] merged = new int[capacity];
+        for (int i = 0; i < capacity; i++) {
+            merged[i] = syndromes[i] ^ other.syndromes[i];
+        }
+        return new PinSketch(merged);
+    }
+
+    public byte[] toBytes() {
+        ByteBuffer byteBuffer = ByteBuffer.allocate(syndromes.length * ELEMENT_SIZE);
+        byteBuffer.asIntBuffer().put(syndromes);
+        return byteBuffer.array();
+    }
+
+    /**
+     * @return The elements of the set represented by the sketch or empty if decoding failed because the set has more
+     * elements than the capacity of the sketch.
+     */
+    public Optional<int[]> decode() {
+        int[] locator = berlekampMassey(getAllSyndromes());
+        int numElements = locator.length - 1;
+        if (numElements > syndromes.length) {
+            return Optional.empty();
+        }
+        if (numElements == 0) {
+            return Optional.of(new int[0]);
+        }
+        // The roots of the locator polynomial are the inverses of the elements, so we search the roots of the
+        // reversed polynomial which are the elements.
+        int[] reversed = new int[numElements + 1];
+        for (int i = 0; i <= numElements; i++) {
+            reversed[i] = locator[numElements - i];
+        }
+        if (reversed[0] == 0) {
+            // A root at 0 would be an invalid element
+            return Optional.empty();
+        }
+        // As locator[0] is 1 the reversed polynomial is monic
+        if (!splitsIntoDistinctRoots(reversed)) {
+            return Optional.empty();
+        }
+        List<Integer> roots = new ArrayList<>(numElements);
+        if (!findRoots(reversed, roots, new Random(0))) {
+            return Optional.empty();
+        }
+        return Optional.of(roots.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+
+    /* --------------------------------------------------------------------- */
+    // Syndromes
+    /* --------------------------------------------------------------------- */
+
+    // Returns s1 ... s(2c). Even power sums are derived from the odd ones as s(2i) = s(i)^2 in characteristic 2.
+    private int[] getAllSyndromes() {
+        int n = syndromes.length * 2;
+        int[] all = new int[n + 1];
+        for (int i = 1; i <= n; i++) {
+            if ((i & 1) == 1) {
+                all[i] = syndromes[i / 2];
+            } else {
+                all[i] = mul(all[i / 2], all[i / 2]);
+            }
+        }
+        return all;
+    }
+
+    // Returns the connection polynomial of the shortest LFSR generating the syndromes s1 ... sn.
+    private static int[] berlekampMassey(int[] s) {
+        int n = s.length - 1;
+        int[] current = new int[n + 1];
+        int[] previous = new int[n + 1];
+        current[0] = 1;
+        previous[0] = 1;
+        int length = 0;
+        int shift = 1;
+        int previousDiscrepancy = 1;
+        for (int i = 0; i < n; i++) {
+            int discrepancy = s[i + 1];
+            for (int j = 1; j <= length; j++) {
+                discrepancy ^= mul(current[j], s[i + 1 - j]);
+            }
+            if (discrepancy == 0) {
+                shift++;
+                continue;
+            }
+            int factor = mul(discrepancy, inverse(previousDiscrepancy));
+            if (2 * length <= i) {
+                int[] temp = current.clone();
+                for (int j = 0; j + shift <= n; j++) {
+                    current[j + shift] ^= mul(factor, previous[j]);
+                }
+                length = i + 1 - length;
+                previous = temp;
+                previousDiscrepancy = discrepancy;
+                shift = 1;
+            } else {
+                for (int j = 0; j + shift <= n; j++) {
+                    current[j + shift] ^= mul(factor, previous[j]);
+                }
+                shift++;
+            }
+        }
+        return Arrays.copyOf(current, length + 1);
+    }
+
+
+    /* --------------------------------------------------------------------- */
+    // Root finding
+    /* --------------------------------------------------------------------- */
+
+    // A polynomial splits into distinct linear factors over GF(2^32) iff it divides x^(2^32) - x.
+    private static boolean splitsIntoDistinctRoots(int[] f) {
+        int[] x = {0, 1};
+        int[] power = x;
+        for (int i = 0; i < 32; i++) {
+            power = squareMod(power, f);
+        }
+        return Arrays.equals(trim(power), trim(mod(x, f)));
+    }
+
+    // Berlekamp trace algorithm: gcd(f, Tr(beta * x)) splits f for a random beta with probability of about 1/2.
+    private static boolean findRoots(int[] f, List<Integer> roots, Random random) {
+        int degree = degree(f);
+        if (degree == 0) {
+            return true;
+        }
+        if (degree == 1) {
+            // f is monic: x + f0
+            roots.add(f[0]);
+            return true;
+        }
+        for (int attempt = 0; attempt < MAX_SPLIT_ATTEMPTS; attempt++) {
+            int beta = random.nextInt();
+            if (beta == 0) {
+                continue;
+            }
+            int[] term = mod(new int[]{0, beta}, f);
+            int[] trace = term;
+            for (int i = 1; i < 32; i++) {
+                term = squareMod(term, f);
+                trace = add(trace, term);
+            }
+            int[] g = gcd(f, trace);
+            int gDegree = degree(g);
+            if (gDegree > 0 && gDegree < degree) {
+                int[] monicG = makeMonic(g);
+                return findRoots(monicG, roots, random) &&
+                        findRoots(makeMonic(divide(f, monicG)), roots, random);
+            }
+        }
+        return false;
+    }
+
+
+    /* --------------------------------------------------------------------- */
+    // Polynomials over GF(2^32). Coefficients are in ascending order.
+    /* --------------------------------------------------------------------- */
+
+    private static int degree(int[] p) {
+        for (int i = p.length - 1; i >= 0; i--) {
+            if (p[i] != 0) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    private static int[] trim(int[] p) {
+        return Arrays.copyOf(p, degree(p) + 1);
+    }
+
+    private static boolean isZero(int[] p) {
+        return degree(p) == 0 && p[0] == 0;
+    }
+
+    private static int[] makeMonic(int[] p) {
+        int degree = degree(p);
+        int[] result = new int[degree + 1];
+        int[] factorTable = mulTable(inverse(p[degree]));
+        for (int i = 0; i <= degree; i++) {
+            result[i] = mul(factorTable, p[i]);
+        }
+        return result;
+    }
+
+    private static int[] add(int[] a, int[] b) {
+        int[] result = Arrays.copyOf(a, Math.max(a.length, b.length));
+        for (int i = 0; i < b.length; i++) {
+            result[i] ^= b[i];
+        }
+        return result;
+    }
+
+    // f must be monic
+    private static int[] mod(int[] a, int[] f) {
+        int fDegree = degree(f);
+        int[] remainder = a.clone();
+        for (int i = degree(remainder); i >= fDegree; i--) {
+            int factor = remainder[i];
+            if (factor != 0) {
+                int[] factorTable = mulTable(factor);
+                for (int j = 0; j <= fDegree; j++) {
+                    remainder[i - fDegree + j] ^= mul(factorTable, f[j]);
+                }
+            }
+        }
+        return Arrays.copyOf(remainder, Math.max(1, Math.min(remainder.length, fDegree)));
+    }
+
+    // f must be monic and a must have a lower degree than f. Squaring is linear in characteristic 2.
+    private static int[] squareMod(int[] a, int[] f) {
+        int[] square = new int[Math.max(1, 2 * a.length - 1)];
+        for (int i = 0; i < a.length; i++) {
+            square[2 * i] = mul(a[i], a[i]);
+        }
+        return mod(square, f);
+    }
+
+    // b must be monic, the remainder is expected to be 0
+    private static int[] divide(int[] a, int[] b) {
+        int bDegree = degree(b);
+        int[] remainder = a.clone();
+        int aDegree = degree(a);
+        int[] quotient = new int[aDegree - bDegree + 1];
+        for (int i = aDegree; i >= bDegree; i--) {
+            int factor = remainder[i];
+            if (factor != 0) {
+                quotient[i - bDegree] = factor;
+                int[] factorTable = mulTable(factor);
+                for (int j = 0; j <= bDegree; j++) {
+                    remainder[i - bDegree + j] ^= mul(factorTable, b[j]);
+                }
+            }
+        }
+        return quotient;
+    }
+
+    private static int[] gcd(int[] a, int[] b) {
+        int[] x = trim(a);
+        int[] y = trim(b);
+        while (!isZero(y)) {
+            int[] remainder = trim(mod(x, makeMonic(y)));
+            x = y;
+            y = remainder;
+        }
+        return x;
+    }
+
+
+    /* --------------------------------------------------------------------- */
+    // GF(2^32) arithmetic
+    /* --------------------------------------------------------------------- */
+
+    static int mul(int a, int b) {
+        long x = a & 0xFFFFFFFFL;
+        long product = 0;
+        for (int i = 0; i < 32; i++) {
+            product ^= x * ((b >>> i) & 1) << i;
+        }
+        return reduce(product);
+    }
+
+    // Table of the products of a with all 4 bit values at each of the 8 nibble positions. Speeds up repeated
+    // multiplications with the same factor to 8 lookups.
+    private static int[] mulTable(int a) {
+        int[] table = new int[128];
+        table[1] = a;
+        table[2] = reduce((table[1] & 0xFFFFFFFFL) << 1);
+        table[4] = reduce((table[2] & 0xFFFFFFFFL) << 1);
+        table[8] = reduce((table[4] & 0xFFFFFFFFL) << 1);
+        for (int i = 3; i < 16; i++) {
+            if (Integer.bitCount(i) > 1) {
+                table[i] = table[i & 1] ^ table[i & 2] ^ table[i & 4] ^ table[i & 8];
+            }
+        }
+        for (int i = 16; i < 128; i++) {
+            table[i] = reduce((table[i - 16] & 0xFFFFFFFFL) << 4);
+        }
+        return table;
+    }
+
+    private static int mul(int[] table, int b) {
+        return table[b & 0xF] ^
+                table[16 + ((b >>> 4) & 0xF)] ^
+                table[32 + ((b >>> 8) & 0xF)] ^
+                table[48 + ((b >>> 12) & 0xF)] ^
+                table[64 + ((b >>> 16) & 0xF)] ^
+                table[80 + ((b >>> 20) & 0xF)] ^
+                table[96 + ((b >>> 24) & 0xF)] ^
+                table[112 + (b >>> 28)];
+    }
+
+    // Reduction modulo the irreducible polynomial x^32 + x^7 + x^3 + x^2 + 1
+    private static int reduce(long product) {
+        long high = product >>> 32;
+        while (high != 0) {
+            product = (product & 0xFFFFFFFFL) ^ (high << 7) ^ (high << 3) ^ (high << 2) ^ high;
+            high = product >>> 32;
+        }
+        return (int) product;
+    }
+
+    // a^(2^32 - 2)
+    static int inverse(int a) {
+        checkArgument(a != 0, "0 has no inverse");
+        int result = 1;
+        int base = a;
+        // exponent 2^32 - 2 has all bits set except the lowest one
+        base = mul(base, base);
+        for (int i = 1; i < 32; i++) {
+            result = mul(result, base);
+            base = mul(base, base);
+        }
+        return result;
+    }
+}
@@ -20,6 +20,7 @@ package bisq.network.p2p.services.data.storage;
 import bisq.common.data.ByteArray;
 import bisq.common.observable.collection.ObservableSet;
 import bisq.network.p2p.services.data.DataRequest;
+import bisq.network.p2p.services.data.RemoveDataRequest;
 import bisq.network.p2p.services.data.storage.append.AddAppendOnlyDataRequest;
 import bisq.network.p2p.services.data.storage.auth.AddAuthenticatedDataRequest;
 import bisq.network.p2p.services.data.storage.auth.RefreshAuthenticatedDataRequest;
@@ -35,13 +36,38 @@ import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
+/**
+ * Persists the changes of the store as records in an append log instead of writing the whole store at each persist
+ * call. Once the log has more records than the store has entries, the store gets written as a new snapshot and the
+ * log gets deleted (compaction). At startup the log is replayed on top of the snapshot.
+ * <p>
+ * Threading: Messages from different connections are dispatched on different threads, so the same key can be
+ * mutated concurrently. Mutations of a key are serialized by its key lock. Listener notifications are queued while
+ * holding the key lock and delivered after it got released, thus listeners are notified in the order in which the
+ * changes of a key have been applied, but not necessarily on the thread which applied the change, and not while
+ * holding any lock of the store. Listeners must not block, as they delay the notifications of other keys sharing the
+ * same key lock.
+ */
 @Slf4j
 public abstract class DataStorageService<T extends DataRequest> extends RateLimitedPersistenceClient<DataStore<T>> {
     public static final String STORE_POST_FIX = "Store";
+    private static final int MIN_RECORDS_FOR_COMPACTION = 1000;
+    private static final int NUM_KEY_LOCKS = 64;
 
     @Getter
     protected final Persistence<DataStore<T>> persistence;
@@ -54,6 +80,24 @@ public abstract class DataStorageService<T extends DataRequest> extends RateLimi
     @Getter
     protected final ObservableSet<DataRequest> prunedAndExpiredDataRequests = new ObservableSet<>();
     protected Optional<Integer> maxMapSize = Optional.empty();
+    private final DataStoreAppendLog<T> appendLog;
+    // State represented by the snapshot and the append log. Only accessed from the persistence lane of the store.
+    private final Map<ByteArray, T> persistedMap = new HashMap<>();
+    // Mutations are serialized per key, so writers of unrelated keys do not contend. The map itself is a
+    // ConcurrentHashMap, thus reads do not need a lock.
+    private final KeyLock[] keyLocks = new KeyLock[NUM_KEY_LOCKS];
+    // Number of entries in the map. New keys reserve their slot with a compareAndSet before they get added, so that
+    // concurrent writers of different keys cannot exceed the max. map size.
+    private final AtomicInteger numEntries = new AtomicInteger();
+    // Number of entries per class name of the stored data, including remove requests
+    private final Map<String, AtomicInteger> numEntriesByClassName = new ConcurrentHashMap<>();
+    private final AtomicInteger numRemoveDataRequests = new AtomicInteger();
+    // All entries of a store are of the same data type, so we resolve the class name only once
+    private volatile String dataClassName;
+    private volatile int lastLoggedSizeInThousands;
+    // Accumulated serialized size of the keys and values in the map. Maintained at each put and remove, so that
+    // the network load calculation does not need to serialize the whole store.
+    private final AtomicLong serializedSize = new AtomicLong();
 
     public DataStorageService(PersistenceService persistenceService, String storeName, String storeKey) {
         super();
@@ -67,11 +111,36 @@ public abstract class DataStorageService<T extends DataRequest> extends RateLimi
                 storageFileName,
                 persistableStore,
                 MaxBackupSize.from(dbSubDirectory));
+        appendLog = new DataStoreAppendLog<>(persistence.getStorePath());
+        for (int i = 0; i < keyLocks.length; i++) {
+            keyLocks[i] = new KeyLock();
+        }
     }
 
     public void shutdown() {
     }
 
+    @Override
+    public CompletableFuture<Optional<DataStore<T>>> readPersisted() {
+        return persistence.readAsync()
+                .thenCompose(snapshot -> persistence.supplyAsync(() -> replayAppendLog(snapshot)))
+                .whenComplete((result, throwable) -> {
+                    if (result != null) {
+                        result.ifPresent(persisted -> {
+                            persisted = prunePersisted(persisted);
+                            persistableStore.applyPersisted(persisted);
+                            recalculateSizes();
+                            onPersistedApplied(persisted);
+                        });
+                    }
+                });
+    }
+
+    @Override
+    protected CompletableFuture<Void> write() {
+        return persistence.runAsync(this::appendChangesToLog);
+    }
+
     @Override
     public DataStore<T> prunePersisted(DataStore<T> persisted) {
         Map<ByteArray, T> map = persisted.getMap();
@@ -79,16 +148,21 @@ public abstract class DataStorageService<T extends DataRequest> extends RateLimi
             return persisted;
         }
 
+        // We remove expired entries in place and only sort if we exceed the max size, which is rarely the case.
+        map.entrySet().removeIf(entry -> {
+            T dataRequest = entry.getValue();
+            boolean isExpired = dataRequest.isExpired();
+            if (isExpired) {
+                prunedAndExpiredDataRequests.add(dataRequest);
+            }
+            return isExpired;
+        });
         int maxSize = getMaxMapSize();
+        if (map.size() <= maxSize) {
+            return persisted;
+        }
+
         Map<ByteArray, T> pruned = map.entrySet().stream()
-                .filter(entry -> {
-                    T dataRequest = entry.getValue();
-                    boolean isExpired = dataRequest.isExpired();
-                    if (isExpired) {
-                        prunedAndExpiredDataRequests.add(dataRequest);
-                    }
-                    return !isExpired;
-                })
                 .sorted((o1, o2) -> Long.compare(o2.getValue().getCreated(), o1.getValue().getCreated()))
                 .limit(maxSize)
                 .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
@@ -97,6 +171,70 @@ public abstract class DataStorageService<T extends DataRequest> extends RateLimi
         return persisted;
     }
 
+    private Optional<DataStore<T>> replayAppendLog(Optional<DataStore<T>> snapshot) {
+        DataStore<T> dataStore = snapshot.orElseGet(DataStore::new);
+        if (!appendLog.exists()) {
+            persistedMap.putAll(dataStore.getMap());
+            return snapshot;
+        }
+
+        int numRecords = appendLog.replay(dataStore.getMap());
+        log.info("Replayed {} records from {}", numRecords, appendLog.getLogFilePath());
+        persistedMap.clear();
+        persistedMap.putAll(dataStore.getMap());
+        // We start with a fresh snapshot to keep the startup time low and to get rid of any incomplete record
+        compact();
+        return Optional.of(dataStore);
+    }
+
+    // We detect changes by comparing the references of the values, as DataRequests are immutable and updates
+    // replace the value in the map.
+    private void appendChangesToLog() {
+        Map<ByteArray, T> map = persistableStore.getMap();
+        List<bisq.network.protobuf.DataStore.MapEntry> records = new ArrayList<>();
+        Map<ByteArray, T> changed = new HashMap<>();
+        map.forEach((key, value) -> {
+            if (persistedMap.get(key) != value) {
+                changed.put(key, value);
+                records.add(bisq.network.protobuf.DataStore.MapEntry.newBuilder()
+                        .setKey(key.toProto(false))
+                        .setValue(value.toProto(false).getDataRequest())
+                        .build());
+            }
+        });
+        List<ByteArray> removed = new ArrayList<>();
+        persistedMap.keySet().forEach(key -> {
+            if (!map.containsKey(key)) {
+                removed.add(key);
+                records.add(bisq.network.protobuf.DataStore.MapEntry.newBuilder()
+                        .setKey(key.toProto(false))
+                        .build());
+            }
+        });
+
+        try {
+            appendLog.append(records);
+        } catch (IOException e) {
+            // We leave persistedMap untouched, thus the same changes get appended again at the next write.
+            log.error("Could not append to {}. We retry at the next write.", appendLog.getLogFilePath(), e);
+            return;
+        }
+        persistedMap.putAll(changed);
+        removed.forEach(persistedMap::remove);
+
+        if (appendLog.getNumRecords() > Math.max(MIN_RECORDS_FOR_COMPACTION, persistedMap.size())) {
+            compact();
+        }
+    }
+
+    private void compact() {
+        if (persistence.persist(new DataStore<>(persistedMap))) {
+            appendLog.delete();
+        } else {
+            log.warn("Could not write snapshot of {}. We keep the append log.", appendLog.getLogFilePath());
+        }
+    }
+
     protected int getMaxMapSize() {
         if (maxMapSize.isEmpty()) {
             int size = persistableStore.getMap().values().stream()
@@ -109,52 +247,216 @@ public abstract class DataStorageService<T extends DataRequest> extends RateLimi
         return maxMapSize.get();
     }
 
-    protected boolean isExceedingMapSize() {
-        int size = persistableStore.getMap().size();
-        boolean isExceeding = size > getMaxMapSize();
-        if (isExceeding) {
-            String className = persistableStore.getMap().values().stream()
-                    .findFirst()
-                    .map(dataRequest -> {
-                        if (dataRequest instanceof AddAuthenticatedDataRequest addRequest) {
-                            return addRequest.getDistributedData().getClass().getSimpleName();
-                        } else if (dataRequest instanceof RemoveAuthenticatedDataRequest removeRequest) {
-                            return removeRequest.getClassName();
-                        } else if (dataRequest instanceof RefreshAuthenticatedDataRequest request) {
-                            return request.getClassName();
-                        } else if (dataRequest instanceof AddAppendOnlyDataRequest addRequest) {
-                            return addRequest.getAppendOnlyData().getClass().getSimpleName();
-                        } else if (dataRequest instanceof AddMailboxRequest addRequest) {
-                            return addRequest.getMailboxSequentialData().getMailboxData().getClassName();
-                        } else if (dataRequest instanceof RemoveMailboxRequest removeRequest) {
-                            return removeRequest.getClassName();
-                        }
-                        return "N/A";
-                    }).orElse("N/A");
-            log.warn("Max. map size reached for {}. map.size()={}, getMaxMapSize={}",
-                    className, size, getMaxMapSize());
+    /**
+     * @return The serialized size of all entries in the store.
+     */
+    public long getSerializedSize() {
+        return serializedSize.get();
+    }
+
+    public int getNumEntries() {
+        return numEntries.get();
+    }
+
+    /**
+     * @return Snapshot of the number of entries per class name of the stored data.
+     */
+    public Map<String, Integer> getNumEntriesByClassName() {
+        Map<String, Integer> result = new HashMap<>();
+        numEntriesByClassName.forEach((className, numEntries) -> {
+            int value = numEntries.get();
+            if (value > 0) {
+                result.put(className, value);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * @return The number of entries which are remove requests.
+     */
+    public int getNumRemoveDataRequests() {
+        return numRemoveDataRequests.get();
+    }
+
+    /**
+     * All mutations of single entries of the map must use tryPutEntry, putEntry and removeEntry to keep the size
+     * ledgers in sync. Must be called while holding the key lock of the given key.
+     */
+    protected T putEntry(ByteArray key, T dataRequest) {
+        T previous = persistableStore.getMap().put(key, dataRequest);
+        if (previous == null) {
+            numEntries.incrementAndGet();
+        }
+        onEntryChanged(key, previous, dataRequest);
+        return previous;
+    }
+
+    /**
+     * Adds or replaces the entry if the max. map size is not reached. Replacing an existing entry does not need a new
+     * slot. Must be called while holding the key lock of the given key, so that the key cannot get added concurrently.
+     *
+     * @return false if the entry was not added as the max. map size is reached.
+     */
+    protected boolean tryPutEntry(ByteArray key, T dataRequest) {
+        Map<ByteArray, T> map = persistableStore.getMap();
+        if (map.containsKey(key)) {
+            putEntry(key, dataRequest);
+            return true;
+        }
+        if (!tryReserveSlot()) {
+            return false;
+        }
+        map.put(key, dataRequest);
+        onEntryChanged(key, null, dataRequest);
+        return true;
+    }
+
+    /**
+     * Must be called while holding the key lock of the given key.
+     */
+    protected T removeEntry(ByteArray key) {
+        T previous = persistableStore.getMap().remove(key);
+        if (previous != null) {
+            numEntries.decrementAndGet();
+            onEntryChanged(key, previous, null);
+        }
+        return previous;
+    }
+
+    /**
+     * Needs to be called after bulk changes of the map.
+     */
+    public void recalculateSizes() {
+        Map<ByteArray, T> map = persistableStore.getMap();
+        numEntries.set(map.size());
+        numEntriesByClassName.clear();
+        numRemoveDataRequests.set(0);
+        serializedSize.set(0);
+        map.forEach((key, dataRequest) -> onEntryChanged(key, null, dataRequest));
+    }
+
+    /**
+     * @return The lock to be used for check-then-act sequences on the entry with the given key.
+     */
+    protected Object getKeyLock(ByteArray key) {
+        return findKeyLock(key);
+    }
+
+    /**
+     * Queues a listener notification about a change of the entry with the given key. Must be called while holding
+     * the key lock, so that the notifications are queued in the order of the changes.
+     */
+    protected void queueNotification(ByteArray key, Runnable notification) {
+        findKeyLock(key).pendingNotifications.add(notification);
+    }
+
+    /**
+     * Delivers the queued notifications of the key lock of the given key. Must be called after releasing the key lock.
+     * Only one thread delivers the notifications of a key lock at a time. If another thread is delivering already, it
+     * also delivers the notifications we have queued, and we return without waiting for it.
+     */
+    protected void deliverNotifications(ByteArray key) {
+        KeyLock keyLock = findKeyLock(key);
+        // We check the queue again after resetting isDelivering, as a notification might have been queued after our
+        // last poll by a thread which still saw isDelivering set.
+        while (!keyLock.pendingNotifications.isEmpty() && keyLock.isDelivering.compareAndSet(false, true)) {
+            try {
+                Runnable notification;
+                while ((notification = keyLock.pendingNotifications.poll()) != null) {
+                    try {
+                        notification.run();
+                    } catch (Exception e) {
+                        log.error("Delivering notification for {} failed", getStoreKey(), e);
+                    }
+                }
+            } finally {
+                keyLock.isDelivering.set(false);
+            }
         }
+    }
+
+    private boolean tryReserveSlot() {
+        int maxMapSize = getMaxMapSize();
+        int size;
+        do {
+            size = numEntries.get();
+            if (size >= maxMapSize) {
+                log.warn("Max. map size reached for {}. numEntries={}, getMaxMapSize={}",
+                        getDataClassName(), size, maxMapSize);
+                return false;
+            }
+        } while (!numEntries.compareAndSet(size, size + 1));
+
+        size++;
         if (size > 20_000) {
-            String className = persistableStore.getMap().values().stream()
+            // We only log when the size has changed by 1000 entries, as we get called at each add
+            int sizeInThousands = size / 1000;
+            if (sizeInThousands != lastLoggedSizeInThousands) {
+                lastLoggedSizeInThousands = sizeInThousands;
+                log.info("Map size for {} reached > 20 000 entries. numEntries={}", getDataClassName(), size);
+            }
+        }
+        return true;
+    }
+
+    private void onEntryChanged(ByteArray key, T previous, T current) {
+        long delta = 0;
+        if (previous != null) {
+            delta -= getEntrySize(key, previous);
+            numEntriesByClassName.computeIfAbsent(getClassName(previous), className -> new AtomicInteger()).decrementAndGet();
+            if (previous instanceof RemoveDataRequest) {
+                numRemoveDataRequests.decrementAndGet();
+            }
+        }
+        if (current != null) {
+            delta += getEntrySize(key, current);
+            numEntriesByClassName.computeIfAbsent(getClassName(current), className -> new AtomicInteger()).incrementAndGet();
+            if (current instanceof RemoveDataRequest) {
+                numRemoveDataRequests.incrementAndGet();
+            }
+        }
+        serializedSize.addAndGet(delta);
+    }
+
+    private String getDataClassName() {
+        if (dataClassName == null) {
+            persistableStore.getMap().values().stream()
                     .findFirst()
-                    .map(dataRequest -> {
-                        if (dataRequest instanceof AddAuthenticatedDataRequest addRequest) {
-                            return addRequest.getDistributedData().getClass().getSimpleName();
-                        } else if (dataRequest instanceof RemoveAuthenticatedDataRequest removeRequest) {
-                            return removeRequest.getClassName();
-                        } else if (dataRequest instanceof RefreshAuthenticatedDataRequest request) {
-                            return request.getClassName();
-                        } else if (dataRequest instanceof AddAppendOnlyDataRequest addRequest) {
-                            return addRequest.getAppendOnlyData().getClass().getSimpleName();
-                        } else if (dataRequest instanceof AddMailboxRequest addRequest) {
-                            return addRequest.getMailboxSequentialData().getMailboxData().getClassName();
-                        } else if (dataRequest instanceof RemoveMailboxRequest removeRequest) {
-                            return removeRequest.getClassName();
-                        }
-                        return "N/A";
-                    }).orElse("N/A");
-            log.info("Map size for {} reached > 20 000 entries. map.size()={}", className, size);
-        }
-        return isExceeding;
+                    .map(DataStorageService::getClassName)
+                    .ifPresent(className -> dataClassName = className);
+        }
+        return dataClassName != null ? dataClassName : "N/A";
+    }
+
+    private KeyLock findKeyLock(ByteArray key) {
+        int hash = key.hashCode();
+        return keyLocks[Math.floorMod(hash ^ (hash >>> 16), keyLocks.length)];
+    }
+
+    private static final class KeyLock {
+        private final Queue<Runnable> pendingNotifications = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean isDelivering = new AtomicBoolean();
+    }
+
+    private static long getEntrySize(ByteArray key, DataRequest dataRequest) {
+        return key.getBytes().length + dataRequest.getSerializedSize();
+    }
+
+    private static String getClassName(DataRequest dataRequest) {
+        if (dataRequest instanceof AddAuthenticatedDataRequest addRequest) {
+            return addRequest.getDistributedData().getClass().getSimpleName();
+        } else if (dataRequest instanceof RemoveAuthenticatedDataRequest removeRequest) {
+            return removeRequest.getClassName();
+        } else if (dataRequest instanceof RefreshAuthenticatedDataRequest request) {
+            return request.getClassName();
+        } else if (dataRequest instanceof AddAppendOnlyDataRequest addRequest) {
+            return addRequest.getAppendOnlyData().getClass().getSimpleName();
+        } else if (dataRequest instanceof AddMailboxRequest addRequest) {
+            return addRequest.getMailboxSequentialData().getMailboxData().getClassName();
+        } else if (dataRequest instanceof RemoveMailboxRequest removeRequest) {
+            return removeRequest.getClassName();
+        }
+        return "N/A";
     }
 }
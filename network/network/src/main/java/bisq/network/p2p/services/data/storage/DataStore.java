@@ -32,10 +32,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @ToString
 public final class DataStore<T extends DataRequest> implements PersistableStore<DataStore<T>> {
+    private static final int PARALLEL_RESOLVE_THRESHOLD = 1000;
+
     @Getter
     private final Map<ByteArray, T> map = new ConcurrentHashMap<>();
 
@@ -64,7 +67,13 @@ public final class DataStore<T extends DataRequest> implements PersistableStore<
     }
 
     public static PersistableStore<?> fromProto(bisq.network.protobuf.DataStore proto) {
-        return new DataStore<>(proto.getMapEntriesList().stream()
+        List<bisq.network.protobuf.DataStore.MapEntry> mapEntries = proto.getMapEntriesList();
+        // Resolving the DataRequests (e.g. decoding public keys) dominates the time for reading large stores at
+        // startup, thus we resolve large stores in parallel.
+        Stream<bisq.network.protobuf.DataStore.MapEntry> stream = mapEntries.size() > PARALLEL_RESOLVE_THRESHOLD
+                ? mapEntries.parallelStream()
+                : mapEntries.stream();
+        return new DataStore<>(stream
                 .collect(Collectors.toMap(e -> ByteArray.fromProto(e.getKey()), e -> DataRequest.fromProto(e.getValue()))));
     }
 
@@ -0,0 +1,143 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.services.data.storage;
+
+import bisq.common.data.ByteArray;
+import bisq.network.p2p.services.data.DataRequest;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Log of the changes of a DataStore since its last snapshot. Each record is a length-delimited DataStore.MapEntry.
+ * A record without value represents a removed entry.
+ * Replaying the log on top of the snapshot results in the persisted state. As each record carries the full state of
+ * its entry, replaying records which are already contained in the snapshot does not change the result. Thus, a crash
+ * between writing the snapshot and deleting the log is not an issue.
+ * <p>
+ * Not thread safe. Must only be accessed from the persistence lane of the store.
+ */
+@Slf4j
+final class DataStoreAppendLog<T extends DataRequest> {
+    static final String EXTENSION = ".log";
+
+    @Getter
+    private final Path logFilePath;
+    @Getter
+    private int numRecords;
+
+    DataStoreAppendLog(Path storePath) {
+        logFilePath = storePath.resolveSibling(storePath.getFileName() + EXTENSION);
+    }
+
+    void append(List<bisq.network.protobuf.DataStore.MapEntry> records) throws IOException {
+        if (records.isEmpty()) {
+            return;
+        }
+        Files.createDirectories(logFilePath.getParent());
+        try (FileChannel fileChannel = FileChannel.open(logFilePath, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            long size = fileChannel.size();
+            fileChannel.position(size);
+            try {
+                OutputStream outputStream = new BufferedOutputStream(Channels.newOutputStream(fileChannel));
+                for (bisq.network.protobuf.DataStore.MapEntry record : records) {
+                    record.writeDelimitedTo(outputStream);
+                }
+                outputStream.flush();
+            } catch (IOException e) {
+                // We cut off the partially written records, so that a retry does not leave an incomplete record
+                // in the middle of the log.
+                try {
+                    fileChannel.truncate(size);
+                } catch (IOException truncateException) {
+                    log.error("Could not truncate {}", logFilePath, truncateException);
+                }
+                throw e;
+            }
+        }
+        numRecords += records.size();
+    }
+
+    /**
+     * Applies all records of the log to the given map. An incomplete last record (e.g. caused by a crash while
+     * appending) and records which cannot be resolved are skipped.
+     *
+     * @return The number of records in the log
+     */
+    int replay(Map<ByteArray, T> map) {
+        numRecords = 0;
+        if (!Files.exists(logFilePath)) {
+            return 0;
+        }
+        try (InputStream inputStream = new BufferedInputStream(new FileInputStream(logFilePath.toFile()))) {
+            while (true) {
+                bisq.network.protobuf.DataStore.MapEntry record;
+                try {
+                    record = bisq.network.protobuf.DataStore.MapEntry.parseDelimitedFrom(inputStream);
+                } catch (IOException e) {
+                    log.warn("Could not parse record at {}. We ignore the remaining data. {}", logFilePath, e.getMessage());
+                    break;
+                }
+                if (record == null) {
+                    break;
+                }
+                numRecords++;
+                try {
+                    ByteArray key = ByteArray.fromProto(record.getKey());
+                    if (record.hasValue()) {
+                        //noinspection unchecked
+                        map.put(key, (T) DataRequest.fromProto(record.getValue()));
+                    } else {
+                        map.remove(key);
+                    }
+                } catch (Exception e) {
+                    log.warn("Could not resolve record at {}. We skip that record. {}", logFilePath, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            log.error("Could not read {}", logFilePath, e);
+        }
+        return numRecords;
+    }
+
+    boolean exists() {
+        return Files.exists(logFilePath);
+    }
+
+    void delete() {
+        try {
+            Files.deleteIfExists(logFilePath);
+        } catch (IOException e) {
+            log.error("Could not delete {}", logFilePath, e);
+        }
+        numRecords = 0;
+    }
+}
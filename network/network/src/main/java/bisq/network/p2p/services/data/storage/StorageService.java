@@ -336,7 +336,7 @@ public class StorageService {
 
     public long getNetworkDatabaseSize() {
         return getStoresByStoreType(ALL)
-                .mapToLong(store -> store.getPersistableStore().getSerializedSize())
+                .mapToLong(DataStorageService::getSerializedSize)
                 .sum();
     }
 
@@ -499,6 +499,7 @@ public class StorageService {
             log.info("cleanupMap for {}: size of cleaned map {}; size of original map={}", storeKey, cleaned.size(), map.size());
             map.clear();
             map.putAll(cleaned);
+            authenticatedDataStorageService.recalculateSizes();
             authenticatedDataStorageService.persist();
         } catch (Exception e) {
             e.printStackTrace();
@@ -40,7 +40,6 @@ public class AppendOnlyDataStorageService extends DataStorageService<AddAppendOn
     }
 
     private final Set<Listener> listeners = new CopyOnWriteArraySet<>();
-    private final Object mapAccessLock = new Object();
 
     public AppendOnlyDataStorageService(PersistenceService persistenceService, String storeName, String storeKey) {
         super(persistenceService, storeName, storeKey);
@@ -61,27 +60,26 @@ public class AppendOnlyDataStorageService extends DataStorageService<AddAppendOn
     public DataStorageResult add(AddAppendOnlyDataRequest addAppendOnlyDataRequest) {
         AppendOnlyData appendOnlyData = addAppendOnlyDataRequest.getAppendOnlyData();
         Map<ByteArray, AddAppendOnlyDataRequest> map = persistableStore.getMap();
-        synchronized (mapAccessLock) {
-            if (isExceedingMapSize()) {
-                return new DataStorageResult(false).maxMapSizeReached();
-            }
-
-            byte[] hash = DigestUtil.hash(appendOnlyData.serializeForHash());
-            ByteArray byteArray = new ByteArray(hash);
+        byte[] hash = DigestUtil.hash(appendOnlyData.serializeForHash());
+        ByteArray byteArray = new ByteArray(hash);
+        synchronized (getKeyLock(byteArray)) {
             if (map.containsKey(byteArray)) {
                 return new DataStorageResult(false).payloadAlreadyStored();
             }
 
-            map.put(byteArray, addAppendOnlyDataRequest);
+            if (!tryPutEntry(byteArray, addAppendOnlyDataRequest)) {
+                return new DataStorageResult(false).maxMapSizeReached();
+            }
+            queueNotification(byteArray, () -> listeners.forEach(listener -> {
+                try {
+                    listener.onAppended(appendOnlyData);
+                } catch (Exception e) {
+                    log.error("Calling onAppended at listener {} failed", listener, e);
+                }
+            }));
         }
         persist();
-        listeners.forEach(listener -> {
-            try {
-                listener.onAppended(appendOnlyData);
-            } catch (Exception e) {
-                log.error("Calling onAppended at listener {} failed", listener, e);
-            }
-        });
+        deliverNotifications(byteArray);
         return new DataStorageResult(true);
     }
 
@@ -18,6 +18,8 @@
 package bisq.network.p2p.services.data.storage.auth;
 
 import bisq.common.encoding.Hex;
+import bisq.common.proto.CachedNetworkProto;
+import bisq.common.proto.ProtoCache;
 import bisq.common.util.MathUtils;
 import bisq.common.validation.NetworkDataValidation;
 import bisq.network.p2p.services.data.AddDataRequest;
@@ -44,13 +46,13 @@ import java.util.Optional;
  */
 @EqualsAndHashCode
 @Slf4j
-public final class AddAuthenticatedDataRequest implements AuthenticatedDataRequest, AddDataRequest {
+public final class AddAuthenticatedDataRequest implements AuthenticatedDataRequest, AddDataRequest, CachedNetworkProto {
     public static AddAuthenticatedDataRequest from(AuthenticatedDataStorageService store,
                                                    AuthenticatedData authenticatedData,
                                                    KeyPair keyPair)
             throws GeneralSecurityException {
 
-        byte[] hashForStoreMap = DigestUtil.hash(authenticatedData.serializeForHash());
+        byte[] hashForStoreMap = authenticatedData.getHash();
         byte[] pubKeyHash = DigestUtil.hash(keyPair.getPublic().getEncoded());
         int sequenceNumber = store.getSequenceNumber(hashForStoreMap) + 1;
         AuthenticatedSequentialData data = new AuthenticatedSequentialData(authenticatedData, sequenceNumber, pubKeyHash, System.currentTimeMillis());
@@ -74,6 +76,11 @@ public final class AddAuthenticatedDataRequest implements AuthenticatedDataReque
     private final byte[] ownerPublicKeyBytes;
     // transient fields are excluded by default for EqualsAndHashCode
     private transient final PublicKey ownerPublicKey;
+    @Getter
+    private transient final ProtoCache protoCache = new ProtoCache();
+    // Result of the signature verification. Set once verified, so we do not verify again when the request gets
+    // processed after a pre-verification outside the storage lock.
+    private transient volatile Boolean signatureInvalid;
 
     public AddAuthenticatedDataRequest(AuthenticatedSequentialData authenticatedSequentialData,
                                        byte[] signature,
@@ -147,18 +154,29 @@ public final class AddAuthenticatedDataRequest implements AuthenticatedDataReque
     }
 
     public boolean isSignatureInvalid() {
+        if (signatureInvalid == null) {
+            signatureInvalid = verifySignature();
+        }
+        return signatureInvalid;
+    }
+
+    boolean isSignatureVerified() {
+        return signatureInvalid != null;
+    }
+
+    public boolean isPublicKeyInvalid() {
         try {
-            return !SignatureUtil.verify(authenticatedSequentialData.serializeForHash(), signature, getOwnerPublicKey());
+            return !Arrays.equals(authenticatedSequentialData.getPubKeyHash(), DigestUtil.hash(ownerPublicKeyBytes));
         } catch (Exception e) {
-            log.warn(e.toString(), e);
             return true;
         }
     }
 
-    public boolean isPublicKeyInvalid() {
+    private boolean verifySignature() {
         try {
-            return !Arrays.equals(authenticatedSequentialData.getPubKeyHash(), DigestUtil.hash(ownerPublicKeyBytes));
+            return !SignatureUtil.verify(authenticatedSequentialData.serializeForHash(), signature, getOwnerPublicKey());
         } catch (Exception e) {
+            log.warn(e.toString(), e);
             return true;
         }
     }
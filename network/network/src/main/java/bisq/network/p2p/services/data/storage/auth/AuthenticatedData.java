@@ -17,11 +17,14 @@
 
 package bisq.network.p2p.services.data.storage.auth;
 
+import bisq.common.proto.CachedNetworkProto;
+import bisq.common.proto.ProtoCache;
 import bisq.common.proto.UnresolvableProtobufMessageException;
 import bisq.network.p2p.services.data.storage.DistributedData;
 import bisq.network.p2p.services.data.storage.MetaData;
 import bisq.network.p2p.services.data.storage.StorageData;
 import bisq.network.p2p.services.data.storage.auth.authorized.AuthorizedData;
+import bisq.security.DigestUtil;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
@@ -32,9 +35,12 @@ import lombok.extern.slf4j.Slf4j;
  */
 @Slf4j
 @EqualsAndHashCode
-public abstract class AuthenticatedData implements StorageData {
+public abstract class AuthenticatedData implements StorageData, CachedNetworkProto {
     @Getter
     protected final DistributedData distributedData;
+    // transient fields are excluded by default for EqualsAndHashCode
+    @Getter
+    private transient final ProtoCache protoCache = new ProtoCache();
 
     public AuthenticatedData(DistributedData distributedData) {
         this.distributedData = distributedData;
@@ -56,6 +62,13 @@ public abstract class AuthenticatedData implements StorageData {
         };
     }
 
+    /**
+     * @return The hash used as key in the storage map.
+     */
+    public byte[] getHash() {
+        return protoCache.getHash(() -> DigestUtil.hash(serializeForHash()));
+    }
+
     // We delegate the delivery of MetaData to the distributedData.
     @Override
     public MetaData getMetaData() {
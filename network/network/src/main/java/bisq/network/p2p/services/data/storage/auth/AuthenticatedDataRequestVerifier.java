@@ -0,0 +1,137 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package bisq.network.p2p.services.data.storage.auth;
+
+import bisq.common.platform.PlatformUtils;
+import bisq.common.threading.ExecutorFactory;
+import bisq.network.p2p.services.data.DataRequest;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Verifies the signatures of authenticated data requests outside the lock of the AuthenticatedDataStorageService.
+ * The result is memoized at the request, so the later check inside the lock does not verify again.
+ * Batches like the entries of an inventory response are verified in parallel as signature verification is CPU bound
+ * and independent per request.
+ */
+@Slf4j
+public final class AuthenticatedDataRequestVerifier {
+    private static final int NUM_THREADS = Math.max(1, PlatformUtils.availableProcessors() - 1);
+    // Below that size the overhead of distributing the work is higher than the gain
+    private static final int MIN_BATCH_SIZE_FOR_PARALLEL = 16;
+    private static final ExecutorService EXECUTOR = ExecutorFactory.newFixedThreadPool("AuthenticatedDataVerifier", NUM_THREADS);
+    private static final Map<String, Metrics> METRICS_BY_DATA_TYPE = new ConcurrentHashMap<>();
+
+    @Getter
+    public static final class Metrics {
+        private final LongAdder numVerifications = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+
+        public long getAverageNanos() {
+            long num = numVerifications.sum();
+            return num == 0 ? 0 : totalNanos.sum() / num;
+        }
+
+        @Override
+        public String toString() {
+            return "numVerifications=" + numVerifications.sum() + ", averageNanos=" + getAverageNanos();
+        }
+    }
+
+    private AuthenticatedDataRequestVerifier() {
+    }
+
+    /**
+     * @return The verification result as in the requests isSignatureInvalid method. Other requests than
+     * Add-, Remove- or RefreshAuthenticatedDataRequests are ignored and return false.
+     */
+    public static boolean isSignatureInvalid(DataRequest dataRequest) {
+        if (dataRequest instanceof AddAuthenticatedDataRequest request) {
+            String dataType = request.getAuthenticatedSequentialData().getAuthenticatedData().getClassName();
+            return isSignatureInvalid(dataType, request.isSignatureVerified(), request::isSignatureInvalid);
+        } else if (dataRequest instanceof RemoveAuthenticatedDataRequest request) {
+            return isSignatureInvalid(request.getClassName(), request.isSignatureVerified(), request::isSignatureInvalid);
+        } else if (dataRequest instanceof RefreshAuthenticatedDataRequest request) {
+            return isSignatureInvalid(request.getClassName(), request.isSignatureVerified(), request::isSignatureInvalid);
+        } else {
+            return false;
+        }
+    }
+
+    /**
+     * Verifies all authenticated data requests of the given collection in parallel and blocks until all are verified.
+     */
+    public static void verifyInParallel(Collection<? extends DataRequest> dataRequests) {
+        List<DataRequest> requests = dataRequests.stream()
+                .filter(AuthenticatedDataRequest.class::isInstance)
+                .collect(Collectors.toList());
+        if (requests.size() < MIN_BATCH_SIZE_FOR_PARALLEL) {
+            requests.forEach(AuthenticatedDataRequestVerifier::isSignatureInvalid);
+            return;
+        }
+
+        long ts = System.currentTimeMillis();
+        int chunkSize = (requests.size() + NUM_THREADS - 1) / NUM_THREADS;
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int from = 0; from < requests.size(); from += chunkSize) {
+            List<DataRequest> chunk = requests.subList(from, Math.min(from + chunkSize, requests.size()));
+            futures.add(CompletableFuture.runAsync(() -> chunk.forEach(AuthenticatedDataRequestVerifier::isSignatureInvalid), EXECUTOR));
+        }
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        } catch (Exception e) {
+            // Not verified requests get verified at processing
+            log.warn("Parallel verification failed", e);
+        }
+        log.info("Verified {} signatures in parallel. Took {} ms", requests.size(), System.currentTimeMillis() - ts);
+    }
+
+    public static Map<String, Metrics> getMetricsByDataType() {
+        return Map.copyOf(METRICS_BY_DATA_TYPE);
+    }
+
+
+    /* --------------------------------------------------------------------- */
+    // Private
+    /* --------------------------------------------------------------------- */
+
+    private static boolean isSignatureInvalid(String dataType, boolean isVerified, BooleanSupplier verification) {
+        if (isVerified) {
+            return verification.getAsBoolean();
+        }
+
+        long ts = System.nanoTime();
+        boolean result = verification.getAsBoolean();
+        Metrics metrics = METRICS_BY_DATA_TYPE.computeIfAbsent(dataType, key -> new Metrics());
+        metrics.numVerifications.increment();
+        metrics.totalNanos.add(System.nanoTime() - ts);
+        return result;
+    }
+}
@@ -24,7 +24,6 @@ import bisq.common.util.StringUtils;
 import bisq.network.p2p.services.data.storage.*;
 import bisq.network.p2p.services.data.storage.auth.authorized.AuthorizedData;
 import bisq.persistence.PersistenceService;
-import bisq.security.DigestUtil;
 import com.google.common.annotations.VisibleForTesting;
 import lombok.extern.slf4j.Slf4j;
 
@@ -34,12 +33,15 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import static com.google.common.base.Preconditions.checkArgument;
 
 @Slf4j
 public class AuthenticatedDataStorageService extends DataStorageService<AuthenticatedDataRequest> {
+    /**
+     * Notifications about the same data are delivered in the order in which the changes have been applied, outside
+     * any lock of the store. See DataStorageService for the threading contract.
+     */
     public interface Listener {
         void onAdded(AuthenticatedData authenticatedData);
 
@@ -50,7 +52,6 @@ public class AuthenticatedDataStorageService extends DataStorageService<Authenti
     }
 
     private final Set<Listener> listeners = new CopyOnWriteArraySet<>();
-    private final Object mapAccessLock = new Object();
 
     public AuthenticatedDataStorageService(PersistenceService persistenceService,
                                            PruneExpiredEntriesService pruneExpiredEntriesService,
@@ -78,15 +79,15 @@ public class AuthenticatedDataStorageService extends DataStorageService<Authenti
         AuthenticatedSequentialData authenticatedSequentialData = request.getAuthenticatedSequentialData();
         AuthenticatedData authenticatedData = authenticatedSequentialData.getAuthenticatedData();
         DistributedData distributedData = authenticatedData.distributedData;
-        byte[] hash = DigestUtil.hash(authenticatedData.serializeForHash());
+        byte[] hash = authenticatedData.getHash();
         ByteArray byteArray = new ByteArray(hash);
         AuthenticatedDataRequest requestFromMap;
         Map<ByteArray, AuthenticatedDataRequest> map = persistableStore.getMap();
-        synchronized (mapAccessLock) {
-            if (isExceedingMapSize()) {
-                return new DataStorageResult(false).maxMapSizeReached();
-            }
-
+        // We verify the signature outside the lock as it is the most expensive check. The result is cached at the request.
+        if (!request.equals(map.get(byteArray))) {
+            AuthenticatedDataRequestVerifier.isSignatureInvalid(request);
+        }
+        synchronized (getKeyLock(byteArray)) {
             requestFromMap = map.get(byteArray);
             if (request.equals(requestFromMap)) {
                 return new DataStorageResult(false).requestAlreadyReceived();
@@ -131,23 +132,25 @@ public class AuthenticatedDataStorageService extends DataStorageService<Authenti
                 publishDateAware.setPublishDate(authenticatedSequentialData.getCreated());
             }
 
-            map.put(byteArray, request);
+            if (!tryPutEntry(byteArray, request)) {
+                return new DataStorageResult(false).maxMapSizeReached();
+            }
 
             // In case we only updated the seq number we still want to broadcast and update the listeners.
             // It is a valid use case that we have both an add and remove data request, and we get repeated sequences
             // of add/remove events. In that case only the sequence number changes, but we still want to notify our
             // listeners.
+            queueNotification(byteArray, () -> listeners.forEach(listener -> {
+                try {
+                    listener.onAdded(authenticatedData);
+                } catch (Exception e) {
+                    log.error("Calling onAdded at listener {} failed", listener, e);
+                }
+            }));
         }
 
         persist();
-
-        listeners.forEach(listener -> {
-            try {
-                listener.onAdded(authenticatedData);
-            } catch (Exception e) {
-                log.error("Calling onAdded at listener {} failed", listener, e);
-            }
-        });
+        deliverNotifications(byteArray);
         maybeLogMapState("add success", persistableStore);
         return new DataStorageResult(true);
     }
@@ -157,13 +160,16 @@ public class AuthenticatedDataStorageService extends DataStorageService<Authenti
         ByteArray byteArray = new ByteArray(request.getHash());
         AuthenticatedData authenticatedDataFromMap;
         Map<ByteArray, AuthenticatedDataRequest> map = persistableStore.getMap();
-        synchronized (mapAccessLock) {
+        if (map.get(byteArray) instanceof AddAuthenticatedDataRequest) {
+            AuthenticatedDataRequestVerifier.isSignatureInvalid(request);
+        }
+        synchronized (getKeyLock(byteArray)) {
             AuthenticatedDataRequest requestFromMap = map.get(byteArray);
             if (requestFromMap == null) {
                 log.debug("No entry at remove. hash={}", byteArray);
                 // We don't have any entry, but it might be that we would receive later an add request, so we need to keep
                 // track of the sequence number
-                map.put(byteArray, request);
+                putEntry(byteArray, request);
                 persist();
                 return new DataStorageResult(true).noEntry();
             }
@@ -173,7 +179,7 @@ public class AuthenticatedDataStorageService extends DataStorageService<Authenti
                 // We have had the entry already removed.
                 if (!request.isSequenceNrInvalid(requestFromMap.getSequenceNumber())) {
                     // We update the map with the new request with the fresh sequence number.
-                    map.put(byteArray, request);
+                    putEntry(byteArray, request);
                     persist();
                 }
                 return new DataStorageResult(true).alreadyRemoved();
@@ -216,18 +222,18 @@ public class AuthenticatedDataStorageService extends DataStorageService<Authenti
                         metaDataFromDistributedData);
             }
 
-            map.put(byteArray, request);
+            putEntry(byteArray, request);
+            queueNotification(byteArray, () -> listeners.forEach(listener -> {
+                try {
+                    listener.onRemoved(authenticatedDataFromMap);
+                } catch (Exception e) {
+                    log.error("Calling onRemoved at listener {} failed", listener, e);
+                }
+            }));
         }
 
         persist();
-
-        listeners.forEach(listener -> {
-            try {
-                listener.onRemoved(authenticatedDataFromMap);
-            } catch (Exception e) {
-                log.error("Calling onRemoved at listener {} failed", listener, e);
-            }
-        });
+        deliverNotifications(byteArray);
         maybeLogMapState("remove success", persistableStore);
         return new DataStorageResult(true).removedData(authenticatedDataFromMap);
     }
@@ -237,7 +243,10 @@ public class AuthenticatedDataStorageService extends DataStorageService<Authenti
         ByteArray byteArray = new ByteArray(request.getHash());
         AddAuthenticatedDataRequest updatedRequest;
         Map<ByteArray, AuthenticatedDataRequest> map = persistableStore.getMap();
-        synchronized (mapAccessLock) {
+        if (map.get(byteArray) instanceof AddAuthenticatedDataRequest) {
+            AuthenticatedDataRequestVerifier.isSignatureInvalid(request);
+        }
+        synchronized (getKeyLock(byteArray)) {
             AuthenticatedDataRequest requestFromMap = map.get(byteArray);
 
             if (requestFromMap == null) {
@@ -280,17 +289,18 @@ public class AuthenticatedDataStorageService extends DataStorageService<Authenti
                     addRequestFromMap.getSignature(),
                     addRequestFromMap.getOwnerPublicKey());
 
-            map.put(byteArray, updatedRequest);
+            putEntry(byteArray, updatedRequest);
+            queueNotification(byteArray, () -> listeners.forEach(listener -> {
+                try {
+                    listener.onRefreshed(updatedRequest.getAuthenticatedSequentialData().getAuthenticatedData());
+                } catch (Exception e) {
+                    log.error("Calling onRefreshed at listener {} failed", listener, e);
+                }
+            }));
         }
 
         persist();
-        listeners.forEach(listener -> {
-            try {
-                listener.onRefreshed(updatedRequest.getAuthenticatedSequentialData().getAuthenticatedData());
-            } catch (Exception e) {
-                log.error("Calling onRefreshed at listener {} failed", listener, e);
-            }
-        });
+        deliverNotifications(byteArray);
         maybeLogMapState("refresh success", persistableStore);
         return new DataStorageResult(true);
     }
@@ -308,7 +318,7 @@ public class AuthenticatedDataStorageService extends DataStorageService<Authenti
         ByteArray byteArray = new ByteArray(hash);
         int sequenceNumber = 0;
         Map<ByteArray, AuthenticatedDataRequest> map = persistableStore.getMap();
-        synchronized (mapAccessLock) {
+        synchronized (getKeyLock(byteArray)) {
             if (map.containsKey(byteArray)) {
                 sequenceNumber = map.get(byteArray).getSequenceNumber();
             }
@@ -330,17 +340,25 @@ public class AuthenticatedDataStorageService extends DataStorageService<Authenti
         if (!expiredEntries.isEmpty()) {
             log.info("We remove {} expired entries from our {} map", expiredEntries.size(), getStoreKey());
             expiredEntries.forEach(entry -> {
-                persistableStore.getMap().remove(entry.getKey());
-                if (entry.getValue() instanceof AddAuthenticatedDataRequest) {
-                    AuthenticatedData data = ((AddAuthenticatedDataRequest) entry.getValue()).getAuthenticatedSequentialData().getAuthenticatedData();
-                    listeners.forEach(listener -> {
-                        try {
-                            listener.onRemoved(data);
-                        } catch (Exception e) {
-                            log.error("Calling onRemoved at listener {} failed", listener, e);
-                        }
-                    });
+                ByteArray byteArray = entry.getKey();
+                synchronized (getKeyLock(byteArray)) {
+                    // The entry might have been replaced since we have collected the expired entries
+                    if (persistableStore.getMap().get(byteArray) != entry.getValue()) {
+                        return;
+                    }
+                    removeEntry(byteArray);
+                    if (entry.getValue() instanceof AddAuthenticatedDataRequest) {
+                        AuthenticatedData data = ((AddAuthenticatedDataRequest) entry.getValue()).getAuthenticatedSequentialData().getAuthenticatedData();
+                        queueNotification(byteArray, () -> listeners.forEach(listener -> {
+                            try {
+                                listener.onRemoved(data);
+                            } catch (Exception e) {
+                                log.error("Calling onRemoved at listener {} failed", listener, e);
+                            }
+                        }));
+                    }
                 }
+                deliverNotifications(byteArray);
             });
         }
     }
@@ -362,7 +380,7 @@ public class AuthenticatedDataStorageService extends DataStorageService<Authenti
             invalidAuthorizedData.forEach((key, value) -> {
                 log.warn("We prune the AddAuthenticatedDataRequest with an invalid AuthorizedData. {}",
                         StringUtils.truncate(value.toString(), 3000));
-                persistableStore.getMap().remove(key);
+                removeEntry(key);
             });
             persist();
         }
@@ -385,23 +403,13 @@ public class AuthenticatedDataStorageService extends DataStorageService<Authenti
     // Useful for debugging state of the store
     private void maybeLogMapState(String methodName, DataStore<AuthenticatedDataRequest> dataStore) {
         if (DevMode.isDevMode() || methodName.equals("onPersistedApplied")) {
-            var dataSize = dataStore.getMap().values().stream()
-                    .mapToLong(authenticatedDataRequest -> authenticatedDataRequest.serializeForHash().length)
-                    .sum();
-            var added = dataStore.getMap().values().stream()
-                    .filter(authenticatedDataRequest -> authenticatedDataRequest instanceof AddAuthenticatedDataRequest)
-                    .map(authenticatedDataRequest -> (AddAuthenticatedDataRequest) authenticatedDataRequest)
-                    .map(e -> e.getDistributedData().getClass().getSimpleName())
-                    .collect(Collectors.toList());
-            var removed = dataStore.getMap().values().stream()
-                    .filter(authenticatedDataRequest -> authenticatedDataRequest instanceof RemoveAuthenticatedDataRequest)
-                    .map(authenticatedDataRequest -> (RemoveAuthenticatedDataRequest) authenticatedDataRequest)
-                    .map(RemoveAuthenticatedDataRequest::getClassName)
-                    .collect(Collectors.toList());
-            var className = Stream.concat(added.stream(), removed.stream())
+            // We use the maintained statistics, as iterating the map at each add would be too expensive for large maps
+            int numRemoveRequests = getNumRemoveDataRequests();
+            int numAddRequests = getNumEntries() - numRemoveRequests;
+            var className = getNumEntriesByClassName().keySet().stream()
                     .findAny().orElse(persistence.getFileName().replace("Store", "")); // Remove trailing Store postfix
             log.info("Method: {}; map entry: {}; num AddRequests: {}; num RemoveRequests={}; map size:{}, data size: {}",
-                    methodName, className, added.size(), removed.size(), dataStore.getMap().size(), DataSizeFormatter.format(dataSize));
+                    methodName, className, numAddRequests, numRemoveRequests, dataStore.getMap().size(), DataSizeFormatter.format(getSerializedSize()));
         }
     }
 }
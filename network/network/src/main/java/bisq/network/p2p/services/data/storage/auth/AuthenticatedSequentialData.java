@@ -18,7 +18,8 @@
 package bisq.network.p2p.services.data.storage.auth;
 
 import bisq.common.encoding.Hex;
-import bisq.common.proto.NetworkProto;
+import bisq.common.proto.CachedNetworkProto;
+import bisq.common.proto.ProtoCache;
 import bisq.common.validation.NetworkDataValidation;
 import bisq.network.p2p.services.data.storage.DistributedData;
 import com.google.protobuf.ByteString;
@@ -35,7 +36,7 @@ import java.util.Date;
 @Slf4j
 @Getter
 @EqualsAndHashCode
-public final class AuthenticatedSequentialData implements NetworkProto {
+public final class AuthenticatedSequentialData implements CachedNetworkProto {
     public static AuthenticatedSequentialData from(AuthenticatedSequentialData data, int sequenceNumber) {
         return from(data, sequenceNumber, data.getCreated());
     }
@@ -48,6 +49,8 @@ public final class AuthenticatedSequentialData implements NetworkProto {
     private final int sequenceNumber;
     private final long created;
     private final byte[] pubKeyHash;
+    // transient fields are excluded by default for EqualsAndHashCode
+    private transient final ProtoCache protoCache = new ProtoCache();
 
     public AuthenticatedSequentialData(AuthenticatedData authenticatedData,
                                        int sequenceNumber,
@@ -26,6 +26,7 @@ import bisq.security.DigestUtil;
 import bisq.security.SignatureUtil;
 import bisq.security.keys.KeyGeneration;
 import com.google.protobuf.ByteString;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
@@ -46,7 +47,7 @@ public final class RefreshAuthenticatedDataRequest implements AuthenticatedDataR
                                                        AuthenticatedData authenticatedData,
                                                        KeyPair keyPair)
             throws GeneralSecurityException {
-        byte[] hash = DigestUtil.hash(authenticatedData.serializeForHash());
+        byte[] hash = authenticatedData.getHash();
         byte[] signature = SignatureUtil.sign(hash, keyPair.getPrivate());
         int newSequenceNumber = store.getSequenceNumber(hash) + 1;
         PublicKey publicKey = keyPair.getPublic();
@@ -75,6 +76,8 @@ public final class RefreshAuthenticatedDataRequest implements AuthenticatedDataR
     private final int sequenceNumber;
     private final byte[] signature;         // 47 bytes
     private final long created;
+    @Getter(AccessLevel.NONE)
+    private transient volatile Boolean signatureInvalid;
 
     private RefreshAuthenticatedDataRequest(int version,
                                             MetaData metaData,
@@ -151,6 +154,17 @@ public final class RefreshAuthenticatedDataRequest implements AuthenticatedDataR
     }
 
     public boolean isSignatureInvalid() {
+        if (signatureInvalid == null) {
+            signatureInvalid = verifySignature();
+        }
+        return signatureInvalid;
+    }
+
+    boolean isSignatureVerified() {
+        return signatureInvalid != null;
+    }
+
+    private boolean verifySignature() {
         try {
             return !SignatureUtil.verify(hash, signature, ownerPublicKey);
         } catch (Exception e) {
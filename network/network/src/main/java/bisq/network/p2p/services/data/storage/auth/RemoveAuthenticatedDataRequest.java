@@ -28,6 +28,7 @@ import bisq.security.DigestUtil;
 import bisq.security.SignatureUtil;
 import bisq.security.keys.KeyGeneration;
 import com.google.protobuf.ByteString;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
@@ -51,7 +52,7 @@ public final class RemoveAuthenticatedDataRequest implements AuthenticatedDataRe
                                                       AuthenticatedData authenticatedData,
                                                       KeyPair keyPair)
             throws GeneralSecurityException {
-        byte[] hash = DigestUtil.hash(authenticatedData.serializeForHash());
+        byte[] hash = authenticatedData.getHash();
         byte[] signature = SignatureUtil.sign(hash, keyPair.getPrivate());
         int newSequenceNumber = store.getSequenceNumber(hash) + 1;
         PublicKey publicKey = keyPair.getPublic();
@@ -80,6 +81,8 @@ public final class RemoveAuthenticatedDataRequest implements AuthenticatedDataRe
     private final long created;
     @Setter
     private transient Optional<MetaData> metaDataFromDistributedData = Optional.empty();
+    @Getter(AccessLevel.NONE)
+    private transient volatile Boolean signatureInvalid;
 
     private RemoveAuthenticatedDataRequest(int version,
                                            MetaData metaData,
@@ -182,6 +185,17 @@ public final class RemoveAuthenticatedDataRequest implements AuthenticatedDataRe
     }
 
     public boolean isSignatureInvalid() {
+        if (signatureInvalid == null) {
+            signatureInvalid = verifySignature();
+        }
+        return signatureInvalid;
+    }
+
+    boolean isSignatureVerified() {
+        return signatureInvalid != null;
+    }
+
+    private boolean verifySignature() {
         try {
             if (ownerPublicKey == null) {
                 ownerPublicKey = KeyGeneration.generatePublic(ownerPublicKeyBytes);
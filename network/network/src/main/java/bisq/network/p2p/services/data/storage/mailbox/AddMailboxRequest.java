@@ -18,6 +18,8 @@
 package bisq.network.p2p.services.data.storage.mailbox;
 
 import bisq.common.encoding.Hex;
+import bisq.common.proto.CachedNetworkProto;
+import bisq.common.proto.ProtoCache;
 import bisq.common.util.MathUtils;
 import bisq.common.validation.NetworkDataValidation;
 import bisq.network.p2p.services.data.AddDataRequest;
@@ -38,7 +40,7 @@ import java.util.Optional;
 @Slf4j
 @EqualsAndHashCode
 @Getter
-public final class AddMailboxRequest implements MailboxRequest, AddDataRequest {
+public final class AddMailboxRequest implements MailboxRequest, AddDataRequest, CachedNetworkProto {
 
     public static AddMailboxRequest from(MailboxData mailboxData,
                                          KeyPair senderKeyPair,
@@ -61,6 +63,8 @@ public final class AddMailboxRequest implements MailboxRequest, AddDataRequest {
     private final byte[] signature;
     private final byte[] senderPublicKeyBytes;
     private final PublicKey senderPublicKey;
+    // transient fields are excluded by default for EqualsAndHashCode
+    private transient final ProtoCache protoCache = new ProtoCache();
 
     private AddMailboxRequest(MailboxSequentialData mailboxSequentialData,
                              byte[] signature,
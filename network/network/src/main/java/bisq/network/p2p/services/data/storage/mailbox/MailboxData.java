@@ -18,9 +18,12 @@
 package bisq.network.p2p.services.data.storage.mailbox;
 
 import bisq.common.annotation.ExcludeForHash;
+import bisq.common.proto.CachedNetworkProto;
+import bisq.common.proto.ProtoCache;
 import bisq.network.p2p.services.confidential.ConfidentialMessage;
 import bisq.network.p2p.services.data.storage.MetaData;
 import bisq.network.p2p.services.data.storage.StorageData;
+import bisq.security.DigestUtil;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 
@@ -36,7 +39,7 @@ import java.util.concurrent.TimeUnit;
  */
 @EqualsAndHashCode
 @Getter
-public final class MailboxData implements StorageData {
+public final class MailboxData implements StorageData, CachedNetworkProto {
     private static final int VERSION = 1;
     public final static long MAX_TLL = TimeUnit.DAYS.toMillis(15);
 
@@ -48,6 +51,8 @@ public final class MailboxData implements StorageData {
     @ExcludeForHash
     private final int version;
     private final ConfidentialMessage confidentialMessage;
+    // transient fields are excluded by default for EqualsAndHashCode
+    private transient final ProtoCache protoCache = new ProtoCache();
 
     public MailboxData(MetaData metaData, ConfidentialMessage confidentialMessage) {
         this(VERSION, metaData, confidentialMessage);
@@ -89,6 +94,13 @@ public final class MailboxData implements StorageData {
         return metaData.getClassName();
     }
 
+    /**
+     * @return The hash used as key in the storage map.
+     */
+    public byte[] getHash() {
+        return protoCache.getHash(() -> DigestUtil.hash(serializeForHash()));
+    }
+
     @Override
     public boolean isDataInvalid(byte[] ownerPubKeyHash) {
         return confidentialMessage.isDataInvalid(ownerPubKeyHash);
@@ -22,7 +22,6 @@ import bisq.common.data.ByteArray;
 import bisq.common.formatter.DataSizeFormatter;
 import bisq.network.p2p.services.data.storage.*;
 import bisq.persistence.PersistenceService;
-import bisq.security.DigestUtil;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.Map;
@@ -30,7 +29,6 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 @Slf4j
 public class MailboxDataStorageService extends DataStorageService<MailboxRequest> {
@@ -41,7 +39,6 @@ public class MailboxDataStorageService extends DataStorageService<MailboxRequest
     }
 
     private final Set<Listener> listeners = new CopyOnWriteArraySet<>();
-    private final Object mapAccessLock = new Object();
 
     public MailboxDataStorageService(PersistenceService persistenceService,
                                      PruneExpiredEntriesService pruneExpiredEntriesService,
@@ -66,15 +63,11 @@ public class MailboxDataStorageService extends DataStorageService<MailboxRequest
         maybeLogMapState("add", persistableStore);
         MailboxSequentialData mailboxSequentialData = request.getMailboxSequentialData();
         MailboxData mailboxData = mailboxSequentialData.getMailboxData();
-        byte[] hash = DigestUtil.hash(mailboxData.serializeForHash());
+        byte[] hash = mailboxData.getHash();
         ByteArray byteArray = new ByteArray(hash);
         MailboxRequest requestFromMap;
         Map<ByteArray, MailboxRequest> map = persistableStore.getMap();
-        synchronized (mapAccessLock) {
-            if (isExceedingMapSize()) {
-                return new DataStorageResult(false).maxMapSizeReached();
-            }
-
+        synchronized (getKeyLock(byteArray)) {
             requestFromMap = map.get(byteArray);
             if (request.equals(requestFromMap)) {
                 return new DataStorageResult(false).requestAlreadyReceived();
@@ -100,18 +93,21 @@ public class MailboxDataStorageService extends DataStorageService<MailboxRequest
             if (request.isSignatureInvalid()) {
                 return new DataStorageResult(false).signatureInvalid();
             }
-            map.put(byteArray, request);
+
+            if (!tryPutEntry(byteArray, request)) {
+                return new DataStorageResult(false).maxMapSizeReached();
+            }
+            queueNotification(byteArray, () -> listeners.forEach(listener -> {
+                try {
+                    listener.onAdded(mailboxData);
+                } catch (Exception e) {
+                    log.error("Calling onAdded at listener {} failed", listener, e);
+                }
+            }));
         }
 
         persist();
-
-        listeners.forEach(listener -> {
-            try {
-                listener.onAdded(mailboxData);
-            } catch (Exception e) {
-                log.error("Calling onAdded at listener {} failed", listener, e);
-            }
-        });
+        deliverNotifications(byteArray);
         maybeLogMapState("add success", persistableStore);
         return new DataStorageResult(true);
     }
@@ -121,13 +117,13 @@ public class MailboxDataStorageService extends DataStorageService<MailboxRequest
         maybeLogMapState("remove ", persistableStore);
         ByteArray byteArray = new ByteArray(request.getHash());
         Map<ByteArray, MailboxRequest> map = persistableStore.getMap();
-        MailboxRequest requestFromMap = map.get(byteArray);
         MailboxSequentialData sequentialDataFromMap;
-        synchronized (mapAccessLock) {
+        synchronized (getKeyLock(byteArray)) {
+            MailboxRequest requestFromMap = map.get(byteArray);
             if (requestFromMap == null) {
                 // We don't have any entry, but it might be that we would receive later an add request, so we need to keep
                 // track of the sequence number
-                map.put(byteArray, request);
+                putEntry(byteArray, request);
                 persist();
                 return new DataStorageResult(true).noEntry();
             }
@@ -136,7 +132,7 @@ public class MailboxDataStorageService extends DataStorageService<MailboxRequest
                 // We have had the entry already removed.
                 if (!request.isSequenceNrInvalid(requestFromMap.getSequenceNumber())) {
                     // We update the request, so we have the latest sequence number.
-                    map.put(byteArray, request);
+                    putEntry(byteArray, request);
                     persist();
                 }
                 return new DataStorageResult(true).alreadyRemoved();
@@ -174,17 +170,18 @@ public class MailboxDataStorageService extends DataStorageService<MailboxRequest
                         metaDataFromMailboxData);
             }
 
-            map.put(byteArray, request);
-            listeners.forEach(listener -> {
+            putEntry(byteArray, request);
+            queueNotification(byteArray, () -> listeners.forEach(listener -> {
                 try {
                     listener.onRemoved(sequentialDataFromMap.getMailboxData());
                 } catch (Exception e) {
                     log.error("Calling onRemoved at listener {} failed", listener, e);
                 }
-            });
+            }));
         }
 
         persist();
+        deliverNotifications(byteArray);
         maybeLogMapState("remove success", persistableStore);
         return new DataStorageResult(true).removedData(sequentialDataFromMap.getMailboxData());
     }
@@ -206,7 +203,7 @@ public class MailboxDataStorageService extends DataStorageService<MailboxRequest
         ByteArray byteArray = new ByteArray(hash);
         int sequenceNumber = 0;
         Map<ByteArray, MailboxRequest> map = persistableStore.getMap();
-        synchronized (mapAccessLock) {
+        synchronized (getKeyLock(byteArray)) {
             if (map.containsKey(byteArray)) {
                 sequenceNumber = map.get(byteArray).getSequenceNumber();
             }
@@ -216,13 +213,11 @@ public class MailboxDataStorageService extends DataStorageService<MailboxRequest
 
     boolean contains(byte[] hash) {
         Map<ByteArray, MailboxRequest> map = persistableStore.getMap();
-        synchronized (mapAccessLock) {
-            return map.containsKey(new ByteArray(hash));
-        }
+        return map.containsKey(new ByteArray(hash));
     }
 
     boolean canAddMailboxMessage(MailboxData mailboxData) {
-        byte[] hash = DigestUtil.hash(mailboxData.serializeForHash());
+        byte[] hash = mailboxData.getHash();
         return getSequenceNumber(hash) < Integer.MAX_VALUE;
     }
 
@@ -239,30 +234,28 @@ public class MailboxDataStorageService extends DataStorageService<MailboxRequest
                 .collect(Collectors.toSet());
         if (!expiredEntries.isEmpty()) {
             log.info("We remove {} expired entries from our {} map", expiredEntries.size(), getStoreKey());
-            expiredEntries.forEach(entry -> persistableStore.getMap().remove(entry.getKey()));
+            expiredEntries.forEach(entry -> {
+                ByteArray byteArray = entry.getKey();
+                synchronized (getKeyLock(byteArray)) {
+                    // The entry might have been replaced since we have collected the expired entries
+                    if (persistableStore.getMap().get(byteArray) == entry.getValue()) {
+                        removeEntry(byteArray);
+                    }
+                }
+            });
         }
     }
 
     // Useful for debugging state of the store
     private void maybeLogMapState(String methodName, DataStore<MailboxRequest> dataStore) {
         if (DevMode.isDevMode() || methodName.equals("onPersistedApplied")) {
-            var dataSize = dataStore.getMap().values().stream()
-                    .mapToLong(authenticatedDataRequest -> authenticatedDataRequest.serializeForHash().length)
-                    .sum();
-            var added = dataStore.getMap().values().stream()
-                    .filter(authenticatedDataRequest -> authenticatedDataRequest instanceof AddMailboxRequest)
-                    .map(authenticatedDataRequest -> (AddMailboxRequest) authenticatedDataRequest)
-                    .map(e -> e.getMailboxSequentialData().getMailboxData().getClassName())
-                    .toList();
-            var removed = dataStore.getMap().values().stream()
-                    .filter(authenticatedDataRequest -> authenticatedDataRequest instanceof RemoveMailboxRequest)
-                    .map(authenticatedDataRequest -> (RemoveMailboxRequest) authenticatedDataRequest)
-                    .map(RemoveMailboxRequest::getClassName)
-                    .toList();
-            var className = Stream.concat(added.stream(), removed.stream())
-                    .findAny().orElse(persistence.getFileName().replace("Store", ""));
+            // We use the maintained statistics, as iterating the map at each add would be too expensive for large maps
+            int numRemoveRequests = getNumRemoveDataRequests();
+            int numAddRequests = getNumEntries() - numRemoveRequests;
+            var className = getNumEntriesByClassName().keySet().stream()
+                    .findAny().orElse(persistence.getFileName().replace("Store", "")); // Remove trailing Store postfix
             log.info("Method: {}; map entry: {}; num AddRequests: {}; num RemoveRequests={}; map size:{}, data size: {}",
-                    methodName, className, added.size(), removed.size(), dataStore.getMap().size(), DataSizeFormatter.format(dataSize));
+                    methodName, className, numAddRequests, numRemoveRequests, dataStore.getMap().size(), DataSizeFormatter.format(getSerializedSize()));
         }
     }
 }
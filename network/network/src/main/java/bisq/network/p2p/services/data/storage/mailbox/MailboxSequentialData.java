@@ -18,7 +18,8 @@
 package bisq.network.p2p.services.data.storage.mailbox;
 
 import bisq.common.encoding.Hex;
-import bisq.common.proto.NetworkProto;
+import bisq.common.proto.CachedNetworkProto;
+import bisq.common.proto.ProtoCache;
 import bisq.common.validation.NetworkDataValidation;
 import bisq.security.keys.KeyGeneration;
 import com.google.protobuf.ByteString;
@@ -31,7 +32,7 @@ import java.util.Date;
 
 @Getter
 @EqualsAndHashCode
-public final class MailboxSequentialData implements NetworkProto {
+public final class MailboxSequentialData implements CachedNetworkProto {
     private final MailboxData mailboxData;
     private final byte[] senderPublicKeyHash;
     private final byte[] receiversPublicKeyHash;
@@ -40,6 +41,7 @@ public final class MailboxSequentialData implements NetworkProto {
     private final int sequenceNumber;
     // transient fields are excluded by default for EqualsAndHashCode
     private transient final PublicKey receiversPubKey;
+    private transient final ProtoCache protoCache = new ProtoCache();
 
     public MailboxSequentialData(MailboxData mailboxData,
                                  byte[] senderPublicKeyHash,
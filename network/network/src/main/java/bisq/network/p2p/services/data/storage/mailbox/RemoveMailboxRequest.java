@@ -48,7 +48,7 @@ public final class RemoveMailboxRequest implements MailboxRequest, RemoveDataReq
 
     public static RemoveMailboxRequest from(MailboxData mailboxData, KeyPair receiverKeyPair)
             throws GeneralSecurityException {
-        byte[] hash = DigestUtil.hash(mailboxData.serializeForHash());
+        byte[] hash = mailboxData.getHash();
         byte[] signature = SignatureUtil.sign(hash, receiverKeyPair.getPrivate());
         PublicKey publicKey = receiverKeyPair.getPublic();
         long created = System.currentTimeMillis();
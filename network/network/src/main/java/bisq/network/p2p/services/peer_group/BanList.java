@@ -29,7 +29,8 @@ import java.util.concurrent.ConcurrentHashMap;
 public class BanList {
     public enum Reason {
         ADDRESS_VALIDATION_FAILED,
-        ADDRESS_VALIDATION_REQUEST_ON_OUTBOUND_CON
+        ADDRESS_VALIDATION_REQUEST_ON_OUTBOUND_CON,
+        MESSAGE_SIZE_EXCEEDED
     }
 
     @Getter
@@ -0,0 +1,224 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package bisq.network.p2p.node;
+
+import bisq.common.network.Address;
+import bisq.common.network.AddressByTransportTypeMap;
+import bisq.common.network.DefaultLocalhostFacade;
+import bisq.common.network.TransportConfig;
+import bisq.common.network.TransportType;
+import bisq.network.identity.NetworkId;
+import bisq.network.p2p.node.authorization.AuthorizationService;
+import bisq.network.p2p.node.network_load.NetworkLoadSnapshot;
+import bisq.network.p2p.node.transport.TransportService;
+import bisq.network.p2p.services.peer_group.BanList;
+import bisq.security.keys.KeyBundleService;
+import bisq.security.keys.KeyGeneration;
+import bisq.security.keys.PubKey;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+public class NodeTest {
+    private static final int NUM_CALLERS = 4;
+
+    private final Address address = new Address("127.0.0.1", 2000);
+
+    @Test
+    void joinConnectionKeepsConnectionExceptionReason() {
+        // Concurrent requesters of the same address join the same pending future
+        CompletableFuture<Connection> pending = new CompletableFuture<>();
+        ConnectionException connectionException = new ConnectionException(ConnectionException.Reason.ADDRESS_BANNED, "banned");
+        pending.completeExceptionally(connectionException);
+
+        ConnectionException first = assertThrows(ConnectionException.class, () -> Node.joinConnection(pending));
+        ConnectionException second = assertThrows(ConnectionException.class, () -> Node.joinConnection(pending));
+
+        assertThat(first).isSameAs(connectionException);
+        assertThat(second).isSameAs(connectionException);
+        assertThat(second.getReason()).isEqualTo(ConnectionException.Reason.ADDRESS_BANNED);
+    }
+
+    @Test
+    void joinConnectionKeepsReasonOfDependentStage() {
+        CompletableFuture<Connection> pending = new CompletableFuture<>();
+        CompletableFuture<Connection> dependent = pending.thenApply(connection -> connection);
+        pending.completeExceptionally(new ConnectionException(ConnectionException.Reason.HANDSHAKE_FAILED, "failed"));
+
+        ConnectionException exception = assertThrows(ConnectionException.class, () -> Node.joinConnection(dependent));
+
+        assertThat(exception.getReason()).isEqualTo(ConnectionException.Reason.HANDSHAKE_FAILED);
+    }
+
+    @Test
+    void joinConnectionWrapsCheckedCause() {
+        CompletableFuture<Connection> pending = new CompletableFuture<>();
+        IOException ioException = new IOException("failed");
+        pending.completeExceptionally(ioException);
+
+        ConnectionException exception = assertThrows(ConnectionException.class, () -> Node.joinConnection(pending));
+
+        assertThat(exception.getCause()).isSameAs(ioException);
+        assertThat(exception.getReason()).isEqualTo(ConnectionException.Reason.UNSPECIFIED);
+    }
+
+    @Test
+    void concurrentRequestsCreateOneConnection() throws Exception {
+        Connection connection = mock(Connection.class);
+        TestNode node = new TestNode(() -> connection);
+        ExecutorService executor = Executors.newFixedThreadPool(NUM_CALLERS);
+        try {
+            CompletableFuture<Connection> first = node.getConnectionAsync(address);
+            assertThat(node.creationStarted.await(10, TimeUnit.SECONDS)).isTrue();
+
+            List<Future<Connection>> blockingCallers = new ArrayList<>();
+            for (int i = 0; i < NUM_CALLERS; i++) {
+                blockingCallers.add(executor.submit(() -> node.getConnection(address)));
+            }
+            List<CompletableFuture<Connection>> asyncCallers = new ArrayList<>();
+            for (int i = 0; i < NUM_CALLERS; i++) {
+                asyncCallers.add(node.getConnectionAsync(address));
+            }
+            awaitWaitingCallers(first, NUM_CALLERS);
+            node.releaseCreation.countDown();
+
+            assertThat(first.get(10, TimeUnit.SECONDS)).isSameAs(connection);
+            for (Future<Connection> caller : blockingCallers) {
+                assertThat(caller.get(10, TimeUnit.SECONDS)).isSameAs(connection);
+            }
+            for (CompletableFuture<Connection> caller : asyncCallers) {
+                assertThat(caller.get(10, TimeUnit.SECONDS)).isSameAs(connection);
+            }
+            assertThat(node.numCreatedConnections.get()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void failedConnectionReachesAllWaitingCallers() throws Exception {
+        ConnectionException connectionException = new ConnectionException(ConnectionException.Reason.ADDRESS_BANNED, "banned");
+        TestNode node = new TestNode(() -> {
+            throw connectionException;
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(NUM_CALLERS);
+        try {
+            CompletableFuture<Connection> first = node.getConnectionAsync(address);
+            assertThat(node.creationStarted.await(10, TimeUnit.SECONDS)).isTrue();
+
+            List<Future<Connection>> blockingCallers = new ArrayList<>();
+            for (int i = 0; i < NUM_CALLERS; i++) {
+                blockingCallers.add(executor.submit(() -> node.getConnection(address)));
+            }
+            CompletableFuture<Connection> asyncCaller = node.getConnectionAsync(address);
+            awaitWaitingCallers(first, NUM_CALLERS);
+            node.releaseCreation.countDown();
+
+            ExecutionException exception = assertThrows(ExecutionException.class, () -> first.get(10, TimeUnit.SECONDS));
+            assertThat(exception.getCause()).isSameAs(connectionException);
+            exception = assertThrows(ExecutionException.class, () -> asyncCaller.get(10, TimeUnit.SECONDS));
+            assertThat(exception.getCause()).isSameAs(connectionException);
+            for (Future<Connection> caller : blockingCallers) {
+                exception = assertThrows(ExecutionException.class, () -> caller.get(10, TimeUnit.SECONDS));
+                assertThat(exception.getCause()).isSameAs(connectionException);
+                assertThat(((ConnectionException) exception.getCause()).getReason()).isEqualTo(ConnectionException.Reason.ADDRESS_BANNED);
+            }
+            assertThat(node.numCreatedConnections.get()).isEqualTo(1);
+
+            // The failed attempt is not cached, so a later request tries again
+            assertThrows(ConnectionException.class, () -> node.getConnection(address));
+            assertThat(node.numCreatedConnections.get()).isEqualTo(2);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // Blocked callers of join are registered as dependents of the pending future
+    private static void awaitWaitingCallers(CompletableFuture<Connection> pending, int numCallers) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (pending.getNumberOfDependents() < numCallers && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(pending.getNumberOfDependents()).isGreaterThanOrEqualTo(numCallers);
+    }
+
+    private static class TestNode extends Node {
+        private final Supplier<Connection> connectionSupplier;
+        private final AtomicInteger numCreatedConnections = new AtomicInteger();
+        private final CountDownLatch creationStarted = new CountDownLatch(1);
+        private final CountDownLatch releaseCreation = new CountDownLatch(1);
+
+        private TestNode(Supplier<Connection> connectionSupplier) throws GeneralSecurityException {
+            super(createNetworkId(),
+                    false,
+                    new Config(TransportType.CLEAR,
+                            Set.of(TransportType.CLEAR),
+                            Set.of(),
+                            mock(TransportConfig.class),
+                            10_000,
+                            10_000,
+                            0,
+                            0,
+                            0),
+                    mock(BanList.class),
+                    mock(KeyBundleService.class),
+                    mock(TransportService.class),
+                    new NetworkLoadSnapshot(),
+                    mock(AuthorizationService.class));
+            this.connectionSupplier = connectionSupplier;
+        }
+
+        @Override
+        Connection createOutboundConnection(Address address) {
+            numCreatedConnections.incrementAndGet();
+            creationStarted.countDown();
+            try {
+                releaseCreation.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return connectionSupplier.get();
+        }
+
+        private static NetworkId createNetworkId() throws GeneralSecurityException {
+            AddressByTransportTypeMap addressByTransportTypeMap = new AddressByTransportTypeMap(
+                    Map.of(TransportType.CLEAR, DefaultLocalhostFacade.toLocalHostAddress(1234)));
+            PubKey pubKey = new PubKey(KeyGeneration.generateKeyPair().getPublic(), "keyId");
+            return new NetworkId(addressByTransportTypeMap, pubKey);
+        }
+    }
+}
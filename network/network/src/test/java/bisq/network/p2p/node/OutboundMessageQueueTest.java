@@ -0,0 +1,62 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package bisq.network.p2p.node;
+
+import bisq.network.p2p.message.EnvelopePayloadMessage;
+import bisq.network.p2p.services.peer_group.keep_alive.Ping;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class OutboundMessageQueueTest {
+    @Test
+    void queueIsBoundedForAllPriorities() {
+        OutboundMessageQueue queue = new OutboundMessageQueue(2, 1);
+        assertThat(queue.offer(createItem(mock(EnvelopePayloadMessage.class)))).isTrue();
+        assertThat(queue.offer(createItem(mock(EnvelopePayloadMessage.class)))).isTrue();
+        assertThat(queue.offer(createItem(mock(EnvelopePayloadMessage.class)))).isFalse();
+
+        // HIGH priority messages can use the reserved capacity, but are bounded as well
+        assertThat(queue.offer(createItem(new Ping(1)))).isTrue();
+        assertThat(queue.offer(createItem(new Ping(2)))).isFalse();
+        assertThat(queue.offer(createItem(new CloseConnectionMessage(CloseReason.SHUTDOWN)))).isFalse();
+        assertThat(queue.size()).isEqualTo(3);
+    }
+
+    @Test
+    void itemsAreOrderedByPriority() {
+        OutboundMessageQueue queue = new OutboundMessageQueue();
+        OutboundMessageQueue.Item close = createItem(new CloseConnectionMessage(CloseReason.SHUTDOWN));
+        OutboundMessageQueue.Item normal = createItem(mock(EnvelopePayloadMessage.class));
+        OutboundMessageQueue.Item ping = createItem(new Ping(1));
+        queue.offer(close);
+        queue.offer(normal);
+        queue.offer(ping);
+
+        assertThat(queue.poll()).isSameAs(ping);
+        assertThat(queue.poll()).isSameAs(normal);
+        assertThat(queue.poll()).isSameAs(close);
+        assertThat(queue.poll()).isNull();
+    }
+
+    private static OutboundMessageQueue.Item createItem(EnvelopePayloadMessage envelopePayloadMessage) {
+        return new OutboundMessageQueue.Item(envelopePayloadMessage, null, messageCounter -> null);
+    }
+}
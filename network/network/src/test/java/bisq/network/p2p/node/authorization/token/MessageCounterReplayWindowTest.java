@@ -0,0 +1,47 @@
+package bisq.network.p2p.node.authorization.token;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MessageCounterReplayWindowTest {
+
+    @Test
+    void testReplayIsRejected() {
+        MessageCounterReplayWindow window = new MessageCounterReplayWindow();
+        assertTrue(window.tryAccept(1));
+        assertFalse(window.tryAccept(1));
+        assertTrue(window.tryAccept(2));
+        assertFalse(window.tryAccept(2));
+        assertFalse(window.tryAccept(1));
+    }
+
+    @Test
+    void testOutOfOrderInsideWindow() {
+        MessageCounterReplayWindow window = new MessageCounterReplayWindow();
+        assertTrue(window.tryAccept(10));
+        assertTrue(window.tryAccept(5));
+        assertTrue(window.tryAccept(12));
+        assertTrue(window.tryAccept(11));
+        assertFalse(window.tryAccept(5));
+        assertFalse(window.tryAccept(11));
+        assertTrue(window.tryAccept(6));
+    }
+
+    @Test
+    void testCounterOutsideWindowIsRejected() {
+        MessageCounterReplayWindow window = new MessageCounterReplayWindow();
+        assertTrue(window.tryAccept(1));
+        assertTrue(window.tryAccept(MessageCounterReplayWindow.WINDOW_SIZE + 1));
+        // 1 has dropped out of the window, 2 is the oldest counter inside the window
+        assertFalse(window.tryAccept(1));
+        assertTrue(window.tryAccept(2));
+        assertFalse(window.tryAccept(2));
+
+        // Large jump clears all slots
+        assertTrue(window.tryAccept(10 * MessageCounterReplayWindow.WINDOW_SIZE));
+        assertTrue(window.tryAccept(10 * MessageCounterReplayWindow.WINDOW_SIZE - 1));
+        assertFalse(window.tryAccept(10 * MessageCounterReplayWindow.WINDOW_SIZE));
+    }
+}
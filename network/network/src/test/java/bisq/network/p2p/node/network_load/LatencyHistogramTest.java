@@ -0,0 +1,44 @@
+package bisq.network.p2p.node.network_load;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LatencyHistogramTest {
+
+    @Test
+    void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i);
+        }
+        assertEquals(1000, histogram.getCount());
+        assertEquals(500.5, histogram.getMean());
+        assertEquals(1000, histogram.getValueAtPercentile(100));
+        // Buckets have a relative error of about 6%
+        assertEquals(500, histogram.getValueAtPercentile(50), 32);
+        assertEquals(990, histogram.getValueAtPercentile(99), 62);
+    }
+
+    @Test
+    void testBucketBounds() {
+        for (long value : new long[]{0, 1, 15, 16, 17, 32, 33, 1000, 123_456_789}) {
+            int index = LatencyHistogram.getBucketIndex(value);
+            assertTrue(LatencyHistogram.getLowerBound(index) <= value);
+            assertTrue(LatencyHistogram.getUpperBound(index) >= value);
+        }
+    }
+
+    @Test
+    void testAdd() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(10);
+        LatencyHistogram other = new LatencyHistogram();
+        other.record(20);
+        histogram.add(other);
+        assertEquals(2, histogram.getCount());
+        assertEquals(30, histogram.getSum());
+        assertEquals(20, histogram.getMax());
+    }
+}
@@ -0,0 +1,39 @@
+package bisq.network.p2p.node.network_load;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class RingBufferCounterTest {
+    private static final long MINUTE = TimeUnit.MINUTES.toMillis(1);
+
+    @Test
+    void testSumOfLastMinutes() {
+        RingBufferCounter counter = new RingBufferCounter(0);
+        for (int minute = 0; minute < 130; minute++) {
+            counter.add(minute * MINUTE + 5, minute);
+        }
+        long expected = 0;
+        for (int minute = 70; minute < 130; minute++) {
+            expected += minute;
+        }
+        long now = 129 * MINUTE + 10;
+        assertEquals(expected, counter.sumOfLastMinutes(now, 60));
+        assertEquals(129, counter.sumOfLastMinutes(now, 1));
+        assertEquals(129 * 130 / 2, counter.getTotal());
+
+        // Outdated minutes are not counted
+        assertEquals(0, counter.sumOfLastMinutes(200 * MINUTE, 60));
+    }
+
+    @Test
+    void testValueOfOverwrittenMinuteIsIgnored() {
+        RingBufferCounter counter = new RingBufferCounter(0);
+        counter.add(70 * MINUTE, 3);
+        counter.add(10 * MINUTE, 5);
+        assertEquals(3, counter.sumOfLastMinutes(70 * MINUTE, 60));
+        assertEquals(8, counter.getTotal());
+    }
+}
@@ -0,0 +1,54 @@
+package bisq.network.p2p.services.confidential;
+
+import bisq.network.p2p.services.peer_group.keep_alive.Ping;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ProcessedMessageCacheTest {
+
+    @Test
+    void testDuplicatesAreDetected() {
+        ProcessedMessageCache cache = new ProcessedMessageCache();
+        assertTrue(cache.add(new Ping(1)));
+        assertFalse(cache.add(new Ping(1)));
+        assertTrue(cache.add(new Ping(2)));
+        assertEquals(List.of(new Ping(1), new Ping(2)), cache.getRetainedMessages());
+    }
+
+    @Test
+    void testSizeEviction() {
+        AtomicLong now = new AtomicLong(0);
+        ProcessedMessageCache cache = new ProcessedMessageCache(2, 2, 1000, now::get);
+        assertTrue(cache.add(new Ping(1)));
+        assertTrue(cache.add(new Ping(2)));
+        assertTrue(cache.add(new Ping(3)));
+        // Ping 1 is not retained anymore but still detected as duplicate by its hash
+        assertEquals(List.of(new Ping(2), new Ping(3)), cache.getRetainedMessages());
+        assertFalse(cache.add(new Ping(1)));
+
+        assertTrue(cache.add(new Ping(4)));
+        assertTrue(cache.add(new Ping(5)));
+        // Hash of ping 1 got evicted as well
+        assertEquals(2, cache.getNumEvictedHashes());
+        assertTrue(cache.add(new Ping(1)));
+    }
+
+    @Test
+    void testTimeEviction() {
+        AtomicLong now = new AtomicLong(0);
+        ProcessedMessageCache cache = new ProcessedMessageCache(10, 10, 1000, now::get);
+        assertTrue(cache.add(new Ping(1)));
+        now.set(500);
+        assertTrue(cache.add(new Ping(2)));
+        now.set(1200);
+        assertEquals(List.of(new Ping(2)), cache.getRetainedMessages());
+        assertFalse(cache.add(new Ping(1)));
+        assertEquals(1, cache.getNumEvictedHashes());
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.services.data.inventory.filter.mini_sketch;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PinSketchTest {
+    private final Random random = new Random(42);
+
+    @Test
+    public void decodeDifferenceWithinCapacity() {
+        int capacity = 64;
+        for (int numDifferences : new int[]{0, 1, 2, 33, 64}) {
+            Set<Integer> difference = new HashSet<>();
+            PinSketch sketch = createSketchPair(capacity, 1000, numDifferences, difference);
+            Optional<int[]> decoded = sketch.decode();
+            assertTrue(decoded.isPresent());
+            assertEquals(difference, Arrays.stream(decoded.get()).boxed().collect(Collectors.toSet()));
+        }
+    }
+
+    @Test
+    public void decodeFailsIfDifferenceExceedsCapacity() {
+        int capacity = 64;
+        for (int numDifferences : new int[]{65, 100, 500}) {
+            PinSketch sketch = createSketchPair(capacity, 1000, numDifferences, new HashSet<>());
+            assertTrue(sketch.decode().isEmpty());
+        }
+    }
+
+    @Test
+    public void serialization() {
+        PinSketch sketch = new PinSketch(10);
+        sketch.add(123);
+        sketch.add(456);
+        PinSketch fromBytes = PinSketch.fromBytes(sketch.toBytes());
+        assertEquals(10, fromBytes.getCapacity());
+        assertArrayEquals(sketch.toBytes(), fromBytes.toBytes());
+        assertEquals(Set.of(123, 456), Arrays.stream(fromBytes.decode().orElseThrow()).boxed().collect(Collectors.toSet()));
+    }
+
+    @Test
+    public void fieldArithmetic() {
+        for (int i = 0; i < 1000; i++) {
+            int a = random.nextInt();
+            if (a != 0) {
+                assertEquals(1, PinSketch.mul(a, PinSketch.inverse(a)));
+            }
+        }
+    }
+
+    // Returns the merged sketch of 2 sets which share numCommon elements and differ in numDifferences elements
+    private PinSketch createSketchPair(int capacity, int numCommon, int numDifferences, Set<Integer> difference) {
+        PinSketch sketch1 = new PinSketch(capacity);
+        PinSketch sketch2 = new PinSketch(capacity);
+        Set<Integer> elements = new HashSet<>();
+        while (elements.size() < numCommon) {
+            int element = random.nextInt();
+            if (element != 0 && elements.add(element)) {
+                sketch1.add(element);
+                sketch2.add(element);
+            }
+        }
+        while (difference.size() < numDifferences) {
+            int element = random.nextInt();
+            if (element != 0 && !elements.contains(element) && difference.add(element)) {
+                if (difference.size() % 2 == 0) {
+                    sketch1.add(element);
+                } else {
+                    sketch2.add(element);
+                }
+            }
+        }
+        return sketch1.merge(sketch2);
+    }
+}
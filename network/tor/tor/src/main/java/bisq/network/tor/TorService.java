@@ -42,6 +42,7 @@ import net.freehaven.tor.control.PasswordDigest;
 import java.io.File;
 import java.io.IOException;
 import java.net.*;
+import java.nio.channels.ServerSocketChannel;
 import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Map;
@@ -191,7 +192,9 @@ public class TorService implements Service {
         try {
             InetAddress bindAddress = !LinuxDistribution.isWhonix() ? Inet4Address.getLoopbackAddress()
                     : Inet4Address.getByName("0.0.0.0");
-            var localServerSocket = new ServerSocket(RANDOM_PORT, 50, bindAddress);
+            // Channel backed ServerSocket, so that accepted sockets can be multiplexed by a selector
+            ServerSocket localServerSocket = ServerSocketChannel.open().socket();
+            localServerSocket.bind(new InetSocketAddress(bindAddress, RANDOM_PORT), 50);
 
             String onionAddress = torKeyPair.getOnionAddress();
             log.info("Publish onion service for onion address {}:{}", onionAddress, port);
@@ -19,13 +19,16 @@ package bisq.persistence;
 
 import bisq.common.file.FileUtils;
 import com.google.protobuf.Any;
+import com.google.protobuf.CodedInputStream;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Optional;
 
 @Slf4j
@@ -65,9 +68,12 @@ public class PersistableStoreReaderWriter<T extends PersistableStore<T>> {
         return Optional.empty();
     }
 
-    public synchronized void write(T persistableStore) {
-        storeFileManager.createParentDirectoriesIfNotExisting();
+    /**
+     * @return true if the store has been written to disk, false if the write failed. Failures are logged.
+     */
+    public synchronized boolean write(T persistableStore) {
         try {
+            storeFileManager.createParentDirectoriesIfNotExisting();
             writeStoreToTempFile(persistableStore);
             boolean hasFileBeenBackedUp = storeFileManager.maybeBackup();
             if (!hasFileBeenBackedUp) {
@@ -75,11 +81,13 @@ public class PersistableStoreReaderWriter<T extends PersistableStore<T>> {
                 FileUtils.deleteFile(storeFile);
             }
             storeFileManager.renameTempFileToCurrentFile();
+            return true;
         } catch (CouldNotSerializePersistableStore e) {
             log.error("Couldn't serialize {}", persistableStore, e);
         } catch (Exception e) {
             log.error("Couldn't write persistable store to disk.", e);
         }
+        return false;
     }
 
     public void pruneBackups() {
@@ -87,11 +95,30 @@ public class PersistableStoreReaderWriter<T extends PersistableStore<T>> {
     }
 
     private PersistableStore<?> readStoreFromFile() throws IOException {
-        File storeFile = storeFilePath.toFile();
-        try (FileInputStream fileInputStream = new FileInputStream(storeFile)) {
-            Any any = Any.parseDelimitedFrom(fileInputStream);
-            return PersistableStore.fromAny(any);
+        // We read the whole file with a single read into a buffer and parse it from there, instead of parsing from a
+        // FileInputStream. With aliasing enabled the bytes of the Any container are not copied again before the store
+        // gets unpacked. We do not memory-map the file as the mapping cannot be released deterministically, which would
+        // block the rename of the store file at the next write on Windows.
+        ByteBuffer byteBuffer;
+        try (FileChannel fileChannel = FileChannel.open(storeFilePath, StandardOpenOption.READ)) {
+            long size = fileChannel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Store file is too large. size=" + size);
+            }
+            byteBuffer = ByteBuffer.allocate((int) size);
+            while (byteBuffer.hasRemaining()) {
+                if (fileChannel.read(byteBuffer) < 0) {
+                    break;
+                }
+            }
         }
+        CodedInputStream codedInputStream = CodedInputStream.newInstance(byteBuffer.array(), 0, byteBuffer.position());
+        codedInputStream.enableAliasing(true);
+        int length = codedInputStream.readRawVarint32();
+        int oldLimit = codedInputStream.pushLimit(length);
+        Any any = Any.parseFrom(codedInputStream);
+        codedInputStream.popLimit(oldLimit);
+        return PersistableStore.fromAny(any);
     }
 
     private void tryToBackupCorruptedStoreFile() {
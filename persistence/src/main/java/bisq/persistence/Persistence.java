@@ -17,9 +17,11 @@
 
 package bisq.persistence;
 
+import bisq.common.platform.PlatformUtils;
 import bisq.common.threading.ExecutorFactory;
 import bisq.common.util.StringUtils;
 import bisq.persistence.backup.MaxBackupSize;
+import com.google.common.util.concurrent.MoreExecutors;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
@@ -27,13 +29,25 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
+/**
+ * Each Persistence instance has its own serial lane on which all reads and writes of its store are executed in order.
+ * Lanes of different stores run in parallel on a bounded pool. Stores of the network database and the cache are
+ * large and loss tolerant, thus they use a separate pool so that writing them never delays the small critical
+ * stores like settings or user data.
+ */
 @Slf4j
 public class Persistence<T extends PersistableStore<T>> {
     public static final String EXTENSION = ".protobuf";
-    private static final ExecutorService executorService = ExecutorFactory.newSingleThreadExecutor("Persistence");
+    private static final ExecutorService executorService = ExecutorFactory.newFixedThreadPool("Persistence",
+            Math.max(2, PlatformUtils.availableProcessors() / 2));
+    private static final ExecutorService bulkExecutorService = ExecutorFactory.newFixedThreadPool("Persistence.bulk",
+            Math.max(2, PlatformUtils.availableProcessors() / 2));
 
     @Getter
     private final Path storePath;
@@ -41,6 +55,7 @@ public class Persistence<T extends PersistableStore<T>> {
     private final String fileName;
 
     private final PersistableStoreReaderWriter<T> persistableStoreReaderWriter;
+    private final Executor lane;
 
     public Persistence(String directory, String fileName, MaxBackupSize maxBackupSize) {
         this.fileName = fileName;
@@ -48,6 +63,8 @@ public class Persistence<T extends PersistableStore<T>> {
         storePath = Paths.get(directory, storageFileName + EXTENSION);
         var storeFileManager = new PersistableStoreFileManager(storePath, maxBackupSize);
         persistableStoreReaderWriter = new PersistableStoreReaderWriter<>(storeFileManager);
+        //noinspection UnstableApiUsage
+        lane = MoreExecutors.newSequentialExecutor(isBulkStore(directory) ? bulkExecutorService : executorService);
     }
 
     public CompletableFuture<Optional<T>> readAsync(Consumer<T> consumer) {
@@ -55,18 +72,51 @@ public class Persistence<T extends PersistableStore<T>> {
     }
 
     public CompletableFuture<Optional<T>> readAsync() {
-        return CompletableFuture.supplyAsync(persistableStoreReaderWriter::read, executorService);
+        return CompletableFuture.supplyAsync(persistableStoreReaderWriter::read, lane);
     }
 
     public CompletableFuture<Void> persistAsync(T serializable) {
-        return CompletableFuture.runAsync(() -> persist(serializable), executorService);
+        return CompletableFuture.runAsync(() -> persist(serializable), lane);
+    }
+
+    /**
+     * Writes the store blocking on the caller thread. Should only be called from a task passed to runAsync or
+     * supplyAsync to not interfere with other reads and writes.
+     *
+     * @return true if the store has been written successfully
+     */
+    public boolean persist(T persistableStore) {
+        return persistableStoreReaderWriter.write(persistableStore);
+    }
+
+    /**
+     * Runs the task at the lane of the store, thus it is executed in sequence with reads and writes.
+     */
+    public CompletableFuture<Void> runAsync(Runnable task) {
+        return CompletableFuture.runAsync(task, lane);
     }
 
-    protected void persist(T persistableStore) {
-        persistableStoreReaderWriter.write(persistableStore);
+    public <R> CompletableFuture<R> supplyAsync(Supplier<R> supplier) {
+        return CompletableFuture.supplyAsync(supplier, lane);
     }
 
     public CompletableFuture<Void> pruneBackups() {
-        return CompletableFuture.runAsync(persistableStoreReaderWriter::pruneBackups, executorService);
+        return CompletableFuture.runAsync(persistableStoreReaderWriter::pruneBackups, lane);
+    }
+
+    private static boolean isBulkStore(String directory) {
+        Path path = Paths.get(directory);
+        return Stream.of(DbSubDirectory.NETWORK_DB, DbSubDirectory.CACHE)
+                .map(dbSubDirectory -> Paths.get(dbSubDirectory.getDbPath()))
+                .anyMatch(dbPath -> containsSubPath(path, dbPath));
+    }
+
+    private static boolean containsSubPath(Path path, Path subPath) {
+        for (int i = 0; i + subPath.getNameCount() <= path.getNameCount(); i++) {
+            if (path.subpath(i, i + subPath.getNameCount()).equals(subPath)) {
+                return true;
+            }
+        }
+        return false;
     }
 }
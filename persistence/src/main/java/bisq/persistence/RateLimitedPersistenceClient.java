@@ -18,14 +18,17 @@
 package bisq.persistence;
 
 import bisq.common.threading.ThreadName;
-import lombok.Getter;
+import bisq.common.timer.Scheduler;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
 /**
- * This implementation of PersistenceClient drops persist requests if they happen too frequently.
- * It registers a shutdown hook and persists at shutdown. If the JVM got terminated non-gracefully
+ * This implementation of PersistenceClient limits the write frequency. Persist requests which happen too frequently
+ * or while a write is in progress are coalesced into one pending write, which is executed once the quiet period has
+ * passed. Thus, the latest state is always written and all callers of a coalesced write get the same result.
+ * It registers a shutdown hook and executes a pending write at shutdown. If the JVM got terminated non-gracefully
  * (e.g. kill signal or JVM crash) the shutdown hook is not executed (but any other approach to write in such cases
  * would fail as well).
  * As there is no guarantee that the last data are persisted in case of such unexpected terminations, it should be only
@@ -33,10 +36,11 @@ import java.util.concurrent.CompletableFuture;
  */
 @Slf4j
 public abstract class RateLimitedPersistenceClient<T extends PersistableStore<T>> implements PersistenceClient<T> {
-    private volatile long lastWrite;
-    @Getter
-    private volatile boolean dropped;
-    private volatile boolean writeInProgress;
+    private final Object lock = new Object();
+    private long lastWrite;
+    private boolean writeInProgress;
+    private Optional<CompletableFuture<Boolean>> pendingWrite = Optional.empty();
+    private Optional<Scheduler> pendingWriteScheduler = Optional.empty();
 
     public RateLimitedPersistenceClient() {
         //todo (Critical) check if we want to use ShutdownHook here
@@ -48,20 +52,18 @@ public abstract class RateLimitedPersistenceClient<T extends PersistableStore<T>
 
     @Override
     public CompletableFuture<Boolean> persist() {
-        boolean tooFast = System.currentTimeMillis() - lastWrite < getMaxWriteRateInMs();
-        dropped = tooFast || writeInProgress;
-        if (dropped) {
-            return CompletableFuture.completedFuture(false);
-        } else {
-            lastWrite = System.currentTimeMillis();
-            writeInProgress = true;
-            dropped = false;
-            return getPersistence()
-                    .persistAsync(getPersistableStore().getClone())
-                    .handle((nil, throwable) -> {
-                        writeInProgress = false;
-                        return throwable == null;
-                    });
+        synchronized (lock) {
+            if (pendingWrite.isPresent()) {
+                // A write is already pending, which will write the latest state
+                return pendingWrite.get();
+            }
+            CompletableFuture<Boolean> future = new CompletableFuture<>();
+            pendingWrite = Optional.of(future);
+            if (!writeInProgress) {
+                // Otherwise the pending write gets scheduled once the write in progress has completed
+                schedulePendingWrite();
+            }
+            return future;
         }
     }
 
@@ -69,10 +71,73 @@ public abstract class RateLimitedPersistenceClient<T extends PersistableStore<T>
         return 1000;
     }
 
+    /**
+     * Writes the store at the persistence lane of the store. Subclasses can override it to use a more efficient
+     * write strategy than writing a clone of the whole store.
+     */
+    protected CompletableFuture<Void> write() {
+        return getPersistence().persistAsync(getPersistableStore().getClone());
+    }
+
+    // Must be called while holding the lock
+    private void schedulePendingWrite() {
+        long delay = lastWrite + getMaxWriteRateInMs() - System.currentTimeMillis();
+        if (delay > 0) {
+            pendingWriteScheduler = Optional.of(Scheduler.run(this::writePending)
+                    .host(this)
+                    .runnableName("writePending")
+                    .after(delay));
+        } else {
+            // The write itself is executed async at the persistence lane
+            writePending();
+        }
+    }
+
+    private void writePending() {
+        CompletableFuture<Boolean> future;
+        synchronized (lock) {
+            if (pendingWrite.isEmpty() || writeInProgress) {
+                return;
+            }
+            future = pendingWrite.get();
+            pendingWrite = Optional.empty();
+            pendingWriteScheduler = Optional.empty();
+            writeInProgress = true;
+            lastWrite = System.currentTimeMillis();
+        }
+
+        write().whenComplete((nil, throwable) -> {
+            if (throwable != null) {
+                log.error("Write failed for {}", getPersistence().getStorePath(), throwable);
+            }
+            synchronized (lock) {
+                writeInProgress = false;
+                if (pendingWrite.isPresent()) {
+                    schedulePendingWrite();
+                }
+            }
+            future.complete(throwable == null);
+        });
+    }
+
     private void persistOnShutdown() {
-        if (dropped) {
-            dropped = false;
-            getPersistence().persist(getPersistableStore().getClone());
+        CompletableFuture<Boolean> future;
+        synchronized (lock) {
+            if (pendingWrite.isEmpty()) {
+                return;
+            }
+            pendingWriteScheduler.ifPresent(Scheduler::stop);
+            pendingWriteScheduler = Optional.empty();
+            future = pendingWrite.get();
+            pendingWrite = Optional.empty();
+        }
+        try {
+            // A write in progress is completed before as writes of a store are executed in sequence
+            write().join();
+            future.complete(true);
+        } catch (Exception e) {
+            log.error("Write at shutdown failed for {}", getPersistence().getStorePath(), e);
+            future.complete(false);
         }
     }
-}
\ No newline at end of file
+}
@@ -21,6 +21,8 @@ import bisq.common.proto.ProtoResolver;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Map;
 import java.util.Optional;
@@ -82,4 +84,23 @@ public class PersistableStoreReaderWriterTests {
         // Triggers rename
         persistableStoreReaderWriter.write(timestampStore);
     }
+
+    @Test
+    void writeReportsFailure(@TempDir Path tempDir) throws IOException {
+        var timestampStore = new TimestampStore();
+        timestampStore.getTimestampsByProfileId().put("A", 1L);
+
+        // The parent directory of the store cannot be created as a regular file is in its place
+        Path blockingFile = Files.createFile(tempDir.resolve("parent"));
+        Path storageFilePath = blockingFile.resolve("protoFile");
+        var storeFileManager = new PersistableStoreFileManager(storageFilePath);
+        var persistableStoreReaderWriter = new PersistableStoreReaderWriter<TimestampStore>(storeFileManager);
+
+        assertThat(persistableStoreReaderWriter.write(timestampStore)).isFalse();
+
+        Path validStorageFilePath = tempDir.resolve("protoFile");
+        var validStoreFileManager = new PersistableStoreFileManager(validStorageFilePath);
+        var validReaderWriter = new PersistableStoreReaderWriter<TimestampStore>(validStoreFileManager);
+        assertThat(validReaderWriter.write(timestampStore)).isTrue();
+    }
 }
@@ -206,9 +206,11 @@ public class Equihash {
         }
 
         public Solution findSolution() {
+            // The index table is about 0.5 MB for Equihash-90-5, and we need it k times per nonce, thus we reuse it.
+            var indexMultimap = new IntListMultimap(N / 2);
             Optional<int[]> inputs;
             for (int nonce = 0; ; nonce++) {
-                if ((inputs = withHashPrefix(seed, nonce).findInputs()).isPresent()) {
+                if ((inputs = withHashPrefix(seed, nonce).findInputs(indexMultimap)).isPresent()) {
                     return new Solution(nonce, inputs.get());
                 }
             }
@@ -216,7 +218,7 @@ public class Equihash {
 
         @VisibleForTesting
         int countAllSolutionsForNonce(long nonce) {
-            return (int) withHashPrefix(seed, nonce).streamInputsHits()
+            return (int) withHashPrefix(seed, nonce).streamInputsHits(new IntListMultimap(N / 2))
                     .map(ImmutableIntArray::copyOf)
                     .distinct()
                     .count();
@@ -244,10 +246,10 @@ public class Equihash {
             return ByteArrayUtils.bytesToIntegersBE(outputBytes);
         }
 
-        Stream<int[]> streamInputsHits() {
+        Stream<int[]> streamInputsHits(IntListMultimap indexMultimap) {
             var table = computeAllHashes();
             for (int i = 0; i < k; i++) {
-                table = findCollisions(table, i + 1 < k);
+                table = findCollisions(table, i + 1 < k, indexMultimap);
             }
             return IntStream.range(0, table.numRows)
                     .mapToObj(table::getRow)
@@ -256,8 +258,8 @@ public class Equihash {
                     .filter(this::testDifficultyCondition);
         }
 
-        Optional<int[]> findInputs() {
-            return streamInputsHits().findFirst();
+        Optional<int[]> findInputs(IntListMultimap indexMultimap) {
+            return streamInputsHits(indexMultimap).findFirst();
         }
 
         private XorTable computeAllHashes() {
@@ -357,6 +359,11 @@ public class Equihash {
             };
         }
 
+        void clear() {
+            Arrays.fill(shortLists, 0);
+            overspillMultimap.clear();
+        }
+
         // assumes non-negative values only:
         void put(int key, int value) {
             for (int i = 0; i < 4; i++) {
@@ -370,14 +377,14 @@ public class Equihash {
     }
 
     // Apply a single iteration of Wagner's Algorithm.
-    private XorTable findCollisions(XorTable table, boolean isPartial) {
+    private XorTable findCollisions(XorTable table, boolean isPartial, IntListMultimap indexMultimap) {
         int newHashWidth = isPartial ? table.hashWidth - 1 : 0;
         int newIndexTupleWidth = table.indexTupleWidth * 2;
         int newRowWidth = newHashWidth + newIndexTupleWidth;
         var newTableValues = ImmutableIntArray.builder(
                 newRowWidth * (isPartial ? tableCapacity : 10));
 
-        var indexMultimap = new IntListMultimap(N / 2);
+        indexMultimap.clear();
         for (int i = 0; i < table.numRows; i++) {
             var row = table.getRow(i);
             var collisionIndices = indexMultimap.get(row.get(0));
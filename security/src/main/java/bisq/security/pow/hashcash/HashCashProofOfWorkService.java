@@ -17,6 +17,8 @@
 
 package bisq.security.pow.hashcash;
 
+import bisq.common.platform.PlatformUtils;
+import bisq.common.threading.ExecutorFactory;
 import bisq.security.DigestUtil;
 import bisq.security.pow.ProofOfWork;
 import bisq.security.pow.ProofOfWorkService;
@@ -25,6 +27,11 @@ import com.google.common.primitives.Longs;
 import lombok.extern.slf4j.Slf4j;
 
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 
 /**
  * HashCash implementation for proof of work
@@ -34,21 +41,29 @@ import java.nio.charset.StandardCharsets;
  */
 @Slf4j
 public class HashCashProofOfWorkService extends ProofOfWorkService {
+    // Below that difficulty (about 1 ms of work) the overhead of distributing the work is higher than the gain
+    private static final int MIN_LOG2_DIFFICULTY_FOR_PARALLEL_MINT = 12;
+    private static final int NUM_MINT_THREADS = Math.max(1, PlatformUtils.availableProcessors() - 1);
+    private static final ExecutorService MINT_EXECUTOR = ExecutorFactory.newFixedThreadPool("HashCash.mint", NUM_MINT_THREADS);
+
     public HashCashProofOfWorkService() {
     }
 
+    /**
+     * For difficulties above MIN_LOG2_DIFFICULTY_FOR_PARALLEL_MINT the nonce space is partitioned over NUM_MINT_THREADS
+     * threads. The first found solution wins and stops the other workers. Any counter which satisfies the difficulty
+     * is a valid solution, thus the result does not need to be the lowest counter as in the sequential search.
+     * If the calling thread gets interrupted the workers get stopped as well.
+     */
     @Override
     public ProofOfWork mint(byte[] payload,
                             byte[] challenge,
                             double difficulty) {
         long ts = System.currentTimeMillis();
         int log2Difficulty = toNumLeadingZeros(difficulty);
-        byte[] hash;
-        long counter = 0;
-        do {
-            hash = toSha256Hash(payload, challenge, ++counter);
-        }
-        while (numberOfLeadingZeros(hash) <= log2Difficulty);
+        long counter = NUM_MINT_THREADS > 1 && log2Difficulty >= MIN_LOG2_DIFFICULTY_FOR_PARALLEL_MINT
+                ? findCounterInParallel(payload, challenge, log2Difficulty)
+                : findCounter(payload, challenge, log2Difficulty, 1, 1, new CompletableFuture<>());
         byte[] solution = Longs.toByteArray(counter);
         return new ProofOfWork(payload, counter, challenge, difficulty, solution, System.currentTimeMillis() - ts);
     }
@@ -67,6 +82,67 @@ public class HashCashProofOfWorkService extends ProofOfWorkService {
     }
 
 
+    /* --------------------------------------------------------------------- */
+    // Private
+    /* --------------------------------------------------------------------- */
+
+    private static long findCounterInParallel(byte[] payload, byte[] challenge, int log2Difficulty) {
+        CompletableFuture<Long> result = new CompletableFuture<>();
+        for (int i = 0; i < NUM_MINT_THREADS; i++) {
+            long start = i + 1;
+            MINT_EXECUTOR.execute(() -> {
+                try {
+                    findCounter(payload, challenge, log2Difficulty, start, NUM_MINT_THREADS, result);
+                } catch (Throwable throwable) {
+                    result.completeExceptionally(throwable);
+                }
+            });
+        }
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Minting got interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Minting failed", e.getCause());
+        }
+    }
+
+    /**
+     * Searches the counters start, start + stride, start + 2 * stride,... until a solution is found or the result got
+     * completed by another worker. The pre-image buffer and the digest are reused for all iterations.
+     */
+    private static long findCounter(byte[] payload,
+                                    byte[] challenge,
+                                    int log2Difficulty,
+                                    long start,
+                                    int stride,
+                                    CompletableFuture<Long> result) {
+        byte[] preImage = org.bouncycastle.util.Arrays.concatenate(payload, challenge, new byte[Long.BYTES]);
+        int counterOffset = preImage.length - Long.BYTES;
+        MessageDigest digest = getSha256Digest();
+        for (long counter = start; !result.isDone(); counter += stride) {
+            for (int i = Long.BYTES - 1, shift = 0; i >= 0; i--, shift += 8) {
+                preImage[counterOffset + i] = (byte) (counter >>> shift);
+            }
+            if (numberOfLeadingZeros(digest.digest(preImage)) > log2Difficulty) {
+                result.complete(counter);
+                return counter;
+            }
+        }
+        return -1;
+    }
+
+    private static MessageDigest getSha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+
     /* --------------------------------------------------------------------- */
     // Utils
     /* --------------------------------------------------------------------- */
@@ -87,10 +163,6 @@ public class HashCashProofOfWorkService extends ProofOfWorkService {
         return numberOfLeadingZeros;
     }
 
-    private static byte[] toSha256Hash(byte[] payload, byte[] challenge, long counter) {
-        return toSha256Hash(payload, challenge, Longs.toByteArray(counter));
-    }
-
     private static byte[] toSha256Hash(byte[] payload, byte[] challenge, byte[] solution) {
         byte[] preImage = org.bouncycastle.util.Arrays.concatenate(payload,
                 challenge,
@@ -79,6 +79,28 @@ class HashCashProofOfWorkServiceTest {
 //        Minting 1000 tokens with > 8 leading zeros  took 0.318 ms per token and 526 iterations in average. Verification took 0.001 ms per token.
     }
 
+    @Test
+    public void testParallelMint() {
+        HashCashProofOfWorkService service = new HashCashProofOfWorkService();
+        StringBuilder stringBuilder = new StringBuilder();
+        // Difficulties at and above MIN_LOG2_DIFFICULTY_FOR_PARALLEL_MINT use the parallel nonce search
+        for (int log2Difficulty = 12; log2Difficulty <= 16; log2Difficulty++) {
+            int numTokens = 10;
+            byte[] payload = RandomStringUtils.random(50, true, true).getBytes(StandardCharsets.UTF_8);
+            long ts = System.currentTimeMillis();
+            for (int i = 0; i < numTokens; i++) {
+                byte[] challenge = DigestUtil.sha256(UUID.randomUUID().toString().getBytes(StandardCharsets.UTF_8));
+                ProofOfWork proofOfWork = service.mint(payload, challenge, Math.scalb(1.0, log2Difficulty));
+                assertTrue(service.verify(proofOfWork));
+            }
+            stringBuilder.append("\nMinting ").append(numTokens)
+                    .append(" tokens with > ").append(log2Difficulty)
+                    .append(" leading zeros took ").append((System.currentTimeMillis() - ts) / (double) numTokens)
+                    .append(" ms per token.");
+        }
+        log.info(stringBuilder.toString());
+    }
+
     private void run(int log2Difficulty, StringBuilder stringBuilder) {
         double difficulty = Math.scalb(1.0, log2Difficulty);
         int numTokens = 1000;
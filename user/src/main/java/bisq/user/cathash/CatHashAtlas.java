@@ -0,0 +1,303 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.user.cathash;
+
+import bisq.common.file.FileUtils;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Stores the raw images of one avatar version in a single file with fixed size slots.
+ * The file starts with a header (magic, format version, slot data capacity) followed by the slots. Each slot holds
+ * the length of the key (0 for a free slot), the key, the length of the data and the data.
+ * An in-memory index of the slots by key is built when the file is opened. Removed slots are reused by later writes.
+ * The slot data capacity is defined by the first written image. The number of slots is limited by maxSlots, if all
+ * slots are used, further writes are ignored.
+ * <p>
+ * We use positional reads and writes on the file channel instead of a memory mapped file, as a mapped file cannot be
+ * deleted, truncated or replaced on Windows until the mapping got garbage collected.
+ */
+@Slf4j
+final class CatHashAtlas {
+    private static final int MAGIC = 0x43415448; // "CATH"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 12;
+    static final int MAX_KEY_SIZE = 64;
+    private static final int SLOT_HEADER_SIZE = 1 + MAX_KEY_SIZE + 4;
+    private static final int NUM_SLOTS_PER_GROWTH = 128;
+
+    private final Path path;
+    private final int maxSlots;
+    private final Map<String, Integer> slotByKey = new HashMap<>();
+    private final TreeSet<Integer> freeSlots = new TreeSet<>();
+    private FileChannel fileChannel;
+    private int dataCapacity;
+    private int numSlots;
+    private boolean closed;
+
+    CatHashAtlas(Path path, int maxSlots) {
+        this.path = path;
+        this.maxSlots = maxSlots;
+        try {
+            if (Files.exists(path)) {
+                open();
+            }
+        } catch (Exception e) {
+            log.warn("Could not open avatar atlas {}. We delete it and start with an empty atlas. {}", path, e.toString());
+            release();
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e2) {
+                log.warn("Could not delete avatar atlas {}. It will be overwritten at the next write. {}", path, e2.toString());
+            }
+        }
+    }
+
+    synchronized Optional<byte[]> read(String key) {
+        Integer slot = slotByKey.get(key);
+        if (slot == null) {
+            return Optional.empty();
+        }
+        try {
+            long offset = getSlotOffset(slot);
+            int dataLength = readFully(4, offset + 1 + MAX_KEY_SIZE).getInt();
+            if (dataLength <= 0 || dataLength > dataCapacity) {
+                throw new IOException("Invalid data length " + dataLength);
+            }
+            return Optional.of(readFully(dataLength, offset + SLOT_HEADER_SIZE).array());
+        } catch (IOException e) {
+            log.warn("Reading from avatar atlas {} failed. We free the slot. {}", path, e.toString());
+            freeSlot(key, slot);
+            return Optional.empty();
+        }
+    }
+
+    synchronized boolean contains(String key) {
+        return slotByKey.containsKey(key);
+    }
+
+    /**
+     * @return true if the data has been written or was already present.
+     */
+    synchronized boolean write(String key, byte[] data) {
+        if (closed) {
+            return false;
+        }
+        if (slotByKey.containsKey(key)) {
+            return true;
+        }
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        if (keyBytes.length == 0 || keyBytes.length > MAX_KEY_SIZE) {
+            log.warn("Invalid key size for avatar atlas. key={}", key);
+            return false;
+        }
+        try {
+            if (fileChannel == null) {
+                create(data.length);
+            }
+            if (data.length > dataCapacity) {
+                log.warn("Image data size {} exceeds slot capacity {} of avatar atlas", data.length, dataCapacity);
+                return false;
+            }
+            if (freeSlots.isEmpty() && !grow()) {
+                return false;
+            }
+            int slot = freeSlots.pollFirst();
+            long offset = getSlotOffset(slot);
+            ByteBuffer slotBuffer = ByteBuffer.allocate(SLOT_HEADER_SIZE - 1 + data.length);
+            slotBuffer.put(keyBytes);
+            slotBuffer.position(MAX_KEY_SIZE);
+            slotBuffer.putInt(data.length);
+            slotBuffer.put(data);
+            slotBuffer.flip();
+            writeFully(slotBuffer, offset + 1);
+            // Writing the key length marks the slot as used, so we write it last
+            writeFully(ByteBuffer.wrap(new byte[]{(byte) keyBytes.length}), offset);
+            slotByKey.put(key, slot);
+            return true;
+        } catch (IOException e) {
+            log.error("Writing to avatar atlas {} failed", path, e);
+            return false;
+        }
+    }
+
+    /**
+     * Frees the slots of all keys which are not contained in the given set.
+     *
+     * @return the number of removed images.
+     */
+    synchronized int retainAll(Set<String> keys) {
+        if (fileChannel == null) {
+            return 0;
+        }
+        List<Map.Entry<String, Integer>> toRemove = slotByKey.entrySet().stream()
+                .filter(entry -> !keys.contains(entry.getKey()))
+                .toList();
+        toRemove.forEach(entry -> freeSlot(entry.getKey(), entry.getValue()));
+        return toRemove.size();
+    }
+
+    synchronized int size() {
+        return slotByKey.size();
+    }
+
+    synchronized boolean isFull() {
+        return fileChannel != null && freeSlots.isEmpty() && numSlots >= maxSlots;
+    }
+
+    synchronized void close() {
+        closed = true;
+        release();
+    }
+
+
+    /* --------------------------------------------------------------------- */
+    // Private
+    /* --------------------------------------------------------------------- */
+
+    private void release() {
+        if (fileChannel != null) {
+            try {
+                fileChannel.close();
+            } catch (IOException e) {
+                log.warn("Closing avatar atlas {} failed. {}", path, e.toString());
+            }
+            fileChannel = null;
+        }
+        slotByKey.clear();
+        freeSlots.clear();
+        numSlots = 0;
+    }
+
+    private void open() throws IOException {
+        fileChannel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long fileSize = fileChannel.size();
+        if (fileSize < HEADER_SIZE) {
+            throw new IOException("File too small");
+        }
+        ByteBuffer header = readFully(HEADER_SIZE, 0);
+        if (header.getInt() != MAGIC || header.getInt() != FORMAT_VERSION) {
+            throw new IOException("Unexpected file header");
+        }
+        dataCapacity = header.getInt();
+        if (dataCapacity <= 0) {
+            throw new IOException("Invalid slot capacity " + dataCapacity);
+        }
+        // The last slot might be shorter than the slot size if its data is smaller than the slot data capacity
+        long slotSize = getSlotSize();
+        numSlots = (int) Math.min(maxSlots, (fileSize - HEADER_SIZE + slotSize - 1) / slotSize);
+        byte[] keyBytes = new byte[MAX_KEY_SIZE];
+        for (int slot = 0; slot < numSlots; slot++) {
+            if (getSlotOffset(slot) + SLOT_HEADER_SIZE > fileSize) {
+                freeSlots.add(slot);
+                continue;
+            }
+            ByteBuffer slotHeader = readFully(SLOT_HEADER_SIZE, getSlotOffset(slot));
+            int keyLength = slotHeader.get() & 0xFF;
+            slotHeader.get(keyBytes);
+            int dataLength = slotHeader.getInt();
+            if (keyLength == 0 || keyLength > MAX_KEY_SIZE || dataLength <= 0 || dataLength > dataCapacity) {
+                freeSlots.add(slot);
+                continue;
+            }
+            String key = new String(keyBytes, 0, keyLength, StandardCharsets.UTF_8);
+            if (slotByKey.putIfAbsent(key, slot) != null) {
+                freeSlots.add(slot);
+            }
+        }
+        log.info("Opened avatar atlas {} with {} images", path, slotByKey.size());
+    }
+
+    private void create(int dataCapacity) throws IOException {
+        FileUtils.makeDirs(path.getParent());
+        fileChannel = FileChannel.open(path,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        // In case the file could not be deleted after a failed open we drop its content. As the file is not mapped,
+        // truncating it works on all platforms.
+        fileChannel.truncate(0);
+        this.dataCapacity = dataCapacity;
+        numSlots = 0;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC);
+        header.putInt(FORMAT_VERSION);
+        header.putInt(dataCapacity);
+        header.flip();
+        writeFully(header, 0);
+    }
+
+    private boolean grow() {
+        if (numSlots >= maxSlots) {
+            return false;
+        }
+        // The file gets extended when a slot beyond its end is written
+        int newNumSlots = Math.min(maxSlots, numSlots + NUM_SLOTS_PER_GROWTH);
+        for (int slot = numSlots; slot < newNumSlots; slot++) {
+            freeSlots.add(slot);
+        }
+        numSlots = newNumSlots;
+        return true;
+    }
+
+    private void freeSlot(String key, int slot) {
+        slotByKey.remove(key);
+        try {
+            writeFully(ByteBuffer.wrap(new byte[]{0}), getSlotOffset(slot));
+            freeSlots.add(slot);
+        } catch (IOException e) {
+            // We do not reuse the slot as it might still be marked as used in the file
+            log.warn("Freeing slot of avatar atlas {} failed. {}", path, e.toString());
+        }
+    }
+
+    private ByteBuffer readFully(int length, long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            int read = fileChannel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new EOFException("Unexpected end of avatar atlas " + path);
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            fileChannel.write(buffer, position + buffer.position());
+        }
+    }
+
+    private int getSlotSize() {
+        return SLOT_HEADER_SIZE + dataCapacity;
+    }
+
+    private long getSlotOffset(int slot) {
+        return HEADER_SIZE + (long) slot * getSlotSize();
+    }
+}
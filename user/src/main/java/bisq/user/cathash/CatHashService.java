@@ -31,8 +31,10 @@ import java.math.BigInteger;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -43,10 +45,28 @@ public abstract class CatHashService<T> {
     public static final double SIZE_OF_CACHED_ICONS = 60;
 
     // This is a 120*120 image meaning 14400 pixels. At 4 bytes each, that takes 57.6 KB in memory (and on disk as we use raw format).
-    // With 5000 images we would get about 288 MB.
-    private static final int MAX_CACHE_SIZE = 5000;
+    // We keep the most recently used 1000 images in memory (about 58 MB). The atlas on disk holds up to 5000 images
+    // (about 288 MB), so a cache miss costs only a single read of the image data.
+    private static final int MAX_CACHE_SIZE = 1000;
+    private static final int MAX_ATLAS_SIZE = 5000;
+    private static final int MAX_PRERENDER_QUEUE_SIZE = 10_000;
+    // Composing one image takes about 12 ms, thus a batch blocks the compose executor for about 100 ms
+    private static final int PRERENDER_BATCH_SIZE = 8;
+    private static final Pattern ATLAS_FILE_NAME_PATTERN = Pattern.compile("avatars_v(\\d+)\\.atlas");
+    private static final long COMPOSE_TIMEOUT_SEC = 10;
 
-    private final ConcurrentHashMap<BigInteger, T> cache = new ConcurrentHashMap<>();
+    private final Map<BigInteger, T> cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<BigInteger, T> eldest) {
+            return size() > MAX_CACHE_SIZE;
+        }
+    });
+    private final Map<Integer, CatHashAtlas> atlasByVersion = new ConcurrentHashMap<>();
+    private final BlockingQueue<UserProfile> prerenderQueue = new LinkedBlockingQueue<>(MAX_PRERENDER_QUEUE_SIZE);
+    private final AtomicBoolean prerenderRunning = new AtomicBoolean();
+    private final AtomicBoolean legacyIconsDeleted = new AtomicBoolean();
+    private volatile ExecutorService prerenderExecutor;
+    private volatile boolean isShutdown;
     @Setter
     private Path baseDir;
 
@@ -56,9 +76,17 @@ public abstract class CatHashService<T> {
 
     protected abstract T composeImage(String[] paths, double size);
 
-    protected abstract void writeRawImage(T image, File iconFile) throws IOException;
+    protected abstract byte[] toRawImage(T image);
+
+    protected abstract T fromRawImage(byte[] rawImage);
 
-    protected abstract T readRawImage(File iconFile) throws IOException;
+    /**
+     * Executor used for composing images in the background prerendering. Implementations which require a certain
+     * thread for composing the image (e.g. the JavaFX Application thread) have to override it.
+     */
+    protected Executor getComposeExecutor() {
+        return Runnable::run;
+    }
 
     public T getImage(UserProfile userProfile, double size) {
         return getImage(userProfile.getPubKeyHash(),
@@ -68,35 +96,23 @@ public abstract class CatHashService<T> {
     }
 
     public T getImage(byte[] pubKeyHash, byte[] powSolution, int avatarVersion, double size) {
-        byte[] combined = ByteArrayUtils.concat(powSolution, pubKeyHash);
-        BigInteger catHashInput = new BigInteger(combined);
+        BigInteger catHashInput = getCatHashInput(pubKeyHash, powSolution);
         String userProfileId = Hex.encode(pubKeyHash);
-        File iconsDir = Paths.get(getCatHashIconsDirectory().toString(), "v" + avatarVersion).toFile();
-        File iconFile = Paths.get(iconsDir.getAbsolutePath(), userProfileId + ".raw").toFile();
 
         boolean useCache = size <= SIZE_OF_CACHED_ICONS;
         if (useCache) {
             // First approach is to look up the cache
-            if (cache.containsKey(catHashInput)) {
-                return cache.get(catHashInput);
-            }
-
-
-            if (!iconsDir.exists()) {
-                try {
-                    FileUtils.makeDirs(iconsDir);
-                } catch (IOException e) {
-                    log.error(e.toString());
-                }
+            T cachedImage = cache.get(catHashInput);
+            if (cachedImage != null) {
+                return cachedImage;
             }
 
-            // Next approach is to read the image from file
-            if (iconFile.exists()) {
+            // Next approach is to read the image from the atlas
+            Optional<byte[]> rawImage = getAtlas(avatarVersion).read(userProfileId);
+            if (rawImage.isPresent()) {
                 try {
-                    T image = readRawImage(iconFile);
-                    if (cache.size() < MAX_CACHE_SIZE) {
-                        cache.put(catHashInput, image);
-                    }
+                    T image = fromRawImage(rawImage.get());
+                    cache.put(catHashInput, image);
                     return image;
                 } catch (Exception e) {
                     log.error("Read image failed", e);
@@ -105,80 +121,201 @@ public abstract class CatHashService<T> {
         }
 
         // Image size might be larger as our cached images, or we did not find it in the
-        // cache and also not from persisted files. We create the image. This is an expensive operation taking
+        // cache and also not in the atlas. We create the image. This is an expensive operation taking
         // about 12 ms on a high-end laptop, and it needs to be done on the UI thread.
-        long ts = System.currentTimeMillis();
-        BucketConfig bucketConfig = getBucketConfig(avatarVersion);
-        int[] buckets = BucketEncoder.encode(catHashInput, bucketConfig.getBucketSizes());
-        String[] paths = BucketEncoder.toPaths(buckets, bucketConfig.getPathTemplates());
-        // For retina support we scale by 2
-        T image = composeImage(paths, 2 * SIZE_OF_CACHED_ICONS);
-        //log.info("Creating user profile icon for {} took {} ms.", userProfileId, System.currentTimeMillis() - ts);
-        if (useCache && cache.size() < MAX_CACHE_SIZE) {
+        T image = composeImage(catHashInput, avatarVersion);
+        if (useCache) {
             cache.put(catHashInput, image);
-
-            // We use the MAX_CACHE_SIZE also as limit for files on disk
             try {
-                writeRawImage(image, iconFile);
-            } catch (IOException e) {
+                getAtlas(avatarVersion).write(userProfileId, toRawImage(image));
+            } catch (Exception e) {
                 log.error("Write image failed", e);
             }
         }
         return image;
     }
 
+    /**
+     * Adds the user profiles to the queue of icons which get rendered in the background and stored in the atlas,
+     * so that they are available when they get displayed the first time.
+     */
+    public void prerenderProfileIcons(Collection<UserProfile> userProfiles) {
+        if (isShutdown) {
+            return;
+        }
+        for (UserProfile userProfile : userProfiles) {
+            if (!prerenderQueue.offer(userProfile)) {
+                log.debug("Prerender queue is full. We skip the remaining {} user profiles", userProfiles.size());
+                break;
+            }
+        }
+        if (prerenderRunning.compareAndSet(false, true)) {
+            getPrerenderExecutor().execute(this::processPrerenderQueue);
+        }
+    }
+
     // Remove the user profile icons which are not contained anymore in the current user profile list
     public void pruneOutdatedProfileIcons(Collection<UserProfile> userProfiles) {
-        if (userProfiles.isEmpty()) {
+        if (userProfiles.isEmpty() || isShutdown) {
             return;
         }
-        File iconsDirectory = getCatHashIconsDirectory().toFile();
-        File[] versionDirs = iconsDirectory.listFiles();
-        if (versionDirs == null) {
+        Map<Integer, Set<String>> userProfileIdsByVersion = userProfiles.stream()
+                .collect(Collectors.groupingBy(UserProfile::getAvatarVersion,
+                        Collectors.mapping(UserProfile::getId, Collectors.toSet())));
+        // We access the file system, thus we do not run it on the caller thread
+        getPrerenderExecutor().execute(() -> {
+            pruneAtlases(userProfileIdsByVersion);
+            if (legacyIconsDeleted.compareAndSet(false, true)) {
+                deleteLegacyIconDirectories();
+            }
+        });
+    }
+
+    public int currentAvatarsVersion() {
+        return BucketConfig.CURRENT_VERSION;
+    }
+
+    public void shutdown() {
+        isShutdown = true;
+        prerenderQueue.clear();
+        if (prerenderExecutor != null) {
+            ExecutorFactory.shutdownAndAwaitTermination(prerenderExecutor, 1000);
+        }
+        atlasByVersion.values().forEach(CatHashAtlas::close);
+    }
+
+
+    /* --------------------------------------------------------------------- */
+    // Private
+    /* --------------------------------------------------------------------- */
+
+    private T composeImage(BigInteger catHashInput, int avatarVersion) {
+        BucketConfig bucketConfig = getBucketConfig(avatarVersion);
+        int[] buckets = BucketEncoder.encode(catHashInput, bucketConfig.getBucketSizes());
+        String[] paths = BucketEncoder.toPaths(buckets, bucketConfig.getPathTemplates());
+        // For retina support we scale by 2
+        return composeImage(paths, 2 * SIZE_OF_CACHED_ICONS);
+    }
+
+    private void processPrerenderQueue() {
+        try {
+            List<UserProfile> batch = new ArrayList<>(PRERENDER_BATCH_SIZE);
+            while (!isShutdown && prerenderQueue.drainTo(batch, PRERENDER_BATCH_SIZE) > 0) {
+                prerender(batch);
+                batch.clear();
+            }
+        } finally {
+            prerenderRunning.set(false);
+        }
+        // Profiles might have been added after the last poll but before we reset the flag
+        if (!isShutdown && !prerenderQueue.isEmpty() && prerenderRunning.compareAndSet(false, true)) {
+            getPrerenderExecutor().execute(this::processPrerenderQueue);
+        }
+    }
+
+    private void prerender(List<UserProfile> userProfiles) {
+        try {
+            List<UserProfile> missing = new ArrayList<>(userProfiles.size());
+            for (UserProfile userProfile : userProfiles) {
+                CatHashAtlas atlas = getAtlas(userProfile.getAvatarVersion());
+                if (atlas.isFull()) {
+                    prerenderQueue.clear();
+                    break;
+                }
+                if (!atlas.contains(userProfile.getId())) {
+                    missing.add(userProfile);
+                }
+            }
+            if (missing.isEmpty()) {
+                return;
+            }
+            // We compose a batch of images per task to not flood the compose executor with one task per image,
+            // and we wait for the batch before we compose the next one.
+            List<Optional<byte[]>> rawImages = CompletableFuture.supplyAsync(() -> missing.stream()
+                                    .map(this::composeRawImage)
+                                    .toList(),
+                            getComposeExecutor())
+                    .get(COMPOSE_TIMEOUT_SEC, TimeUnit.SECONDS);
+            for (int i = 0; i < missing.size(); i++) {
+                UserProfile userProfile = missing.get(i);
+                rawImages.get(i).ifPresent(rawImage ->
+                        getAtlas(userProfile.getAvatarVersion()).write(userProfile.getId(), rawImage));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Prerendering user profile icons failed", e);
+        }
+    }
+
+    private Optional<byte[]> composeRawImage(UserProfile userProfile) {
+        try {
+            BigInteger catHashInput = getCatHashInput(userProfile.getPubKeyHash(), userProfile.getProofOfWork().getSolution());
+            return Optional.of(toRawImage(composeImage(catHashInput, userProfile.getAvatarVersion())));
+        } catch (Exception e) {
+            log.warn("Prerendering user profile icon failed", e);
+            return Optional.empty();
+        }
+    }
+
+    // We scan the directory, so that also atlases which have not been opened yet in this session get pruned
+    private void pruneAtlases(Map<Integer, Set<String>> userProfileIdsByVersion) {
+        File[] files = getCatHashIconsDirectory().toFile().listFiles();
+        if (files == null) {
             return;
         }
-        Map<String, List<File>> iconFilesByVersion = Stream.of(versionDirs)
+        Stream.of(files)
+                .filter(File::isFile)
+                .map(file -> ATLAS_FILE_NAME_PATTERN.matcher(file.getName()))
+                .filter(Matcher::matches)
+                .map(matcher -> Integer.parseInt(matcher.group(1)))
+                .forEach(version -> {
+                    int numRemoved = getAtlas(version).retainAll(userProfileIdsByVersion.getOrDefault(version, Set.of()));
+                    if (numRemoved > 0) {
+                        log.info("We removed {} user profile icons of version {} which are not found in the current user profile list",
+                                numRemoved, version);
+                    }
+                });
+    }
+
+    // Previously user profile icons have been stored as individual files in per version directories.
+    private void deleteLegacyIconDirectories() {
+        File[] files = getCatHashIconsDirectory().toFile().listFiles();
+        if (files == null) {
+            return;
+        }
+        Stream.of(files)
                 .filter(File::isDirectory)
-                .filter(dir -> dir.listFiles() != null)
-                .collect(Collectors.toMap(File::getName,
-                        dir -> Arrays.asList(Objects.requireNonNull(dir.listFiles()))));
+                .filter(dir -> dir.getName().matches("v\\d+"))
+                .forEach(dir -> {
+                    try {
+                        log.info("Remove legacy user profile icons directory {}", dir);
+                        FileUtils.deleteFileOrDirectory(dir);
+                    } catch (IOException e) {
+                        log.error("Failed to remove legacy user profile icons directory {}", dir, e);
+                    }
+                });
+    }
 
-        Map<Integer, List<UserProfile>> userProfilesByVersion = userProfiles.stream()
-                .collect(Collectors.groupingBy(UserProfile::getAvatarVersion));
+    private CatHashAtlas getAtlas(int avatarVersion) {
+        return atlasByVersion.computeIfAbsent(avatarVersion, version ->
+                new CatHashAtlas(getCatHashIconsDirectory().resolve("avatars_v" + version + ".atlas"), MAX_ATLAS_SIZE));
+    }
 
-        iconFilesByVersion.forEach((versionDir, iconFiles) -> {
-            try {
-                int version = Integer.parseInt(versionDir
-                        .replace("v", ""));
-                Set<String> fromDisk = iconFiles.stream()
-                        .map(File::getName)
-                        .collect(Collectors.toSet());
-                Set<String> fromData = Optional.of(userProfilesByVersion.get(version).stream()
-                                .map(userProfile -> userProfile.getId() + ".raw")
-                                .collect(Collectors.toSet()))
-                        .orElse(new HashSet<>());
-                Set<String> toRemove = new HashSet<>(fromDisk);
-                toRemove.removeAll(fromData);
-                CompletableFuture.runAsync(() -> {
-                    log.info("We remove following user profile icons which are not found in the current user profile list:{}", toRemove);
-                    toRemove.forEach(fileName -> {
-                        File file = Paths.get(iconsDirectory.getAbsolutePath(), versionDir, fileName).toFile();
-                        try {
-                            log.error("Remove {}", file);
-                            FileUtils.deleteFile(file);
-                        } catch (IOException e) {
-                            log.error("Failed to remove file {}", file, e);
-                        }
-                    });
-                }, ExecutorFactory.newSingleThreadExecutor("pruneOutdatedProfileIcons"));
-            } catch (Exception e) {
-                log.error("Unexpected versionDir {}", versionDir, e);
+    private ExecutorService getPrerenderExecutor() {
+        if (prerenderExecutor == null) {
+            synchronized (this) {
+                if (prerenderExecutor == null) {
+                    prerenderExecutor = ExecutorFactory.newSingleThreadExecutor("CatHashService.prerender");
+                }
             }
-        });
+        }
+        return prerenderExecutor;
     }
 
-    public int currentAvatarsVersion() {
-        return BucketConfig.CURRENT_VERSION;
+    private static BigInteger getCatHashInput(byte[] pubKeyHash, byte[] powSolution) {
+        byte[] combined = ByteArrayUtils.concat(powSolution, pubKeyHash);
+        return new BigInteger(combined);
     }
 
     private Path getCatHashIconsDirectory() {
@@ -29,6 +29,7 @@ import bisq.user.identity.UserIdentityService;
 import bisq.user.profile.UserProfile;
 import bisq.user.profile.UserProfileService;
 import com.google.common.annotations.VisibleForTesting;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
@@ -45,6 +46,8 @@ public class ReputationService implements Service {
     private final SignedWitnessService signedWitnessService;
     private final Observable<String> userProfileIdWithScoreChange = new Observable<>();
     private final Map<String, Long> scoreByUserProfileId = new ConcurrentHashMap<>();
+    @Getter(AccessLevel.NONE)
+    private final ScoreRankIndex scoreRankIndex = new ScoreRankIndex();
     private final ProfileAgeService profileAgeService;
     private final NetworkService networkService;
 
@@ -145,11 +148,31 @@ public class ReputationService implements Service {
         }
 
         double fiveSystemScore = getFiveSystemScore(score);
-        int index = getIndex(score, scoreByUserProfileId.values());
-        int rank = scoreByUserProfileId.size() - index;
+        int rank = scoreRankIndex.getRank(score);
         return Optional.of(new ReputationScore(score, fiveSystemScore, rank));
     }
 
+    /**
+     * @return The percentage of user profiles with a lower reputation score.
+     */
+    public Optional<Double> findPercentile(String userProfileId) {
+        return Optional.ofNullable(scoreByUserProfileId.get(userProfileId))
+                .map(scoreRankIndex::getPercentile);
+    }
+
+    /**
+     * Snapshot of the reputation scores of all user profiles with a consistent ranking, for views which display the
+     * full ranking.
+     */
+    public Map<String, ReputationScore> getReputationScoreByUserProfileId() {
+        synchronized (scoreRankIndex) {
+            Map<String, ReputationScore> map = new HashMap<>(scoreByUserProfileId.size());
+            scoreByUserProfileId.forEach((userProfileId, score) ->
+                    map.put(userProfileId, new ReputationScore(score, getFiveSystemScore(score), scoreRankIndex.getRank(score))));
+            return map;
+        }
+    }
+
     private void onUserProfileScoreChanged(Pair<String, Long> userProfileIdScorePair) {
         if (userProfileIdScorePair == null) {
             return;
@@ -160,7 +183,14 @@ public class ReputationService implements Service {
                 accountAgeService.getScore(userProfileId) +
                 signedWitnessService.getScore(userProfileId) +
                 profileAgeService.getScore(userProfileId);
-        scoreByUserProfileId.put(userProfileId, score);
+        synchronized (scoreRankIndex) {
+            Long previousScore = scoreByUserProfileId.put(userProfileId, score);
+            if (previousScore == null) {
+                scoreRankIndex.add(score);
+            } else {
+                scoreRankIndex.replace(previousScore, score);
+            }
+        }
         userProfileIdWithScoreChange.set(userProfileId);
     }
 
@@ -193,8 +223,6 @@ public class ReputationService implements Service {
 
     @VisibleForTesting
     static int getIndex(long candidateScore, Collection<Long> scores) {
-        List<Long> list = new ArrayList<>(scores);
-        Collections.sort(list);
-        return list.indexOf(candidateScore);
+        return new ScoreRankIndex(scores).getIndex(candidateScore);
     }
 }
@@ -0,0 +1,207 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package bisq.user.reputation;
+
+import java.util.Collection;
+
+/**
+ * Order statistics over the reputation scores of all user profiles.
+ * Scores are kept in a treap where each node carries the number of profiles with that score and the number of
+ * profiles in its subtree. Adding, removing and rank lookups are O(log n) and do not copy or sort the scores.
+ */
+final class ScoreRankIndex {
+    private static final class Node {
+        private final long score;
+        private final int priority;
+        private int count = 1;
+        private int size = 1;
+        private Node left;
+        private Node right;
+
+        private Node(long score, int priority) {
+            this.score = score;
+            this.priority = priority;
+        }
+    }
+
+    private Node root;
+    private int seed = 0x2545F491;
+
+    ScoreRankIndex() {
+    }
+
+    ScoreRankIndex(Collection<Long> scores) {
+        scores.forEach(this::add);
+    }
+
+    synchronized void add(long score) {
+        root = insert(root, score);
+    }
+
+    synchronized void remove(long score) {
+        root = delete(root, score);
+    }
+
+    synchronized void replace(long previousScore, long score) {
+        if (previousScore != score) {
+            root = insert(delete(root, previousScore), score);
+        }
+    }
+
+    synchronized int size() {
+        return size(root);
+    }
+
+    /**
+     * @return The number of scores lower than the given score or -1 if the score is not contained.
+     */
+    synchronized int getIndex(long score) {
+        int numLower = 0;
+        Node node = root;
+        while (node != null) {
+            if (score < node.score) {
+                node = node.left;
+            } else if (score > node.score) {
+                numLower += size(node.left) + node.count;
+                node = node.right;
+            } else {
+                return numLower + size(node.left);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return The ranking of the given score, where the highest score has rank 1. If the score is not contained we
+     * return a rank behind all other scores.
+     */
+    synchronized int getRank(long score) {
+        return size() - getIndex(score);
+    }
+
+    /**
+     * @return The percentage of scores which are lower than the given score, in the range of 0 to 100.
+     */
+    synchronized double getPercentile(long score) {
+        int size = size();
+        if (size == 0) {
+            return 0;
+        }
+        return 100d * countLower(score) / size;
+    }
+
+
+    /* --------------------------------------------------------------------- */
+    // Private
+    /* --------------------------------------------------------------------- */
+
+    private int countLower(long score) {
+        int numLower = 0;
+        Node node = root;
+        while (node != null) {
+            if (score <= node.score) {
+                node = node.left;
+            } else {
+                numLower += size(node.left) + node.count;
+                node = node.right;
+            }
+        }
+        return numLower;
+    }
+
+    private Node insert(Node node, long score) {
+        if (node == null) {
+            return new Node(score, nextPriority());
+        }
+        if (score < node.score) {
+            node.left = insert(node.left, score);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else if (score > node.score) {
+            node.right = insert(node.right, score);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        } else {
+            node.count++;
+        }
+        update(node);
+        return node;
+    }
+
+    private Node delete(Node node, long score) {
+        if (node == null) {
+            return null;
+        }
+        if (score < node.score) {
+            node.left = delete(node.left, score);
+        } else if (score > node.score) {
+            node.right = delete(node.right, score);
+        } else if (node.count > 1) {
+            node.count--;
+        } else if (node.left == null) {
+            return node.right;
+        } else if (node.right == null) {
+            return node.left;
+        } else if (node.left.priority > node.right.priority) {
+            node = rotateRight(node);
+            node.right = delete(node.right, score);
+        } else {
+            node = rotateLeft(node);
+            node.left = delete(node.left, score);
+        }
+        update(node);
+        return node;
+    }
+
+    private Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        update(node);
+        update(left);
+        return left;
+    }
+
+    private Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        update(node);
+        update(right);
+        return right;
+    }
+
+    private void update(Node node) {
+        node.size = size(node.left) + size(node.right) + node.count;
+    }
+
+    private int nextPriority() {
+        // Xorshift is sufficient for balancing and avoids contention on a shared Random
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        return seed;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.user.cathash;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CatHashAtlasTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testWriteAndReadAfterReopen() {
+        Path path = tempDir.resolve("avatars_v0.atlas");
+        CatHashAtlas atlas = new CatHashAtlas(path, 1000);
+        assertTrue(atlas.read("a").isEmpty());
+        for (int i = 0; i < 300; i++) {
+            assertTrue(atlas.write("key" + i, new byte[]{(byte) i, 1, 2, 3}));
+        }
+        assertEquals(300, atlas.size());
+        atlas.close();
+        assertFalse(atlas.write("other", new byte[]{1}));
+
+        atlas = new CatHashAtlas(path, 1000);
+        assertEquals(300, atlas.size());
+        assertArrayEquals(new byte[]{(byte) 17, 1, 2, 3}, atlas.read("key17").orElseThrow());
+        // Larger data than the slot capacity is rejected
+        assertFalse(atlas.write("large", new byte[5]));
+        assertTrue(atlas.write("small", new byte[]{9}));
+        assertArrayEquals(new byte[]{9}, atlas.read("small").orElseThrow());
+        atlas.close();
+    }
+
+    @Test
+    void testRetainAllAndSlotReuse() {
+        CatHashAtlas atlas = new CatHashAtlas(tempDir.resolve("avatars_v0.atlas"), 3);
+        assertTrue(atlas.write("a", new byte[]{1}));
+        assertTrue(atlas.write("b", new byte[]{2}));
+        assertTrue(atlas.write("c", new byte[]{3}));
+        assertTrue(atlas.isFull());
+        assertFalse(atlas.write("d", new byte[]{4}));
+
+        assertEquals(2, atlas.retainAll(Set.of("b")));
+        assertFalse(atlas.isFull());
+        assertTrue(atlas.write("d", new byte[]{4}));
+        assertTrue(atlas.read("a").isEmpty());
+        assertArrayEquals(new byte[]{2}, atlas.read("b").orElseThrow());
+        assertArrayEquals(new byte[]{4}, atlas.read("d").orElseThrow());
+        atlas.close();
+    }
+
+    @Test
+    void testReopenWithShortLastSlot() {
+        Path path = tempDir.resolve("avatars_v0.atlas");
+        CatHashAtlas atlas = new CatHashAtlas(path, 10);
+        assertTrue(atlas.write("a", new byte[]{1, 2, 3, 4}));
+        assertTrue(atlas.write("b", new byte[]{5}));
+        atlas.close();
+
+        atlas = new CatHashAtlas(path, 10);
+        assertEquals(2, atlas.size());
+        assertArrayEquals(new byte[]{5}, atlas.read("b").orElseThrow());
+        atlas.close();
+    }
+
+    @Test
+    void testCorruptFileGetsReplaced() throws IOException {
+        Path path = tempDir.resolve("avatars_v0.atlas");
+        Files.write(path, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13});
+        CatHashAtlas atlas = new CatHashAtlas(path, 10);
+        assertEquals(0, atlas.size());
+        assertTrue(atlas.write("a", new byte[]{1}));
+        atlas.close();
+
+        atlas = new CatHashAtlas(path, 10);
+        assertArrayEquals(new byte[]{1}, atlas.read("a").orElseThrow());
+        atlas.close();
+    }
+}
@@ -35,6 +35,26 @@ public class ReputationServiceTest {
         assertEquals(-1, ReputationService.getIndex(1, List.of()));
     }
 
+    @Test
+    void testScoreRankIndex() {
+        ScoreRankIndex index = new ScoreRankIndex(List.of(5L, 1L, 3L, 3L));
+        assertEquals(4, index.size());
+        assertEquals(1, index.getRank(5));
+        assertEquals(3, index.getRank(3));
+        assertEquals(4, index.getRank(1));
+        assertEquals(5, index.getRank(2));
+        assertEquals(25, index.getPercentile(3));
+
+        index.replace(3, 10);
+        assertEquals(1, index.getRank(10));
+        assertEquals(3, index.getRank(3));
+        assertEquals(1, index.getIndex(3));
+
+        index.remove(3);
+        assertEquals(-1, index.getIndex(3));
+        assertEquals(3, index.size());
+    }
+
     @Test
     void testGetFiveSystemScore() {
         assertEquals(0, ReputationService.getFiveSystemScore(0));